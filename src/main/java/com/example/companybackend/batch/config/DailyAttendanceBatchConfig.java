@@ -2,52 +2,66 @@ package com.example.companybackend.batch.config;
 
 import com.example.companybackend.batch.listener.EnhancedJobExecutionListener;
 import com.example.companybackend.batch.listener.EnhancedStepExecutionListener;
+import com.example.companybackend.batch.listener.ProgressTotalListener;
+import com.example.companybackend.batch.listener.StepMetricsListener;
 import com.example.companybackend.batch.processor.DailyWorkTimeProcessor;
 import com.example.companybackend.batch.processor.MonthlyWorkTimeProcessor;
-import com.example.companybackend.batch.processor.OvertimeMonitoringProcessor;
 import com.example.companybackend.batch.reader.AttendanceRecordReader;
 import com.example.companybackend.batch.reader.MonthlySummaryReader;
-import com.example.companybackend.batch.reader.OvertimeMonitoringReader;
 import com.example.companybackend.batch.writer.AttendanceSummaryWriter;
-import com.example.companybackend.batch.writer.OvertimeReportWriter;
 import com.example.companybackend.batch.service.BatchValidationService;
 import com.example.companybackend.batch.service.BatchRecoveryService;
 import com.example.companybackend.batch.service.BatchValidationServiceResult;
 import com.example.companybackend.service.BatchMonitoringService;
+import com.example.companybackend.service.OvertimeMonitorService;
+import com.example.companybackend.service.OvertimeMonitorService.ReconcileResult;
 import com.example.companybackend.batch.util.BatchDiagnosticLogger;
+import com.example.companybackend.batch.util.BusinessDateParameters;
 import com.example.companybackend.entity.AttendanceRecord;
 import com.example.companybackend.entity.AttendanceSummary;
-import com.example.companybackend.entity.OvertimeReport;
 import com.example.companybackend.repository.AttendanceRecordRepository;
 import com.example.companybackend.repository.AttendanceSummaryRepository;
 import com.example.companybackend.repository.HolidayRepository;
-import com.example.companybackend.repository.OvertimeReportRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecution;
 import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.batch.core.job.builder.JobBuilder;
-import org.springframework.batch.core.launch.support.RunIdIncrementer;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.builder.StepBuilder;
 import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.ExecutionContext;
 import org.springframework.batch.item.ItemProcessor;
-import org.springframework.batch.item.ItemReader;
 import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.item.database.JdbcPagingItemReader;
 import org.springframework.batch.repeat.RepeatStatus;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.transaction.PlatformTransactionManager;
 
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Map;
+
 @Configuration
 public class DailyAttendanceBatchConfig {
 
     private static final Logger logger = LoggerFactory.getLogger(DailyAttendanceBatchConfig.class);
 
+    // 勤怠集計ジョブは業務日付で識別する（同じ業務日付の起動は同じジョブインスタンスになり、失敗時は途中から再開できる）
+    // 日次は当日（22:00 実行）、月次は前月（月初実行）、残業監視は当月が既定
+    public static final BusinessDateParameters DAILY_PARAMETERS = BusinessDateParameters.daily("targetDate", 0);
+    public static final BusinessDateParameters MONTHLY_PARAMETERS = BusinessDateParameters.monthly("targetMonth", -1);
+    public static final BusinessDateParameters OVERTIME_PARAMETERS = BusinessDateParameters.monthly("targetMonth", 0);
+
     @Autowired
     private JobRepository jobRepository;
 
@@ -69,6 +83,9 @@ public class DailyAttendanceBatchConfig {
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
+    @Autowired
+    private DataSource dataSource;
+
     // 追加: AttendanceRecordRepositoryの注入
     @Autowired
     private AttendanceRecordRepository attendanceRecordRepository;
@@ -81,14 +98,13 @@ public class DailyAttendanceBatchConfig {
     @Autowired
     private AttendanceSummaryRepository attendanceSummaryRepository;
 
-    // 追加: OvertimeReportRepositoryの注入
     @Autowired
-    private OvertimeReportRepository overtimeReportRepository;
+    private OvertimeMonitorService overtimeMonitorService;
 
     @Bean
     public Job dailyAttendanceSummaryJob() {
         return new JobBuilder("dailyAttendanceSummaryJob", jobRepository)
-                .incrementer(new RunIdIncrementer())
+                .validator(DAILY_PARAMETERS)
                 .listener(dailyAttendanceEnhancedJobExecutionListener())
                 .start(dailyAttendancePreValidationStep())
                 .next(dailyAttendanceRecoveryCheckStep())
@@ -102,7 +118,7 @@ public class DailyAttendanceBatchConfig {
     @Bean
     public Job monthlyAttendanceSummaryJob() {
         return new JobBuilder("monthlyAttendanceSummaryJob", jobRepository)
-                .incrementer(new RunIdIncrementer())
+                .validator(MONTHLY_PARAMETERS)
                 .listener(dailyAttendanceEnhancedJobExecutionListener())
                 .start(dailyAttendancePreValidationStep())
                 .next(dailyAttendanceRecoveryCheckStep())
@@ -113,45 +129,20 @@ public class DailyAttendanceBatchConfig {
                 .build();
     }
 
-    @Bean
-    public Job paidLeaveUpdateJob() {
-        return new JobBuilder("paidLeaveUpdateJob", jobRepository)
-                .incrementer(new RunIdIncrementer())
-                .listener(dailyAttendanceEnhancedJobExecutionListener())
-                .start(dailyAttendancePreValidationStep())
-                .next(dailyAttendanceRecoveryCheckStep())
-                .next(dataInitializationStep())
-                .next(attendanceProcessingStep()) // 可以根据需要替换为专用的处理步骤
-                .next(postValidationStep())
-                .next(thresholdCheckStep())
-                .build();
-    }
+    // paidLeaveUpdateJobはPaidLeaveUpdateBatchConfigで定義されているため、ここでは削除
 
     // dataCleanupJobはDataCleanupBatchConfigで定義されているため、ここでは削除
 
-    @Bean
-    public Job dataRepairJob() {
-        return new JobBuilder("dataRepairJob", jobRepository)
-                .incrementer(new RunIdIncrementer())
-                .listener(dailyAttendanceEnhancedJobExecutionListener())
-                .start(dailyAttendancePreValidationStep())
-                .next(dailyAttendanceRecoveryCheckStep())
-                .next(dataInitializationStep())
-                .next(attendanceProcessingStep()) // 可以根据需要替换为专用的处理步骤
-                .next(postValidationStep())
-                .next(thresholdCheckStep())
-                .build();
-    }
+    // dataRepairJobはDataRepairBatchConfigで定義されているため、ここでは削除
 
     @Bean
     public Job overtimeMonitoringBatchJob() {
         return new JobBuilder("overtimeMonitoringBatchJob", jobRepository)
-                .incrementer(new RunIdIncrementer())
+                .validator(OVERTIME_PARAMETERS)
                 .listener(dailyAttendanceEnhancedJobExecutionListener())
                 .start(dailyAttendancePreValidationStep())
                 .next(dailyAttendanceRecoveryCheckStep())
-                .next(overtimeDataInitializationStep())
-                .next(overtimeMonitoringProcessingStep())
+                .next(overtimeReconciliationStep())
                 .next(postValidationStep())
                 .next(thresholdCheckStep())
                 .build();
@@ -167,6 +158,12 @@ public class DailyAttendanceBatchConfig {
         return new EnhancedStepExecutionListener();
     }
 
+    // チャンク処理ステップの読み込み・加工・書き込み時間の計測（EnhancedStepExecutionListener の後に登録する）
+    @Bean
+    public StepMetricsListener dailyAttendanceStepMetricsListener() {
+        return new StepMetricsListener();
+    }
+
     @Bean
     public Step dailyAttendancePreValidationStep() {
         return new StepBuilder("dailyAttendancePreValidationStep", jobRepository)
@@ -195,10 +192,12 @@ public class DailyAttendanceBatchConfig {
     public Step attendanceProcessingStep() {
         return new StepBuilder("attendanceProcessingStep", jobRepository)
                 .<AttendanceRecord, AttendanceSummary>chunk(10, transactionManager)
-                .reader(attendanceRecordItemReader())
-                .processor(dailyWorkTimeProcessor())
+                .reader(attendanceRecordItemReader(null))
+                .processor(dailyWorkTimeProcessor(null))
                 .writer(attendanceSummaryWriter())
                 .listener(dailyAttendanceEnhancedStepExecutionListener())
+                .listener(dailyAttendanceStepMetricsListener())
+                .listener(new ProgressTotalListener(this::countDailyTargets))
                 .build();
     }
 
@@ -206,28 +205,18 @@ public class DailyAttendanceBatchConfig {
     public Step monthlyAttendanceProcessingStep() {
         return new StepBuilder("monthlyAttendanceProcessingStep", jobRepository)
                 .<AttendanceRecord, AttendanceSummary>chunk(10, transactionManager)
-                .reader(monthlySummaryItemReader())
-                .processor(monthlyWorkTimeProcessor())
+                .reader(monthlySummaryItemReader(null))
+                .processor(monthlyWorkTimeProcessor(null))
                 .writer(attendanceSummaryWriter())
                 .listener(dailyAttendanceEnhancedStepExecutionListener())
+                .listener(dailyAttendanceStepMetricsListener())
                 .build();
     }
 
     @Bean
-    public Step overtimeMonitoringProcessingStep() {
-        return new StepBuilder("overtimeMonitoringProcessingStep", jobRepository)
-                .<AttendanceSummary, OvertimeReport>chunk(10, transactionManager)
-                .reader(overtimeMonitoringItemReader())
-                .processor(overtimeMonitoringProcessor())
-                .writer(overtimeReportWriter())
-                .listener(dailyAttendanceEnhancedStepExecutionListener())
-                .build();
-    }
-
-    @Bean
-    public Step overtimeDataInitializationStep() {
-        return new StepBuilder("overtimeDataInitializationStep", jobRepository)
-                .tasklet(overtimeDataInitializationTasklet(), transactionManager)
+    public Step overtimeReconciliationStep() {
+        return new StepBuilder("overtimeReconciliationStep", jobRepository)
+                .tasklet(overtimeReconciliationTasklet(), transactionManager)
                 .listener(dailyAttendanceEnhancedStepExecutionListener())
                 .build();
     }
@@ -248,49 +237,42 @@ public class DailyAttendanceBatchConfig {
                 .build();
     }
 
+    // リーダーは読み込み位置を実行コンテキストへ保存するため、ItemStream を実装した型で公開する
+    // （ItemReader 型で公開するとステップスコープのプロキシが ItemStream を実装せず、再開位置が保存されない）
     @Bean
     @StepScope
-    public ItemReader<AttendanceRecord> attendanceRecordItemReader() {
-        return new AttendanceRecordReader(attendanceRecordRepository).reader();
+    public JdbcPagingItemReader<AttendanceRecord> attendanceRecordItemReader(
+            @Value("#{jobParameters['targetDate']}") String targetDate) {
+        return new AttendanceRecordReader(dataSource).reader(LocalDate.parse(targetDate));
     }
 
     @Bean
     @StepScope
-    public ItemProcessor<AttendanceRecord, AttendanceSummary> dailyWorkTimeProcessor() {
+    public ItemProcessor<AttendanceRecord, AttendanceSummary> dailyWorkTimeProcessor(
+            @Value("#{jobParameters['targetDate']}") String targetDate) {
         DailyWorkTimeProcessor processor = new DailyWorkTimeProcessor();
         // 手动注入依赖
         processor.setAttendanceRecordRepository(attendanceRecordRepository);
         processor.setHolidayRepository(holidayRepository);
+        processor.setTargetDate(LocalDate.parse(targetDate));
         return processor;
     }
 
     @Bean
     @StepScope
-    public ItemReader<AttendanceRecord> monthlySummaryItemReader() {
-        return new MonthlySummaryReader(attendanceRecordRepository).reader();
+    public JdbcPagingItemReader<AttendanceRecord> monthlySummaryItemReader(
+            @Value("#{jobParameters['targetMonth']}") String targetMonth) {
+        return new MonthlySummaryReader(dataSource).reader(YearMonth.parse(targetMonth));
     }
 
     @Bean
     @StepScope
-    public ItemProcessor<AttendanceRecord, AttendanceSummary> monthlyWorkTimeProcessor() {
+    public ItemProcessor<AttendanceRecord, AttendanceSummary> monthlyWorkTimeProcessor(
+            @Value("#{jobParameters['targetMonth']}") String targetMonth) {
         MonthlyWorkTimeProcessor processor = new MonthlyWorkTimeProcessor();
         // 手动注入依赖
         processor.setAttendanceSummaryRepository(attendanceSummaryRepository);
-        return processor;
-    }
-
-    @Bean
-    @StepScope
-    public ItemReader<AttendanceSummary> overtimeMonitoringItemReader() {
-        return new OvertimeMonitoringReader(attendanceSummaryRepository).reader();
-    }
-
-    @Bean
-    @StepScope
-    public ItemProcessor<AttendanceSummary, OvertimeReport> overtimeMonitoringProcessor() {
-        OvertimeMonitoringProcessor processor = new OvertimeMonitoringProcessor();
-        // 手动注入依赖
-        processor.setOvertimeReportRepository(overtimeReportRepository);
+        processor.setTargetMonth(YearMonth.parse(targetMonth));
         return processor;
     }
 
@@ -300,12 +282,6 @@ public class DailyAttendanceBatchConfig {
         return new AttendanceSummaryWriter();
     }
 
-    @Bean
-    @StepScope
-    public ItemWriter<OvertimeReport> overtimeReportWriter() {
-        return new OvertimeReportWriter();
-    }
-
     // 事前検証処理
     @Bean
     public Tasklet preValidationTasklet() {
@@ -379,17 +355,24 @@ public class DailyAttendanceBatchConfig {
 
             try {
                 String jobName = contribution.getStepExecution().getJobExecution().getJobInstance().getJobName();
+                ExecutionContext jobContext = contribution.getStepExecution().getJobExecution().getExecutionContext();
+                Map<String, Object> jobParameters = chunkContext.getStepContext().getJobParameters();
 
                 if ("dailyAttendanceSummaryJob".equals(jobName)) {
-                    // 日次処理：既存の勤怠集計データをクリア（当日分のみ）
-                    jdbcTemplate.update(
-                            "DELETE FROM attendance_summaries WHERE target_date = CURRENT_DATE AND summary_type = 'daily'");
-                    logger.info("日次集計データを初期化しました");
+                    // 日次処理：集計は UPSERT で上書きするため削除しない（再実行しても変わらない行は更新されない）
+                    String targetDate = String.valueOf(jobParameters.get(DAILY_PARAMETERS.getKey()));
+                    jobContext.putString("targetDate", targetDate);
+                    logger.info("日次集計の対象日: {}", targetDate);
                 } else if ("monthlyAttendanceSummaryJob".equals(jobName)) {
-                    // 月次処理：既存の月次集計データをクリア（当月分のみ）
+                    // 月次処理：既存の月次集計データをクリア（対象月分のみ）
+                    // このステップは完了済みなら再開時に実行されないため、途中まで書き込んだ月次集計は消えない
+                    YearMonth targetMonth = YearMonth.parse(
+                            String.valueOf(jobParameters.get(MONTHLY_PARAMETERS.getKey())));
                     jdbcTemplate.update(
-                            "DELETE FROM attendance_summaries WHERE DATE_TRUNC('month', target_date) = DATE_TRUNC('month', CURRENT_DATE) AND summary_type = 'monthly'");
-                    logger.info("月次集計データを初期化しました");
+                            "DELETE FROM attendance_summaries WHERE target_date = ? AND summary_type = 'monthly'",
+                            targetMonth.atDay(1));
+                    jobContext.putString("targetMonth", targetMonth.toString());
+                    logger.info("月次集計データを初期化しました: targetMonth={}", targetMonth);
                 }
 
                 logger.info("===== データ初期化完了 =====");
@@ -473,36 +456,59 @@ public class DailyAttendanceBatchConfig {
         };
     }
 
-    // 残業データ初期化処理
+    // 残業月内累計の再集計処理
+    // 累計は日次サマリーの登録時に更新済みのため、ここでは対象月（ジョブパラメータ、既定は当月）の取りこぼしを補正する
     @Bean
-    public Tasklet overtimeDataInitializationTasklet() {
+    public Tasklet overtimeReconciliationTasklet() {
         return (contribution, chunkContext) -> {
-            logger.info("===== 残業データ初期化開始 =====");
+            logger.info("===== 残業月内累計再集計開始 =====");
 
             try {
-                // 既存の残業レポートデータをクリア（当月分のみ）
-                jdbcTemplate.update(
-                        "DELETE FROM overtime_reports WHERE DATE_TRUNC('month', target_month) = DATE_TRUNC('month', CURRENT_DATE)");
-                logger.info("残業レポートデータを初期化しました");
-
-                logger.info("===== 残業データ初期化完了 =====");
+                Object targetMonthParam = chunkContext.getStepContext().getJobParameters()
+                        .get(OVERTIME_PARAMETERS.getKey());
+                YearMonth targetMonth = YearMonth.parse(String.valueOf(targetMonthParam));
+
+                ReconcileResult result = overtimeMonitorService.reconcile(targetMonth);
+                contribution.incrementWriteCount(result.userCount());
+
+                ExecutionContext jobContext = chunkContext.getStepContext().getStepExecution()
+                        .getJobExecution().getExecutionContext();
+                jobContext.putString("targetMonth", result.month().toString());
+                jobContext.putInt("userCount", result.userCount());
+                jobContext.putInt("alertCount", result.alertCount());
+                jobContext.putInt("confirmedCount", result.confirmedCount());
+                jobContext.putInt("draftCount", result.draftCount());
+                jobContext.putInt("approvedCount", result.approvedCount());
+                logger.info("残業月内累計を再集計しました: month={}, users={}, alerts={}",
+                        result.month(), result.userCount(), result.alertCount());
+
+                logger.info("===== 残業月内累計再集計完了 =====");
                 return RepeatStatus.FINISHED;
             } catch (DataAccessException e) {
                 logger.error("残業データアクセスエラー（再試行可能）", e);
                 throw new RuntimeException("残業データベースエラー", e);
             } catch (Exception e) {
-                logger.error("残業初期化処理失敗（致命的）", e);
+                logger.error("残業月内累計再集計処理失敗（致命的）", e);
                 throw e;
             }
         };
     }
 
+    // 日次集計の処理対象件数（対象日の出勤打刻数）
+    private long countDailyTargets(StepExecution stepExecution) {
+        String targetDate = stepExecution.getJobParameters().getString(DAILY_PARAMETERS.getKey());
+        Long count = new NamedParameterJdbcTemplate(jdbcTemplate).queryForObject(
+                "SELECT COUNT(*) FROM attendance_records WHERE " + AttendanceRecordReader.TARGET_DATE_CONDITION,
+                Map.of("targetDate", LocalDate.parse(targetDate)), Long.class);
+        return count != null ? count : 0;
+    }
+
     // 閾値チェック実装
     private boolean checkThresholds() {
         try {
             // 集計された勤怠レコード数チェック
             Integer count = jdbcTemplate.queryForObject(
-                    "SELECT COUNT(*) FROM attendance_summaries WHERE date = CURRENT_DATE", Integer.class);
+                    "SELECT COUNT(*) FROM attendance_summaries WHERE target_date = CURRENT_DATE", Integer.class);
 
             // 仮の閾値: 10000件
             return count != null && count > 10000;
@@ -2,12 +2,15 @@ package com.example.companybackend.batch.config;
 
 import com.example.companybackend.batch.listener.EnhancedJobExecutionListener;
 import com.example.companybackend.batch.listener.EnhancedStepExecutionListener;
+import com.example.companybackend.batch.listener.ProgressTotalListener;
+import com.example.companybackend.batch.listener.StepMetricsListener;
 import com.example.companybackend.batch.processor.DataCleanupProcessor;
 import com.example.companybackend.batch.reader.DataCleanupReader;
 import com.example.companybackend.batch.writer.DataCleanupWriter;
 import com.example.companybackend.batch.service.BatchValidationService;
 import com.example.companybackend.batch.service.BatchRecoveryService;
 import com.example.companybackend.batch.service.BatchValidationServiceResult;
+import com.example.companybackend.batch.service.PartitionMaintenanceService;
 import com.example.companybackend.batch.util.BatchDiagnosticLogger;
 import com.example.companybackend.entity.SystemLog;
 import com.example.companybackend.repository.SystemLogRepository;
@@ -23,8 +26,8 @@ import org.springframework.batch.core.step.builder.StepBuilder;
 import org.springframework.batch.core.launch.support.RunIdIncrementer;
 import org.springframework.batch.core.step.tasklet.Tasklet;
 import org.springframework.batch.item.ItemProcessor;
-import org.springframework.batch.item.ItemReader;
 import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.item.database.JdbcPagingItemReader;
 import org.springframework.batch.repeat.RepeatStatus;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
@@ -35,6 +38,8 @@ import org.springframework.transaction.PlatformTransactionManager;
 
 import javax.sql.DataSource;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 @Configuration
 @EnableBatchProcessing
@@ -66,6 +71,9 @@ public class DataCleanupBatchConfig {
     @Autowired
     private DataSource dataSource;
 
+    @Autowired
+    private PartitionMaintenanceService partitionMaintenanceService;
+
     @Bean
     public Job dataCleanupJob() {
         return new JobBuilder("dataCleanupJob", jobRepository)
@@ -74,6 +82,7 @@ public class DataCleanupBatchConfig {
                 .start(dataCleanupPreValidationStep())
                 .next(dataCleanupRecoveryCheckStep())
                 .next(dataCleanupInitializationStep())
+                .next(dataCleanupPartitionDropStep())
                 .next(dataCleanupProcessingStep())
                 .next(postValidationStep())
                 .next(cleanupStatisticsStep())
@@ -90,6 +99,12 @@ public class DataCleanupBatchConfig {
         return new EnhancedStepExecutionListener();
     }
 
+    // チャンク処理ステップの読み込み・加工・書き込み時間の計測（EnhancedStepExecutionListener の後に登録する）
+    @Bean
+    public StepMetricsListener dataCleanupStepMetricsListener() {
+        return new StepMetricsListener();
+    }
+
     @Bean
     public Step dataCleanupPreValidationStep() {
         return new StepBuilder("dataCleanupPreValidationStep", jobRepository)
@@ -114,6 +129,14 @@ public class DataCleanupBatchConfig {
                 .build();
     }
 
+    @Bean
+    public Step dataCleanupPartitionDropStep() {
+        return new StepBuilder("dataCleanupPartitionDropStep", jobRepository)
+                .tasklet(partitionDropTasklet(), transactionManager)
+                .listener(dataCleanupEnhancedStepExecutionListener())
+                .build();
+    }
+
     @Bean
     public Step dataCleanupProcessingStep() {
         return new StepBuilder("dataCleanupProcessingStep", jobRepository)
@@ -122,6 +145,9 @@ public class DataCleanupBatchConfig {
                 .processor(dataCleanupProcessor())
                 .writer(dataCleanupWriter())
                 .listener(dataCleanupEnhancedStepExecutionListener())
+                .listener(dataCleanupStepMetricsListener())
+                .listener(new ProgressTotalListener(() -> systemLogRepository.countByCreatedAtBefore(
+                        OffsetDateTime.now().minusMonths(DataCleanupReader.RETENTION_MONTHS))))
                 .build();
     }
 
@@ -141,9 +167,10 @@ public class DataCleanupBatchConfig {
                 .build();
     }
 
+    // 読み込み位置を実行コンテキストへ保存するため、ItemStream を実装した型で公開する
     @Bean
     @StepScope
-    public ItemReader<SystemLog> dataCleanupItemReader() {
+    public JdbcPagingItemReader<SystemLog> dataCleanupItemReader() {
         return new DataCleanupReader(systemLogRepository, dataSource).reader();
     }
 
@@ -277,6 +304,43 @@ public class DataCleanupBatchConfig {
         };
     }
 
+    // パーティション単位削除処理
+    // 保持期間を超えた月のパーティションを丸ごと削除し、残りの境界月データのみ後続の行単位削除に委ねる
+    @Bean
+    public Tasklet partitionDropTasklet() {
+        return (contribution, chunkContext) -> {
+            logger.info("===== パーティション削除開始 =====");
+
+            try {
+                OffsetDateTime cutoffDate = OffsetDateTime.now().minusMonths(12);
+                List<String> droppedPartitions = new ArrayList<>();
+                List<String> createdPartitions = new ArrayList<>();
+
+                for (String table : List.of("system_logs", "notifications")) {
+                    createdPartitions.addAll(partitionMaintenanceService.ensureFuturePartitions(table));
+                    droppedPartitions.addAll(partitionMaintenanceService.dropExpiredPartitions(table, cutoffDate));
+                }
+
+                logger.info("パーティション削除結果: 削除={} 件 {}, 新規作成={} 件",
+                        droppedPartitions.size(), droppedPartitions, createdPartitions.size());
+
+                chunkContext.getStepContext().getStepExecution().getExecutionContext()
+                        .put("droppedPartitionCount", droppedPartitions.size());
+                chunkContext.getStepContext().getStepExecution().getExecutionContext()
+                        .put("droppedPartitions", String.join(",", droppedPartitions));
+
+                logger.info("===== パーティション削除完了 =====");
+                return RepeatStatus.FINISHED;
+
+            } catch (DataAccessException e) {
+                // パーティション削除に失敗しても行単位削除で処理を継続する
+                logger.warn("パーティション削除に失敗しました（行単位削除で継続します）", e);
+                diagnosticLogger.logError("dataCleanupPartitionDropStep", null, e);
+                return RepeatStatus.FINISHED;
+            }
+        };
+    }
+
     // 事後検証処理
     @Bean
     public Tasklet postValidationTasklet() {
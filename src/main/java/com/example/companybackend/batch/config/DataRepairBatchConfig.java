@@ -1,52 +1,127 @@
 package com.example.companybackend.batch.config;
 
+import com.example.companybackend.service.AttendanceAnomalyService;
+import com.example.companybackend.service.AttendanceAnomalyService.RepairResult;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.Step;
 import org.springframework.batch.core.configuration.annotation.EnableBatchProcessing;
 import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.launch.support.RunIdIncrementer;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.builder.StepBuilder;
-import org.springframework.batch.core.launch.support.RunIdIncrementer;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.ExecutionContext;
 import org.springframework.batch.repeat.RepeatStatus;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.transaction.PlatformTransactionManager;
 
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * データ修復バッチ設定
+ * 打刻の異常（退勤漏れ・出勤漏れ・出退勤の逆転・数分以内の重複）を一括検出し、
+ * 修復できるものを打刻修正の下書きとして登録する
+ *
+ * ジョブパラメータ:
+ * - fromDate: 対象期間の開始日 yyyy-MM-dd（省略時は全履歴）
+ * - toDate: 対象期間の終了日 yyyy-MM-dd（省略時は前日）
+ * - dryRun: true の場合は検出結果の集計のみ行い、下書きを登録しない
+ */
 @Configuration
 @EnableBatchProcessing
+@RequiredArgsConstructor
 public class DataRepairBatchConfig {
-    
-    
+
+    private static final Logger log = LoggerFactory.getLogger(DataRepairBatchConfig.class);
+    private final JobRepository jobRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final AttendanceAnomalyService attendanceAnomalyService;
+
     @Bean
-    public Job dataRepairJob(JobRepository jobRepository) {
+    public Job dataRepairJob() {
         return new JobBuilder("dataRepairJob", jobRepository)
                 .incrementer(new RunIdIncrementer())
-                .start(validateDataStep(jobRepository, null))
-                .next(repairDataStep(jobRepository, null))
+                .start(validateDataStep())
+                .next(repairDataStep())
                 .build();
     }
-    
+
     @Bean
-    public Step validateDataStep(JobRepository jobRepository, PlatformTransactionManager transactionManager) {
+    public Step validateDataStep() {
         return new StepBuilder("validateDataStep", jobRepository)
-                .tasklet((contribution, chunkContext) -> {
-                    // データ検証ロジックをここに実装
-                    // 例えば、出勤打刻があるが退勤打刻がないレコードを検出する
-                    
-                    return RepeatStatus.FINISHED;
-                }, transactionManager)
+                .tasklet(dataRepairParameterTasklet(), transactionManager)
                 .build();
     }
-    
+
     @Bean
-    public Step repairDataStep(JobRepository jobRepository, PlatformTransactionManager transactionManager) {
+    public Step repairDataStep() {
         return new StepBuilder("repairDataStep", jobRepository)
-                .tasklet((contribution, chunkContext) -> {
-                    // データ修復ロジックをここに実装
-                    // 例えば、欠損している退勤打刻を推定して追加する
-                    
-                    return RepeatStatus.FINISHED;
-                }, transactionManager)
+                .tasklet(dataRepairTasklet(), transactionManager)
                 .build();
     }
-}
\ No newline at end of file
+
+    /**
+     * ジョブパラメータの検証
+     * 日付の形式・期間の前後関係をここで確認し、不正な場合は検出を始める前にジョブを失敗させる
+     */
+    @Bean
+    public Tasklet dataRepairParameterTasklet() {
+        return (contribution, chunkContext) -> {
+            Map<String, Object> parameters = chunkContext.getStepContext().getJobParameters();
+            LocalDate fromDate = parseDate(parameters.get("fromDate"));
+            LocalDate toDate = parseDate(parameters.get("toDate"));
+            if (fromDate != null && toDate != null && fromDate.isAfter(toDate)) {
+                throw new IllegalArgumentException("対象期間の開始日が終了日より後です: " + fromDate + " - " + toDate);
+            }
+            boolean dryRun = Boolean.parseBoolean(String.valueOf(parameters.get("dryRun")));
+
+            ExecutionContext jobContext = chunkContext.getStepContext().getStepExecution()
+                    .getJobExecution().getExecutionContext();
+            if (fromDate != null) {
+                jobContext.putString("fromDate", fromDate.toString());
+            }
+            if (toDate != null) {
+                jobContext.putString("toDate", toDate.toString());
+            }
+            jobContext.putString("dryRun", String.valueOf(dryRun));
+            return RepeatStatus.FINISHED;
+        };
+    }
+
+    /**
+     * 打刻異常の検出と修復提案の登録
+     * 検出はユーザー範囲ごとに別トランザクションで並列に行うため、ステップのトランザクションでは書き込まない
+     */
+    @Bean
+    public Tasklet dataRepairTasklet() {
+        return (contribution, chunkContext) -> {
+            ExecutionContext jobContext = chunkContext.getStepContext().getStepExecution()
+                    .getJobExecution().getExecutionContext();
+            LocalDate fromDate = parseDate(jobContext.get("fromDate"));
+            LocalDate toDate = parseDate(jobContext.get("toDate"));
+            boolean dryRun = Boolean.parseBoolean(jobContext.getString("dryRun", "false"));
+
+            log.info("打刻異常の検出開始: fromDate={}, toDate={}, dryRun={}", fromDate, toDate, dryRun);
+            RepairResult result = attendanceAnomalyService.detectAndDraft(fromDate, toDate, dryRun);
+
+            contribution.incrementReadCount();
+            contribution.incrementWriteCount(result.draftCount());
+
+            // API の応答で参照できるようにジョブの実行コンテキストへ結果を格納
+            jobContext.putInt("partitionCount", result.partitionCount());
+            jobContext.putInt("totalAnomalyCount", result.totalAnomalyCount());
+            jobContext.putInt("draftCount", result.draftCount());
+            result.anomalyCounts().forEach((type, count) -> jobContext.putInt("anomaly." + type, count));
+            return RepeatStatus.FINISHED;
+        };
+    }
+
+    private static LocalDate parseDate(Object value) {
+        return value != null ? LocalDate.parse(value.toString()) : null;
+    }
+}
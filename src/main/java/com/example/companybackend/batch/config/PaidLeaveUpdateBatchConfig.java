@@ -1,8 +1,7 @@
 package com.example.companybackend.batch.config;
 
-import com.example.companybackend.entity.User;
-import com.example.companybackend.repository.UserRepository;
-import com.example.companybackend.service.PaidLeaveCalculationService;
+import com.example.companybackend.service.PaidLeaveAccrualService;
+import com.example.companybackend.service.PaidLeaveAccrualService.AccrualResult;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -13,19 +12,25 @@ import org.springframework.batch.core.job.builder.JobBuilder;
 import org.springframework.batch.core.launch.support.RunIdIncrementer;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.builder.StepBuilder;
-import org.springframework.batch.item.ItemProcessor;
-import org.springframework.batch.item.ItemReader;
-import org.springframework.batch.item.ItemWriter;
-import org.springframework.batch.item.data.RepositoryItemReader;
-import org.springframework.batch.item.data.builder.RepositoryItemReaderBuilder;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.repeat.RepeatStatus;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.data.domain.Sort;
 import org.springframework.transaction.PlatformTransactionManager;
 
 import java.time.LocalDate;
 import java.util.Map;
 
+/**
+ * 有給日数更新バッチ設定
+ * 全有効ユーザーの付与日数・取得日数・残日数を計算し、有給休暇残高台帳へ一括 UPSERT する
+ *
+ * ジョブパラメータ:
+ * - fiscalYear: 対象年度（省略時は targetDate の属する年度）
+ * - targetDate: 勤続年数の基準日 yyyy-MM-dd（省略時は fiscalYear 指定があれば年度開始日、なければ当日）
+ * - dryRun: true の場合は計算結果の集計のみ行い、台帳を更新しない
+ */
 @Configuration
 @EnableBatchProcessing
 @RequiredArgsConstructor
@@ -34,8 +39,7 @@ public class PaidLeaveUpdateBatchConfig {
     private static final Logger log = LoggerFactory.getLogger(PaidLeaveUpdateBatchConfig.class);
     private final JobRepository jobRepository;
     private final PlatformTransactionManager transactionManager;
-    private final UserRepository userRepository;
-    private final PaidLeaveCalculationService paidLeaveCalculationService;
+    private final PaidLeaveAccrualService paidLeaveAccrualService;
 
     @Bean
     public Job paidLeaveUpdateJob() {
@@ -48,49 +52,45 @@ public class PaidLeaveUpdateBatchConfig {
     @Bean
     public Step updatePaidLeaveStep() {
         return new StepBuilder("updatePaidLeaveStep", jobRepository)
-                .<User, User>chunk(10, transactionManager)
-                .reader(userReader())
-                .processor(paidLeaveProcessor())
-                .writer(paidLeaveWriter())
+                .tasklet(paidLeaveAccrualTasklet(), transactionManager)
                 .build();
     }
 
     @Bean
-    public ItemReader<User> userReader() {
-        return new RepositoryItemReaderBuilder<User>()
-                .name("userReader")
-                .repository(userRepository)
-                .methodName("findAll")
-                .sorts(Map.of("id", Sort.Direction.ASC))
-                .build();
-    }
+    public Tasklet paidLeaveAccrualTasklet() {
+        return (contribution, chunkContext) -> {
+            Map<String, Object> parameters = chunkContext.getStepContext().getJobParameters();
+            Object fiscalYearParam = parameters.get("fiscalYear");
+            Object targetDateParam = parameters.get("targetDate");
+            boolean dryRun = Boolean.parseBoolean(String.valueOf(parameters.get("dryRun")));
 
-    @Bean
-    public ItemProcessor<User, User> paidLeaveProcessor() {
-        return user -> {
-            log.info("有給休暇日数更新処理: userId={}", user.getId());
+            LocalDate targetDate;
+            int fiscalYear;
+            if (fiscalYearParam != null) {
+                fiscalYear = Integer.parseInt(fiscalYearParam.toString());
+                targetDate = targetDateParam != null
+                        ? LocalDate.parse(targetDateParam.toString())
+                        : PaidLeaveAccrualService.fiscalYearStart(fiscalYear);
+            } else {
+                targetDate = targetDateParam != null ? LocalDate.parse(targetDateParam.toString()) : LocalDate.now();
+                fiscalYear = PaidLeaveAccrualService.fiscalYearOf(targetDate);
+            }
 
-            // 今年の有給休暇日数を計算
-            int paidLeaveDays = paidLeaveCalculationService.calculatePaidLeaveDays(
-                    user, LocalDate.now());
+            log.info("有給休暇残高更新開始: fiscalYear={}, targetDate={}, dryRun={}", fiscalYear, targetDate, dryRun);
+            AccrualResult result = paidLeaveAccrualService.accrue(fiscalYear, targetDate, dryRun);
 
-            // 実際のシステムでは、ここでユーザーの有給休暇日数を更新するフィールドに値を設定します
-            // ただし、現在のデータベース構造にはそのようなフィールドがないため、
-            // ログ出力のみ行います
+            contribution.incrementWriteCount(result.writtenCount());
 
-            log.info("ユーザーID {} の今年度有給休暇日数: {}日", user.getId(), paidLeaveDays);
-            return user;
-        };
-    }
-
-    @Bean
-    public ItemWriter<User> paidLeaveWriter() {
-        return users -> {
-            log.info("有給休暇日数更新結果書き込み: {}件", users.size());
-            // 実際のシステムでは、ここでデータベースに更新結果を保存します
-            // 現在のデータベース構造には有給休暇日数を保存するフィールドがないため、
-            // ログ出力のみ行います
-            users.forEach(user -> log.info("ユーザーID {} の有給休暇日数更新完了", user.getId()));
+            // API の応答で参照できるようにジョブの実行コンテキストへ結果を格納
+            ExecutionContext jobContext = chunkContext.getStepContext().getStepExecution()
+                    .getJobExecution().getExecutionContext();
+            jobContext.putInt("fiscalYear", result.fiscalYear());
+            jobContext.putInt("totalUserCount", result.totalUserCount());
+            jobContext.putInt("grantedUserCount", result.grantedUserCount());
+            jobContext.putInt("overdrawnUserCount", result.overdrawnUserCount());
+            jobContext.putInt("writtenCount", result.writtenCount());
+            jobContext.putString("dryRun", String.valueOf(result.dryRun()));
+            return RepeatStatus.FINISHED;
         };
     }
-}
\ No newline at end of file
+}
@@ -1,20 +1,30 @@
 package com.example.companybackend.batch.listener;
 
+import com.example.companybackend.batch.util.BatchDiagnosticLogger;
+import org.springframework.batch.core.BatchStatus;
 import org.springframework.batch.core.JobExecution;
 import org.springframework.batch.core.JobExecutionListener;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 @Component
 public class EnhancedJobExecutionListener implements JobExecutionListener {
 
+    @Autowired
+    private BatchDiagnosticLogger diagnosticLogger;
+
     @Override
     public void beforeJob(JobExecution jobExecution) {
-        System.out.println("Job Started: " + jobExecution.getJobInstance().getJobName());
+        diagnosticLogger.logJobStart(jobExecution.getId(), jobExecution.getJobInstance().getJobName());
+        diagnosticLogger.logResourceUsage();
     }
 
     @Override
     public void afterJob(JobExecution jobExecution) {
-        System.out.println("Job Finished: " + jobExecution.getJobInstance().getJobName() + 
-                          " Status: " + jobExecution.getStatus());
+        long totalRecords = jobExecution.getStepExecutions().stream().mapToLong(StepExecution::getReadCount).sum();
+        diagnosticLogger.logJobEnd(jobExecution.getId(), jobExecution.getJobInstance().getJobName(),
+                jobExecution.getStatus() == BatchStatus.COMPLETED, (int) totalRecords);
+        diagnosticLogger.logResourceUsage();
     }
-}
\ No newline at end of file
+}
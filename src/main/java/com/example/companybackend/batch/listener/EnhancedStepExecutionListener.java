@@ -1,22 +1,68 @@
 package com.example.companybackend.batch.listener;
 
+import com.example.companybackend.batch.util.BatchDiagnosticLogger;
+import com.example.companybackend.batch.util.ErrorFileManager;
+import org.springframework.batch.core.BatchStatus;
 import org.springframework.batch.core.ExitStatus;
 import org.springframework.batch.core.StepExecution;
 import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
 @Component
 public class EnhancedStepExecutionListener implements StepExecutionListener {
 
+    /** ステップ実行コンテキストに保存するエラー件数・エラーファイル名のキー */
+    public static final String ERROR_COUNT_KEY = "errors.count";
+    public static final String ERROR_FILES_KEY = "errors.files";
+
+    @Autowired
+    private ErrorFileManager errorFileManager;
+
+    @Autowired
+    private BatchDiagnosticLogger diagnosticLogger;
+
+    /** ステップ実行IDごとの開始時点のリソース使用状況 */
+    private final Map<Long, BatchDiagnosticLogger.ResourceSnapshot> startSnapshots = new ConcurrentHashMap<>();
+
     @Override
     public void beforeStep(StepExecution stepExecution) {
-        System.out.println("Step Started: " + stepExecution.getStepName());
+        String jobName = stepExecution.getJobExecution().getJobInstance().getJobName();
+        diagnosticLogger.logStepStart(stepExecution.getStepName(),
+                Map.of("jobName", jobName, "stepExecutionId", stepExecution.getId()));
+        errorFileManager.openSink(jobName, stepExecution.getStepName(), stepExecution.getId());
+        startSnapshots.put(stepExecution.getId(), diagnosticLogger.captureResources());
     }
 
     @Override
     public ExitStatus afterStep(StepExecution stepExecution) {
-        System.out.println("Step Finished: " + stepExecution.getStepName() + 
-                          " Status: " + stepExecution.getStatus());
+        // ステップ終了時にバッファを書き込み、エラーファイルを閉じて圧縮する
+        ErrorFileManager.SinkSummary errors = errorFileManager.closeSink(stepExecution.getId());
+        if (errors.errorCount() > 0) {
+            stepExecution.getExecutionContext().putLong(ERROR_COUNT_KEY, errors.errorCount());
+            stepExecution.getExecutionContext().putString(ERROR_FILES_KEY, String.join(",", errors.files()));
+        }
+
+        // ヒープ・GC の増分、CPU 時間、処理速度を Micrometer と実行コンテキストに記録する
+        BatchDiagnosticLogger.ResourceSnapshot start = startSnapshots.remove(stepExecution.getId());
+        if (start != null) {
+            diagnosticLogger.recordStepResources(stepExecution.getJobExecution().getJobInstance().getJobName(),
+                    stepExecution.getStepName(), start, stepExecution.getReadCount(),
+                    stepExecution.getStatus().name())
+                    .forEach(stepExecution.getExecutionContext()::put);
+        }
+
+        // StepMetricsListener（後に登録されたリスナーから先に afterStep が呼ばれる）の計測値も合わせて出力する
+        Map<String, Object> metrics = new TreeMap<>();
+        stepExecution.getExecutionContext().entrySet().stream()
+                .filter(entry -> entry.getKey().startsWith(BatchDiagnosticLogger.METRICS_KEY_PREFIX))
+                .forEach(entry -> metrics.put(entry.getKey(), entry.getValue()));
+        diagnosticLogger.logStepEnd(stepExecution.getStepName(), stepExecution.getStatus() != BatchStatus.FAILED,
+                (int) stepExecution.getReadCount(), metrics);
         return stepExecution.getExitStatus();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,37 @@
+package com.example.companybackend.batch.listener;
+
+import com.example.companybackend.batch.service.BatchJobService;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+
+import java.util.function.LongSupplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * 処理対象件数の記録
+ * チャンク処理ステップの開始時に処理対象件数を実行コンテキストへ格納し、進捗 API で進捗率・残り時間を算出できるようにする。
+ * 再実行時は実行コンテキストが引き継がれるため、前回格納した件数をそのまま使う
+ */
+public class ProgressTotalListener implements StepExecutionListener {
+
+    private final ToLongFunction<StepExecution> totalCount;
+
+    public ProgressTotalListener(LongSupplier totalCount) {
+        this(stepExecution -> totalCount.getAsLong());
+    }
+
+    /**
+     * @param totalCount ステップ実行（ジョブパラメータの業務日付など）から処理対象件数を求める関数
+     */
+    public ProgressTotalListener(ToLongFunction<StepExecution> totalCount) {
+        this.totalCount = totalCount;
+    }
+
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        if (!stepExecution.getExecutionContext().containsKey(BatchJobService.TOTAL_COUNT_KEY)) {
+            stepExecution.getExecutionContext().putLong(BatchJobService.TOTAL_COUNT_KEY,
+                    totalCount.applyAsLong(stepExecution));
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package com.example.companybackend.batch.listener;
+
+import com.example.companybackend.batch.util.BatchDiagnosticLogger;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.annotation.AfterChunk;
+import org.springframework.batch.core.annotation.AfterChunkError;
+import org.springframework.batch.core.annotation.AfterProcess;
+import org.springframework.batch.core.annotation.AfterRead;
+import org.springframework.batch.core.annotation.AfterStep;
+import org.springframework.batch.core.annotation.AfterWrite;
+import org.springframework.batch.core.annotation.BeforeChunk;
+import org.springframework.batch.core.annotation.BeforeProcess;
+import org.springframework.batch.core.annotation.BeforeRead;
+import org.springframework.batch.core.annotation.BeforeStep;
+import org.springframework.batch.core.annotation.BeforeWrite;
+import org.springframework.batch.core.annotation.OnProcessError;
+import org.springframework.batch.core.annotation.OnReadError;
+import org.springframework.batch.core.annotation.OnWriteError;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * チャンク処理ステップの所要時間の計測
+ * リーダー・プロセッサー・ライターの前後で時間を計り、DB 時間（読み込み＋書き込み）と加工時間、
+ * チャンクごとの所要時間の分布を Micrometer とステップ実行コンテキストに記録する。
+ * リーダー・ライターの Bean はそのまま使い（再開位置を保存する ItemStream の登録に影響しない）、
+ * アノテーションのリスナーとして .listener(Object) で登録する。
+ * ステップは開始から終了まで同じスレッドで実行されるため、計測中の値はスレッドごとに保持する
+ * （ステップに TaskExecutor を設定してマルチスレッドにする場合は使えない）
+ */
+public class StepMetricsListener {
+
+    public static final String READ_MILLIS_KEY = "metrics.readMillis";
+    public static final String PROCESS_MILLIS_KEY = "metrics.processMillis";
+    public static final String WRITE_MILLIS_KEY = "metrics.writeMillis";
+    public static final String DB_MILLIS_KEY = "metrics.dbMillis";
+    public static final String DB_PERCENT_KEY = "metrics.dbPercent";
+    public static final String BOUND_BY_KEY = "metrics.boundBy";
+    public static final String CHUNK_COUNT_KEY = "metrics.chunk.count";
+    public static final String CHUNK_AVG_MILLIS_KEY = "metrics.chunk.avgMillis";
+    public static final String CHUNK_MAX_MILLIS_KEY = "metrics.chunk.maxMillis";
+    public static final String CHUNK_HISTOGRAM_KEY = "metrics.chunk.histogram";
+
+    /** 実行コンテキストに保存するチャンク所要時間の分布の区切り（ミリ秒） */
+    static final long[] CHUNK_BUCKET_MILLIS = { 10, 50, 100, 500, 1000, 5000 };
+
+    @Autowired
+    private BatchDiagnosticLogger diagnosticLogger;
+
+    private final ThreadLocal<Timings> current = new ThreadLocal<>();
+
+    @BeforeStep
+    public void beforeStep(StepExecution stepExecution) {
+        String jobName = stepExecution.getJobExecution().getJobInstance().getJobName();
+        current.set(new Timings(diagnosticLogger.chunkTimer(jobName, stepExecution.getStepName())));
+    }
+
+    @AfterStep
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        Timings timings = current.get();
+        current.remove();
+        if (timings == null) {
+            return stepExecution.getExitStatus();
+        }
+        timings.endRead();
+        diagnosticLogger.recordStepPhases(stepExecution.getJobExecution().getJobInstance().getJobName(),
+                stepExecution.getStepName(), timings.readNanos, timings.processNanos, timings.writeNanos);
+
+        ExecutionContext context = stepExecution.getExecutionContext();
+        long dbNanos = timings.readNanos + timings.writeNanos;
+        context.putLong(READ_MILLIS_KEY, toMillis(timings.readNanos));
+        context.putLong(PROCESS_MILLIS_KEY, toMillis(timings.processNanos));
+        context.putLong(WRITE_MILLIS_KEY, toMillis(timings.writeNanos));
+        context.putLong(DB_MILLIS_KEY, toMillis(dbNanos));
+        if (timings.chunkTotalNanos > 0) {
+            // チャンクの所要時間に占める DB 時間の割合（残りは加工とトランザクション処理）
+            context.putDouble(DB_PERCENT_KEY, Math.round(dbNanos * 1000.0 / timings.chunkTotalNanos) / 10.0);
+        }
+        context.putString(BOUND_BY_KEY, dbNanos >= timings.processNanos ? "DB" : "PROCESSING");
+        context.putLong(CHUNK_COUNT_KEY, timings.chunkCount);
+        if (timings.chunkCount > 0) {
+            context.putLong(CHUNK_AVG_MILLIS_KEY, toMillis(timings.chunkTotalNanos / timings.chunkCount));
+            context.putLong(CHUNK_MAX_MILLIS_KEY, toMillis(timings.chunkMaxNanos));
+        }
+        context.putString(CHUNK_HISTOGRAM_KEY, histogram(timings.chunkBuckets));
+        return stepExecution.getExitStatus();
+    }
+
+    @BeforeChunk
+    public void beforeChunk(ChunkContext context) {
+        Timings timings = current.get();
+        if (timings != null) {
+            timings.chunkStart = System.nanoTime();
+        }
+    }
+
+    @AfterChunk
+    public void afterChunk(ChunkContext context) {
+        endChunk();
+    }
+
+    @AfterChunkError
+    public void afterChunkError(ChunkContext context) {
+        endChunk();
+    }
+
+    @BeforeRead
+    public void beforeRead() {
+        Timings timings = current.get();
+        if (timings != null) {
+            timings.readStart = System.nanoTime();
+        }
+    }
+
+    @AfterRead
+    public void afterRead(Object item) {
+        endRead();
+    }
+
+    @OnReadError
+    public void onReadError(Exception e) {
+        endRead();
+    }
+
+    @BeforeProcess
+    public void beforeProcess(Object item) {
+        Timings timings = current.get();
+        if (timings != null) {
+            timings.processStart = System.nanoTime();
+        }
+    }
+
+    @AfterProcess
+    public void afterProcess(Object item, Object result) {
+        endProcess();
+    }
+
+    @OnProcessError
+    public void onProcessError(Object item, Exception e) {
+        endProcess();
+    }
+
+    @BeforeWrite
+    public void beforeWrite(Chunk<?> items) {
+        Timings timings = current.get();
+        if (timings != null) {
+            // 最後の読み込み（データの終端で null を返した読み込み）は afterRead が呼ばれないためここで締める
+            timings.endRead();
+            timings.writeStart = System.nanoTime();
+        }
+    }
+
+    @AfterWrite
+    public void afterWrite(Chunk<?> items) {
+        endWrite();
+    }
+
+    @OnWriteError
+    public void onWriteError(Exception e, Chunk<?> items) {
+        endWrite();
+    }
+
+    private void endRead() {
+        Timings timings = current.get();
+        if (timings != null) {
+            timings.endRead();
+        }
+    }
+
+    private void endProcess() {
+        Timings timings = current.get();
+        if (timings != null && timings.processStart != 0) {
+            timings.processNanos += System.nanoTime() - timings.processStart;
+            timings.processStart = 0;
+        }
+    }
+
+    private void endWrite() {
+        Timings timings = current.get();
+        if (timings != null && timings.writeStart != 0) {
+            timings.writeNanos += System.nanoTime() - timings.writeStart;
+            timings.writeStart = 0;
+        }
+    }
+
+    private void endChunk() {
+        Timings timings = current.get();
+        if (timings == null || timings.chunkStart == 0) {
+            return;
+        }
+        timings.endRead();
+        long nanos = System.nanoTime() - timings.chunkStart;
+        timings.chunkStart = 0;
+        timings.chunkCount++;
+        timings.chunkTotalNanos += nanos;
+        timings.chunkMaxNanos = Math.max(timings.chunkMaxNanos, nanos);
+        timings.chunkBuckets[bucket(toMillis(nanos))]++;
+        timings.chunkTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    static int bucket(long millis) {
+        for (int i = 0; i < CHUNK_BUCKET_MILLIS.length; i++) {
+            if (millis <= CHUNK_BUCKET_MILLIS[i]) {
+                return i;
+            }
+        }
+        return CHUNK_BUCKET_MILLIS.length;
+    }
+
+    /**
+     * チャンク所要時間の分布（例: "<=10ms:3,<=50ms:12,...,>5000ms:0"）
+     */
+    static String histogram(long[] buckets) {
+        StringBuilder histogram = new StringBuilder();
+        for (int i = 0; i < buckets.length; i++) {
+            if (i > 0) {
+                histogram.append(',');
+            }
+            histogram.append(i < CHUNK_BUCKET_MILLIS.length
+                    ? "<=" + CHUNK_BUCKET_MILLIS[i] + "ms"
+                    : ">" + CHUNK_BUCKET_MILLIS[CHUNK_BUCKET_MILLIS.length - 1] + "ms");
+            histogram.append(':').append(buckets[i]);
+        }
+        return histogram.toString();
+    }
+
+    private static long toMillis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    /**
+     * ステップ実行1回分の計測値
+     */
+    private static class Timings {
+
+        private final Timer chunkTimer;
+        private final long[] chunkBuckets = new long[CHUNK_BUCKET_MILLIS.length + 1];
+
+        private long readStart;
+        private long processStart;
+        private long writeStart;
+        private long chunkStart;
+
+        private long readNanos;
+        private long processNanos;
+        private long writeNanos;
+        private long chunkCount;
+        private long chunkTotalNanos;
+        private long chunkMaxNanos;
+
+        Timings(Timer chunkTimer) {
+            this.chunkTimer = chunkTimer;
+        }
+
+        void endRead() {
+            if (readStart != 0) {
+                readNanos += System.nanoTime() - readStart;
+                readStart = 0;
+            }
+        }
+    }
+}
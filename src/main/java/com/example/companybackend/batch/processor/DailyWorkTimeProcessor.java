@@ -30,6 +30,9 @@ public class DailyWorkTimeProcessor implements ItemProcessor<AttendanceRecord, A
     private static final LocalTime LATE_NIGHT_START = LocalTime.of(22, 0); // 22:00
     private static final LocalTime LATE_NIGHT_END = LocalTime.of(5, 0);    // 05:00
     
+    // 集計対象日（ジョブパラメータ）。未設定の場合は打刻日時の日付を使う
+    private LocalDate targetDate;
+    
     // Setter方法用于依赖注入
     public void setHolidayRepository(HolidayRepository holidayRepository) {
         this.holidayRepository = holidayRepository;
@@ -39,6 +42,10 @@ public class DailyWorkTimeProcessor implements ItemProcessor<AttendanceRecord, A
         this.attendanceRecordRepository = attendanceRecordRepository;
     }
     
+    public void setTargetDate(LocalDate targetDate) {
+        this.targetDate = targetDate;
+    }
+    
     @Override
     public AttendanceSummary process(AttendanceRecord attendanceRecord) throws Exception {
         // 只处理'in'类型的记录，避免重复计算
@@ -47,7 +54,7 @@ public class DailyWorkTimeProcessor implements ItemProcessor<AttendanceRecord, A
         }
         
         Integer userId = attendanceRecord.getUserId();
-        LocalDate targetDate = attendanceRecord.getTimestamp().toLocalDate();
+        LocalDate targetDate = this.targetDate != null ? this.targetDate : attendanceRecord.getTimestamp().toLocalDate();
         
         // 获取用户当天的所有考勤记录
         List<AttendanceRecord> dailyRecords = attendanceRecordRepository.findByUserIdAndDate(userId, targetDate);
@@ -17,11 +17,18 @@ public class MonthlyWorkTimeProcessor implements ItemProcessor<AttendanceRecord,
     @Autowired
     private AttendanceSummaryRepository attendanceSummaryRepository;
 
+    // 集計対象月（ジョブパラメータ）。未設定の場合は打刻日時の月を使う
+    private YearMonth targetMonth;
+
     // Setter方法用于依赖注入
     public void setAttendanceSummaryRepository(AttendanceSummaryRepository attendanceSummaryRepository) {
         this.attendanceSummaryRepository = attendanceSummaryRepository;
     }
 
+    public void setTargetMonth(YearMonth targetMonth) {
+        this.targetMonth = targetMonth;
+    }
+
     @Override
     public AttendanceSummary process(AttendanceRecord attendanceRecord) throws Exception {
         // 只处理'in'类型的记录，避免重复计算
@@ -30,8 +37,9 @@ public class MonthlyWorkTimeProcessor implements ItemProcessor<AttendanceRecord,
         }
 
         Integer userId = attendanceRecord.getUserId();
-        LocalDate recordDate = attendanceRecord.getTimestamp().toLocalDate();
-        YearMonth targetMonth = YearMonth.from(recordDate);
+        YearMonth targetMonth = this.targetMonth != null
+                ? this.targetMonth
+                : YearMonth.from(attendanceRecord.getTimestamp().toLocalDate());
 
         // 检查是否已经为该用户和月份创建了月次汇总
         LocalDate monthStart = targetMonth.atDay(1);
@@ -1,38 +1,70 @@
 package com.example.companybackend.batch.reader;
 
 import com.example.companybackend.entity.AttendanceRecord;
-import com.example.companybackend.repository.AttendanceRecordRepository;
-import org.springframework.batch.item.data.RepositoryItemReader;
-import org.springframework.batch.item.data.builder.RepositoryItemReaderBuilder;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Sort;
-import org.springframework.stereotype.Component;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.item.database.JdbcPagingItemReader;
+import org.springframework.batch.item.database.Order;
+import org.springframework.batch.item.database.support.PostgresPagingQueryProvider;
+import org.springframework.jdbc.core.BeanPropertyRowMapper;
 
+import javax.sql.DataSource;
+import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.Map;
 
-@Component
+/**
+ * 日次集計用リーダー
+ * 対象日の出勤（'in'）打刻を id のキーセットでページングして読み込む。
+ * 読み込み位置（最後の id）はチャンクのコミットごとにステップの実行コンテキストへ保存されるため、
+ * 失敗・停止したジョブを再実行すると続きの打刻から再開する
+ */
 public class AttendanceRecordReader {
 
-    private final AttendanceRecordRepository attendanceRecordRepository;
+    private static final Logger log = LoggerFactory.getLogger(AttendanceRecordReader.class);
 
-    @Autowired
-    public AttendanceRecordReader(AttendanceRecordRepository attendanceRecordRepository) {
-        this.attendanceRecordRepository = attendanceRecordRepository;
+    /** 対象日の出勤打刻（日付はデータベースのセッションタイムゾーンで判定し、日次集計の DATE(timestamp) と揃える） */
+    public static final String TARGET_DATE_CONDITION = "type = 'in' AND timestamp >= CAST(:targetDate AS date) "
+            + "AND timestamp < CAST(:targetDate AS date) + 1";
+
+    private final DataSource dataSource;
+
+    public AttendanceRecordReader(DataSource dataSource) {
+        this.dataSource = dataSource;
     }
 
-    public RepositoryItemReader<AttendanceRecord> reader() {
-        // 使用正确的类型 Map<String, Sort.Direction>
-        Map<String, Sort.Direction> sorts = new HashMap<>();
-        sorts.put("id", Sort.Direction.ASC);
-        
-        // 使用RepositoryItemReaderBuilder构建reader
-        return new RepositoryItemReaderBuilder<AttendanceRecord>()
-                .repository(attendanceRecordRepository)
-                .methodName("findAll")
-                .pageSize(100)
-                .sorts(sorts)
-                .name("attendanceRecordReader")
-                .build();
+    public JdbcPagingItemReader<AttendanceRecord> reader(LocalDate targetDate) {
+        log.info("日次集計リーダーを初期化します: targetDate={}", targetDate);
+
+        try {
+            JdbcPagingItemReader<AttendanceRecord> reader = new JdbcPagingItemReader<>();
+            reader.setDataSource(dataSource);
+            reader.setPageSize(100);
+            reader.setRowMapper(new BeanPropertyRowMapper<>(AttendanceRecord.class));
+
+            PostgresPagingQueryProvider queryProvider = new PostgresPagingQueryProvider();
+            queryProvider.setSelectClause(
+                    "SELECT id, user_id, type, timestamp, latitude, longitude, processed, created_at");
+            queryProvider.setFromClause("FROM attendance_records");
+            queryProvider.setWhereClause("WHERE " + TARGET_DATE_CONDITION);
+
+            Map<String, Order> sortKeys = new HashMap<>();
+            sortKeys.put("id", Order.ASCENDING);
+            queryProvider.setSortKeys(sortKeys);
+            reader.setQueryProvider(queryProvider);
+
+            Map<String, Object> parameterValues = new HashMap<>();
+            parameterValues.put("targetDate", targetDate);
+            reader.setParameterValues(parameterValues);
+
+            reader.setName("attendanceRecordReader");
+            reader.setSaveState(true);
+            reader.afterPropertiesSet();
+            return reader;
+
+        } catch (Exception e) {
+            log.error("日次集計リーダーの初期化中にエラーが発生しました", e);
+            throw new RuntimeException("日次集計リーダーの初期化に失敗しました", e);
+        }
     }
-}
\ No newline at end of file
+}
@@ -4,7 +4,6 @@ import com.example.companybackend.entity.SystemLog;
 import com.example.companybackend.repository.SystemLogRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.batch.item.ItemReader;
 import org.springframework.batch.item.database.JdbcPagingItemReader;
 import org.springframework.batch.item.database.Order;
 import org.springframework.batch.item.database.support.PostgresPagingQueryProvider;
@@ -27,14 +26,14 @@ public class DataCleanupReader {
     private final DataSource dataSource;
 
     // 保持期間（月数）
-    private static final int RETENTION_MONTHS = 12;
+    public static final int RETENTION_MONTHS = 12;
 
     public DataCleanupReader(SystemLogRepository systemLogRepository, DataSource dataSource) {
         this.systemLogRepository = systemLogRepository;
         this.dataSource = dataSource;
     }
 
-    public ItemReader<SystemLog> reader() {
+    public JdbcPagingItemReader<SystemLog> reader() {
         log.info("データクリーンアップリーダーを初期化します");
 
         try {
@@ -1,11 +1,14 @@
 package com.example.companybackend.batch.reader;
 
 import com.example.companybackend.entity.AttendanceRecord;
-import com.example.companybackend.repository.AttendanceRecordRepository;
-import org.springframework.batch.item.data.RepositoryItemReader;
-import org.springframework.data.domain.Sort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.item.database.JdbcPagingItemReader;
+import org.springframework.batch.item.database.Order;
+import org.springframework.batch.item.database.support.PostgresPagingQueryProvider;
+import org.springframework.jdbc.core.BeanPropertyRowMapper;
 
-import java.time.LocalDate;
+import javax.sql.DataSource;
 import java.time.YearMonth;
 import java.util.HashMap;
 import java.util.Map;
@@ -13,41 +16,52 @@ import java.util.Map;
 /**
  * 月次集計用のリーダー
  * 日次処理とは異なり、月次処理では各ユーザーの月次データを処理するため、
- * 月の最初の日の出勤記録を基準として各ユーザーを識別する
+ * 対象月に出勤記録があるユーザーごとに最初の出勤記録を1件だけ読み込む。
+ * ユーザーID のキーセットでページングし、読み込み位置を実行コンテキストへ保存する
  */
 public class MonthlySummaryReader {
 
-    private final AttendanceRecordRepository attendanceRecordRepository;
+    private static final Logger log = LoggerFactory.getLogger(MonthlySummaryReader.class);
 
-    public MonthlySummaryReader(AttendanceRecordRepository attendanceRecordRepository) {
-        this.attendanceRecordRepository = attendanceRecordRepository;
+    private final DataSource dataSource;
+
+    public MonthlySummaryReader(DataSource dataSource) {
+        this.dataSource = dataSource;
     }
 
-    public RepositoryItemReader<AttendanceRecord> reader() {
-        RepositoryItemReader<AttendanceRecord> reader = new RepositoryItemReader<>();
+    public JdbcPagingItemReader<AttendanceRecord> reader(YearMonth targetMonth) {
+        log.info("月次集計リーダーを初期化します: targetMonth={}", targetMonth);
+
+        try {
+            JdbcPagingItemReader<AttendanceRecord> reader = new JdbcPagingItemReader<>();
+            reader.setDataSource(dataSource);
+            reader.setPageSize(100);
+            reader.setRowMapper(new BeanPropertyRowMapper<>(AttendanceRecord.class));
 
-        // ソート設定（ユーザーID、日付順）
-        Map<String, Sort.Direction> sorts = new HashMap<>();
-        sorts.put("userId", Sort.Direction.ASC);
-        sorts.put("timestamp", Sort.Direction.ASC);
+            PostgresPagingQueryProvider queryProvider = new PostgresPagingQueryProvider();
+            queryProvider.setSelectClause("SELECT user_id, MIN(id) AS id, 'in' AS type, MIN(timestamp) AS timestamp");
+            queryProvider.setFromClause("FROM attendance_records");
+            queryProvider.setWhereClause("WHERE type = 'in' AND timestamp >= CAST(:monthStart AS date) "
+                    + "AND timestamp < CAST(:monthStart AS date) + INTERVAL '1 month'");
+            queryProvider.setGroupClause("user_id");
 
-        reader.setRepository(attendanceRecordRepository);
-        reader.setMethodName("findByTypeAndTimestampBetween");
-        reader.setPageSize(100);
-        reader.setName("monthlySummaryReader");
-        reader.setSort(sorts);
+            Map<String, Order> sortKeys = new HashMap<>();
+            sortKeys.put("user_id", Order.ASCENDING);
+            queryProvider.setSortKeys(sortKeys);
+            reader.setQueryProvider(queryProvider);
 
-        // 月次処理のため、現在月の範囲を設定
-        YearMonth currentMonth = YearMonth.now();
-        LocalDate monthStart = currentMonth.atDay(1);
-        LocalDate monthEnd = currentMonth.atEndOfMonth();
+            Map<String, Object> parameterValues = new HashMap<>();
+            parameterValues.put("monthStart", targetMonth.atDay(1));
+            reader.setParameterValues(parameterValues);
 
-        // パラメータ設定（'in'タイプのレコードのみ、当月分）
-        reader.setArguments(java.util.Arrays.asList(
-                "in",
-                monthStart.atStartOfDay().atOffset(java.time.ZoneOffset.UTC),
-                monthEnd.atTime(23, 59, 59).atOffset(java.time.ZoneOffset.UTC)));
+            reader.setName("monthlySummaryReader");
+            reader.setSaveState(true);
+            reader.afterPropertiesSet();
+            return reader;
 
-        return reader;
+        } catch (Exception e) {
+            log.error("月次集計リーダーの初期化中にエラーが発生しました", e);
+            throw new RuntimeException("月次集計リーダーの初期化に失敗しました", e);
+        }
     }
-}
\ No newline at end of file
+}
@@ -1,31 +1,94 @@
 package com.example.companybackend.batch.service;
 
+import com.example.companybackend.batch.util.BusinessDateParameters;
+import com.example.companybackend.dto.BatchResponseDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.BatchStatus;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.JobExecution;
 import org.springframework.batch.core.JobParameters;
 import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.explore.JobExplorer;
 import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.item.ExecutionContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
+/**
+ * バッチジョブ実行サービス
+ * ジョブは専用スレッドプール（batchJobExecutor）で非同期に実行し、起動時はジョブ実行を STARTING のまま返す。
+ * 進捗・結果は JobExplorer でジョブリポジトリから取得するため、別ノードで実行中のジョブも参照・停止できる
+ */
 @Service
 public class BatchJobService {
 
+    private static final Logger log = LoggerFactory.getLogger(BatchJobService.class);
+
+    /**
+     * ステップの処理対象件数（チャンク処理ステップが実行コンテキストに格納すると進捗率・残り時間を算出する）
+     */
+    public static final String TOTAL_COUNT_KEY = "progress.totalCount";
+
+    /** 完了済みの業務日付を再集計する場合に指定するリクエストパラメータ */
+    public static final String RERUN_PARAM = "rerun";
+
+    /** Spring Batch が内部で使う実行コンテキストのキー（結果には含めない） */
+    private static final String INTERNAL_KEY_PREFIX = "batch.";
+
     @Autowired
+    @Qualifier("asyncJobLauncher")
     private JobLauncher jobLauncher;
 
+    @Autowired
+    private JobExplorer jobExplorer;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private List<Job> jobs;
+
+    @Value("${schedule.timezone:Asia/Tokyo}")
+    private String timezone;
+
     /**
-     * ジョブ実行
+     * ジョブ実行（非同期）
+     * 業務日付で識別するジョブ（{@link BusinessDateParameters}）は業務日付を省略すると既定値を補い、
+     * 同じ業務日付の起動を同じジョブインスタンスとして扱う。失敗・停止した業務日付は途中から再開し、
+     * 完了済みの業務日付は rerun=true を指定した場合のみ新しいジョブインスタンスとして再集計する。
+     * それ以外のジョブは起動ごとにタイムスタンプを付けて新しいジョブインスタンスにする
+     *
+     * @return 起動したジョブ実行（完了を待たない）
+     * @throws org.springframework.batch.core.JobParametersInvalidException 業務日付の形式が不正な場合
+     * @throws org.springframework.batch.core.repository.JobInstanceAlreadyCompleteException 業務日付が完了済みの場合
+     * @throws org.springframework.batch.core.repository.JobExecutionAlreadyRunningException 業務日付が実行中の場合
      */
     public JobExecution runJob(Job job, Map<String, Object> parameters) throws Exception {
         JobParametersBuilder builder = new JobParametersBuilder();
-        
+        boolean rerun = false;
+
         // パラメータを追加
         if (parameters != null) {
+            rerun = Boolean.parseBoolean(String.valueOf(parameters.get(RERUN_PARAM)));
             parameters.forEach((key, value) -> {
+                if (RERUN_PARAM.equals(key) || value == null) {
+                    return;
+                }
                 if (value instanceof String) {
                     builder.addString(key, (String) value);
                 } else if (value instanceof Long) {
@@ -37,12 +100,23 @@ public class BatchJobService {
                 }
             });
         }
-        
-        // 一意性のためのタイムスタンプ追加
-        builder.addString("timestamp", LocalDateTime.now().toString());
-        
-        JobParameters jobParameters = builder.toJobParameters();
-        return jobLauncher.run(job, jobParameters);
+
+        JobParameters jobParameters;
+        if (job.getJobParametersValidator() instanceof BusinessDateParameters businessDate) {
+            if (rerun) {
+                builder.addString(BusinessDateParameters.RERUN_KEY, LocalDateTime.now().toString());
+            }
+            jobParameters = businessDate.withDefault(builder.toJobParameters(), LocalDate.now(ZoneId.of(timezone)));
+        } else {
+            // 一意性のためのタイムスタンプ追加
+            builder.addString("timestamp", LocalDateTime.now().toString());
+            jobParameters = builder.toJobParameters();
+        }
+
+        JobExecution execution = jobLauncher.run(job, jobParameters);
+        log.info("ジョブを起動しました: jobName={}, executionId={}, status={}",
+                job.getName(), execution.getId(), execution.getStatus());
+        return execution;
     }
 
     /**
@@ -54,9 +128,192 @@ public class BatchJobService {
 
     /**
      * ジョブ停止
+     * ジョブ実行を STOPPING に更新する。実行中のステップは次のチャンクのコミット時にこれを検知して停止する
+     * （1回で終わるタスクレットは完了まで停止しない）
+     *
+     * @return 停止を要求した場合 true（実行中でない・存在しない場合は false）
      */
     public boolean stopJob(Long jobExecutionId) {
-        // 実装は必要に応じて追加
-        return false;
+        JobExecution execution = jobExplorer.getJobExecution(jobExecutionId);
+        if (execution == null || !execution.getStatus().isRunning()) {
+            return false;
+        }
+        if (execution.getStatus() != BatchStatus.STOPPING) {
+            execution.setStatus(BatchStatus.STOPPING);
+            jobRepository.update(execution);
+            log.info("ジョブの停止を要求しました: jobName={}, executionId={}",
+                    execution.getJobInstance().getJobName(), jobExecutionId);
+        }
+        return true;
+    }
+
+    /**
+     * ジョブ再実行（非同期）
+     * 失敗・停止したジョブ実行と同じジョブパラメータで起動し、同じジョブインスタンスの続きとして実行する
+     *
+     * @return 起動したジョブ実行
+     * @throws IllegalArgumentException ジョブ実行が存在しない場合
+     * @throws IllegalStateException    失敗・停止以外の状態の場合
+     */
+    public JobExecution restartJob(Long jobExecutionId) throws Exception {
+        JobExecution execution = jobExplorer.getJobExecution(jobExecutionId);
+        if (execution == null) {
+            throw new IllegalArgumentException("ジョブ実行が見つかりません: " + jobExecutionId);
+        }
+        if (execution.getStatus() != BatchStatus.FAILED && execution.getStatus() != BatchStatus.STOPPED) {
+            throw new IllegalStateException("再実行できるのは失敗・停止したジョブのみです: status=" + execution.getStatus());
+        }
+
+        String jobName = execution.getJobInstance().getJobName();
+        Job job = jobs.stream()
+                .filter(candidate -> candidate.getName().equals(jobName))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("ジョブが登録されていません: " + jobName));
+
+        JobExecution restarted = jobLauncher.run(job, execution.getJobParameters());
+        log.info("ジョブを再実行しました: jobName={}, previousExecutionId={}, executionId={}",
+                jobName, jobExecutionId, restarted.getId());
+        return restarted;
+    }
+
+    /**
+     * ジョブ実行の進捗・結果取得
+     *
+     * @return 進捗（ジョブ実行が存在しない場合は null）
+     */
+    public BatchResponseDto.JobProgressResponse getProgress(Long jobExecutionId) {
+        JobExecution execution = jobExplorer.getJobExecution(jobExecutionId);
+        if (execution == null) {
+            return null;
+        }
+        LocalDateTime now = LocalDateTime.now();
+
+        BatchResponseDto.JobProgressResponse progress = new BatchResponseDto.JobProgressResponse();
+        progress.setExecutionId(execution.getId());
+        progress.setJobName(execution.getJobInstance().getJobName());
+        progress.setStatus(execution.getStatus().name());
+        progress.setExitCode(execution.getExitStatus().getExitCode());
+        progress.setExitDescription(execution.getExitStatus().getExitDescription());
+        progress.setStartTime(execution.getStartTime());
+        progress.setEndTime(execution.getEndTime());
+        progress.setElapsedSeconds(elapsed(execution.getStartTime(), execution.getEndTime(), now).toSeconds());
+        progress.setResults(contextValues(execution.getExecutionContext()));
+
+        List<StepExecution> stepExecutions = new ArrayList<>(execution.getStepExecutions());
+        stepExecutions.sort(Comparator.comparing(StepExecution::getId));
+        List<BatchResponseDto.StepProgress> steps = new ArrayList<>(stepExecutions.size());
+        BatchResponseDto.StepProgress runningStep = null;
+        BatchResponseDto.StepProgress lastReadStep = null;
+        for (StepExecution stepExecution : stepExecutions) {
+            BatchResponseDto.StepProgress step = toStepProgress(stepExecution, now);
+            steps.add(step);
+            progress.setReadCount(progress.getReadCount() + step.getReadCount());
+            progress.setWriteCount(progress.getWriteCount() + step.getWriteCount());
+            progress.setSkipCount(progress.getSkipCount() + step.getSkipCount());
+            if (stepExecution.getStatus().isRunning()) {
+                runningStep = step;
+            }
+            if (step.getReadCount() > 0) {
+                lastReadStep = step;
+            }
+        }
+        progress.setSteps(steps);
+        if (runningStep != null) {
+            progress.setCurrentStep(runningStep.getStepName());
+        }
+
+        // 処理速度・残り時間は実行中のステップ、なければ最後に件数を読んだステップの値を使う
+        BatchResponseDto.StepProgress rateSource = runningStep != null ? runningStep : lastReadStep;
+        if (rateSource != null) {
+            progress.setItemsPerSecond(rateSource.getItemsPerSecond());
+            progress.setTotalCount(rateSource.getTotalCount());
+            progress.setProgressPercent(rateSource.getProgressPercent());
+            progress.setEstimatedRemainingSeconds(rateSource.getEstimatedRemainingSeconds());
+            if (rateSource.getEstimatedRemainingSeconds() != null) {
+                progress.setEstimatedEndTime(now.plusSeconds(rateSource.getEstimatedRemainingSeconds()));
+            }
+        }
+        return progress;
+    }
+
+    private BatchResponseDto.StepProgress toStepProgress(StepExecution stepExecution, LocalDateTime now) {
+        BatchResponseDto.StepProgress step = new BatchResponseDto.StepProgress();
+        step.setStepName(stepExecution.getStepName());
+        step.setStatus(stepExecution.getStatus().name());
+        step.setReadCount(stepExecution.getReadCount());
+        step.setWriteCount(stepExecution.getWriteCount());
+        step.setFilterCount(stepExecution.getFilterCount());
+        step.setSkipCount(stepExecution.getSkipCount());
+        step.setCommitCount(stepExecution.getCommitCount());
+        step.setRollbackCount(stepExecution.getRollbackCount());
+        step.setStartTime(stepExecution.getStartTime());
+        step.setEndTime(stepExecution.getEndTime());
+
+        ExecutionContext context = stepExecution.getExecutionContext();
+        step.setContext(contextValues(context));
+
+        Duration elapsed = elapsed(stepExecution.getStartTime(), stepExecution.getEndTime(), now);
+        step.setItemsPerSecond(itemsPerSecond(stepExecution.getReadCount(), elapsed));
+        if (context.containsKey(TOTAL_COUNT_KEY)) {
+            long total = context.getLong(TOTAL_COUNT_KEY);
+            step.setTotalCount(total);
+            step.setProgressPercent(progressPercent(stepExecution.getReadCount(), total));
+            if (stepExecution.getStatus().isRunning()) {
+                step.setEstimatedRemainingSeconds(
+                        estimateRemainingSeconds(stepExecution.getReadCount(), total, elapsed));
+            }
+        }
+        return step;
+    }
+
+    /**
+     * 処理速度（件/秒）
+     *
+     * @return 経過時間がない場合は null
+     */
+    static Double itemsPerSecond(long processed, Duration elapsed) {
+        if (elapsed.isZero() || elapsed.isNegative()) {
+            return null;
+        }
+        return Math.round(processed * 1000.0 * 100 / elapsed.toMillis()) / 100.0;
+    }
+
+    /**
+     * 進捗率（%、小数第1位まで）
+     */
+    static Double progressPercent(long processed, long total) {
+        if (total <= 0) {
+            return 100.0;
+        }
+        return Math.min(100.0, Math.round(processed * 1000.0 / total) / 10.0);
+    }
+
+    /**
+     * 計測した処理速度から残り時間を推定
+     *
+     * @return 残り秒数（まだ1件も処理していない場合は null）
+     */
+    static Long estimateRemainingSeconds(long processed, long total, Duration elapsed) {
+        if (processed <= 0 || elapsed.isZero() || elapsed.isNegative()) {
+            return null;
+        }
+        long remaining = Math.max(0, total - processed);
+        return (long) Math.ceil(remaining * (elapsed.toMillis() / 1000.0) / processed);
+    }
+
+    private static Duration elapsed(LocalDateTime startTime, LocalDateTime endTime, LocalDateTime now) {
+        if (startTime == null) {
+            return Duration.ZERO;
+        }
+        return Duration.between(startTime, endTime != null ? endTime : now);
+    }
+
+    private static Map<String, Object> contextValues(ExecutionContext context) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        context.entrySet().stream()
+                .filter(entry -> !entry.getKey().startsWith(INTERNAL_KEY_PREFIX))
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> values.put(entry.getKey(), entry.getValue()));
+        return values;
     }
-}
\ No newline at end of file
+}
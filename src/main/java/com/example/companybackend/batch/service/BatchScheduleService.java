@@ -0,0 +1,372 @@
+package com.example.companybackend.batch.service;
+
+import com.example.companybackend.batch.util.BusinessDateParameters;
+import com.example.companybackend.repository.BatchJobLockRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.repository.JobExecutionAlreadyRunningException;
+import org.springframework.batch.core.repository.JobInstanceAlreadyCompleteException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * バッチスケジュール実行サービス
+ * 勤怠集計・残業監視・データクリーンアップ・有給日数更新の各ジョブを cron（batch.schedule.*）で起動する。
+ *
+ * <ul>
+ * <li>排他：起動時に batch_job_locks のリースを取得し、ジョブの完了まで延長する。複数ノードのうち1ノードだけが起動し、
+ * 手動起動などで実行中のジョブ実行がある場合も起動しない</li>
+ * <li>依存関係：日次勤怠集計 → 月次勤怠集計 → 残業監視 の順。先行ジョブが実行中、または最後の実行が完了していない場合は
+ * 待機して再確認し、待機上限を超えた回は見送る</li>
+ * <li>ミスファイア：停止中や実行の遅れで起動時刻を過ぎた回は、misfire-policy が fire-once なら閾値内の直近1回だけ起動し、
+ * ignore なら見送る</li>
+ * </ul>
+ *
+ * 業務日付は本来の起動時刻（スケジュールのタイムゾーン）の日付から求めてジョブパラメータで渡す
+ * （日次は当日、月次は前月、残業監視は当月、有給日数更新は基準日）。ミスファイアや先行ジョブ待ちで日付をまたいで
+ * 起動した回も、起動した日ではなく本来の起動日の業務日付を処理する
+ */
+@Service
+@ConditionalOnProperty(name = "schedule.enabled", havingValue = "true")
+public class BatchScheduleService {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchScheduleService.class);
+
+    /** 起動時刻を過ぎた回を見送るミスファイアポリシー（既定の fire-once は直近1回だけ起動する） */
+    static final String MISFIRE_IGNORE = "ignore";
+
+    /** 業務日付で識別しないジョブのうち、基準日（targetDate）を受け取るジョブ */
+    private static final Set<String> TARGET_DATE_JOBS = Set.of("paidLeaveUpdateJob");
+
+    @Autowired
+    private BatchJobService batchJobService;
+
+    @Autowired
+    private BatchJobLockRepository lockRepository;
+
+    @Autowired
+    private JobExplorer jobExplorer;
+
+    @Autowired
+    private List<Job> jobs;
+
+    @Value("${schedule.timezone:Asia/Tokyo}")
+    private String timezone;
+
+    @Value("${batch.schedule.daily-attendance:0 0 22 * * *}")
+    private String dailyAttendanceCron;
+
+    @Value("${batch.schedule.monthly-summary:0 0 2 1 * *}")
+    private String monthlySummaryCron;
+
+    @Value("${batch.schedule.overtime-monitoring:0 30 22 * * *}")
+    private String overtimeMonitoringCron;
+
+    @Value("${batch.schedule.paid-leave-update:0 0 4 1 4 *}")
+    private String paidLeaveUpdateCron;
+
+    @Value("${batch.schedule.data-cleanup:0 0 5 15 * *}")
+    private String dataCleanupCron;
+
+    @Value("${app.batch.scheduler.pool-size:4}")
+    private int poolSize;
+
+    @Value("${app.batch.scheduler.lock-lease:PT10M}")
+    private Duration lockLease;
+
+    @Value("${app.batch.scheduler.poll-interval:PT10S}")
+    private Duration pollInterval;
+
+    @Value("${app.batch.scheduler.misfire-policy:fire-once}")
+    private String misfirePolicy;
+
+    @Value("${app.batch.scheduler.misfire-threshold:PT6H}")
+    private Duration misfireThreshold;
+
+    @Value("${app.batch.scheduler.dependency-retry-interval:PT5M}")
+    private Duration dependencyRetryInterval;
+
+    @Value("${app.batch.scheduler.dependency-max-wait:PT2H}")
+    private Duration dependencyMaxWait;
+
+    /** ロックの保持者（ノード・プロセスごとに一意） */
+    private final String owner = ManagementFactory.getRuntimeMXBean().getName() + ":"
+            + UUID.randomUUID().toString().substring(0, 8);
+
+    /** 現在時刻の取得元（ミスファイア判定・遅延の計算に使用） */
+    private Clock clock = Clock.systemUTC();
+
+    /**
+     * 起動・完了待ち用のスケジューラー
+     * ジョブの完了までスレッドを占有するため、@Scheduled（メール送信など）のスケジューラーとは分ける
+     */
+    private TaskScheduler taskScheduler;
+
+    @PostConstruct
+    public void init() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadNamePrefix("batch-scheduler-");
+        scheduler.initialize();
+        taskScheduler = scheduler;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (taskScheduler instanceof ThreadPoolTaskScheduler scheduler) {
+            scheduler.shutdown();
+        }
+    }
+
+    /**
+     * スケジュール対象のジョブ
+     *
+     * @param jobName   ジョブ名
+     * @param cron      起動スケジュール
+     * @param dependsOn 先に完了している必要があるジョブ
+     */
+    record ScheduledJob(String jobName, CronExpression cron, List<String> dependsOn) {
+    }
+
+    /**
+     * スケジュール対象のジョブ一覧（依存関係の順）
+     */
+    List<ScheduledJob> scheduledJobs() {
+        List<ScheduledJob> scheduled = new ArrayList<>();
+        scheduled.add(new ScheduledJob("dailyAttendanceSummaryJob", CronExpression.parse(dailyAttendanceCron),
+                List.of()));
+        scheduled.add(new ScheduledJob("monthlyAttendanceSummaryJob", CronExpression.parse(monthlySummaryCron),
+                List.of("dailyAttendanceSummaryJob")));
+        scheduled.add(new ScheduledJob("overtimeMonitoringBatchJob", CronExpression.parse(overtimeMonitoringCron),
+                List.of("dailyAttendanceSummaryJob", "monthlyAttendanceSummaryJob")));
+        scheduled.add(new ScheduledJob("paidLeaveUpdateJob", CronExpression.parse(paidLeaveUpdateCron), List.of()));
+        scheduled.add(new ScheduledJob("dataCleanupJob", CronExpression.parse(dataCleanupCron), List.of()));
+        return scheduled;
+    }
+
+    /**
+     * アプリケーション起動完了時にスケジュールを登録
+     * 停止中に起動時刻を過ぎた回は、ミスファイアポリシーに従って起動する
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        ZonedDateTime now = now();
+        for (ScheduledJob scheduledJob : scheduledJobs()) {
+            ZonedDateTime missed = lastFireTime(scheduledJob.cron(), now, misfireThreshold);
+            if (missed != null && !MISFIRE_IGNORE.equals(misfirePolicy) && !hasStartedSince(scheduledJob, missed)) {
+                log.warn("停止中に起動時刻を過ぎたジョブを起動します: jobName={}, scheduledTime={}",
+                        scheduledJob.jobName(), missed);
+                taskScheduler.schedule(() -> fire(scheduledJob, missed), now.toInstant());
+            }
+            scheduleNext(scheduledJob, now);
+            log.info("バッチスケジュールを登録しました: jobName={}, cron={}, dependsOn={}",
+                    scheduledJob.jobName(), scheduledJob.cron(), scheduledJob.dependsOn());
+        }
+    }
+
+    private void scheduleNext(ScheduledJob scheduledJob, ZonedDateTime after) {
+        ZonedDateTime next = scheduledJob.cron().next(after);
+        if (next == null) {
+            return;
+        }
+        taskScheduler.schedule(() -> {
+            // 次回を先に登録し、実行が長引いても次回の起動時刻は変えない（重なった回は排他で見送る）
+            scheduleNext(scheduledJob, next);
+            fire(scheduledJob, next);
+        }, next.toInstant());
+    }
+
+    /**
+     * 1回分の起動
+     * 依存関係の確認 → ロック取得 → 重複起動の確認 → ジョブ起動 → 完了までリースを延長 → ロック解放
+     *
+     * @param scheduledTime 本来の起動時刻
+     */
+    void fire(ScheduledJob scheduledJob, ZonedDateTime scheduledTime) {
+        String jobName = scheduledJob.jobName();
+        ZonedDateTime now = now();
+
+        Duration delay = Duration.between(scheduledTime, now);
+        if (delay.compareTo(misfireThreshold) > 0 && MISFIRE_IGNORE.equals(misfirePolicy)) {
+            log.warn("起動時刻から閾値を超えて遅れたため見送ります: jobName={}, scheduledTime={}, delay={}",
+                    jobName, scheduledTime, delay);
+            return;
+        }
+
+        String unmet = unmetDependency(scheduledJob);
+        if (unmet != null) {
+            if (delay.plus(dependencyRetryInterval).compareTo(dependencyMaxWait) <= 0) {
+                log.info("先行ジョブの完了を待ちます: jobName={}, dependsOn={}, retryAfter={}",
+                        jobName, unmet, dependencyRetryInterval);
+                taskScheduler.schedule(() -> fire(scheduledJob, scheduledTime),
+                        now.plus(dependencyRetryInterval).toInstant());
+            } else {
+                log.error("先行ジョブが完了しないため見送ります: jobName={}, dependsOn={}, scheduledTime={}",
+                        jobName, unmet, scheduledTime);
+            }
+            return;
+        }
+
+        if (!lockRepository.tryAcquire(jobName, owner, lockLease)) {
+            log.info("他のノードが実行中のため起動しません: jobName={}", jobName);
+            return;
+        }
+        try {
+            // ロック取得前に他のノードがこの回を実行し終えている場合や、手動起動で実行中の場合は起動しない
+            if (hasStartedSince(scheduledJob, scheduledTime)) {
+                log.info("この回は既に起動済みです: jobName={}, scheduledTime={}", jobName, scheduledTime);
+                return;
+            }
+            if (!jobExplorer.findRunningJobExecutions(jobName).isEmpty()) {
+                log.warn("実行中のジョブ実行があるため起動しません: jobName={}", jobName);
+                return;
+            }
+
+            Job job = findJob(jobName);
+            Map<String, Object> parameters = businessDateParameters(job,
+                    scheduledTime.withZoneSameInstant(zone()).toLocalDate());
+            JobExecution execution = batchJobService.runJob(job, parameters);
+            log.info("スケジュールによりジョブを起動しました: jobName={}, executionId={}, scheduledTime={}, parameters={}",
+                    jobName, execution.getId(), scheduledTime, parameters);
+            awaitCompletion(jobName, execution);
+        } catch (JobInstanceAlreadyCompleteException | JobExecutionAlreadyRunningException e) {
+            log.info("同じ業務日付のジョブが完了済み・実行中のため起動しません: jobName={}, reason={}", jobName, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("スケジューラーの停止により完了の待機を中断しました: jobName={}", jobName);
+        } catch (Exception e) {
+            log.error("スケジュールによるジョブの起動に失敗しました: jobName={}", jobName, e);
+        } finally {
+            lockRepository.release(jobName, owner);
+        }
+    }
+
+    /**
+     * ジョブ実行の完了まで待機し、その間ロックのリースを延長する
+     */
+    private void awaitCompletion(String jobName, JobExecution execution) throws InterruptedException {
+        JobExecution current = execution;
+        while (current != null && current.getStatus().isRunning()) {
+            Thread.sleep(pollInterval.toMillis());
+            if (!lockRepository.renew(jobName, owner, lockLease)) {
+                log.warn("ロックのリースを延長できませんでした: jobName={}, executionId={}", jobName, execution.getId());
+            }
+            current = jobExplorer.getJobExecution(execution.getId());
+        }
+        if (current != null) {
+            log.info("スケジュール起動のジョブが終了しました: jobName={}, executionId={}, status={}",
+                    jobName, current.getId(), current.getStatus());
+        }
+    }
+
+    /**
+     * 先行ジョブの確認
+     * 先行ジョブが実行中、または最後のジョブ実行が完了していない場合は未完了とする（一度も実行していない場合は完了扱い）
+     *
+     * @return 未完了の先行ジョブ名（すべて完了している場合は null）
+     */
+    String unmetDependency(ScheduledJob scheduledJob) {
+        for (String upstream : scheduledJob.dependsOn()) {
+            if (!jobExplorer.findRunningJobExecutions(upstream).isEmpty()) {
+                return upstream;
+            }
+            JobInstance lastInstance = jobExplorer.getLastJobInstance(upstream);
+            if (lastInstance == null) {
+                continue;
+            }
+            JobExecution lastExecution = jobExplorer.getLastJobExecution(lastInstance);
+            if (lastExecution != null && lastExecution.getStatus() != BatchStatus.COMPLETED) {
+                return upstream;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 指定時刻以降にジョブ実行が作成されているか
+     */
+    private boolean hasStartedSince(ScheduledJob scheduledJob, ZonedDateTime time) {
+        JobInstance lastInstance = jobExplorer.getLastJobInstance(scheduledJob.jobName());
+        if (lastInstance == null) {
+            return false;
+        }
+        JobExecution lastExecution = jobExplorer.getLastJobExecution(lastInstance);
+        // ジョブリポジトリの時刻はシステムのタイムゾーンの LocalDateTime
+        LocalDateTime since = time.withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+        return lastExecution != null && lastExecution.getCreateTime() != null
+                && !lastExecution.getCreateTime().isBefore(since);
+    }
+
+    /**
+     * 閾値内で直近に過ぎた起動時刻
+     *
+     * @return 閾値内に起動時刻がない場合は null
+     */
+    static ZonedDateTime lastFireTime(CronExpression cron, ZonedDateTime now, Duration threshold) {
+        ZonedDateTime last = null;
+        ZonedDateTime candidate = cron.next(now.minus(threshold));
+        while (candidate != null && !candidate.isAfter(now)) {
+            last = candidate;
+            candidate = cron.next(candidate);
+        }
+        return last;
+    }
+
+    /**
+     * 本来の起動日から業務日付パラメータを作成
+     *
+     * @param scheduledDate 本来の起動日（スケジュールのタイムゾーン）
+     * @return ジョブパラメータ（業務日付を受け取らないジョブは空）
+     */
+    static Map<String, Object> businessDateParameters(Job job, LocalDate scheduledDate) {
+        if (job.getJobParametersValidator() instanceof BusinessDateParameters businessDate) {
+            return Map.of(businessDate.getKey(), businessDate.defaultValue(scheduledDate));
+        }
+        if (TARGET_DATE_JOBS.contains(job.getName())) {
+            return Map.of("targetDate", scheduledDate.toString());
+        }
+        return Map.of();
+    }
+
+    private Job findJob(String jobName) {
+        return jobs.stream()
+                .filter(job -> job.getName().equals(jobName))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("ジョブが登録されていません: " + jobName));
+    }
+
+    private ZoneId zone() {
+        return ZoneId.of(timezone);
+    }
+
+    private ZonedDateTime now() {
+        return ZonedDateTime.now(clock.withZone(zone()));
+    }
+}
@@ -0,0 +1,213 @@
+package com.example.companybackend.batch.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 月次レンジパーティション管理サービス
+ * system_logs / notifications のパーティション事前作成と、保持期間を超えたパーティションの切り離し・削除を行う
+ *
+ * パーティション命名規則: {@code <テーブル名>_pYYYYMM}（V1_5 マイグレーション準拠）
+ * 対象テーブルが未パーティション化の環境では何もせず、行単位削除（DataCleanupReader 経路）に委ねる
+ */
+@Service
+public class PartitionMaintenanceService {
+
+    private static final Logger log = LoggerFactory.getLogger(PartitionMaintenanceService.class);
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    /** パーティション管理対象テーブル（SQLに埋め込むため固定値のみ許可） */
+    public static final Set<String> MANAGED_TABLES = Set.of("system_logs", "notifications");
+
+    /** 事前作成する将来月数 */
+    private static final int PRECREATE_MONTHS = 3;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * テーブルがパーティション化済みか判定
+     */
+    public boolean isPartitioned(String table) {
+        requireManaged(table);
+        Boolean partitioned = jdbcTemplate.queryForObject("""
+                SELECT EXISTS (
+                    SELECT 1 FROM pg_partitioned_table pt
+                    JOIN pg_class c ON c.oid = pt.partrelid
+                    WHERE c.relname = ? AND pg_table_is_visible(c.oid)
+                )
+                """, Boolean.class, table);
+        return Boolean.TRUE.equals(partitioned);
+    }
+
+    /**
+     * 当月から指定月数先までのパーティションを作成（既存はスキップ）
+     * デフォルトパーティションに対象月の行がある場合は、そのまま作成すると失敗するため
+     * デフォルトを切り離して作成し、行を移してから付け直す
+     *
+     * @return 新規作成したパーティション名
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<String> ensureFuturePartitions(String table) {
+        requireManaged(table);
+        List<String> created = new ArrayList<>();
+        if (!isPartitioned(table)) {
+            return created;
+        }
+
+        Set<String> existing = Set.copyOf(listPartitions(table));
+        String defaultPartition = defaultPartitionName(table);
+        YearMonth month = YearMonth.now();
+        for (int i = 0; i <= PRECREATE_MONTHS; i++, month = month.plusMonths(1)) {
+            String name = partitionName(table, month);
+            if (existing.contains(name)) {
+                continue;
+            }
+            if (existing.contains(defaultPartition) && hasRowsInMonth(defaultPartition, month)) {
+                int moved = createFromDefault(table, defaultPartition, name, month);
+                log.warn("デフォルトパーティションの行を移してパーティションを作成しました: {} (移動件数: {})", name, moved);
+            } else {
+                jdbcTemplate.execute(createPartitionSql(table, name, month));
+                log.info("パーティションを作成しました: {}", name);
+            }
+            created.add(name);
+        }
+        return created;
+    }
+
+    private boolean hasRowsInMonth(String partition, YearMonth month) {
+        Boolean exists = jdbcTemplate.queryForObject(
+                String.format("SELECT EXISTS (SELECT 1 FROM %s WHERE created_at >= ? AND created_at < ?)", partition),
+                Boolean.class, month.atDay(1), month.plusMonths(1).atDay(1));
+        return Boolean.TRUE.equals(exists);
+    }
+
+    /**
+     * デフォルトパーティションを切り離した状態で月次パーティションを作成し、対象月の行を移す
+     * 呼び出し元のトランザクション内で行うため、途中で失敗した場合は切り離しも含めて元に戻る
+     *
+     * @return 移動した行数
+     */
+    private int createFromDefault(String table, String defaultPartition, String name, YearMonth month) {
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.plusMonths(1).atDay(1);
+        jdbcTemplate.execute(String.format("ALTER TABLE %s DETACH PARTITION %s", table, defaultPartition));
+        jdbcTemplate.execute(createPartitionSql(table, name, month));
+        int moved = jdbcTemplate.update(String.format(
+                "INSERT INTO %s SELECT * FROM %s WHERE created_at >= ? AND created_at < ?", name, defaultPartition),
+                from, to);
+        jdbcTemplate.update(String.format("DELETE FROM %s WHERE created_at >= ? AND created_at < ?", defaultPartition),
+                from, to);
+        jdbcTemplate.execute(String.format("ALTER TABLE %s ATTACH PARTITION %s DEFAULT", table, defaultPartition));
+        return moved;
+    }
+
+    private static String createPartitionSql(String table, String name, YearMonth month) {
+        return String.format("CREATE TABLE IF NOT EXISTS %s PARTITION OF %s FOR VALUES FROM ('%s') TO ('%s')",
+                name, table, month.atDay(1), month.plusMonths(1).atDay(1));
+    }
+
+    /**
+     * カットオフ日時より前の月のパーティションを切り離して削除
+     * パーティション月の末尾がカットオフ以前であっても、カットオフ以降の行が1件でも残っていれば削除しない
+     * （境界月の行は行単位削除のフォールバック経路で処理される）
+     *
+     * @return 削除したパーティション名
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<String> dropExpiredPartitions(String table, OffsetDateTime cutoffDate) {
+        requireManaged(table);
+        List<String> dropped = new ArrayList<>();
+        if (!isPartitioned(table)) {
+            log.info("{} はパーティション化されていないため、パーティション削除をスキップします", table);
+            return dropped;
+        }
+
+        YearMonth cutoffMonth = YearMonth.from(cutoffDate);
+        for (String partition : listPartitions(table)) {
+            YearMonth partitionMonth = parsePartitionMonth(table, partition);
+            if (partitionMonth == null || !partitionMonth.isBefore(cutoffMonth)) {
+                continue;
+            }
+
+            // タイムゾーン差による境界ずれの安全確認（created_at インデックスで即時判定）
+            Boolean hasRetainedRows = jdbcTemplate.queryForObject(
+                    String.format("SELECT EXISTS (SELECT 1 FROM %s WHERE created_at >= ?)", partition),
+                    Boolean.class, cutoffDate);
+            if (Boolean.TRUE.equals(hasRetainedRows)) {
+                log.warn("保持対象データを含むため削除をスキップします: {}", partition);
+                continue;
+            }
+
+            jdbcTemplate.execute(String.format("ALTER TABLE %s DETACH PARTITION %s", table, partition));
+            jdbcTemplate.execute(String.format("DROP TABLE %s", partition));
+            dropped.add(partition);
+            log.info("期限切れパーティションを削除しました: {} (月: {})", partition, partitionMonth);
+        }
+        return dropped;
+    }
+
+    /**
+     * 子パーティション名一覧を取得（名前順）
+     */
+    public List<String> listPartitions(String table) {
+        requireManaged(table);
+        return jdbcTemplate.queryForList("""
+                SELECT child.relname
+                FROM pg_inherits i
+                JOIN pg_class parent ON parent.oid = i.inhparent
+                JOIN pg_class child ON child.oid = i.inhrelid
+                WHERE parent.relname = ? AND pg_table_is_visible(parent.oid)
+                ORDER BY child.relname
+                """, String.class, table);
+    }
+
+    /**
+     * パーティション名を生成
+     */
+    public static String partitionName(String table, YearMonth month) {
+        return table + "_p" + month.format(PARTITION_SUFFIX);
+    }
+
+    /**
+     * デフォルトパーティション名を生成
+     */
+    public static String defaultPartitionName(String table) {
+        return table + "_default";
+    }
+
+    /**
+     * パーティション名から対象月を取得（命名規則外・デフォルトパーティションは null）
+     */
+    public static YearMonth parsePartitionMonth(String table, String partition) {
+        String prefix = table + "_p";
+        if (partition == null || !partition.startsWith(prefix)) {
+            return null;
+        }
+        String suffix = partition.substring(prefix.length());
+        if (!suffix.matches("\\d{6}")) {
+            return null;
+        }
+        return YearMonth.from(LocalDate.parse(suffix + "01", DateTimeFormatter.BASIC_ISO_DATE));
+    }
+
+    private void requireManaged(String table) {
+        if (!MANAGED_TABLES.contains(table)) {
+            throw new IllegalArgumentException("パーティション管理対象外のテーブルです: " + table);
+        }
+    }
+}
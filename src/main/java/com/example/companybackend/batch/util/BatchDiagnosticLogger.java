@@ -1,32 +1,224 @@
 package com.example.companybackend.batch.util;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.lang.management.OperatingSystemMXBean;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * バッチ診断ログ
+ * ステップ・ジョブの開始終了とリソース使用状況をログに出力し、計測値を Micrometer に記録する。
+ * ステップ単位の計測値（ヒープ・GC の増分、CPU 時間、処理速度）は実行コンテキストにも保存できるよう Map で返す
+ */
 @Component
 public class BatchDiagnosticLogger {
-    
+
+    private static final Logger log = LoggerFactory.getLogger(BatchDiagnosticLogger.class);
+
+    /** ステップ実行コンテキストに保存する計測値のキー接頭辞 */
+    public static final String METRICS_KEY_PREFIX = "metrics.";
+
+    @Autowired
+    private ErrorFileManager errorFileManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * リソース使用状況のスナップショット
+     * CPU 時間・割り当てバイト数は呼び出したスレッドの値（ステップはステップ開始から終了まで同じスレッドで実行される）。
+     * ヒープ・GC は JVM 全体の値のため、同時に実行中の他のジョブや API の影響を含む
+     *
+     * @param nanoTime       取得時刻（System.nanoTime）
+     * @param heapUsedBytes  ヒープ使用量
+     * @param gcCount        GC 回数（全コレクターの合計）
+     * @param gcTimeMillis   GC 時間（全コレクターの合計）
+     * @param cpuTimeNanos   スレッドの CPU 時間（取得できない場合は -1）
+     * @param allocatedBytes スレッドが割り当てたバイト数（取得できない場合は -1）
+     */
+    public record ResourceSnapshot(long nanoTime, long heapUsedBytes, long gcCount, long gcTimeMillis,
+            long cpuTimeNanos, long allocatedBytes) {
+
+        public static ResourceSnapshot capture() {
+            long gcCount = 0;
+            long gcTime = 0;
+            for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+                gcCount += Math.max(0, gc.getCollectionCount());
+                gcTime += Math.max(0, gc.getCollectionTime());
+            }
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            long cpuTime = threads.isCurrentThreadCpuTimeSupported() && threads.isThreadCpuTimeEnabled()
+                    ? threads.getCurrentThreadCpuTime()
+                    : -1;
+            long allocated = threads instanceof com.sun.management.ThreadMXBean sunThreads
+                    && sunThreads.isThreadAllocatedMemorySupported() && sunThreads.isThreadAllocatedMemoryEnabled()
+                            ? sunThreads.getCurrentThreadAllocatedBytes()
+                            : -1;
+            return new ResourceSnapshot(System.nanoTime(),
+                    ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed(), gcCount, gcTime, cpuTime,
+                    allocated);
+        }
+    }
+
     // 診断ログ記録
     public void logError(String step, Long jobId, Exception e) {
-        // エラーログ記録ロジック
+        log.error("バッチ処理エラー: ステップ={}, ジョブID={}", step, jobId, e);
+        // 実行中のステップのエラーファイルへ書き込む（ステップ終了時にまとめて出力・圧縮される）
+        StringWriter stackTrace = new StringWriter();
+        e.printStackTrace(new PrintWriter(stackTrace));
+        errorFileManager.writeErrorToFile(step, e.getClass().getSimpleName(), e.getMessage(),
+                stackTrace.toString(), jobId != null ? Map.of("jobId", jobId) : null);
     }
-    
+
     public void logJobStart(Long jobId, String jobName) {
-        // ジョブ開始ログ記録ロジック
+        log.info("ジョブ開始: {} (実行ID: {})", jobName, jobId);
     }
-    
+
     public void logJobEnd(Long jobId, String jobName, boolean success, int totalRecords) {
-        // ジョブ終了ログ記録ロジック
+        log.info("ジョブ終了: {} (実行ID: {}, 結果: {}, 処理件数: {})", jobName, jobId, success ? "成功" : "失敗",
+                totalRecords);
     }
-    
+
     public void logStepStart(String stepName, java.util.Map<String, Object> context) {
-        // ステップ開始ログ記録ロジック
+        log.info("ステップ開始: {} {}", stepName, context);
     }
-    
+
     public void logStepEnd(String stepName, boolean success, int processedRecords, java.util.Map<String, Object> metrics) {
-        // ステップ終了ログ記録ロジック
+        log.info("ステップ終了: {} (結果: {}, 処理件数: {}) {}", stepName, success ? "成功" : "失敗", processedRecords,
+                metrics);
     }
-    
+
     public void logResourceUsage() {
-        // リソース使用状況ログ記録ロジック
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        MemoryUsage heap = memory.getHeapMemoryUsage();
+        ResourceSnapshot snapshot = ResourceSnapshot.capture();
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        double processCpuLoad = os instanceof com.sun.management.OperatingSystemMXBean sunOs
+                ? sunOs.getProcessCpuLoad()
+                : -1;
+        log.info("リソース使用状況: ヒープ使用量={}MB, ヒープ上限={}MB, 非ヒープ使用量={}MB, GC回数={}, GC時間={}ms, "
+                + "プロセスCPU使用率={}%, スレッド数={}",
+                toMegabytes(heap.getUsed()), toMegabytes(heap.getMax()),
+                toMegabytes(memory.getNonHeapMemoryUsage().getUsed()), snapshot.gcCount(), snapshot.gcTimeMillis(),
+                processCpuLoad >= 0 ? Math.round(processCpuLoad * 1000) / 10.0 : "-",
+                ManagementFactory.getThreadMXBean().getThreadCount());
+    }
+
+    /**
+     * ステップ開始時点のリソース使用状況を取得
+     */
+    public ResourceSnapshot captureResources() {
+        return ResourceSnapshot.capture();
+    }
+
+    /**
+     * ステップのリソース使用量・処理速度を記録
+     * 開始時点のスナップショットとの差分を Micrometer に記録し、実行コンテキストに保存する値を返す
+     *
+     * @param jobName   ジョブ名
+     * @param stepName  ステップ名
+     * @param start     ステップ開始時点のスナップショット
+     * @param items     処理件数
+     * @param status    ステップの終了ステータス
+     * @return 計測値（キーは metrics. で始まる）
+     */
+    public Map<String, Object> recordStepResources(String jobName, String stepName, ResourceSnapshot start,
+            long items, String status) {
+        return recordStepResources(jobName, stepName, start, ResourceSnapshot.capture(), items, status);
+    }
+
+    Map<String, Object> recordStepResources(String jobName, String stepName, ResourceSnapshot start,
+            ResourceSnapshot end, long items, String status) {
+        Duration elapsed = Duration.ofNanos(Math.max(0, end.nanoTime() - start.nanoTime()));
+        long gcCount = Math.max(0, end.gcCount() - start.gcCount());
+        long gcMillis = Math.max(0, end.gcTimeMillis() - start.gcTimeMillis());
+
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put(METRICS_KEY_PREFIX + "durationMillis", elapsed.toMillis());
+        metrics.put(METRICS_KEY_PREFIX + "heapDeltaBytes", end.heapUsedBytes() - start.heapUsedBytes());
+        metrics.put(METRICS_KEY_PREFIX + "gcCount", gcCount);
+        metrics.put(METRICS_KEY_PREFIX + "gcMillis", gcMillis);
+
+        Timer.builder("batch.step.duration").tag("job", jobName).tag("step", stepName).tag("status", status)
+                .description("ステップの実行時間").register(meterRegistry).record(elapsed);
+        Timer.builder("batch.step.gc").tag("job", jobName).tag("step", stepName)
+                .description("ステップ実行中の GC 時間（JVM 全体）").register(meterRegistry)
+                .record(gcMillis, TimeUnit.MILLISECONDS);
+        Counter.builder("batch.step.items").tag("job", jobName).tag("step", stepName)
+                .description("ステップの処理件数").register(meterRegistry).increment(items);
+
+        if (start.cpuTimeNanos() >= 0 && end.cpuTimeNanos() >= 0) {
+            long cpuNanos = Math.max(0, end.cpuTimeNanos() - start.cpuTimeNanos());
+            metrics.put(METRICS_KEY_PREFIX + "cpuMillis", TimeUnit.NANOSECONDS.toMillis(cpuNanos));
+            // 実行時間に占める CPU 時間の割合（低い場合は DB などの待ち時間が長い）
+            if (!elapsed.isZero()) {
+                metrics.put(METRICS_KEY_PREFIX + "cpuPercent",
+                        Math.round(cpuNanos * 1000.0 / elapsed.toNanos()) / 10.0);
+            }
+            Timer.builder("batch.step.cpu").tag("job", jobName).tag("step", stepName)
+                    .description("ステップを実行したスレッドの CPU 時間").register(meterRegistry)
+                    .record(cpuNanos, TimeUnit.NANOSECONDS);
+        }
+        if (start.allocatedBytes() >= 0 && end.allocatedBytes() >= 0) {
+            long allocated = Math.max(0, end.allocatedBytes() - start.allocatedBytes());
+            metrics.put(METRICS_KEY_PREFIX + "allocatedBytes", allocated);
+            DistributionSummary.builder("batch.step.allocated").tag("job", jobName).tag("step", stepName)
+                    .baseUnit("bytes").description("ステップを実行したスレッドが割り当てたメモリ量")
+                    .register(meterRegistry).record(allocated);
+        }
+        if (items > 0 && elapsed.toMillis() > 0) {
+            double itemsPerSecond = Math.round(items * 1000.0 * 100 / elapsed.toMillis()) / 100.0;
+            metrics.put(METRICS_KEY_PREFIX + "itemsPerSecond", itemsPerSecond);
+            DistributionSummary.builder("batch.step.throughput").tag("job", jobName).tag("step", stepName)
+                    .description("ステップの処理速度（件/秒）").register(meterRegistry)
+                    .record(itemsPerSecond);
+        }
+        return metrics;
+    }
+
+    /**
+     * 読み込み・加工・書き込みの所要時間を記録
+     */
+    public void recordStepPhases(String jobName, String stepName, long readNanos, long processNanos,
+            long writeNanos) {
+        recordPhase(jobName, stepName, "read", readNanos);
+        recordPhase(jobName, stepName, "process", processNanos);
+        recordPhase(jobName, stepName, "write", writeNanos);
+    }
+
+    /**
+     * チャンク単位の所要時間のタイマー（分布をヒストグラムで公開する）
+     */
+    public Timer chunkTimer(String jobName, String stepName) {
+        return Timer.builder("batch.chunk.duration").tag("job", jobName).tag("step", stepName)
+                .description("チャンク1件あたりの所要時間").publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private void recordPhase(String jobName, String stepName, String phase, long nanos) {
+        Timer.builder("batch.step.phase").tag("job", jobName).tag("step", stepName).tag("phase", phase)
+                .description("ステップの読み込み・加工・書き込みの所要時間").register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static long toMegabytes(long bytes) {
+        return bytes < 0 ? -1 : bytes / 1024 / 1024;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,97 @@
+package com.example.companybackend.batch.util;
+
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.JobParametersInvalidException;
+import org.springframework.batch.core.JobParametersValidator;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+
+/**
+ * 業務日付ジョブパラメータ
+ * 勤怠集計ジョブを業務日付（対象日・対象月）で識別し、同じ業務日付の起動を同じジョブインスタンスにする。
+ * 失敗・停止したジョブは同じパラメータで起動すると最後にコミットしたチャンクから再開し、
+ * 完了済みの業務日付を再度起動すると JobInstanceAlreadyCompleteException になる
+ */
+public class BusinessDateParameters implements JobParametersValidator {
+
+    /** 完了済みの業務日付を再集計する場合に付ける識別パラメータ */
+    public static final String RERUN_KEY = "rerunAt";
+
+    private final String key;
+    private final boolean monthly;
+    private final int defaultOffset;
+
+    private BusinessDateParameters(String key, boolean monthly, int defaultOffset) {
+        this.key = key;
+        this.monthly = monthly;
+        this.defaultOffset = defaultOffset;
+    }
+
+    /**
+     * 対象日（yyyy-MM-dd）で識別するジョブ
+     *
+     * @param key           パラメータ名
+     * @param defaultOffset 省略時の対象日（当日からの日数）
+     */
+    public static BusinessDateParameters daily(String key, int defaultOffset) {
+        return new BusinessDateParameters(key, false, defaultOffset);
+    }
+
+    /**
+     * 対象月（yyyy-MM）で識別するジョブ
+     *
+     * @param key           パラメータ名
+     * @param defaultOffset 省略時の対象月（当月からの月数）
+     */
+    public static BusinessDateParameters monthly(String key, int defaultOffset) {
+        return new BusinessDateParameters(key, true, defaultOffset);
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    @Override
+    public void validate(JobParameters parameters) throws JobParametersInvalidException {
+        String value = parameters != null ? parameters.getString(key) : null;
+        if (value == null || value.isBlank()) {
+            throw new JobParametersInvalidException("業務日付パラメータがありません: " + key);
+        }
+        try {
+            if (monthly) {
+                YearMonth.parse(value);
+            } else {
+                LocalDate.parse(value);
+            }
+        } catch (DateTimeParseException e) {
+            throw new JobParametersInvalidException(
+                    "業務日付パラメータの形式が不正です: " + key + "=" + value + "（" + (monthly ? "yyyy-MM" : "yyyy-MM-dd") + "）");
+        }
+    }
+
+    /**
+     * 業務日付パラメータが省略されている場合に既定値を補う
+     *
+     * @param today 業務上の当日（スケジュールのタイムゾーン）
+     */
+    public JobParameters withDefault(JobParameters parameters, LocalDate today) {
+        if (parameters.getString(key) != null) {
+            return parameters;
+        }
+        return new JobParametersBuilder(parameters).addString(key, defaultValue(today)).toJobParameters();
+    }
+
+    /**
+     * 指定日を当日とした場合の業務日付（日次は yyyy-MM-dd、月次は yyyy-MM）
+     *
+     * @param today 業務上の当日（スケジュール起動の場合は本来の起動日）
+     */
+    public String defaultValue(LocalDate today) {
+        return monthly
+                ? YearMonth.from(today).plusMonths(defaultOffset).toString()
+                : today.plusDays(defaultOffset).toString();
+    }
+}
@@ -1,19 +1,38 @@
 package com.example.companybackend.batch.util;
 
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
 import java.nio.file.*;
+import java.time.Clock;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
 
 /**
  * エンタープライズ級エラーファイル管理
  * バッチ処理中のエラー情報をファイル出力・管理
+ *
+ * エラーはステップ実行ごとの {@link ErrorSink} に JSONL 形式でバッファリングして書き込み、
+ * 1件ごとにファイルを開閉しない。出力先はステップ開始時に開き（ファイルは最初のエラーで作成）、
+ * ステップ終了時に閉じて gzip に圧縮する。
+ *
+ * 書き込み先は呼び出したスレッドで実行中のステップ実行ID（StepSynchronizationManager）で決めるため、
+ * 同じステップ名のジョブが同時に実行されても混ざらない。ステップ実行の外からの書き込みは
+ * 呼び出しごとに出力先を開き、呼び出しの終わりに閉じて圧縮する
  */
 @Component
 public class ErrorFileManager {
@@ -22,14 +41,45 @@ public class ErrorFileManager {
 
     private final String errorDir;
     private final String errorPrefix;
+    private final int bufferSize;
+    private final long maxFileSize;
+    private final Duration rotateInterval;
+    private final Clock clock;
     private final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
     private final AtomicLong errorSequence = new AtomicLong(0);
 
+    /** ステップ実行の外からの書き込みごとの連番（ファイル名の重複を避ける） */
+    private final AtomicLong detachedSequence = new AtomicLong(0);
+
+    /** ステップ実行IDごとの出力先 */
+    private final Map<Long, ErrorSink> stepSinks = new ConcurrentHashMap<>();
+
+    /**
+     * ステップ実行の出力先を閉じた結果
+     *
+     * @param errorCount エラー件数
+     * @param files      出力したファイル名（gzip 圧縮後）
+     */
+    public record SinkSummary(long errorCount, List<String> files) {
+    }
+
     // 修改构造函数，使用@Value注解から配置ファイル获取パラメータ
     public ErrorFileManager(@Value("${batch.error.dir:/tmp/batch/errors}") String errorDir,
-            @Value("${batch.error.prefix:BATCH_ERR_}") String errorPrefix) {
+            @Value("${batch.error.prefix:BATCH_ERR_}") String errorPrefix,
+            @Value("${batch.error.buffer-size:65536}") int bufferSize,
+            @Value("${batch.error.max-file-size:52428800}") long maxFileSize,
+            @Value("${batch.error.rotate-interval:PT1H}") Duration rotateInterval) {
+        this(errorDir, errorPrefix, bufferSize, maxFileSize, rotateInterval, Clock.systemDefaultZone());
+    }
+
+    ErrorFileManager(String errorDir, String errorPrefix, int bufferSize, long maxFileSize, Duration rotateInterval,
+            Clock clock) {
         this.errorDir = errorDir;
         this.errorPrefix = errorPrefix;
+        this.bufferSize = bufferSize;
+        this.maxFileSize = maxFileSize;
+        this.rotateInterval = rotateInterval;
+        this.clock = clock;
         initializeErrorDirectory();
     }
 
@@ -50,34 +100,77 @@ public class ErrorFileManager {
     }
 
     /**
-     * エラー情報をファイル出力
+     * ステップ実行の出力先を開く（ステップ開始時）
+     * ファイルは最初のエラーを書き込む時に作成するため、エラーがないステップではファイルを作らない
      */
-    public String writeErrorToFile(String stepName, String errorType, String errorMessage,
-            String stackTrace, Object problematicData) {
-        try {
-            String fileName = generateErrorFileName(stepName, errorType);
-            Path filePath = Paths.get(errorDir, fileName);
-
-            StringBuilder errorContent = new StringBuilder();
-            errorContent.append("=== バッチエラー情報 ===\n");
-            errorContent.append("発生時刻: ").append(LocalDateTime.now()).append("\n");
-            errorContent.append("ステップ名: ").append(stepName).append("\n");
-            errorContent.append("エラータイプ: ").append(errorType).append("\n");
-            errorContent.append("エラーメッセージ: ").append(errorMessage).append("\n");
-            errorContent.append("シーケンス番号: ").append(errorSequence.get()).append("\n");
-            errorContent.append("\n=== 問題データ ===\n");
-            errorContent.append(problematicData != null ? problematicData.toString() : "N/A").append("\n");
-            errorContent.append("\n=== スタックトレース ===\n");
-            errorContent.append(stackTrace != null ? stackTrace : "N/A").append("\n");
+    public ErrorSink openSink(String jobName, String stepName, Long stepExecutionId) {
+        return stepSinks.computeIfAbsent(stepExecutionId, id -> {
+            Map<String, Object> attributes = new LinkedHashMap<>();
+            attributes.put("jobName", jobName);
+            attributes.put("stepName", stepName);
+            attributes.put("stepExecutionId", id);
+            return newSink(String.format("%s_%s_%s_%d", errorPrefix, jobName, stepName, id), attributes);
+        });
+    }
 
-            Files.write(filePath, errorContent.toString().getBytes(),
-                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    /**
+     * ステップ実行の出力先を閉じる（ステップ終了時）
+     * バッファを書き込んでファイルを閉じ、gzip に圧縮する
+     */
+    public SinkSummary closeSink(Long stepExecutionId) {
+        ErrorSink sink = stepExecutionId != null ? stepSinks.remove(stepExecutionId) : null;
+        if (sink == null) {
+            return new SinkSummary(0, List.of());
+        }
+        SinkSummary summary = close(sink);
+        if (summary.errorCount() > 0) {
+            log.warn("ステップのエラー情報を出力しました: {} (件数: {}, ファイル: {})", sink.getAttribute("stepName"),
+                    summary.errorCount(), summary.files());
+        }
+        return summary;
+    }
 
-            log.warn("エラー情報をファイルに出力しました: {} (Step: {}, Type: {})",
-                    fileName, stepName, errorType);
+    /**
+     * 開いている出力先をすべて閉じる（アプリケーション停止時）
+     */
+    @PreDestroy
+    public void closeAll() {
+        List.copyOf(stepSinks.keySet()).forEach(this::closeSink);
+    }
 
-            return fileName;
+    /**
+     * 一定時間を超えて書き込み中のファイルを閉じて圧縮する（定期実行）
+     * 書き込みが途絶えたステップでも、ファイルを切り替え間隔より長く開いたままにしない
+     */
+    @Scheduled(fixedDelayString = "${batch.error.rotate-check-interval-ms:60000}")
+    public void rotateExpiredFiles() {
+        for (ErrorSink sink : stepSinks.values()) {
+            try {
+                sink.rotateIfExpired();
+            } catch (IOException e) {
+                log.error("エラーファイルの切り替えに失敗しました: {}", sink.getBaseName(), e);
+            }
+        }
+    }
 
+    /**
+     * エラー情報をファイル出力
+     * 実行中のステップの出力先にバッファリングして書き込む。
+     * ステップ実行の外から呼ばれた場合は、この呼び出し用の出力先に書き込んで閉じる
+     *
+     * @param stepName ステップ名（ステップ実行の外から呼ばれた場合のファイル名に使用する）
+     * @return 書き込み先のファイル名（ステップ実行の外から呼ばれた場合は圧縮後のファイル名）
+     */
+    public String writeErrorToFile(String stepName, String errorType, String errorMessage,
+            String stackTrace, Object problematicData) {
+        ErrorSink sink = currentStepSink();
+        if (sink == null) {
+            return writeDetached(stepName, errorType, errorMessage, stackTrace, problematicData);
+        }
+        try {
+            sink.write(errorType, errorMessage, stackTrace, problematicData);
+            errorSequence.incrementAndGet();
+            return sink.getCurrentFileName();
         } catch (IOException e) {
             log.error("エラーファイル出力に失敗しました", e);
             return null;
@@ -86,49 +179,62 @@ public class ErrorFileManager {
 
     /**
      * CSV形式エラーデータ出力
+     * 行データはヘッダー名をキーとした data として出力する
+     *
+     * @return 書き込み先のファイル名
      */
     public String writeCsvErrorData(String stepName, String[] headers, Object[] errorData) {
-        try {
-            String fileName = generateErrorFileName(stepName, "CSV_DATA");
-            Path filePath = Paths.get(errorDir, fileName);
-
-            StringBuilder csvContent = new StringBuilder();
-
-            // ヘッダー行（ファイルが新規の場合のみ）
-            if (!Files.exists(filePath)) {
-                csvContent.append("ERROR_TIMESTAMP,STEP_NAME,SEQUENCE,");
-                if (headers != null) {
-                    csvContent.append(String.join(",", headers));
-                }
-                csvContent.append("\n");
-            }
-
-            // データ行
-            csvContent.append(LocalDateTime.now().format(dateFormatter)).append(",");
-            csvContent.append(stepName).append(",");
-            csvContent.append(errorSequence.incrementAndGet()).append(",");
-
-            if (errorData != null) {
-                for (int i = 0; i < errorData.length; i++) {
-                    if (i > 0)
-                        csvContent.append(",");
-                    csvContent.append(errorData[i] != null ? errorData[i].toString() : "");
-                }
+        Map<String, Object> row = new LinkedHashMap<>();
+        if (errorData != null) {
+            for (int i = 0; i < errorData.length; i++) {
+                String column = headers != null && i < headers.length ? headers[i] : "column" + (i + 1);
+                row.put(column, errorData[i] != null ? errorData[i].toString() : "");
             }
-            csvContent.append("\n");
+        }
+        return writeErrorToFile(stepName, "CSV_DATA", null, null, row);
+    }
 
-            Files.write(filePath, csvContent.toString().getBytes(),
-                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    /**
+     * 呼び出したスレッドで実行中のステップ実行の出力先（ステップ実行の外、または出力先を開いていない場合は null）
+     */
+    private ErrorSink currentStepSink() {
+        StepContext context = StepSynchronizationManager.getContext();
+        return context != null ? stepSinks.get(context.getStepExecution().getId()) : null;
+    }
 
-            log.warn("CSVエラーデータを出力しました: {} (Step: {})", fileName, stepName);
-            return fileName;
+    /**
+     * ステップ実行の外からの書き込み（出力先を開いて書き込み、呼び出しの終わりに閉じて圧縮する）
+     */
+    private String writeDetached(String stepName, String errorType, String errorMessage, String stackTrace,
+            Object problematicData) {
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        attributes.put("stepName", stepName);
+        ErrorSink sink = newSink(String.format("%s_%s_%d", errorPrefix, stepName,
+                detachedSequence.incrementAndGet()), attributes);
+        try {
+            sink.write(errorType, errorMessage, stackTrace, problematicData);
+            errorSequence.incrementAndGet();
+        } catch (IOException e) {
+            log.error("エラーファイル出力に失敗しました", e);
+        }
+        List<String> files = close(sink).files();
+        return files.isEmpty() ? null : files.get(files.size() - 1);
+    }
 
+    private SinkSummary close(ErrorSink sink) {
+        try {
+            return new SinkSummary(sink.getErrorCount(), sink.close());
         } catch (IOException e) {
-            log.error("CSVエラーファイル出力に失敗しました", e);
-            return null;
+            log.error("エラーファイルのクローズに失敗しました: {}", sink.getBaseName(), e);
+            return new SinkSummary(sink.getErrorCount(), List.of());
         }
     }
 
+    private ErrorSink newSink(String baseName, Map<String, Object> attributes) {
+        return new ErrorSink(Paths.get(errorDir), baseName, attributes, bufferSize, maxFileSize, rotateInterval,
+                clock);
+    }
+
     /**
      * 集約エラーレポート出力
      */
@@ -190,8 +296,8 @@ public class ErrorFileManager {
 
             LocalDateTime cutoffDate = LocalDateTime.now().minusDays(retentionDays);
 
-            Files.list(dirPath)
-                    .filter(path -> path.toString().startsWith(errorPrefix))
+            try (Stream<Path> files = Files.list(dirPath)) {
+                files.filter(path -> path.getFileName().toString().startsWith(errorPrefix))
                     .filter(path -> {
                         try {
                             return Files.getLastModifiedTime(path)
@@ -209,6 +315,7 @@ public class ErrorFileManager {
                             log.warn("エラーファイル削除に失敗しました: {}", path.getFileName(), e);
                         }
                     });
+            }
 
         } catch (IOException e) {
             log.error("エラーファイルクリーンアップに失敗しました", e);
@@ -229,9 +336,10 @@ public class ErrorFileManager {
                 return stats;
             }
 
-            java.util.List<Path> errorFiles = Files.list(dirPath)
-                    .filter(path -> path.toString().contains(errorPrefix))
-                    .collect(java.util.stream.Collectors.toList());
+            java.util.List<Path> errorFiles;
+            try (Stream<Path> files = Files.list(dirPath)) {
+                errorFiles = files.filter(path -> path.getFileName().toString().startsWith(errorPrefix)).toList();
+            }
 
             long totalSize = errorFiles.stream()
                     .mapToLong(path -> {
@@ -248,6 +356,7 @@ public class ErrorFileManager {
             stats.put("totalSizeMB", totalSize / 1024.0 / 1024.0);
             stats.put("errorDirectory", errorDir);
             stats.put("currentSequence", errorSequence.get());
+            stats.put("openSinks", stepSinks.size());
 
         } catch (IOException e) {
             log.error("エラーファイル統計取得に失敗しました", e);
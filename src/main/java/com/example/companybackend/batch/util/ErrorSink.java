@@ -0,0 +1,261 @@
+package com.example.companybackend.batch.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * ステップ実行単位のエラー出力先
+ * エラーを1行1件の JSON（JSONL）としてバッファに溜め、バッファが埋まった時だけファイルチャネルへ書き込む。
+ * ファイルは最初のエラーで1回だけ開き、サイズ上限または一定時間を超えると次のファイルへ切り替える。
+ * 閉じたファイルは gzip に圧縮する（close はステップ終了時に EnhancedStepExecutionListener から呼ばれる）。
+ * 書き込みが途絶えた場合の時間による切り替えは ErrorFileManager の定期処理から {@link #rotateIfExpired()} で行う
+ */
+public class ErrorSink {
+
+    private static final Logger log = LoggerFactory.getLogger(ErrorSink.class);
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final DateTimeFormatter fileTimeFormatter = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
+
+    private final Path directory;
+    private final String baseName;
+    private final Map<String, Object> attributes;
+    private final long maxFileSize;
+    private final Duration rotateInterval;
+    private final Clock clock;
+    private final ByteBuffer buffer;
+
+    private FileChannel channel;
+    private Path currentFile;
+    private Instant openedAt;
+    private long currentSize;
+    private int part;
+    private long errorCount;
+    private final List<String> closedFiles = new ArrayList<>();
+    private boolean closed;
+
+    /**
+     * @param directory      出力ディレクトリ
+     * @param baseName       ファイル名（接頭辞・ジョブ名・ステップ名など、拡張子なし）
+     * @param attributes     各行に付けるジョブ名・ステップ名・ステップ実行ID
+     * @param bufferSize     書き込みバッファのサイズ（バイト）
+     * @param maxFileSize    1ファイルのサイズ上限（バイト）
+     * @param rotateInterval 1ファイルに書き込む時間の上限
+     * @param clock          ファイルの切り替え時刻の判定に使う時計
+     */
+    ErrorSink(Path directory, String baseName, Map<String, Object> attributes, int bufferSize, long maxFileSize,
+            Duration rotateInterval, Clock clock) {
+        this.directory = directory;
+        this.baseName = baseName;
+        this.attributes = attributes;
+        this.maxFileSize = maxFileSize;
+        this.rotateInterval = rotateInterval;
+        this.clock = clock;
+        this.buffer = ByteBuffer.allocate(bufferSize);
+    }
+
+    /**
+     * エラー1件を書き込む（バッファが埋まるまではファイルに書き込まない）
+     *
+     * @param errorType  エラー種別
+     * @param message    エラーメッセージ
+     * @param stackTrace スタックトレース（なければ null）
+     * @param data       問題データ（Map・配列・文字列・数値はそのまま、それ以外は文字列で出力）
+     * @return 連番
+     */
+    public synchronized long write(String errorType, String message, String stackTrace, Object data)
+            throws IOException {
+        if (closed) {
+            throw new IOException("エラー出力先は既に閉じています: " + baseName);
+        }
+        long sequence = ++errorCount;
+
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put("timestamp", LocalDateTime.now(clock).toString());
+        record.putAll(attributes);
+        record.put("sequence", sequence);
+        record.put("errorType", errorType);
+        record.put("message", message);
+        record.put("data", toJsonValue(data));
+        if (stackTrace != null) {
+            record.put("stackTrace", stackTrace);
+        }
+        append((serialize(record) + "\n").getBytes(StandardCharsets.UTF_8));
+        return sequence;
+    }
+
+    /**
+     * バッファの内容をファイルへ書き込む
+     */
+    public synchronized void flush() throws IOException {
+        if (channel == null || buffer.position() == 0) {
+            return;
+        }
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            currentSize += channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * バッファを書き込んでファイルを閉じ、gzip に圧縮する
+     *
+     * @return 出力したファイル名（圧縮後）
+     */
+    public synchronized List<String> close() throws IOException {
+        if (!closed) {
+            closed = true;
+            closeCurrentFile();
+        }
+        return List.copyOf(closedFiles);
+    }
+
+    /**
+     * 書き込み中のファイルを開いてから一定時間を超えていれば閉じて圧縮する（次の書き込みで新しいファイルを開く）
+     *
+     * @return ファイルを閉じた場合 true
+     */
+    public synchronized boolean rotateIfExpired() throws IOException {
+        if (closed || channel == null || Duration.between(openedAt, clock.instant()).compareTo(rotateInterval) < 0) {
+            return false;
+        }
+        closeCurrentFile();
+        return true;
+    }
+
+    public synchronized long getErrorCount() {
+        return errorCount;
+    }
+
+    public String getBaseName() {
+        return baseName;
+    }
+
+    /**
+     * 書き込み中のファイル名（まだ開いていない場合は null）
+     */
+    public synchronized String getCurrentFileName() {
+        return channel != null ? currentFile.getFileName().toString() : null;
+    }
+
+    Object getAttribute(String key) {
+        return attributes.get(key);
+    }
+
+    private void append(byte[] line) throws IOException {
+        if (channel == null) {
+            openNextFile();
+        } else if (shouldRotate(line.length)) {
+            closeCurrentFile();
+            openNextFile();
+        }
+        if (line.length > buffer.remaining()) {
+            flush();
+        }
+        if (line.length > buffer.capacity()) {
+            // バッファより大きい行はそのまま書き込む
+            ByteBuffer large = ByteBuffer.wrap(line);
+            while (large.hasRemaining()) {
+                currentSize += channel.write(large);
+            }
+            return;
+        }
+        buffer.put(line);
+    }
+
+    private boolean shouldRotate(int nextLength) {
+        long pending = currentSize + buffer.position();
+        if (pending > 0 && pending + nextLength > maxFileSize) {
+            return true;
+        }
+        return Duration.between(openedAt, clock.instant()).compareTo(rotateInterval) >= 0;
+    }
+
+    private void openNextFile() throws IOException {
+        part++;
+        openedAt = clock.instant();
+        String timestamp = LocalDateTime.ofInstant(openedAt, ZoneId.systemDefault()).format(fileTimeFormatter);
+        currentFile = directory.resolve(String.format("%s_%s_%03d.jsonl", baseName, timestamp, part));
+        channel = FileChannel.open(currentFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        currentSize = channel.size();
+    }
+
+    private void closeCurrentFile() throws IOException {
+        if (channel == null) {
+            return;
+        }
+        try {
+            flush();
+        } finally {
+            channel.close();
+            channel = null;
+        }
+        closedFiles.add(compress(currentFile).getFileName().toString());
+    }
+
+    /**
+     * 閉じたファイルを gzip に圧縮して元のファイルを削除する（失敗した場合は元のファイルを残す）
+     */
+    private static Path compress(Path file) {
+        Path gzip = file.resolveSibling(file.getFileName() + ".gz");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(gzip), 64 * 1024)) {
+            Files.copy(file, out);
+        } catch (IOException e) {
+            log.warn("エラーファイルの圧縮に失敗しました。未圧縮のまま残します: {}", file.getFileName(), e);
+            return file;
+        }
+        try {
+            Files.delete(file);
+        } catch (IOException e) {
+            log.warn("圧縮済みエラーファイルの削除に失敗しました: {}", file.getFileName(), e);
+        }
+        return gzip;
+    }
+
+    private static Object toJsonValue(Object data) {
+        if (data == null || data instanceof String || data instanceof Number || data instanceof Boolean
+                || data instanceof Map<?, ?> || data instanceof Collection<?> || data instanceof Object[]) {
+            return data;
+        }
+        return data.toString();
+    }
+
+    private static String serialize(Map<String, Object> record) {
+        try {
+            return objectMapper.writeValueAsString(record);
+        } catch (JsonProcessingException e) {
+            // 問題データを JSON にできない場合は文字列にして出力する
+            record.put("data", String.valueOf(record.get("data")));
+            try {
+                return objectMapper.writeValueAsString(record);
+            } catch (JsonProcessingException retry) {
+                throw new IllegalStateException("エラー情報を JSON に変換できません", retry);
+            }
+        }
+    }
+}
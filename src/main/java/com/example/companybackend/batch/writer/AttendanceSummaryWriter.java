@@ -1,19 +1,34 @@
 package com.example.companybackend.batch.writer;
 
 import com.example.companybackend.entity.AttendanceSummary;
-import com.example.companybackend.repository.AttendanceSummaryRepository;
+import com.example.companybackend.repository.AttendanceSummaryUpsertRepository;
+import com.example.companybackend.service.OvertimeMonitorService;
 import org.springframework.batch.item.Chunk;
 import org.springframework.batch.item.ItemWriter;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.stereotype.Component;
 
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * 勤怠集計ライター
+ * ユーザー・対象日・集計種別をキーに UPSERT するため、同じ業務日付の再実行や
+ * 途中からの再開でチャンクを書き直しても集計は重複しない
+ */
 public class AttendanceSummaryWriter implements ItemWriter<AttendanceSummary> {
 
     @Autowired
-    private AttendanceSummaryRepository attendanceSummaryRepository;
+    private AttendanceSummaryUpsertRepository attendanceSummaryUpsertRepository;
+
+    @Autowired
+    private OvertimeMonitorService overtimeMonitorService;
 
     @Override
     public void write(Chunk<? extends AttendanceSummary> chunk) throws Exception {
-        attendanceSummaryRepository.saveAll(chunk.getItems());
+        // 同じユーザー・日の出勤打刻が複数あると同じ集計が重なるため、キーの重複を除いて書き込む
+        List<AttendanceSummary> written = attendanceSummaryUpsertRepository.upsertAll(chunk.getItems(),
+                OffsetDateTime.now());
+        // 日次サマリーのユーザー・月の残業累計をチャンク単位で更新（SQL で集計するため先に反映する）
+        overtimeMonitorService.onDailySummariesSaved(written);
     }
 }
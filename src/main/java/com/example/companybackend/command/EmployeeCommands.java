@@ -1,16 +1,32 @@
 package com.example.companybackend.command;
 
 import com.example.companybackend.entity.User;
+import com.example.companybackend.repository.EmployeeReadModelRepository;
 import com.example.companybackend.repository.UserRepository;
+import com.example.companybackend.service.EmployeeStatisticsService;
+import com.example.companybackend.service.OrgTreeIndex;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
 import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 
 /**
  * 従業員コマンド処理サービス
@@ -26,6 +42,10 @@ import java.util.Optional;
  * - 一括操作処理
  * - データ整合性チェック
  * - 状態変更処理
+ * 
+ * 各コマンドは同一トランザクション内で従業員参照モデル（employee_read_model）の該当行を再生成し、
+ * コミット後に従業員統計のキャッシュを破棄する。
+ * 組織ツリーに影響する変更（部署・上長・有効フラグ・新規登録）はコミット後に組織ツリーインデックスへ反映する
  */
 @Service
 @Transactional
@@ -33,7 +53,27 @@ import java.util.Optional;
 public class EmployeeCommands {
 
     private static final Logger log = LoggerFactory.getLogger(EmployeeCommands.class);
+
+    /**
+     * 一括作成用 INSERT（配列パラメータを unnest して1文で登録）
+     * skip_location_check は他の作成経路（User の既定値）と同じく false で登録する
+     */
+    private static final String BATCH_INSERT_SQL = """
+            INSERT INTO users (username, email, password_hash, employee_id, full_name, department_id, role,
+                               location_type, is_active, skip_location_check, created_at, updated_at)
+            SELECT t.username, t.email, t.password_hash, t.employee_id, t.full_name, t.department_id, t.role,
+                   t.location_type, true, false, ?, ?
+            FROM unnest(?::varchar[], ?::varchar[], ?::varchar[], ?::varchar[], ?::varchar[], ?::integer[],
+                        ?::varchar[], ?::varchar[])
+                 AS t(username, email, password_hash, employee_id, full_name, department_id, role, location_type)
+            RETURNING id, username
+            """;
+
     private final UserRepository userRepository;
+    private final EmployeeReadModelRepository employeeReadModelRepository;
+    private final EmployeeStatisticsService employeeStatisticsService;
+    private final OrgTreeIndex orgTreeIndex;
+    private final JdbcTemplate jdbcTemplate;
 
     /**
      * 従業員作成
@@ -49,18 +89,12 @@ public class EmployeeCommands {
         validateUniqueConstraints(command.getUsername(), command.getEmail(), command.getEmployeeId(), null);
 
         // 従業員作成
-        User employee = new User();
-        employee.setUsername(command.getUsername());
-        employee.setEmail(command.getEmail());
-        employee.setPasswordHash(command.getPasswordHash());
-        employee.setEmployeeId(command.getEmployeeId());
-        employee.setFullName(command.getFullName());
-        employee.setDepartmentId(command.getDepartmentId());
-        employee.setRole(command.getRole());
-        employee.setLocationType(command.getLocationType());
-        employee.setIsActive(true);
+        User employee = newEmployee(command, OffsetDateTime.now());
 
         User savedEmployee = userRepository.save(employee);
+        employeeReadModelRepository.refreshUsers(List.of(savedEmployee.getId()));
+        orgTreeIndex.refreshUsers(List.of(savedEmployee.getId()));
+        employeeStatisticsService.invalidate();
         log.info("従業員作成完了: id={}, employeeId={}", savedEmployee.getId(), savedEmployee.getEmployeeId());
 
         return savedEmployee;
@@ -113,6 +147,9 @@ public class EmployeeCommands {
         }
 
         User updatedEmployee = userRepository.save(employee);
+        employeeReadModelRepository.refreshUsers(List.of(userId));
+        orgTreeIndex.refreshUsers(List.of(userId));
+        employeeStatisticsService.invalidate();
         log.info("従業員更新完了: userId={}, employeeId={}", updatedEmployee.getId(), updatedEmployee.getEmployeeId());
 
         return updatedEmployee;
@@ -136,6 +173,9 @@ public class EmployeeCommands {
         employee.setUpdatedAt(OffsetDateTime.now());
 
         userRepository.save(employee);
+        employeeReadModelRepository.refreshUsers(List.of(userId));
+        orgTreeIndex.refreshUsers(List.of(userId));
+        employeeStatisticsService.invalidate();
         log.info("従業員無効化完了: userId={}, employeeId={}", userId, employee.getEmployeeId());
     }
 
@@ -157,6 +197,9 @@ public class EmployeeCommands {
         employee.setUpdatedAt(OffsetDateTime.now());
 
         userRepository.save(employee);
+        employeeReadModelRepository.refreshUsers(List.of(userId));
+        orgTreeIndex.refreshUsers(List.of(userId));
+        employeeStatisticsService.invalidate();
         log.info("従業員有効化完了: userId={}, employeeId={}", userId, employee.getEmployeeId());
     }
 
@@ -201,9 +244,48 @@ public class EmployeeCommands {
         employee.setUpdatedAt(OffsetDateTime.now());
 
         userRepository.save(employee);
+        employeeReadModelRepository.refreshUsers(List.of(userId));
+        orgTreeIndex.refreshUsers(List.of(userId));
+        employeeStatisticsService.invalidate();
         log.info("部署変更完了: userId={}, newDepartmentId={}", userId, newDepartmentId);
     }
 
+    /**
+     * 上長変更
+     * 新しい上長が本人または本人の配下の場合は、上長の循環となるため拒否する
+     * 
+     * @param userId       ユーザーID
+     * @param newManagerId 新しい上長のユーザーID（null の場合は上長を解除し、部署長を上長とする）
+     * @throws IllegalArgumentException 従業員・上長が見つからない場合、または上長が循環する場合
+     */
+    public void changeManager(Long userId, Long newManagerId) {
+        log.info("上長変更開始: userId={}, newManagerId={}", userId, newManagerId);
+
+        // 従業員存在確認
+        User employee = userRepository.findById(userId)
+                .orElseThrow(() -> new IllegalArgumentException("従業員が見つかりません: " + userId));
+
+        if (newManagerId != null) {
+            if (!userRepository.existsById(newManagerId)) {
+                throw new IllegalArgumentException("上長が見つかりません: " + newManagerId);
+            }
+            // 循環チェック（本人・配下を上長にはできない）
+            if (newManagerId.equals(userId) || orgTreeIndex.isSubordinate(newManagerId, userId)) {
+                throw new IllegalArgumentException("上長が循環するため変更できません: userId=" + userId
+                        + ", newManagerId=" + newManagerId);
+            }
+        }
+
+        // 上長変更
+        employee.setManagerId(newManagerId != null ? Math.toIntExact(newManagerId) : null);
+        employee.setUpdatedAt(OffsetDateTime.now());
+
+        userRepository.save(employee);
+        employeeReadModelRepository.refreshUsers(List.of(userId));
+        orgTreeIndex.refreshUsers(List.of(userId));
+        log.info("上長変更完了: userId={}, newManagerId={}", userId, newManagerId);
+    }
+
     /**
      * 役職変更
      * 
@@ -228,6 +310,8 @@ public class EmployeeCommands {
         employee.setUpdatedAt(OffsetDateTime.now());
 
         userRepository.save(employee);
+        employeeReadModelRepository.refreshUsers(List.of(userId));
+        employeeStatisticsService.invalidate();
         log.info("役職変更完了: userId={}, newRole={}", userId, newRole);
     }
 
@@ -255,21 +339,43 @@ public class EmployeeCommands {
         employee.setUpdatedAt(OffsetDateTime.now());
 
         userRepository.save(employee);
+        employeeReadModelRepository.refreshUsers(List.of(userId));
+        employeeStatisticsService.invalidate();
         log.info("勤務地タイプ変更完了: userId={}, newLocationType={}", userId, newLocationType);
     }
 
     /**
      * 一括従業員作成
+     * 重複チェックはキーごとに1回の IN クエリで行い、登録は1文の INSERT で行う
      * 
      * @param commands 従業員作成コマンドリスト
-     * @return 作成された従業員リスト
+     * @return 作成された従業員リスト（コマンドと同順）
+     * @throws IllegalArgumentException 一括登録内または既存データと重複がある場合
      */
     public List<User> createEmployeesBatch(List<CreateEmployeeCommand> commands) {
         log.info("一括従業員作成開始: count={}", commands.size());
+        if (commands.isEmpty()) {
+            return List.of();
+        }
 
-        List<User> employees = commands.stream()
-                .map(this::createEmployee)
-                .toList();
+        // 重複チェック（一括登録内 → 既存データの順）
+        Set<String> usernames = collectUnique(commands, CreateEmployeeCommand::getUsername, "ユーザー名");
+        Set<String> emails = collectUnique(commands, CreateEmployeeCommand::getEmail, "メールアドレス");
+        Set<String> employeeIds = collectUnique(commands, CreateEmployeeCommand::getEmployeeId, "従業員ID");
+        rejectExisting(usernames, userRepository::findExistingUsernames, "ユーザー名が既に使用されています");
+        rejectExisting(emails, userRepository::findExistingEmails, "メールアドレスが既に使用されています");
+        rejectExisting(employeeIds, userRepository::findExistingEmployeeIds, "従業員IDが既に使用されています");
+
+        OffsetDateTime now = OffsetDateTime.now();
+        List<User> employees = commands.stream().map(command -> newEmployee(command, now)).toList();
+
+        Map<String, Long> idsByUsername = new HashMap<>();
+        jdbcTemplate.query(connection -> prepareBatchInsert(connection, employees, now),
+                (RowCallbackHandler) rs -> idsByUsername.put(rs.getString("username"), rs.getLong("id")));
+        employees.forEach(employee -> employee.setId(idsByUsername.get(employee.getUsername())));
+        employeeReadModelRepository.refreshUsers(idsByUsername.values());
+        orgTreeIndex.refreshUsers(idsByUsername.values());
+        employeeStatisticsService.invalidate();
 
         log.info("一括従業員作成完了: count={}", employees.size());
         return employees;
@@ -277,29 +383,151 @@ public class EmployeeCommands {
 
     /**
      * 一括従業員無効化
+     * 1文の UPDATE で更新し、存在しないIDが含まれる場合は全体をロールバックする
      * 
      * @param userIds ユーザーIDリスト
+     * @throws IllegalArgumentException 存在しないIDが含まれる場合
      */
     public void deactivateEmployeesBatch(List<Long> userIds) {
         log.info("一括従業員無効化開始: count={}", userIds.size());
 
-        userIds.forEach(this::deactivateEmployee);
+        Long[] ids = distinctIds(userIds);
+        int updated = userRepository.deactivateByIds(ids, OffsetDateTime.now());
+        requireAllUpdated(ids, updated);
+        employeeReadModelRepository.refreshUsers(List.of(ids));
+        orgTreeIndex.refreshUsers(List.of(ids));
+        employeeStatisticsService.invalidate();
 
-        log.info("一括従業員無効化完了: count={}", userIds.size());
+        log.info("一括従業員無効化完了: count={}", updated);
     }
 
     /**
      * 一括部署変更
+     * 1文の UPDATE で更新し、存在しないIDが含まれる場合は全体をロールバックする
      * 
      * @param userIds         ユーザーIDリスト
      * @param newDepartmentId 新しい部署ID
+     * @throws IllegalArgumentException 存在しないIDが含まれる場合
      */
     public void changeDepartmentBatch(List<Long> userIds, Integer newDepartmentId) {
         log.info("一括部署変更開始: count={}, newDepartmentId={}", userIds.size(), newDepartmentId);
 
-        userIds.forEach(userId -> changeDepartment(userId, newDepartmentId));
+        Long[] ids = distinctIds(userIds);
+        int updated = userRepository.updateDepartmentByIds(ids, newDepartmentId, OffsetDateTime.now());
+        requireAllUpdated(ids, updated);
+        employeeReadModelRepository.refreshUsers(List.of(ids));
+        orgTreeIndex.refreshUsers(List.of(ids));
+        employeeStatisticsService.invalidate();
+
+        log.info("一括部署変更完了: count={}, newDepartmentId={}", updated, newDepartmentId);
+    }
 
-        log.info("一括部署変更完了: count={}, newDepartmentId={}", userIds.size(), newDepartmentId);
+    /**
+     * 作成コマンドから従業員エンティティを生成
+     */
+    private User newEmployee(CreateEmployeeCommand command, OffsetDateTime now) {
+        User employee = new User();
+        employee.setUsername(command.getUsername());
+        employee.setEmail(command.getEmail());
+        employee.setPasswordHash(command.getPasswordHash());
+        employee.setEmployeeId(command.getEmployeeId());
+        employee.setFullName(command.getFullName());
+        employee.setDepartmentId(command.getDepartmentId());
+        employee.setRole(command.getRole());
+        employee.setLocationType(command.getLocationType());
+        employee.setIsActive(true);
+        employee.setCreatedAt(now);
+        employee.setUpdatedAt(now);
+        return employee;
+    }
+
+    /**
+     * 一括 INSERT 文を準備（列ごとの配列としてバインド）
+     */
+    private PreparedStatement prepareBatchInsert(Connection connection, List<User> employees, OffsetDateTime now)
+            throws SQLException {
+        int size = employees.size();
+        String[] usernames = new String[size];
+        String[] emails = new String[size];
+        String[] passwordHashes = new String[size];
+        String[] employeeIds = new String[size];
+        String[] fullNames = new String[size];
+        Integer[] departmentIds = new Integer[size];
+        String[] roles = new String[size];
+        String[] locationTypes = new String[size];
+        for (int i = 0; i < size; i++) {
+            User employee = employees.get(i);
+            usernames[i] = employee.getUsername();
+            emails[i] = employee.getEmail();
+            passwordHashes[i] = employee.getPasswordHash();
+            employeeIds[i] = employee.getEmployeeId();
+            fullNames[i] = employee.getFullName();
+            departmentIds[i] = employee.getDepartmentId();
+            roles[i] = employee.getRole();
+            locationTypes[i] = employee.getLocationType();
+        }
+
+        PreparedStatement ps = connection.prepareStatement(BATCH_INSERT_SQL);
+        ps.setObject(1, now);
+        ps.setObject(2, now);
+        ps.setArray(3, connection.createArrayOf("varchar", usernames));
+        ps.setArray(4, connection.createArrayOf("varchar", emails));
+        ps.setArray(5, connection.createArrayOf("varchar", passwordHashes));
+        ps.setArray(6, connection.createArrayOf("varchar", employeeIds));
+        ps.setArray(7, connection.createArrayOf("varchar", fullNames));
+        ps.setArray(8, connection.createArrayOf("integer", departmentIds));
+        ps.setArray(9, connection.createArrayOf("varchar", roles));
+        ps.setArray(10, connection.createArrayOf("varchar", locationTypes));
+        return ps;
+    }
+
+    /**
+     * コマンドリストから一意キーの値を収集（一括登録内の重複は例外）
+     */
+    private Set<String> collectUnique(List<CreateEmployeeCommand> commands,
+            Function<CreateEmployeeCommand, String> getter, String label) {
+        Set<String> values = new HashSet<>();
+        Set<String> duplicates = new LinkedHashSet<>();
+        for (CreateEmployeeCommand command : commands) {
+            String value = getter.apply(command);
+            if (value != null && !values.add(value)) {
+                duplicates.add(value);
+            }
+        }
+        if (!duplicates.isEmpty()) {
+            throw new IllegalArgumentException(label + "が一括登録内で重複しています: " + String.join(", ", duplicates));
+        }
+        return values;
+    }
+
+    /**
+     * 既存データとの重複を1回の IN クエリで確認
+     */
+    private void rejectExisting(Set<String> values, Function<Collection<String>, List<String>> finder,
+            String message) {
+        if (values.isEmpty()) {
+            return;
+        }
+        List<String> existing = finder.apply(values);
+        if (!existing.isEmpty()) {
+            throw new IllegalArgumentException(message + ": " + String.join(", ", existing));
+        }
+    }
+
+    private Long[] distinctIds(List<Long> userIds) {
+        return userIds.stream().filter(Objects::nonNull).distinct().toArray(Long[]::new);
+    }
+
+    /**
+     * 更新件数が対象ID数と一致しない場合、存在しないIDを特定して例外を送出（トランザクションはロールバックされる）
+     */
+    private void requireAllUpdated(Long[] ids, int updated) {
+        if (updated == ids.length) {
+            return;
+        }
+        Set<Long> missing = new LinkedHashSet<>(List.of(ids));
+        userRepository.findExistingIds(ids).forEach(missing::remove);
+        throw new IllegalArgumentException("従業員が見つかりません: " + missing);
     }
 
     /**
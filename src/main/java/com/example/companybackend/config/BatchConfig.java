@@ -1,5 +1,10 @@
 package com.example.companybackend.config;
 
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.batch.core.launch.support.TaskExecutorJobLauncher;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.core.task.TaskExecutor;
@@ -18,4 +23,39 @@ public class BatchConfig {
         executor.initialize();
         return executor;
     }
-}
\ No newline at end of file
+
+    /**
+     * バッチジョブ実行専用のスレッドプール
+     * API からの起動はこのプールで非同期に実行し、リクエストスレッドはジョブ実行IDを返してすぐに戻る。
+     * プールとキューが埋まっている場合、起動したジョブは実行されずに FAILED として記録される
+     */
+    @Bean
+    public TaskExecutor batchJobExecutor(
+            @Value("${app.batch.launcher.pool-size:2}") int poolSize,
+            @Value("${app.batch.launcher.queue-capacity:10}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("batch-job-");
+        // 停止時は実行中のジョブのステップ境界まで待つ（中断されたジョブは再実行 API で再開できる）
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 非同期ジョブランチャー
+     * 既定の jobLauncher（同期実行）とは別に定義し、BatchJobService から名前で参照する
+     */
+    @Bean
+    public JobLauncher asyncJobLauncher(JobRepository jobRepository,
+            @Qualifier("batchJobExecutor") TaskExecutor batchJobExecutor) throws Exception {
+        TaskExecutorJobLauncher jobLauncher = new TaskExecutorJobLauncher();
+        jobLauncher.setJobRepository(jobRepository);
+        jobLauncher.setTaskExecutor(batchJobExecutor);
+        jobLauncher.afterPropertiesSet();
+        return jobLauncher;
+    }
+}
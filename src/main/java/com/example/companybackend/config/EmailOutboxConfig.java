@@ -0,0 +1,35 @@
+package com.example.companybackend.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * メール送信アウトボックス設定
+ * メール通知が有効な場合のみ、ポーリングとSMTP送信用のワーカープールを構成する
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "app.notification.email.enabled", havingValue = "true")
+public class EmailOutboxConfig {
+
+    @Bean
+    public TaskExecutor emailDeliveryExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(20);
+        executor.setThreadNamePrefix("email-delivery-");
+        // キュー満杯時はポーリングスレッドで送信し、取得ペースを抑える
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.companybackend.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * 参照データキャッシュ設定
+ * 部署・役職・勤務地など、ほぼ全リクエストで参照されるが年に数回しか変わらないデータをメモリに保持する。
+ *
+ * - 無効化は DepartmentService / PositionService の作成・更新・削除時に @CacheEvict で明示的に行う
+ * - 無効化・格納はトランザクションのコミット後に反映する（コミット前の古い値の再格納を防ぐ）
+ * - ヒット・ミス数は Micrometer の標準名（cache.gets{cache, result}）で公開する
+ *
+ * キャッシュ名は固定（下記の定数以外は使用不可）。
+ */
+@Configuration
+@EnableCaching
+public class ReferenceDataCacheConfig {
+
+    public static final String DEPARTMENTS = "departments";
+    public static final String DEPARTMENT_NAMES = "departmentNames";
+    public static final String POSITIONS = "positions";
+    public static final String POSITION_NAMES = "positionNames";
+    public static final String ADMIN_POSITIONS = "adminPositions";
+    public static final String WORK_LOCATIONS = "workLocations";
+
+    private static final String CACHE_MANAGER_NAME = "referenceDataCacheManager";
+
+    @Bean
+    public CacheManager cacheManager(MeterRegistry meterRegistry) {
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager() {
+            @Override
+            protected Cache createConcurrentMapCache(String name) {
+                MeteredConcurrentMapCache cache = new MeteredConcurrentMapCache(name, isAllowNullValues(),
+                        meterRegistry);
+                return new TransactionAwareCacheDecorator(cache);
+            }
+        };
+        cacheManager.setCacheNames(List.of(
+                DEPARTMENTS, DEPARTMENT_NAMES, POSITIONS, POSITION_NAMES, ADMIN_POSITIONS, WORK_LOCATIONS));
+        return cacheManager;
+    }
+
+    /**
+     * ヒット・ミス数とエントリ数を記録する ConcurrentMapCache
+     */
+    static class MeteredConcurrentMapCache extends ConcurrentMapCache {
+
+        private final Counter hitCounter;
+        private final Counter missCounter;
+
+        MeteredConcurrentMapCache(String name, boolean allowNullValues, MeterRegistry meterRegistry) {
+            super(name, allowNullValues);
+            this.hitCounter = Counter.builder("cache.gets").tag("cache", name)
+                    .tag("cache.manager", CACHE_MANAGER_NAME).tag("result", "hit")
+                    .description("参照データキャッシュのヒット数").register(meterRegistry);
+            this.missCounter = Counter.builder("cache.gets").tag("cache", name)
+                    .tag("cache.manager", CACHE_MANAGER_NAME).tag("result", "miss")
+                    .description("参照データキャッシュのミス数").register(meterRegistry);
+            Gauge.builder("cache.size", this, cache -> cache.getNativeCache().size())
+                    .tag("cache", name).tag("cache.manager", CACHE_MANAGER_NAME)
+                    .description("参照データキャッシュのエントリ数").register(meterRegistry);
+        }
+
+        @Override
+        protected Object lookup(Object key) {
+            Object value = super.lookup(key);
+            (value != null ? hitCounter : missCounter).increment();
+            return value;
+        }
+    }
+}
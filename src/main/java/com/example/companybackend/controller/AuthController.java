@@ -3,7 +3,7 @@ package com.example.companybackend.controller;
 import com.example.companybackend.dto.auth.*;
 import com.example.companybackend.entity.User;
 import com.example.companybackend.service.AuthService;
-import com.example.companybackend.util.CsvParsingUtil;
+import com.example.companybackend.service.UserCsvImportService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -337,16 +337,13 @@ public class AuthController {
                    file.getOriginalFilename(), file.getSize());
 
         try {
-            // CSV ファイル解析
-            List<CsvUserData> csvUsers = CsvParsingUtil.parseCsvFile(file);
-            logger.info("CSV解析完了: totalRows={}", csvUsers.size());
-
-            // 一括登録処理
-            int[] result = authService.registerUsersFromCsv(csvUsers);
+            // CSV ファイルをストリーミング解析しながら一括登録
+            UserCsvImportService.ImportResult result = authService.importUsersFromCsv(file);
             
-            logger.info("CSV一括登録完了: successCount={}, errorCount={}", result[0], result[1]);
+            logger.info("CSV一括登録完了: successCount={}, errorCount={}", result.successCount(), result.errorCount());
             
-            CsvRegisterResponse response = CsvRegisterResponse.success(result[0], result[1]);
+            CsvRegisterResponse response = CsvRegisterResponse.success(
+                    result.successCount(), result.errorCount(), result.errors());
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
 
         } catch (RuntimeException e) {
@@ -5,9 +5,13 @@ import com.example.companybackend.dto.*;
 import com.example.companybackend.service.BatchStatusService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.BatchStatus;
 import org.springframework.batch.core.Job;
-import org.springframework.batch.core.JobParameters;
-import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionException;
+import org.springframework.batch.core.JobParametersInvalidException;
+import org.springframework.batch.core.repository.JobExecutionAlreadyRunningException;
+import org.springframework.batch.core.repository.JobInstanceAlreadyCompleteException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.ResponseEntity;
@@ -15,7 +19,6 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
-import java.util.HashMap;
 import java.util.Map;
 
 @RestController
@@ -24,9 +27,6 @@ public class BatchController {
 
     private static final Logger log = LoggerFactory.getLogger(BatchController.class);
 
-    @Autowired
-    private JobLauncher jobLauncher;
-
     @Autowired
     @Qualifier("dailyAttendanceSummaryJob")
     private Job dailyAttendanceSummaryJob;
@@ -62,40 +62,9 @@ public class BatchController {
      */
     @PostMapping("/daily-summary")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<BatchResponseDto.DailySummaryBatchResponse> executeDailySummaryBatch(
+    public ResponseEntity<BatchResponseDto.BatchLaunchResponse> executeDailySummaryBatch(
             @RequestBody(required = false) Map<String, Object> parameters) {
-        try {
-            log.info("日次勤怠集計バッチを実行します。パラメータ: {}", parameters);
-            // 日次集計バッチ処理を実行
-            batchJobService.runJob(dailyAttendanceSummaryJob, parameters);
-
-            BatchResponseDto.DailySummaryBatchResponse response = new BatchResponseDto.DailySummaryBatchResponse();
-            response.setSuccess(true);
-            response.setMessage("日次勤怠集計バッチを実行しました");
-            response.setExecutedAt(LocalDateTime.now());
-
-            // レスポンスデータを設定
-            BatchResponseDto.DailySummaryData data = new BatchResponseDto.DailySummaryData();
-            data.setTargetDate("2025-02-08");
-            data.setProcessedCount(45);
-            data.setUserCount(25);
-            data.setTotalWorkTime(2160);
-            data.setTotalOvertimeTime(320);
-            data.setTotalLateNightTime(180);
-            data.setTotalHolidayTime(0);
-            data.setAverageWorkHours(8.6);
-            response.setData(data);
-
-            log.info("日次勤怠集計バッチが正常に完了しました。");
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            log.error("日次勤怠集計バッチの実行中にエラーが発生しました。", e);
-            BatchResponseDto.DailySummaryBatchResponse response = new BatchResponseDto.DailySummaryBatchResponse();
-            response.setSuccess(false);
-            response.setMessage("日次勤怠集計バッチの実行に失敗しました: " + e.getMessage());
-            response.setExecutedAt(LocalDateTime.now());
-            return ResponseEntity.status(500).body(response);
-        }
+        return launch(dailyAttendanceSummaryJob, parameters, "日次勤怠集計バッチ");
     }
 
     /**
@@ -103,38 +72,9 @@ public class BatchController {
      */
     @PostMapping("/monthly-summary")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<BatchResponseDto.MonthlySummaryBatchResponse> executeMonthlySummaryBatch(
+    public ResponseEntity<BatchResponseDto.BatchLaunchResponse> executeMonthlySummaryBatch(
             @RequestBody(required = false) Map<String, Object> parameters) {
-        try {
-            log.info("月次勤怠集計バッチを実行します。パラメータ: {}", parameters);
-            // 执行月次集计批处理
-            batchJobService.runJob(monthlyAttendanceSummaryJob, parameters);
-
-            BatchResponseDto.MonthlySummaryBatchResponse response = new BatchResponseDto.MonthlySummaryBatchResponse();
-            response.setSuccess(true);
-            response.setMessage("月次勤怠集計バッチを実行しました");
-            response.setExecutedAt(LocalDateTime.now());
-
-            // 设置其他响应数据
-            BatchResponseDto.MonthlySummaryData data = new BatchResponseDto.MonthlySummaryData();
-            data.setTargetMonth("2025-01");
-            data.setProcessedCount(156);
-            data.setUserCount(25);
-            data.setTotalWorkDays(520);
-            data.setTotalWorkTime(83200);
-            data.setTotalOvertimeTime(6800);
-            response.setData(data);
-
-            log.info("月次勤怠集計バッチが正常に完了しました。");
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            log.error("月次勤怠集計バッチの実行中にエラーが発生しました。", e);
-            BatchResponseDto.MonthlySummaryBatchResponse response = new BatchResponseDto.MonthlySummaryBatchResponse();
-            response.setSuccess(false);
-            response.setMessage("月次勤怠集計バッチの実行に失敗しました: " + e.getMessage());
-            response.setExecutedAt(LocalDateTime.now());
-            return ResponseEntity.status(500).body(response);
-        }
+        return launch(monthlyAttendanceSummaryJob, parameters, "月次勤怠集計バッチ");
     }
 
     /**
@@ -142,37 +82,9 @@ public class BatchController {
      */
     @PostMapping("/update-paid-leave")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<BatchResponseDto.PaidLeaveUpdateBatchResponse> executePaidLeaveUpdateBatch(
+    public ResponseEntity<BatchResponseDto.BatchLaunchResponse> executePaidLeaveUpdateBatch(
             @RequestBody(required = false) Map<String, Object> parameters) {
-        try {
-            log.info("有給日数更新バッチを実行します。パラメータ: {}", parameters);
-            // 执行有給日数更新批处理
-            batchJobService.runJob(paidLeaveUpdateJob, parameters);
-
-            BatchResponseDto.PaidLeaveUpdateBatchResponse response = new BatchResponseDto.PaidLeaveUpdateBatchResponse();
-            response.setSuccess(true);
-            response.setMessage("有給日数更新バッチを実行しました");
-            response.setExecutedAt(LocalDateTime.now());
-
-            // 设置响应数据
-            BatchResponseDto.PaidLeaveUpdateData data = new BatchResponseDto.PaidLeaveUpdateData();
-            data.setFiscalYear(2025);
-            data.setUpdatedCount(48);
-            data.setTotalUserCount(50);
-            data.setSuccessRate(96.0);
-            data.setErrorCount(2);
-            response.setData(data);
-
-            log.info("有給日数更新バッチが正常に完了しました。");
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            log.error("有給日数更新バッチの実行中にエラーが発生しました。", e);
-            BatchResponseDto.PaidLeaveUpdateBatchResponse response = new BatchResponseDto.PaidLeaveUpdateBatchResponse();
-            response.setSuccess(false);
-            response.setMessage("有給日数更新バッチの実行に失敗しました: " + e.getMessage());
-            response.setExecutedAt(LocalDateTime.now());
-            return ResponseEntity.status(500).body(response);
-        }
+        return launch(paidLeaveUpdateJob, parameters, "有給日数更新バッチ");
     }
 
     /**
@@ -180,114 +92,96 @@ public class BatchController {
      */
     @PostMapping("/cleanup-data")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<BatchResponseDto.DataCleanupBatchResponse> executeDataCleanupBatch(
+    public ResponseEntity<BatchResponseDto.BatchLaunchResponse> executeDataCleanupBatch(
             @RequestBody(required = false) Map<String, Object> parameters) {
-        try {
-            log.info("データクリーンアップバッチを実行します。パラメータ: {}", parameters);
-
-            // データクリーンアップバッチ処理を実行
-            batchJobService.runJob(dataCleanupJob, parameters);
-
-            BatchResponseDto.DataCleanupBatchResponse response = new BatchResponseDto.DataCleanupBatchResponse();
-            response.setSuccess(true);
-            response.setMessage("データクリーンアップバッチを実行しました");
-            response.setExecutedAt(LocalDateTime.now());
-
-            // 実際の処理結果を設定
-            BatchResponseDto.DataCleanupResult data = new BatchResponseDto.DataCleanupResult();
-            data.setRetentionMonths(12);
-            data.setCutoffDate(java.time.OffsetDateTime.now().minusMonths(12).toLocalDate().toString());
-
-            // 実際の削除件数を取得（バッチ実行後の統計から）
-            // 注意: 実際の実装では、バッチ実行結果から削除件数を取得する必要があります
-            data.setDeletedCount(0); // バッチ実行結果から取得
+        return launch(dataCleanupJob, parameters, "データクリーンアップバッチ");
+    }
 
-            // 削除詳細情報
-            Map<String, Integer> deletedDetails = new HashMap<>();
-            deletedDetails.put("system_logs", 0); // 実際の削除件数
-            data.setDeletedDetails(deletedDetails);
+    /**
+     * データ修復バッチ API
+     */
+    @PostMapping("/repair-data")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BatchResponseDto.BatchLaunchResponse> executeDataRepairBatch(
+            @RequestBody(required = false) Map<String, Object> parameters) {
+        return launch(dataRepairJob, parameters, "データ修復バッチ");
+    }
 
-            response.setData(data);
+    /**
+     * 残業監視バッチ API
+     */
+    @PostMapping("/overtime-monitoring")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BatchResponseDto.BatchLaunchResponse> executeOvertimeMonitoringBatch(
+            @RequestBody(required = false) Map<String, Object> parameters) {
+        return launch(overtimeMonitoringBatchJob, parameters, "残業監視バッチ");
+    }
 
-            log.info("データクリーンアップバッチが正常に完了しました。");
-            return ResponseEntity.ok(response);
+    /**
+     * ジョブ実行の進捗・結果取得 API
+     * 件数・処理速度・残り時間と、各ステップが実行コンテキストに格納した結果を返す
+     */
+    @GetMapping("/executions/{executionId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BatchResponseDto.JobProgressResponse> getJobProgress(@PathVariable Long executionId) {
+        try {
+            BatchResponseDto.JobProgressResponse progress = batchJobService.getProgress(executionId);
+            if (progress == null) {
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.ok(progress);
         } catch (Exception e) {
-            log.error("データクリーンアップバッチの実行中にエラーが発生しました。", e);
-            BatchResponseDto.DataCleanupBatchResponse response = new BatchResponseDto.DataCleanupBatchResponse();
-            response.setSuccess(false);
-            response.setMessage("データクリーンアップバッチの実行に失敗しました: " + e.getMessage());
-            response.setExecutedAt(LocalDateTime.now());
-            return ResponseEntity.status(500).body(response);
+            log.error("ジョブ実行の進捗取得中にエラーが発生しました。executionId={}", executionId, e);
+            return ResponseEntity.status(500).build();
         }
     }
 
     /**
-     * データ修復バッチ API
+     * ジョブ停止 API
      */
-    @PostMapping("/repair-data")
+    @PostMapping("/executions/{executionId}/stop")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<BatchResponseDto.DataRepairBatchResponse> executeDataRepairBatch(
-            @RequestBody(required = false) Map<String, Object> parameters) {
+    public ResponseEntity<BatchResponseDto.BatchLaunchResponse> stopJob(@PathVariable Long executionId) {
+        BatchResponseDto.BatchLaunchResponse response = new BatchResponseDto.BatchLaunchResponse();
+        response.setExecutionId(executionId);
+        response.setExecutedAt(LocalDateTime.now());
         try {
-            log.info("データ修復バッチを実行します。パラメータ: {}", parameters);
-            // 执行データ修复批处理
-            batchJobService.runJob(dataRepairJob, parameters);
-
-            BatchResponseDto.DataRepairBatchResponse response = new BatchResponseDto.DataRepairBatchResponse();
+            if (!batchJobService.stopJob(executionId)) {
+                response.setSuccess(false);
+                response.setMessage("実行中のジョブではありません");
+                return ResponseEntity.status(409).body(response);
+            }
             response.setSuccess(true);
-            response.setMessage("データ修復バッチを実行しました");
-            response.setExecutedAt(LocalDateTime.now());
-
-            log.info("データ修復バッチが正常に完了しました。");
+            response.setStatus("STOPPING");
+            response.setMessage("ジョブの停止を要求しました");
             return ResponseEntity.ok(response);
         } catch (Exception e) {
-            log.error("データ修復バッチの実行中にエラーが発生しました。", e);
-            BatchResponseDto.DataRepairBatchResponse response = new BatchResponseDto.DataRepairBatchResponse();
+            log.error("ジョブの停止中にエラーが発生しました。executionId={}", executionId, e);
             response.setSuccess(false);
-            response.setMessage("データ修復バッチの実行に失敗しました: " + e.getMessage());
-            response.setExecutedAt(LocalDateTime.now());
+            response.setMessage("ジョブの停止に失敗しました: " + e.getMessage());
             return ResponseEntity.status(500).body(response);
         }
     }
 
     /**
-     * 残業監視バッチ API
+     * ジョブ再実行 API
+     * 失敗・停止したジョブを同じパラメータで再開する
      */
-    @PostMapping("/overtime-monitoring")
+    @PostMapping("/executions/{executionId}/restart")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<BatchResponseDto.OvertimeMonitoringBatchResponse> executeOvertimeMonitoringBatch(
-            @RequestBody(required = false) Map<String, Object> parameters) {
+    public ResponseEntity<BatchResponseDto.BatchLaunchResponse> restartJob(@PathVariable Long executionId) {
         try {
-            log.info("残業監視バッチを実行します。パラメータ: {}", parameters);
-            // 残業監視バッチ処理を実行
-            batchJobService.runJob(overtimeMonitoringBatchJob, parameters);
-
-            BatchResponseDto.OvertimeMonitoringBatchResponse response = new BatchResponseDto.OvertimeMonitoringBatchResponse();
-            response.setSuccess(true);
-            response.setMessage("残業監視バッチを実行しました");
-            response.setExecutedAt(LocalDateTime.now());
-
-            // レスポンスデータを設定
-            BatchResponseDto.OvertimeMonitoringData data = new BatchResponseDto.OvertimeMonitoringData();
-            data.setTargetMonth("2025-02");
-            data.setProcessedCount(25);
-            data.setUserCount(25);
-            data.setOvertimeReportsGenerated(18);
-            data.setHighOvertimeAlerts(3);
-            data.setConfirmedReports(3);
-            data.setDraftReports(15);
-            data.setApprovedReports(7);
-            response.setData(data);
-
-            log.info("残業監視バッチが正常に完了しました。");
-            return ResponseEntity.ok(response);
+            JobExecution execution = batchJobService.restartJob(executionId);
+            BatchResponseDto.BatchLaunchResponse response = launchResponse(execution);
+            response.setMessage("ジョブを再実行しました");
+            return ResponseEntity.accepted().body(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(404).body(errorResponse(executionId, e.getMessage()));
+        } catch (IllegalStateException | JobExecutionException e) {
+            return ResponseEntity.status(409).body(errorResponse(executionId, e.getMessage()));
         } catch (Exception e) {
-            log.error("残業監視バッチの実行中にエラーが発生しました。", e);
-            BatchResponseDto.OvertimeMonitoringBatchResponse response = new BatchResponseDto.OvertimeMonitoringBatchResponse();
-            response.setSuccess(false);
-            response.setMessage("残業監視バッチの実行に失敗しました: " + e.getMessage());
-            response.setExecutedAt(LocalDateTime.now());
-            return ResponseEntity.status(500).body(response);
+            log.error("ジョブの再実行中にエラーが発生しました。executionId={}", executionId, e);
+            return ResponseEntity.status(500).body(errorResponse(executionId, "ジョブの再実行に失敗しました: " + e.getMessage()));
         }
     }
 
@@ -307,4 +201,63 @@ public class BatchController {
             return ResponseEntity.status(500).build();
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * ジョブの非同期起動
+     * 完了を待たずにジョブ実行IDを返す（結果は進捗 API で取得する）。
+     * 業務日付が不正な場合は 400、同じ業務日付が完了済み・実行中の場合は 409 を返す
+     */
+    private ResponseEntity<BatchResponseDto.BatchLaunchResponse> launch(Job job, Map<String, Object> parameters,
+            String label) {
+        try {
+            log.info("{}を起動します。パラメータ: {}", label, parameters);
+            JobExecution execution = batchJobService.runJob(job, parameters);
+
+            BatchResponseDto.BatchLaunchResponse response = launchResponse(execution);
+            // 実行スレッドが埋まっている場合、ジョブは起動されずに FAILED として記録される
+            if (execution != null && execution.getStatus() == BatchStatus.FAILED) {
+                response.setSuccess(false);
+                response.setMessage(label + "を起動できませんでした: " + execution.getExitStatus().getExitDescription());
+                return ResponseEntity.status(503).body(response);
+            }
+            response.setMessage(label + "を開始しました");
+            log.info("{}を開始しました。executionId={}", label, response.getExecutionId());
+            return ResponseEntity.accepted().body(response);
+        } catch (JobParametersInvalidException e) {
+            return ResponseEntity.badRequest().body(errorResponse(null, label + "のパラメータが不正です: " + e.getMessage()));
+        } catch (JobInstanceAlreadyCompleteException e) {
+            return ResponseEntity.status(409).body(errorResponse(null,
+                    label + "は同じ業務日付で完了済みです（再集計する場合は rerun=true を指定してください）"));
+        } catch (JobExecutionAlreadyRunningException e) {
+            return ResponseEntity.status(409).body(errorResponse(null, label + "は同じ業務日付で実行中です"));
+        } catch (Exception e) {
+            log.error("{}の起動中にエラーが発生しました。", label, e);
+            BatchResponseDto.BatchLaunchResponse response = new BatchResponseDto.BatchLaunchResponse();
+            response.setSuccess(false);
+            response.setMessage(label + "の実行に失敗しました: " + e.getMessage());
+            response.setExecutedAt(LocalDateTime.now());
+            return ResponseEntity.status(500).body(response);
+        }
+    }
+
+    private BatchResponseDto.BatchLaunchResponse launchResponse(JobExecution execution) {
+        BatchResponseDto.BatchLaunchResponse response = new BatchResponseDto.BatchLaunchResponse();
+        response.setSuccess(true);
+        response.setExecutedAt(LocalDateTime.now());
+        if (execution != null) {
+            response.setExecutionId(execution.getId());
+            response.setJobName(execution.getJobInstance().getJobName());
+            response.setStatus(execution.getStatus().name());
+        }
+        return response;
+    }
+
+    private BatchResponseDto.BatchLaunchResponse errorResponse(Long executionId, String message) {
+        BatchResponseDto.BatchLaunchResponse response = new BatchResponseDto.BatchLaunchResponse();
+        response.setSuccess(false);
+        response.setExecutionId(executionId);
+        response.setMessage(message);
+        response.setExecutedAt(LocalDateTime.now());
+        return response;
+    }
+}
@@ -1,7 +1,9 @@
 package com.example.companybackend.controller;
 
 import com.example.companybackend.entity.LeaveRequest;
+import com.example.companybackend.service.BulkDecisionResult;
 import com.example.companybackend.service.LeaveService;
+import com.example.companybackend.service.TeamAvailabilityService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
@@ -22,8 +24,10 @@ import java.util.stream.Collectors;
  * - POST /api/leave/request
  * - GET /api/leave/my-requests
  * - POST /api/leave/{id}/approve
+ * - POST /api/leave/bulk-approve
  * - GET /api/leave/balance
  * - GET /api/leave/calendar
+ * - GET /api/leave/team-calendar
  */
 @RestController
 @RequestMapping("/api/leave")
@@ -33,6 +37,7 @@ public class LeaveRequestController {
     private static final Logger log = LoggerFactory.getLogger(LeaveRequestController.class);
 
     private final LeaveService leaveService;
+    private final TeamAvailabilityService teamAvailabilityService;
 
     /**
      * 休暇申請 API 実装
@@ -202,6 +207,68 @@ public class LeaveRequestController {
         }
     }
 
+    /**
+     * 休暇申請一括承認・却下 API 実装
+     * POST /api/leave/bulk-approve
+     */
+    @PostMapping("/bulk-approve")
+    public ResponseEntity<Map<String, Object>> bulkApproveLeaveRequests(
+            @RequestBody LeaveBulkApprovalRequest request,
+            @RequestHeader("X-User-Id") Long userId) {
+        
+        int count = request.getIds() != null ? request.getIds().size() : 0;
+        log.info("休暇申請一括承認API呼び出し: count={}, userId={}, action={}", count, userId, request.getAction());
+        
+        try {
+            boolean approve;
+            if ("approve".equals(request.getAction())) {
+                approve = true;
+            } else if ("reject".equals(request.getAction())) {
+                approve = false;
+            } else {
+                Map<String, Object> result = new HashMap<>();
+                result.put("success", false);
+                result.put("message", "無効なアクションです");
+                return ResponseEntity.badRequest().body(result);
+            }
+            
+            BulkDecisionResult decision = leaveService.decideLeaveRequests(request.getIds(), userId, approve);
+            
+            Map<String, Object> result = new HashMap<>();
+            result.put("success", true);
+            result.put("message", String.format(approve ? "%d件の休暇申請を承認しました" : "%d件の休暇申請を却下しました",
+                    decision.processedCount()));
+            
+            Map<String, Object> data = new HashMap<>();
+            data.put("approvalStatus", decision.status().toUpperCase());
+            data.put("processedIds", decision.processedIds());
+            data.put("notFoundIds", decision.notFoundIds());
+            data.put("alreadyProcessedIds", decision.alreadyProcessedIds());
+            data.put("approvedBy", userId);
+            data.put("approvalComment", request.getComment());
+            
+            result.put("data", data);
+            
+            log.info("休暇申請一括承認API成功: processed={}, skipped={}, userId={}", 
+                    decision.processedCount(), decision.skippedCount(), userId);
+            return ResponseEntity.ok(result);
+            
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            log.warn("休暇申請一括承認API失敗: count={}, userId={}, error={}", count, userId, e.getMessage());
+            Map<String, Object> result = new HashMap<>();
+            result.put("success", false);
+            result.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(result);
+            
+        } catch (Exception e) {
+            log.error("休暇申請一括承認API例外: count={}, userId={}", count, userId, e);
+            Map<String, Object> result = new HashMap<>();
+            result.put("success", false);
+            result.put("message", "システムエラーが発生しました");
+            return ResponseEntity.internalServerError().body(result);
+        }
+    }
+
     /**
      * 休暇残日数取得 API 実装
      * GET /api/leave/balance
@@ -285,6 +352,69 @@ public class LeaveRequestController {
         }
     }
 
+    /**
+     * チーム・部署休暇カレンダー API 実装
+     * GET /api/leave/team-calendar
+     */
+    @GetMapping("/team-calendar")
+    public ResponseEntity<Map<String, Object>> getTeamCalendar(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) Integer departmentId,
+            @RequestParam(required = false) Long managerId,
+            @RequestParam(defaultValue = "false") boolean includePending,
+            @RequestHeader("X-User-Id") Long userId) {
+        
+        log.info("チーム休暇カレンダーAPI呼び出し: userId={}, startDate={}, endDate={}, departmentId={}, managerId={}", 
+                userId, startDate, endDate, departmentId, managerId);
+        
+        try {
+            TeamAvailabilityService.TeamCalendar calendar = teamAvailabilityService.getCalendar(
+                    startDate, endDate, departmentId, managerId, includePending);
+            
+            List<Map<String, Object>> absences = calendar.absences().stream().map(absence -> {
+                Map<String, Object> event = new HashMap<>();
+                event.put("id", absence.leaveRequestId());
+                event.put("userId", absence.userId());
+                event.put("fullName", absence.fullName());
+                event.put("departmentId", absence.departmentId());
+                event.put("title", getLeaveTypeDisplayName(absence.type()));
+                event.put("startDate", absence.startDate());
+                event.put("endDate", absence.endDate());
+                event.put("type", absence.type());
+                event.put("status", absence.status().toUpperCase());
+                return event;
+            }).collect(Collectors.toList());
+            
+            Map<String, Object> data = new HashMap<>();
+            data.put("startDate", calendar.from());
+            data.put("endDate", calendar.to());
+            data.put("absences", absences);
+            data.put("daily", calendar.daily());
+            
+            Map<String, Object> result = new HashMap<>();
+            result.put("success", true);
+            result.put("data", data);
+            
+            log.info("チーム休暇カレンダーAPI成功: userId={}, absenceCount={}", userId, absences.size());
+            return ResponseEntity.ok(result);
+            
+        } catch (IllegalArgumentException e) {
+            log.warn("チーム休暇カレンダーAPI失敗: userId={}, error={}", userId, e.getMessage());
+            Map<String, Object> result = new HashMap<>();
+            result.put("success", false);
+            result.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(result);
+            
+        } catch (Exception e) {
+            log.error("チーム休暇カレンダーAPI例外: userId={}", userId, e);
+            Map<String, Object> result = new HashMap<>();
+            result.put("success", false);
+            result.put("message", "システムエラーが発生しました");
+            return ResponseEntity.internalServerError().body(result);
+        }
+    }
+
     // ヘルパーメソッド
     private String getLeaveTypeDisplayName(String type) {
         switch (type) {
@@ -384,4 +514,35 @@ public class LeaveRequestController {
             this.comment = comment;
         }
     }
+
+    public static class LeaveBulkApprovalRequest {
+        private List<Long> ids;
+        private String action; // "approve" or "reject"
+        private String comment;
+
+        // Getters and Setters
+        public List<Long> getIds() {
+            return ids;
+        }
+
+        public void setIds(List<Long> ids) {
+            this.ids = ids;
+        }
+
+        public String getAction() {
+            return action;
+        }
+
+        public void setAction(String action) {
+            this.action = action;
+        }
+
+        public String getComment() {
+            return comment;
+        }
+
+        public void setComment(String comment) {
+            this.comment = comment;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,210 @@
+package com.example.companybackend.controller;
+
+import com.example.companybackend.dto.request.BroadcastNotificationRequest;
+import com.example.companybackend.entity.Notification;
+import com.example.companybackend.service.NotificationService;
+import com.example.companybackend.service.NotificationStreamHub;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 通知コントローラー
+ * API Endpoints:
+ * - GET /api/notifications/stream （Server-Sent Events）
+ * - GET /api/notifications
+ * - GET /api/notifications/unread-count
+ * - PUT /api/notifications/{id}/read
+ * - PUT /api/notifications/read-all
+ * - POST /api/notifications/broadcast （管理者）
+ *
+ * 新着通知と未読数は stream でプッシュ配信されるため、クライアントは一覧・未読数の定期ポーリングを行わない想定
+ */
+@RestController
+@RequestMapping("/api/notifications")
+@RequiredArgsConstructor
+public class NotificationController {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationController.class);
+
+    private final NotificationService notificationService;
+    private final NotificationStreamHub notificationStreamHub;
+
+    /**
+     * 通知ストリーム接続
+     * GET /api/notifications/stream
+     * 接続直後に "unread-count"、以降は "notification" / "unread-count" / "resync" イベントを送信する
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestHeader("X-User-Id") Long userId) {
+        log.info("通知ストリーム接続API呼び出し: userId={}", userId);
+        Integer notificationUserId = userId.intValue();
+        return notificationStreamHub.subscribe(notificationUserId, notificationService.getUnreadCount(notificationUserId));
+    }
+
+    /**
+     * 通知一覧取得
+     * GET /api/notifications
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getNotifications(
+            @RequestHeader("X-User-Id") Long userId,
+            @RequestParam(defaultValue = "false") boolean unreadOnly) {
+        try {
+            List<Notification> notifications = notificationService.getUserNotifications(userId.intValue(), unreadOnly);
+
+            Map<String, Object> data = new HashMap<>();
+            data.put("notifications", notifications);
+            data.put("unreadCount", notificationService.getUnreadCount(userId.intValue()));
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("data", data);
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            log.error("通知一覧取得エラー: userId={}", userId, e);
+            return errorResponse("通知一覧の取得に失敗しました");
+        }
+    }
+
+    /**
+     * 未読通知数取得（キャッシュ優先）
+     * GET /api/notifications/unread-count
+     */
+    @GetMapping("/unread-count")
+    public ResponseEntity<Map<String, Object>> getUnreadCount(@RequestHeader("X-User-Id") Long userId) {
+        try {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("data", Map.of("unreadCount", notificationService.getUnreadCount(userId.intValue())));
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            log.error("未読通知数取得エラー: userId={}", userId, e);
+            return errorResponse("未読通知数の取得に失敗しました");
+        }
+    }
+
+    /**
+     * 通知既読化
+     * PUT /api/notifications/{id}/read
+     */
+    @PutMapping("/{id}/read")
+    public ResponseEntity<Map<String, Object>> markAsRead(
+            @PathVariable Long id,
+            @RequestHeader("X-User-Id") Long userId) {
+        try {
+            notificationService.markAsRead(id, userId.intValue());
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("message", "通知を既読にしました");
+            return ResponseEntity.ok(response);
+
+        } catch (RuntimeException e) {
+            if (e.getCause() instanceof IllegalArgumentException) {
+                Map<String, Object> response = new HashMap<>();
+                response.put("success", false);
+                response.put("message", e.getCause().getMessage());
+                return ResponseEntity.status(404).body(response);
+            }
+            log.error("通知既読化エラー: notificationId={}, userId={}", id, userId, e);
+            return errorResponse("通知の既読化に失敗しました");
+        }
+    }
+
+    /**
+     * 全通知既読化
+     * PUT /api/notifications/read-all
+     */
+    @PutMapping("/read-all")
+    public ResponseEntity<Map<String, Object>> markAllAsRead(@RequestHeader("X-User-Id") Long userId) {
+        try {
+            notificationService.markAllAsRead(userId.intValue());
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("message", "全ての通知を既読にしました");
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            log.error("全通知既読化エラー: userId={}", userId, e);
+            return errorResponse("全通知の既読化に失敗しました");
+        }
+    }
+
+    /**
+     * 部署・ロール・全有効ユーザー宛ての通知一括配信
+     * POST /api/notifications/broadcast
+     */
+    @PostMapping("/broadcast")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> broadcast(@Valid @RequestBody BroadcastNotificationRequest request) {
+        log.info("通知一括配信API呼び出し: targetType={}, departmentId={}, role={}",
+                request.getTargetType(), request.getDepartmentId(), request.getRole());
+
+        NotificationService.BroadcastTarget target;
+        switch (request.getTargetType()) {
+            case "department":
+                if (request.getDepartmentId() == null) {
+                    return badRequest("部署IDは必須です");
+                }
+                target = NotificationService.BroadcastTarget.forDepartment(request.getDepartmentId());
+                break;
+            case "role":
+                if (request.getRole() == null || request.getRole().isBlank()) {
+                    return badRequest("ロールは必須です");
+                }
+                target = NotificationService.BroadcastTarget.forRole(request.getRole());
+                break;
+            default:
+                target = NotificationService.BroadcastTarget.allActiveUsers();
+                break;
+        }
+
+        try {
+            NotificationService.BroadcastResult result = notificationService.broadcastNotification(target,
+                    request.getTitle(), request.getMessage(), request.getType(), request.getRelatedId());
+
+            Map<String, Object> data = new HashMap<>();
+            data.put("targetCount", result.targetCount());
+            data.put("createdCount", result.createdCount());
+            data.put("duplicateCount", result.duplicateCount());
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("message", "通知を一括配信しました");
+            response.put("data", data);
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            log.error("通知一括配信エラー: targetType={}", request.getTargetType(), e);
+            return errorResponse("通知の一括配信に失敗しました");
+        }
+    }
+
+    private ResponseEntity<Map<String, Object>> badRequest(String message) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", false);
+        response.put("message", message);
+        return ResponseEntity.badRequest().body(response);
+    }
+
+    private ResponseEntity<Map<String, Object>> errorResponse(String message) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", false);
+        response.put("message", message);
+        return ResponseEntity.internalServerError().body(response);
+    }
+}
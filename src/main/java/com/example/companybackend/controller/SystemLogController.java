@@ -16,7 +16,10 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.nio.charset.StandardCharsets;
 import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -34,6 +37,9 @@ import java.util.Optional;
  * - GET /api/system-logs/export/json - システムログJSONエクスポート
  * - GET /api/system-logs/statistics - システムログ統計情報取得
  * - GET /api/system-logs/search - システムログ検索
+ * - GET /api/system-logs/scroll - システムログ一覧取得（キーセットページング）
+ * - GET /api/system-logs/search/scroll - システムログ検索（キーセットページング）
+ * - GET /api/system-logs/search/ranked - システムログ全文検索（関連度順）
  */
 @RestController
 @RequestMapping("/api/system-logs")
@@ -43,6 +49,12 @@ public class SystemLogController {
 
     private final SystemLogRepository systemLogRepository;
 
+    /** キーセットページングの最大取得件数 */
+    private static final int MAX_SCROLL_SIZE = 100;
+
+    /** 全文検索の検索対象期間（日数）のデフォルト値 */
+    private static final int DEFAULT_RANKED_SEARCH_DAYS = 90;
+
     /**
      * システムログ一覧取得
      * 
@@ -371,4 +383,204 @@ public class SystemLogController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * システムログ一覧取得（キーセットページング）
+     * (created_at, id) をカーソルとして次ページを取得するため、深いページでも先頭ページと同じコストで応答する
+     * 総件数は返さない（withApproximateCount=true かつフィルター未指定時のみ統計情報ベースの概算件数を返す）
+     * 
+     * @param cursor 前回レスポンスの nextCursor (先頭ページは省略)
+     * @param size ページサイズ (デフォルト: 20)
+     * @param action アクションフィルター (オプション)
+     * @param status ステータスフィルター (オプション)
+     * @param startDate 開始日時 (オプション)
+     * @param endDate 終了日時 (オプション)
+     * @param withApproximateCount 概算件数を含めるか (デフォルト: false)
+     * @return システムログ一覧
+     */
+    @GetMapping("/scroll")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> scrollSystemLogs(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime endDate,
+            @RequestParam(defaultValue = "false") boolean withApproximateCount) {
+
+        try {
+            log.info("システムログ一覧取得(キーセット): cursor={}, size={}, action={}, status={}, startDate={}, endDate={}",
+                    cursor, size, action, status, startDate, endDate);
+
+            int validSize = Math.max(1, Math.min(size, MAX_SCROLL_SIZE));
+            LogCursor position = decodeCursor(cursor);
+
+            // 次ページ有無判定のため1件多く取得する
+            List<SystemLog> logs = position == null
+                    ? systemLogRepository.findFirstPageByFilters(action, status, startDate, endDate, validSize + 1)
+                    : systemLogRepository.findPageByFiltersAfter(action, status, startDate, endDate,
+                            position.createdAt(), position.id(), validSize + 1);
+
+            Map<String, Object> response = buildScrollResponse(logs, validSize, "システムログ一覧の取得が完了しました");
+            boolean filtered = action != null || status != null || startDate != null || endDate != null;
+            if (withApproximateCount && !filtered) {
+                response.put("approximateTotalItems", systemLogRepository.estimateRowCount());
+            }
+
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            log.warn("不正なカーソルが指定されました: cursor={}", cursor);
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", "カーソルの形式が不正です");
+            return ResponseEntity.badRequest().body(errorResponse);
+        } catch (Exception e) {
+            log.error("システムログ一覧取得(キーセット)中にエラーが発生しました", e);
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", "システムログ一覧の取得に失敗しました");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+
+    /**
+     * システムログ検索（キーセットページング）
+     * 
+     * @param keyword 検索キーワード
+     * @param cursor 前回レスポンスの nextCursor (先頭ページは省略)
+     * @param size ページサイズ (デフォルト: 20)
+     * @return 検索結果
+     */
+    @GetMapping("/search/scroll")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> scrollSearchSystemLogs(
+            @RequestParam String keyword,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+
+        try {
+            log.info("システムログ検索(キーセット): keyword={}, cursor={}, size={}", keyword, cursor, size);
+
+            int validSize = Math.max(1, Math.min(size, MAX_SCROLL_SIZE));
+            LogCursor position = decodeCursor(cursor);
+
+            List<SystemLog> logs = position == null
+                    ? systemLogRepository.searchFirstPageByKeyword(keyword, validSize + 1)
+                    : systemLogRepository.searchPageByKeywordAfter(keyword, position.createdAt(), position.id(),
+                            validSize + 1);
+
+            Map<String, Object> response = buildScrollResponse(logs, validSize, "システムログの検索が完了しました");
+            response.put("keyword", keyword);
+
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            log.warn("不正なカーソルが指定されました: cursor={}", cursor);
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", "カーソルの形式が不正です");
+            return ResponseEntity.badRequest().body(errorResponse);
+        } catch (Exception e) {
+            log.error("システムログ検索(キーセット)中にエラーが発生しました: keyword={}", keyword, e);
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", "システムログの検索に失敗しました");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+
+    /**
+     * システムログ全文検索（関連度順）
+     * 
+     * @param keyword 検索キーワード（"語句"、OR、-除外 の指定が可能）
+     * @param since 検索対象の開始日時 (デフォルト: 90日前)
+     * @param size 取得件数 (デフォルト: 20)
+     * @return 関連度の高い順の検索結果
+     */
+    @GetMapping("/search/ranked")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> searchSystemLogsRanked(
+            @RequestParam String keyword,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime since,
+            @RequestParam(defaultValue = "20") int size) {
+
+        try {
+            log.info("システムログ全文検索: keyword={}, since={}, size={}", keyword, since, size);
+
+            int validSize = Math.max(1, Math.min(size, MAX_SCROLL_SIZE));
+            OffsetDateTime validSince = since != null ? since : OffsetDateTime.now().minusDays(DEFAULT_RANKED_SEARCH_DAYS);
+
+            List<SystemLog> logs = systemLogRepository.searchRankedByFullText(keyword, validSince, validSize);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("message", "システムログの検索が完了しました");
+            response.put("data", logs);
+            response.put("size", logs.size());
+            response.put("keyword", keyword);
+            response.put("since", validSince);
+
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            log.error("システムログ全文検索中にエラーが発生しました: keyword={}", keyword, e);
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", "システムログの検索に失敗しました");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+
+    /**
+     * キーセットページングのレスポンスを生成
+     * logs は size + 1 件まで取得済みであること
+     */
+    private Map<String, Object> buildScrollResponse(List<SystemLog> logs, int size, String message) {
+        boolean hasNext = logs.size() > size;
+        List<SystemLog> pageContent = hasNext ? logs.subList(0, size) : logs;
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("message", message);
+        response.put("data", pageContent);
+        response.put("size", pageContent.size());
+        response.put("hasNext", hasNext);
+        response.put("nextCursor", hasNext ? encodeCursor(pageContent.get(pageContent.size() - 1)) : null);
+        return response;
+    }
+
+    /**
+     * カーソル位置 (created_at, id)
+     */
+    record LogCursor(OffsetDateTime createdAt, Long id) {
+    }
+
+    /**
+     * カーソル文字列を生成（"作成日時|ID" の URL セーフ Base64）
+     */
+    static String encodeCursor(SystemLog lastLog) {
+        String raw = lastLog.getCreatedAt().toString() + "|" + lastLog.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * カーソル文字列を解析（未指定時は null）
+     * 
+     * @throws IllegalArgumentException 形式が不正な場合
+     */
+    static LogCursor decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("カーソルの形式が不正です: " + cursor);
+            }
+            return new LogCursor(OffsetDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("カーソルの形式が不正です: " + cursor, e);
+        }
+    }
+}
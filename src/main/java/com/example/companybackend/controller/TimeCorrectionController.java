@@ -1,6 +1,7 @@
 package com.example.companybackend.controller;
 
 import com.example.companybackend.entity.TimeCorrection;
+import com.example.companybackend.service.BulkDecisionResult;
 import com.example.companybackend.service.TimeCorrectionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -17,6 +18,7 @@ import java.time.LocalDateTime;
 import java.util.HashMap;
 
 // Adding missing DTO class imports
+import com.example.companybackend.dto.request.BulkDecisionRequest;
 import com.example.companybackend.dto.request.CreateTimeCorrectionRequest;
 import com.example.companybackend.dto.response.CreateTimeCorrectionResponse;
 import com.example.companybackend.dto.response.ApproveTimeCorrectionResponse;
@@ -29,6 +31,11 @@ import com.example.companybackend.dto.response.RejectTimeCorrectionResponse;
  * - POST /api/v1/time-corrections - 申請作成
  * - PUT /api/v1/time-corrections/{id}/approve - 申請承認
  * - PUT /api/v1/time-corrections/{id}/reject - 申請拒否
+ * - PUT /api/v1/time-corrections/bulk-approve - 申請一括承認
+ * - PUT /api/v1/time-corrections/bulk-reject - 申請一括拒否
+ * - GET /api/v1/time-corrections/drafts - データ修復下書き一覧
+ * - PUT /api/v1/time-corrections/drafts/promote - 下書き一括確定
+ * - PUT /api/v1/time-corrections/drafts/discard - 下書き一括破棄
  * - GET /api/v1/time-corrections/user - ユーザー申請一覧
  * - GET /api/v1/time-corrections/pending - 承認待ち一覧
  * - GET /api/v1/time-corrections/{id} - 申請詳細
@@ -153,6 +160,142 @@ public class TimeCorrectionController {
         }
     }
 
+    /**
+     * 打刻修正申請一括承認 API
+     * PUT /api/v1/time-corrections/bulk-approve
+     */
+    @PutMapping("/bulk-approve")
+    public ResponseEntity<Map<String, Object>> bulkApproveTimeCorrections(
+            @Valid @RequestBody BulkDecisionRequest request,
+            @RequestHeader("X-User-Id") Long approverId) {
+        return decideTimeCorrections(request, approverId, true);
+    }
+
+    /**
+     * 打刻修正申請一括拒否 API
+     * PUT /api/v1/time-corrections/bulk-reject
+     */
+    @PutMapping("/bulk-reject")
+    public ResponseEntity<Map<String, Object>> bulkRejectTimeCorrections(
+            @Valid @RequestBody BulkDecisionRequest request,
+            @RequestHeader("X-User-Id") Long approverId) {
+        return decideTimeCorrections(request, approverId, false);
+    }
+
+    private ResponseEntity<Map<String, Object>> decideTimeCorrections(BulkDecisionRequest request, Long approverId,
+            boolean approve) {
+        String action = approve ? "承認" : "拒否";
+        log.info("打刻修正申請一括{}API呼び出し: count={}, approverId={}", action, request.getIds().size(), approverId);
+
+        Map<String, Object> response = new HashMap<>();
+        try {
+            BulkDecisionResult result = timeCorrectionService.decideTimeCorrections(request.getIds(), approverId,
+                    approve);
+
+            log.info("打刻修正申請一括{}API成功: processed={}, skipped={}, approverId={}",
+                    action, result.processedCount(), result.skippedCount(), approverId);
+            response.put("success", true);
+            response.put("message", result.processedCount() + "件の打刻修正申請が" + action + "されました");
+            response.put("data", result);
+            return ResponseEntity.ok(response);
+
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            log.warn("打刻修正申請一括{}API失敗: approverId={}, error={}", action, approverId, e.getMessage());
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+
+        } catch (Exception e) {
+            log.error("打刻修正申請一括{}API例外: approverId={}", action, approverId, e);
+            response.put("success", false);
+            response.put("message", "打刻修正申請の一括" + action + "中にエラーが発生しました");
+            return ResponseEntity.internalServerError().body(response);
+        }
+    }
+
+    /**
+     * データ修復下書き一覧取得 API
+     * GET /api/v1/time-corrections/drafts
+     */
+    @GetMapping("/drafts")
+    public ResponseEntity<Map<String, Object>> getRepairDrafts() {
+
+        log.debug("データ修復下書き一覧API呼び出し");
+
+        Map<String, Object> response = new HashMap<>();
+        try {
+            List<TimeCorrection> drafts = timeCorrectionService.getRepairDrafts();
+
+            response.put("success", true);
+            response.put("message", "データ修復下書き一覧を取得しました");
+            Map<String, Object> data = new HashMap<>();
+            data.put("corrections", drafts);
+            data.put("totalCount", drafts.size());
+            response.put("data", data);
+
+            log.debug("データ修復下書き一覧API成功: count={}", drafts.size());
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            log.error("データ修復下書き一覧API例外", e);
+            response.put("success", false);
+            response.put("message", "データ修復下書き一覧取得中にエラーが発生しました");
+            return ResponseEntity.internalServerError().body(response);
+        }
+    }
+
+    /**
+     * データ修復下書き一括確定 API（承認待ちにする）
+     * PUT /api/v1/time-corrections/drafts/promote
+     */
+    @PutMapping("/drafts/promote")
+    public ResponseEntity<Map<String, Object>> promoteRepairDrafts(
+            @Valid @RequestBody BulkDecisionRequest request,
+            @RequestHeader("X-User-Id") Long userId) {
+        return resolveRepairDrafts(request, userId, true);
+    }
+
+    /**
+     * データ修復下書き一括破棄 API
+     * PUT /api/v1/time-corrections/drafts/discard
+     */
+    @PutMapping("/drafts/discard")
+    public ResponseEntity<Map<String, Object>> discardRepairDrafts(
+            @Valid @RequestBody BulkDecisionRequest request,
+            @RequestHeader("X-User-Id") Long userId) {
+        return resolveRepairDrafts(request, userId, false);
+    }
+
+    private ResponseEntity<Map<String, Object>> resolveRepairDrafts(BulkDecisionRequest request, Long userId,
+            boolean promote) {
+        String action = promote ? "確定" : "破棄";
+        log.info("データ修復下書き一括{}API呼び出し: count={}, userId={}", action, request.getIds().size(), userId);
+
+        Map<String, Object> response = new HashMap<>();
+        try {
+            BulkDecisionResult result = timeCorrectionService.resolveRepairDrafts(request.getIds(), promote);
+
+            log.info("データ修復下書き一括{}API成功: processed={}, skipped={}, userId={}",
+                    action, result.processedCount(), result.skippedCount(), userId);
+            response.put("success", true);
+            response.put("message", result.processedCount() + "件の下書きが" + action + "されました");
+            response.put("data", result);
+            return ResponseEntity.ok(response);
+
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            log.warn("データ修復下書き一括{}API失敗: userId={}, error={}", action, userId, e.getMessage());
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+
+        } catch (Exception e) {
+            log.error("データ修復下書き一括{}API例外: userId={}", action, userId, e);
+            response.put("success", false);
+            response.put("message", "データ修復下書きの一括" + action + "中にエラーが発生しました");
+            return ResponseEntity.internalServerError().body(response);
+        }
+    }
+
     /**
      * ユーザーの打刻修正申請一覧取得 API
      * GET /api/v1/time-corrections/user
@@ -187,6 +187,26 @@ public class UserController {
         }
     }
 
+    /**
+     * 用户输入补全 (仅限管理员)
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/search")
+    public ResponseEntity<?> searchUsers(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        try {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("data", userService.suggestUsers(q, limit));
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(createErrorResponse("ユーザー検索に失敗しました"));
+        }
+    }
+
     /**
      * 根据ID获取用户详情 (仅限管理员)
      */
@@ -948,4 +948,389 @@ public class BatchResponseDto {
             this.duration = duration;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * バッチ起動・停止・再実行の応答
+     * ジョブは非同期で実行されるため、結果は executionId を指定して進捗 API で取得する
+     */
+    public static class BatchLaunchResponse {
+        private boolean success;
+        private String message;
+        private String jobName;
+        private Long executionId;
+        private String status;
+        private LocalDateTime executedAt;
+
+        // Getters and Setters
+        public boolean isSuccess() {
+            return success;
+        }
+
+        public void setSuccess(boolean success) {
+            this.success = success;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public void setMessage(String message) {
+            this.message = message;
+        }
+
+        public String getJobName() {
+            return jobName;
+        }
+
+        public void setJobName(String jobName) {
+            this.jobName = jobName;
+        }
+
+        public Long getExecutionId() {
+            return executionId;
+        }
+
+        public void setExecutionId(Long executionId) {
+            this.executionId = executionId;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        public void setStatus(String status) {
+            this.status = status;
+        }
+
+        public LocalDateTime getExecutedAt() {
+            return executedAt;
+        }
+
+        public void setExecutedAt(LocalDateTime executedAt) {
+            this.executedAt = executedAt;
+        }
+    }
+
+    /**
+     * ジョブ実行の進捗・結果
+     * 件数は全ステップの合計、処理速度・残り時間は実行中（終了後は最後）のチャンク処理ステップの値
+     * results はジョブの実行コンテキスト（各ステップの結果は steps[].context）
+     */
+    public static class JobProgressResponse {
+        private Long executionId;
+        private String jobName;
+        private String status;
+        private String exitCode;
+        private String exitDescription;
+        private LocalDateTime startTime;
+        private LocalDateTime endTime;
+        private long elapsedSeconds;
+        private String currentStep;
+        private long readCount;
+        private long writeCount;
+        private long skipCount;
+        private Double itemsPerSecond;
+        private Long totalCount;
+        private Double progressPercent;
+        private Long estimatedRemainingSeconds;
+        private LocalDateTime estimatedEndTime;
+        private List<StepProgress> steps;
+        private Map<String, Object> results;
+
+        // Getters and Setters
+        public Long getExecutionId() {
+            return executionId;
+        }
+
+        public void setExecutionId(Long executionId) {
+            this.executionId = executionId;
+        }
+
+        public String getJobName() {
+            return jobName;
+        }
+
+        public void setJobName(String jobName) {
+            this.jobName = jobName;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        public void setStatus(String status) {
+            this.status = status;
+        }
+
+        public String getExitCode() {
+            return exitCode;
+        }
+
+        public void setExitCode(String exitCode) {
+            this.exitCode = exitCode;
+        }
+
+        public String getExitDescription() {
+            return exitDescription;
+        }
+
+        public void setExitDescription(String exitDescription) {
+            this.exitDescription = exitDescription;
+        }
+
+        public LocalDateTime getStartTime() {
+            return startTime;
+        }
+
+        public void setStartTime(LocalDateTime startTime) {
+            this.startTime = startTime;
+        }
+
+        public LocalDateTime getEndTime() {
+            return endTime;
+        }
+
+        public void setEndTime(LocalDateTime endTime) {
+            this.endTime = endTime;
+        }
+
+        public long getElapsedSeconds() {
+            return elapsedSeconds;
+        }
+
+        public void setElapsedSeconds(long elapsedSeconds) {
+            this.elapsedSeconds = elapsedSeconds;
+        }
+
+        public String getCurrentStep() {
+            return currentStep;
+        }
+
+        public void setCurrentStep(String currentStep) {
+            this.currentStep = currentStep;
+        }
+
+        public long getReadCount() {
+            return readCount;
+        }
+
+        public void setReadCount(long readCount) {
+            this.readCount = readCount;
+        }
+
+        public long getWriteCount() {
+            return writeCount;
+        }
+
+        public void setWriteCount(long writeCount) {
+            this.writeCount = writeCount;
+        }
+
+        public long getSkipCount() {
+            return skipCount;
+        }
+
+        public void setSkipCount(long skipCount) {
+            this.skipCount = skipCount;
+        }
+
+        public Double getItemsPerSecond() {
+            return itemsPerSecond;
+        }
+
+        public void setItemsPerSecond(Double itemsPerSecond) {
+            this.itemsPerSecond = itemsPerSecond;
+        }
+
+        public Long getTotalCount() {
+            return totalCount;
+        }
+
+        public void setTotalCount(Long totalCount) {
+            this.totalCount = totalCount;
+        }
+
+        public Double getProgressPercent() {
+            return progressPercent;
+        }
+
+        public void setProgressPercent(Double progressPercent) {
+            this.progressPercent = progressPercent;
+        }
+
+        public Long getEstimatedRemainingSeconds() {
+            return estimatedRemainingSeconds;
+        }
+
+        public void setEstimatedRemainingSeconds(Long estimatedRemainingSeconds) {
+            this.estimatedRemainingSeconds = estimatedRemainingSeconds;
+        }
+
+        public LocalDateTime getEstimatedEndTime() {
+            return estimatedEndTime;
+        }
+
+        public void setEstimatedEndTime(LocalDateTime estimatedEndTime) {
+            this.estimatedEndTime = estimatedEndTime;
+        }
+
+        public List<StepProgress> getSteps() {
+            return steps;
+        }
+
+        public void setSteps(List<StepProgress> steps) {
+            this.steps = steps;
+        }
+
+        public Map<String, Object> getResults() {
+            return results;
+        }
+
+        public void setResults(Map<String, Object> results) {
+            this.results = results;
+        }
+    }
+
+    /**
+     * ステップ実行の進捗・結果
+     * totalCount はステップが実行コンテキストに処理対象件数を格納した場合のみ設定される
+     */
+    public static class StepProgress {
+        private String stepName;
+        private String status;
+        private long readCount;
+        private long writeCount;
+        private long filterCount;
+        private long skipCount;
+        private long commitCount;
+        private long rollbackCount;
+        private LocalDateTime startTime;
+        private LocalDateTime endTime;
+        private Double itemsPerSecond;
+        private Long totalCount;
+        private Double progressPercent;
+        private Long estimatedRemainingSeconds;
+        private Map<String, Object> context;
+
+        // Getters and Setters
+        public String getStepName() {
+            return stepName;
+        }
+
+        public void setStepName(String stepName) {
+            this.stepName = stepName;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        public void setStatus(String status) {
+            this.status = status;
+        }
+
+        public long getReadCount() {
+            return readCount;
+        }
+
+        public void setReadCount(long readCount) {
+            this.readCount = readCount;
+        }
+
+        public long getWriteCount() {
+            return writeCount;
+        }
+
+        public void setWriteCount(long writeCount) {
+            this.writeCount = writeCount;
+        }
+
+        public long getFilterCount() {
+            return filterCount;
+        }
+
+        public void setFilterCount(long filterCount) {
+            this.filterCount = filterCount;
+        }
+
+        public long getSkipCount() {
+            return skipCount;
+        }
+
+        public void setSkipCount(long skipCount) {
+            this.skipCount = skipCount;
+        }
+
+        public long getCommitCount() {
+            return commitCount;
+        }
+
+        public void setCommitCount(long commitCount) {
+            this.commitCount = commitCount;
+        }
+
+        public long getRollbackCount() {
+            return rollbackCount;
+        }
+
+        public void setRollbackCount(long rollbackCount) {
+            this.rollbackCount = rollbackCount;
+        }
+
+        public LocalDateTime getStartTime() {
+            return startTime;
+        }
+
+        public void setStartTime(LocalDateTime startTime) {
+            this.startTime = startTime;
+        }
+
+        public LocalDateTime getEndTime() {
+            return endTime;
+        }
+
+        public void setEndTime(LocalDateTime endTime) {
+            this.endTime = endTime;
+        }
+
+        public Double getItemsPerSecond() {
+            return itemsPerSecond;
+        }
+
+        public void setItemsPerSecond(Double itemsPerSecond) {
+            this.itemsPerSecond = itemsPerSecond;
+        }
+
+        public Long getTotalCount() {
+            return totalCount;
+        }
+
+        public void setTotalCount(Long totalCount) {
+            this.totalCount = totalCount;
+        }
+
+        public Double getProgressPercent() {
+            return progressPercent;
+        }
+
+        public void setProgressPercent(Double progressPercent) {
+            this.progressPercent = progressPercent;
+        }
+
+        public Long getEstimatedRemainingSeconds() {
+            return estimatedRemainingSeconds;
+        }
+
+        public void setEstimatedRemainingSeconds(Long estimatedRemainingSeconds) {
+            this.estimatedRemainingSeconds = estimatedRemainingSeconds;
+        }
+
+        public Map<String, Object> getContext() {
+            return context;
+        }
+
+        public void setContext(Map<String, Object> context) {
+            this.context = context;
+        }
+    }
+}
@@ -4,6 +4,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 
+import java.util.List;
+
 /**
  * CSV一括登録レスポンスDTO
  */
@@ -36,6 +38,12 @@ public class CsvRegisterResponse {
                 .build();
     }
     
+    public static CsvRegisterResponse success(int successCount, int errorCount, List<CsvRowError> errors) {
+        CsvRegisterResponse response = success(successCount, errorCount);
+        response.getData().setErrors(errors);
+        return response;
+    }
+    
     /**
      * CSV登録データ
      */
@@ -45,5 +53,7 @@ public class CsvRegisterResponse {
     public static class CsvRegisterData {
         private int successCount;
         private int errorCount;
+        /** 行単位のエラー詳細（件数が多い場合は先頭から上限件数まで） */
+        private List<CsvRowError> errors;
     }
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.example.companybackend.dto.auth;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * CSV一括登録の行単位エラーDTO
+ */
+@Data
+@AllArgsConstructor
+public class CsvRowError {
+
+    /** CSVファイル上の行番号（ヘッダー行を1行目とする） */
+    private long lineNumber;
+
+    /** ユーザー名（解析できなかった場合は null） */
+    private String username;
+
+    /** エラー理由 */
+    private String reason;
+}
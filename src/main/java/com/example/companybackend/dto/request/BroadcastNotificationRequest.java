@@ -0,0 +1,86 @@
+package com.example.companybackend.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+public class BroadcastNotificationRequest {
+
+    @NotBlank(message = "配信対象は必須です")
+    @Pattern(regexp = "department|role|all", message = "配信対象は department, role, all のいずれかです")
+    private String targetType;
+
+    private Integer departmentId; // targetType = "department" の場合は必須
+
+    private String role; // targetType = "role" の場合は必須
+
+    @NotBlank(message = "タイトルは必須です")
+    @Size(max = 255, message = "タイトルは255文字以内で入力してください")
+    private String title;
+
+    @NotBlank(message = "メッセージは必須です")
+    @Size(max = 255, message = "メッセージは255文字以内で入力してください")
+    private String message;
+
+    @Pattern(regexp = "leave|correction|system", message = "通知タイプが不正です")
+    private String type = "system";
+
+    private Integer relatedId;
+
+    // Getters and Setters
+    public String getTargetType() {
+        return targetType;
+    }
+
+    public void setTargetType(String targetType) {
+        this.targetType = targetType;
+    }
+
+    public Integer getDepartmentId() {
+        return departmentId;
+    }
+
+    public void setDepartmentId(Integer departmentId) {
+        this.departmentId = departmentId;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public void setRole(String role) {
+        this.role = role;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Integer getRelatedId() {
+        return relatedId;
+    }
+
+    public void setRelatedId(Integer relatedId) {
+        this.relatedId = relatedId;
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.companybackend.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class BulkDecisionRequest {
+
+    @NotEmpty(message = "申請IDを指定してください")
+    @Size(max = 1000, message = "一度に処理できる申請は1000件までです")
+    private List<Long> ids;
+
+    // Getters and Setters
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.companybackend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+
+/**
+ * メール送信アウトボックスエンティティ
+ * 送信待ちメールを永続化し、EmailDeliveryWorker が非同期に送信する
+ */
+@Entity
+@Table(name = "email_outbox")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmailOutbox {
+
+    public static final String STATUS_PENDING = "pending";
+    public static final String STATUS_SENDING = "sending";
+    public static final String STATUS_SENT = "sent";
+    public static final String STATUS_FAILED = "failed";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id")
+    private Integer userId;
+
+    @Column(name = "to_address", nullable = false)
+    private String toAddress;
+
+    @Column(name = "subject", nullable = false)
+    private String subject;
+
+    @Column(name = "body", nullable = false)
+    private String body;
+
+    @Column(name = "provider", nullable = false)
+    private String provider;
+
+    @Column(name = "status", nullable = false)
+    private String status;
+
+    @Column(name = "attempt_count", nullable = false)
+    private Integer attemptCount;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private OffsetDateTime nextAttemptAt;
+
+    @Column(name = "locked_at")
+    private OffsetDateTime lockedAt;
+
+    @Column(name = "last_error")
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private OffsetDateTime createdAt;
+
+    @Column(name = "sent_at")
+    private OffsetDateTime sentAt;
+
+    @PrePersist
+    protected void onCreate() {
+        OffsetDateTime now = OffsetDateTime.now();
+        if (createdAt == null) {
+            createdAt = now;
+        }
+        if (nextAttemptAt == null) {
+            nextAttemptAt = now;
+        }
+        if (status == null) {
+            status = STATUS_PENDING;
+        }
+        if (attemptCount == null) {
+            attemptCount = 0;
+        }
+    }
+
+    /**
+     * 宛先アドレスからプロバイダ（ドメイン）を取得
+     */
+    public static String resolveProvider(String toAddress) {
+        if (toAddress == null) {
+            return "unknown";
+        }
+        int at = toAddress.lastIndexOf('@');
+        return at >= 0 && at < toAddress.length() - 1
+                ? toAddress.substring(at + 1).trim().toLowerCase()
+                : "unknown";
+    }
+}
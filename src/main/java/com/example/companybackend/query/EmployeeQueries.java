@@ -1,7 +1,10 @@
 package com.example.companybackend.query;
 
-import com.example.companybackend.entity.User;
-import com.example.companybackend.repository.UserRepository;
+import com.example.companybackend.repository.EmployeeReadModelRepository;
+import com.example.companybackend.repository.EmployeeReadModelRepository.EmployeeRow;
+import com.example.companybackend.service.EmployeeSearchIndex;
+import com.example.companybackend.service.EmployeeStatisticsService;
+import com.example.companybackend.service.OrgTreeIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -12,7 +15,10 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -29,6 +35,12 @@ import java.util.stream.Collectors;
  * - 統計情報取得
  * - レポート生成
  * - ページネーション対応
+ * 
+ * 一覧・詳細は従業員参照モデル（employee_read_model）から部署名・役職名を含めて1クエリで取得する。
+ * 参照モデルは EmployeeCommands 等の書き込み側が更新する。
+ * 統計情報は EmployeeStatisticsService が1クエリで集計してキャッシュする。
+ * キーワード検索は EmployeeSearchIndex（インメモリの正規化済み索引）で対象IDを求めてから参照モデルを絞り込む。
+ * 配下・上長チェーンは OrgTreeIndex で対象IDを求めてから参照モデルを取得する。
  */
 @Service
 @Transactional(readOnly = true)
@@ -36,7 +48,10 @@ import java.util.stream.Collectors;
 @Slf4j
 public class EmployeeQueries {
 
-    private final UserRepository userRepository;
+    private final EmployeeReadModelRepository employeeReadModelRepository;
+    private final EmployeeStatisticsService employeeStatisticsService;
+    private final EmployeeSearchIndex employeeSearchIndex;
+    private final OrgTreeIndex orgTreeIndex;
 
     /**
      * 従業員詳細取得
@@ -46,7 +61,7 @@ public class EmployeeQueries {
     public Optional<EmployeeDetailView> getEmployeeDetail(Long userId) {
         log.debug("従業員詳細取得: userId={}", userId);
         
-        return userRepository.findById(userId)
+        return employeeReadModelRepository.findByUserId(userId)
             .map(this::mapToEmployeeDetailView);
     }
 
@@ -58,7 +73,7 @@ public class EmployeeQueries {
     public Optional<EmployeeDetailView> getEmployeeDetailByEmployeeId(String employeeId) {
         log.debug("従業員詳細取得: employeeId={}", employeeId);
         
-        return userRepository.findByEmployeeId(employeeId)
+        return employeeReadModelRepository.findByEmployeeId(employeeId)
             .map(this::mapToEmployeeDetailView);
     }
 
@@ -70,8 +85,7 @@ public class EmployeeQueries {
     public Page<EmployeeListView> getAllEmployees(Pageable pageable) {
         log.debug("全従業員一覧取得: page={}, size={}", pageable.getPageNumber(), pageable.getPageSize());
         
-        return userRepository.findAll(pageable)
-            .map(this::mapToEmployeeListView);
+        return findPage(null, null, null, null, null, pageable);
     }
 
     /**
@@ -82,8 +96,7 @@ public class EmployeeQueries {
     public Page<EmployeeListView> getActiveEmployees(Pageable pageable) {
         log.debug("アクティブ従業員一覧取得: page={}, size={}", pageable.getPageNumber(), pageable.getPageSize());
         
-        return userRepository.findByIsActiveTrue(pageable)
-            .map(this::mapToEmployeeListView);
+        return findPage(null, null, null, null, true, pageable);
     }
 
     /**
@@ -94,8 +107,7 @@ public class EmployeeQueries {
     public Page<EmployeeListView> getInactiveEmployees(Pageable pageable) {
         log.debug("非アクティブ従業員一覧取得: page={}, size={}", pageable.getPageNumber(), pageable.getPageSize());
         
-        return userRepository.findByIsActiveFalse(pageable)
-            .map(this::mapToEmployeeListView);
+        return findPage(null, null, null, null, false, pageable);
     }
 
     /**
@@ -108,8 +120,7 @@ public class EmployeeQueries {
         log.debug("部署別従業員一覧取得: departmentId={}, page={}, size={}", 
                 departmentId, pageable.getPageNumber(), pageable.getPageSize());
         
-        return userRepository.findByDepartmentId(departmentId, pageable)
-            .map(this::mapToEmployeeListView);
+        return findPage(null, departmentId, null, null, null, pageable);
     }
 
     /**
@@ -122,8 +133,7 @@ public class EmployeeQueries {
         log.debug("役職別従業員一覧取得: role={}, page={}, size={}", 
                 role, pageable.getPageNumber(), pageable.getPageSize());
         
-        return userRepository.findByRole(role, pageable)
-            .map(this::mapToEmployeeListView);
+        return findPage(null, null, role, null, null, pageable);
     }
 
     /**
@@ -136,8 +146,7 @@ public class EmployeeQueries {
         log.debug("勤務地タイプ別従業員一覧取得: locationType={}, page={}, size={}", 
                 locationType, pageable.getPageNumber(), pageable.getPageSize());
         
-        return userRepository.findByLocationType(locationType, pageable)
-            .map(this::mapToEmployeeListView);
+        return findPage(null, null, null, locationType, null, pageable);
     }
 
     /**
@@ -150,9 +159,23 @@ public class EmployeeQueries {
         log.debug("従業員検索: keyword={}, page={}, size={}", 
                 keyword, pageable.getPageNumber(), pageable.getPageSize());
         
-        return userRepository.findByFullNameContainingOrUsernameContainingOrEmployeeIdContaining(
-                keyword, keyword, keyword, pageable)
-            .map(this::mapToEmployeeListView);
+        return findPage(keyword, null, null, null, null, pageable);
+    }
+
+    /**
+     * 従業員の入力補完（有効な従業員のみ、一致度順）
+     * 氏名（かな・カナ・ローマ字入力可）・ユーザー名・従業員IDの前方一致を優先する
+     * @param query 入力中の文字列
+     * @param limit 最大件数
+     * @return 候補
+     */
+    public List<EmployeeListView> suggestEmployees(String query, int limit) {
+        log.debug("従業員入力補完: query={}, limit={}", query, limit);
+        
+        return employeeSearchIndex.search(query, limit, true)
+            .stream()
+            .map(match -> mapToEmployeeListView(match.employee()))
+            .toList();
     }
 
     /**
@@ -164,14 +187,36 @@ public class EmployeeQueries {
     public Page<EmployeeListView> searchEmployeesWithFilter(EmployeeSearchFilter filter, Pageable pageable) {
         log.debug("複合条件検索: filter={}", filter);
         
-        return userRepository.findEmployeesWithFilter(
+        return findPage(
                 filter.getKeyword(),
                 filter.getDepartmentId(),
                 filter.getRole(),
                 filter.getLocationType(),
                 filter.getIsActive(),
-                pageable)
-            .map(this::mapToEmployeeListView);
+                pageable);
+    }
+
+    /**
+     * 配下従業員取得（直属・間接）
+     * @param managerId 上長のユーザーID
+     * @param activeOnly 有効な従業員のみの場合 true
+     * @return 配下従業員リスト（組織ツリー順）
+     */
+    public List<EmployeeListView> getSubordinates(Long managerId, boolean activeOnly) {
+        log.debug("配下従業員取得: managerId={}, activeOnly={}", managerId, activeOnly);
+        
+        return findInOrder(orgTreeIndex.subordinates(managerId, activeOnly));
+    }
+
+    /**
+     * 上長チェーン取得
+     * @param userId ユーザーID
+     * @return 上長リスト（直属の上長から最上位の順）
+     */
+    public List<EmployeeListView> getChainOfCommand(Long userId) {
+        log.debug("上長チェーン取得: userId={}", userId);
+        
+        return findInOrder(orgTreeIndex.chainOfCommand(userId));
     }
 
     /**
@@ -181,21 +226,22 @@ public class EmployeeQueries {
     public EmployeeStatistics getEmployeeStatistics() {
         log.debug("従業員統計情報取得");
         
+        EmployeeStatisticsService.Counts counts = employeeStatisticsService.getStatistics().total();
         EmployeeStatistics stats = new EmployeeStatistics();
         
         // 基本統計
-        stats.setTotalEmployees(userRepository.count());
-        stats.setActiveEmployees(userRepository.countByIsActiveTrue());
-        stats.setInactiveEmployees(userRepository.countByIsActiveFalse());
+        stats.setTotalEmployees(counts.total());
+        stats.setActiveEmployees(counts.active());
+        stats.setInactiveEmployees(counts.inactive());
         
         // 役職別統計
-        stats.setAdminCount(userRepository.countByRole("admin"));
-        stats.setManagerCount(userRepository.countByRole("manager"));
-        stats.setEmployeeCount(userRepository.countByRole("employee"));
+        stats.setAdminCount(counts.admin());
+        stats.setManagerCount(counts.manager());
+        stats.setEmployeeCount(counts.employee());
         
         // 勤務地別統計
-        stats.setOfficeEmployees(userRepository.countByLocationType("office"));
-        stats.setClientEmployees(userRepository.countByLocationType("client"));
+        stats.setOfficeEmployees(counts.office());
+        stats.setClientEmployees(counts.client());
         
         return stats;
     }
@@ -207,12 +253,13 @@ public class EmployeeQueries {
     public List<DepartmentStatistics> getDepartmentStatistics() {
         log.debug("部署別統計取得");
         
-        List<Object[]> results = userRepository.getDepartmentStatistics();
-        return results.stream()
-            .map(obj -> {
+        return employeeStatisticsService.getStatistics().departments().stream()
+            .map(department -> {
                 DepartmentStatistics stat = new DepartmentStatistics();
-                stat.setDepartmentId((Integer) obj[0]);
-                stat.setEmployeeCount((Long) obj[1]);
+                stat.setDepartmentId(department.departmentId());
+                stat.setEmployeeCount(department.counts().total());
+                stat.setActiveCount(department.counts().active());
+                stat.setInactiveCount(department.counts().inactive());
                 return stat;
             })
             .collect(Collectors.toList());
@@ -227,7 +274,7 @@ public class EmployeeQueries {
         log.debug("最近作成された従業員取得: days={}", days);
         
         OffsetDateTime cutoffDate = OffsetDateTime.now().minusDays(days);
-        return userRepository.findByCreatedAtAfterOrderByCreatedAtDesc(cutoffDate)
+        return employeeReadModelRepository.findCreatedAfter(cutoffDate)
             .stream()
             .map(this::mapToEmployeeListView)
             .toList();
@@ -242,7 +289,7 @@ public class EmployeeQueries {
         log.debug("最近更新された従業員取得: days={}", days);
         
         OffsetDateTime cutoffDate = OffsetDateTime.now().minusDays(days);
-        return userRepository.findByUpdatedAtAfterOrderByUpdatedAtDesc(cutoffDate)
+        return employeeReadModelRepository.findUpdatedAfter(cutoffDate)
             .stream()
             .map(this::mapToEmployeeListView)
             .toList();
@@ -258,7 +305,7 @@ public class EmployeeQueries {
         LocalDate now = LocalDate.now();
         int currentMonth = now.getMonthValue();
         
-        return userRepository.findEmployeesWithBirthdayInMonth(currentMonth)
+        return employeeReadModelRepository.findCreatedInMonth(currentMonth)
             .stream()
             .map(this::mapToEmployeeListView)
             .toList();
@@ -271,7 +318,7 @@ public class EmployeeQueries {
     public List<EmployeeListView> getAdminEmployees() {
         log.debug("管理者権限従業員取得");
         
-        return userRepository.findByRole("admin")
+        return employeeReadModelRepository.findByRole("admin")
             .stream()
             .map(this::mapToEmployeeListView)
             .toList();
@@ -284,47 +331,86 @@ public class EmployeeQueries {
     public List<EmployeeListView> getManagerEmployees() {
         log.debug("マネージャー権限従業員取得");
         
-        return userRepository.findByRole("manager")
+        return employeeReadModelRepository.findByRole("manager")
             .stream()
             .map(this::mapToEmployeeListView)
             .toList();
     }
 
     /**
-     * UserエンティティをEmployeeDetailViewにマップ
+     * 参照モデルの条件検索（null の条件は絞り込まない）
+     * キーワードは検索インデックスで一致するユーザーIDに変換してから絞り込む
+     */
+    private Page<EmployeeListView> findPage(String keyword, Integer departmentId, String role,
+            String locationType, Boolean isActive, Pageable pageable) {
+        List<Long> userIds = null;
+        if (keyword != null && !keyword.isBlank()) {
+            userIds = employeeSearchIndex.findUserIds(keyword);
+            if (userIds.isEmpty()) {
+                return Page.empty(pageable);
+            }
+        }
+        return employeeReadModelRepository.findPage(userIds, departmentId, role, locationType, isActive, pageable)
+            .map(this::mapToEmployeeListView);
+    }
+
+    /**
+     * 参照モデルから指定IDの行を取得し、IDの順に並べる
+     */
+    private List<EmployeeListView> findInOrder(List<Long> userIds) {
+        Map<Long, EmployeeRow> rows = employeeReadModelRepository.findByUserIds(userIds).stream()
+            .collect(Collectors.toMap(EmployeeRow::userId, Function.identity()));
+        return userIds.stream()
+            .map(rows::get)
+            .filter(Objects::nonNull)
+            .map(this::mapToEmployeeListView)
+            .toList();
+    }
+
+    /**
+     * 参照モデルの行をEmployeeDetailViewにマップ
      */
-    private EmployeeDetailView mapToEmployeeDetailView(User user) {
+    private EmployeeDetailView mapToEmployeeDetailView(EmployeeRow row) {
         EmployeeDetailView view = new EmployeeDetailView();
-        view.setId(user.getId());
-        view.setUsername(user.getUsername());
-        view.setEmail(user.getEmail());
-        view.setEmployeeId(user.getEmployeeId());
-        view.setFullName(user.getFullName());
-        view.setDepartmentId(user.getDepartmentId());
-        view.setRole(user.getRole());
-        view.setRoleDisplayName(user.getRoleDisplayName());
-        view.setLocationType(user.getLocationType());
-        view.setLocationTypeDisplayName(user.getLocationTypeDisplayName());
-        view.setIsActive(user.getIsActive());
-        view.setCreatedAt(user.getCreatedAt());
-        view.setUpdatedAt(user.getUpdatedAt());
+        view.setId(row.userId());
+        view.setUsername(row.username());
+        view.setEmail(row.email());
+        view.setEmployeeId(row.employeeId());
+        view.setFullName(row.fullName());
+        view.setDepartmentId(row.departmentId());
+        view.setDepartmentName(row.departmentName());
+        view.setPositionId(row.positionId());
+        view.setPositionName(row.positionName());
+        view.setManagerId(row.managerId());
+        view.setManagerName(row.managerName());
+        view.setRole(row.role());
+        view.setRoleDisplayName(row.roleDisplayName());
+        view.setLocationType(row.locationType());
+        view.setLocationTypeDisplayName(row.locationTypeDisplayName());
+        view.setIsActive(row.isActive());
+        view.setHireDate(row.hireDate());
+        view.setCreatedAt(row.createdAt());
+        view.setUpdatedAt(row.updatedAt());
         return view;
     }
 
     /**
-     * UserエンティティをEmployeeListViewにマップ
+     * 参照モデルの行をEmployeeListViewにマップ
      */
-    private EmployeeListView mapToEmployeeListView(User user) {
+    private EmployeeListView mapToEmployeeListView(EmployeeRow row) {
         EmployeeListView view = new EmployeeListView();
-        view.setId(user.getId());
-        view.setEmployeeId(user.getEmployeeId());
-        view.setFullName(user.getFullName());
-        view.setDepartmentId(user.getDepartmentId());
-        view.setRole(user.getRole());
-        view.setRoleDisplayName(user.getRoleDisplayName());
-        view.setLocationType(user.getLocationType());
-        view.setLocationTypeDisplayName(user.getLocationTypeDisplayName());
-        view.setIsActive(user.getIsActive());
+        view.setId(row.userId());
+        view.setEmployeeId(row.employeeId());
+        view.setFullName(row.fullName());
+        view.setDepartmentId(row.departmentId());
+        view.setDepartmentName(row.departmentName());
+        view.setPositionId(row.positionId());
+        view.setPositionName(row.positionName());
+        view.setRole(row.role());
+        view.setRoleDisplayName(row.roleDisplayName());
+        view.setLocationType(row.locationType());
+        view.setLocationTypeDisplayName(row.locationTypeDisplayName());
+        view.setIsActive(row.isActive());
         return view;
     }
 
@@ -338,11 +424,17 @@ public class EmployeeQueries {
         private String employeeId;
         private String fullName;
         private Integer departmentId;
+        private String departmentName;
+        private Integer positionId;
+        private String positionName;
+        private Integer managerId;
+        private String managerName;
         private String role;
         private String roleDisplayName;
         private String locationType;
         private String locationTypeDisplayName;
         private Boolean isActive;
+        private LocalDate hireDate;
         private OffsetDateTime createdAt;
         private OffsetDateTime updatedAt;
 
@@ -365,6 +457,21 @@ public class EmployeeQueries {
         public Integer getDepartmentId() { return departmentId; }
         public void setDepartmentId(Integer departmentId) { this.departmentId = departmentId; }
         
+        public String getDepartmentName() { return departmentName; }
+        public void setDepartmentName(String departmentName) { this.departmentName = departmentName; }
+        
+        public Integer getPositionId() { return positionId; }
+        public void setPositionId(Integer positionId) { this.positionId = positionId; }
+        
+        public String getPositionName() { return positionName; }
+        public void setPositionName(String positionName) { this.positionName = positionName; }
+        
+        public Integer getManagerId() { return managerId; }
+        public void setManagerId(Integer managerId) { this.managerId = managerId; }
+        
+        public String getManagerName() { return managerName; }
+        public void setManagerName(String managerName) { this.managerName = managerName; }
+        
         public String getRole() { return role; }
         public void setRole(String role) { this.role = role; }
         
@@ -380,6 +487,9 @@ public class EmployeeQueries {
         public Boolean getIsActive() { return isActive; }
         public void setIsActive(Boolean isActive) { this.isActive = isActive; }
         
+        public LocalDate getHireDate() { return hireDate; }
+        public void setHireDate(LocalDate hireDate) { this.hireDate = hireDate; }
+        
         public OffsetDateTime getCreatedAt() { return createdAt; }
         public void setCreatedAt(OffsetDateTime createdAt) { this.createdAt = createdAt; }
         
@@ -395,6 +505,9 @@ public class EmployeeQueries {
         private String employeeId;
         private String fullName;
         private Integer departmentId;
+        private String departmentName;
+        private Integer positionId;
+        private String positionName;
         private String role;
         private String roleDisplayName;
         private String locationType;
@@ -414,6 +527,15 @@ public class EmployeeQueries {
         public Integer getDepartmentId() { return departmentId; }
         public void setDepartmentId(Integer departmentId) { this.departmentId = departmentId; }
         
+        public String getDepartmentName() { return departmentName; }
+        public void setDepartmentName(String departmentName) { this.departmentName = departmentName; }
+        
+        public Integer getPositionId() { return positionId; }
+        public void setPositionId(Integer positionId) { this.positionId = positionId; }
+        
+        public String getPositionName() { return positionName; }
+        public void setPositionName(String positionName) { this.positionName = positionName; }
+        
         public String getRole() { return role; }
         public void setRole(String role) { this.role = role; }
         
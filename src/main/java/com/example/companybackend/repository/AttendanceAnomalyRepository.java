@@ -0,0 +1,244 @@
+package com.example.companybackend.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * 打刻異常検出リポジトリ
+ * attendance_records をユーザーIDの範囲ごとに1回だけ走査し、ウィンドウ関数で前後の打刻と比較して異常を検出する
+ * （idx_attendance_user_timestamp の順に読むため、ユーザー単位の並べ替えは発生しない）
+ *
+ * 検出した異常は打刻修正の下書き（time_corrections.status = 'draft'）として配列パラメータを unnest した
+ * INSERT ... ON CONFLICT DO NOTHING の1文で一括登録する
+ */
+@Repository
+public class AttendanceAnomalyRepository {
+
+    /**
+     * ユーザーIDを件数が均等になるように分割した範囲
+     */
+    private static final String FIND_USER_RANGES_SQL = """
+            SELECT MIN(id) AS from_user_id, MAX(id) AS to_user_id
+            FROM (
+                SELECT id, NTILE(:partitions) OVER (ORDER BY id) AS bucket
+                FROM users
+            ) u
+            GROUP BY bucket
+            ORDER BY bucket
+            """;
+
+    /**
+     * 異常の判定（勤務日は :zone の日付）
+     * 1. 直前の打刻と同じ種類で :duplicateSeconds 秒以内 → duplicate（以降の判定から除外）
+     * 2. 勤務日内の全打刻が「退勤・出勤」の逆順で偶数件 → out_of_order
+     * 3. 出勤の次が勤務日内の退勤でない → missing_clock_out
+     * 4. 退勤の前が勤務日内の出勤でない → missing_clock_in
+     */
+    private static final String DETECT_ANOMALIES_SQL = """
+            WITH ordered AS (
+                SELECT ar.id, ar.user_id, ar.type, ar."timestamp",
+                       CAST(ar."timestamp" AT TIME ZONE :zone AS date) AS work_date,
+                       LAG(ar.type) OVER w AS prev_type,
+                       LAG(ar."timestamp") OVER w AS prev_timestamp
+                FROM attendance_records ar
+                WHERE ar.user_id BETWEEN :fromUserId AND :toUserId
+                  AND ar."timestamp" >= :from
+                  AND ar."timestamp" < :to
+                WINDOW w AS (PARTITION BY ar.user_id ORDER BY ar."timestamp", ar.id)
+            ),
+            flagged AS (
+                SELECT o.*,
+                       COALESCE(o.type = o.prev_type
+                                AND o."timestamp" - o.prev_timestamp
+                                    <= make_interval(secs => CAST(:duplicateSeconds AS double precision)),
+                                false) AS duplicate
+                FROM ordered o
+            ),
+            sequenced AS (
+                SELECT f.id, f.user_id, f.type, f."timestamp", f.work_date,
+                       LAG(f.type) OVER d AS day_prev_type,
+                       LEAD(f.type) OVER d AS day_next_type,
+                       ROW_NUMBER() OVER d AS day_position,
+                       COUNT(*) OVER (PARTITION BY f.user_id, f.work_date) AS day_count
+                FROM flagged f
+                WHERE NOT f.duplicate
+                WINDOW d AS (PARTITION BY f.user_id, f.work_date ORDER BY f."timestamp", f.id)
+            ),
+            classified AS (
+                SELECT s.*,
+                       bool_and(s.type = CASE WHEN s.day_position % 2 = 1 THEN 'out' ELSE 'in' END)
+                           OVER (PARTITION BY s.user_id, s.work_date) AS reversed_day
+                FROM sequenced s
+            )
+            SELECT id, user_id, type, "timestamp", anomaly_type
+            FROM (
+                SELECT c.id, c.user_id, c.type, c."timestamp",
+                       CASE
+                           WHEN c.reversed_day AND c.day_count % 2 = 0 THEN 'out_of_order'
+                           WHEN c.type = 'in' AND c.day_next_type IS DISTINCT FROM 'out' THEN 'missing_clock_out'
+                           WHEN c.type = 'out' AND c.day_prev_type IS DISTINCT FROM 'in' THEN 'missing_clock_in'
+                       END AS anomaly_type
+                FROM classified c
+                UNION ALL
+                SELECT f.id, f.user_id, f.type, f."timestamp", 'duplicate'
+                FROM flagged f
+                WHERE f.duplicate
+            ) a
+            WHERE anomaly_type IS NOT NULL
+            ORDER BY user_id, "timestamp", id
+            """;
+
+    /**
+     * 同じ打刻・同じ異常の下書きが既にある場合は登録しない（却下・承認済みを含む）
+     */
+    private static final String INSERT_DRAFTS_SQL = """
+            INSERT INTO time_corrections (user_id, attendance_id, request_type, before_time, current_type,
+                                          requested_time, requested_type, reason, status, anomaly_type, created_at)
+            SELECT t.user_id, t.attendance_id, t.request_type, CAST(t.before_time AS timestamptz), t.current_type,
+                   CAST(t.requested_time AS timestamptz), t.requested_type, t.reason, 'draft', t.anomaly_type, ?
+            FROM unnest(?::integer[], ?::bigint[], ?::varchar[], ?::text[], ?::varchar[], ?::text[], ?::varchar[],
+                        ?::varchar[], ?::varchar[])
+                 AS t(user_id, attendance_id, request_type, before_time, current_type, requested_time,
+                      requested_type, reason, anomaly_type)
+            ON CONFLICT (attendance_id, anomaly_type) WHERE anomaly_type IS NOT NULL DO NOTHING
+            """;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    /**
+     * ユーザーIDの範囲を取得
+     *
+     * @param partitions 分割数
+     * @return ユーザー数が均等な範囲（ユーザーID順、ユーザーがいない場合は空）
+     */
+    public List<UserRange> findUserRanges(int partitions) {
+        return namedParameterJdbcTemplate.query(FIND_USER_RANGES_SQL,
+                new MapSqlParameterSource("partitions", partitions),
+                (rs, rowNum) -> new UserRange(rs.getInt("from_user_id"), rs.getInt("to_user_id")));
+    }
+
+    /**
+     * 打刻異常の検出
+     *
+     * @param range            対象ユーザーIDの範囲
+     * @param from             対象期間の開始日時（当日を含む）
+     * @param to               対象期間の終了日時（当日を含まない）
+     * @param zone             勤務日を判定するタイムゾーン
+     * @param duplicateSeconds 重複とみなす同種打刻の間隔（秒）
+     * @return 異常のある打刻（ユーザーID・打刻日時順）
+     */
+    public List<Anomaly> detectAnomalies(UserRange range, OffsetDateTime from, OffsetDateTime to, String zone,
+            long duplicateSeconds) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("fromUserId", range.fromUserId())
+                .addValue("toUserId", range.toUserId())
+                .addValue("from", from)
+                .addValue("to", to)
+                .addValue("zone", zone)
+                .addValue("duplicateSeconds", duplicateSeconds);
+
+        return namedParameterJdbcTemplate.query(DETECT_ANOMALIES_SQL, params, (rs, rowNum) -> new Anomaly(
+                rs.getLong("id"),
+                rs.getInt("user_id"),
+                rs.getString("type"),
+                rs.getObject("timestamp", OffsetDateTime.class),
+                rs.getString("anomaly_type")));
+    }
+
+    /**
+     * 打刻修正の下書きを1文で一括登録
+     *
+     * @param drafts    下書き
+     * @param createdAt 作成日時
+     * @return 登録行数（既に同じ提案がある下書きは含まない）
+     */
+    public int insertDrafts(List<RepairDraft> drafts, OffsetDateTime createdAt) {
+        int size = drafts.size();
+        if (size == 0) {
+            return 0;
+        }
+        Integer[] userIds = new Integer[size];
+        Long[] attendanceIds = new Long[size];
+        String[] requestTypes = new String[size];
+        String[] beforeTimes = new String[size];
+        String[] currentTypes = new String[size];
+        String[] requestedTimes = new String[size];
+        String[] requestedTypes = new String[size];
+        String[] reasons = new String[size];
+        String[] anomalyTypes = new String[size];
+        for (int i = 0; i < size; i++) {
+            RepairDraft draft = drafts.get(i);
+            userIds[i] = draft.userId();
+            attendanceIds[i] = draft.attendanceId();
+            requestTypes[i] = draft.requestType();
+            beforeTimes[i] = draft.beforeTime().toString();
+            currentTypes[i] = draft.currentType();
+            requestedTimes[i] = draft.requestedTime() != null ? draft.requestedTime().toString() : null;
+            requestedTypes[i] = draft.requestedType();
+            reasons[i] = draft.reason();
+            anomalyTypes[i] = draft.anomalyType();
+        }
+
+        return namedParameterJdbcTemplate.getJdbcOperations().update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(INSERT_DRAFTS_SQL);
+            ps.setObject(1, createdAt);
+            ps.setArray(2, connection.createArrayOf("integer", userIds));
+            ps.setArray(3, connection.createArrayOf("bigint", attendanceIds));
+            ps.setArray(4, connection.createArrayOf("varchar", requestTypes));
+            ps.setArray(5, connection.createArrayOf("text", beforeTimes));
+            ps.setArray(6, connection.createArrayOf("varchar", currentTypes));
+            ps.setArray(7, connection.createArrayOf("text", requestedTimes));
+            ps.setArray(8, connection.createArrayOf("varchar", requestedTypes));
+            ps.setArray(9, connection.createArrayOf("varchar", reasons));
+            ps.setArray(10, connection.createArrayOf("varchar", anomalyTypes));
+            return ps;
+        });
+    }
+
+    /**
+     * ユーザーIDの範囲（両端を含む）
+     *
+     * @param fromUserId 開始ユーザーID
+     * @param toUserId   終了ユーザーID
+     */
+    public record UserRange(int fromUserId, int toUserId) {
+    }
+
+    /**
+     * 異常のある打刻
+     *
+     * @param attendanceId 打刻ID
+     * @param userId       ユーザーID
+     * @param type         打刻種別（in/out）
+     * @param timestamp    打刻日時
+     * @param anomalyType  異常の種類（duplicate/out_of_order/missing_clock_out/missing_clock_in）
+     */
+    public record Anomaly(Long attendanceId, Integer userId, String type, OffsetDateTime timestamp,
+            String anomalyType) {
+    }
+
+    /**
+     * 打刻修正の下書き
+     *
+     * @param userId        ユーザーID
+     * @param attendanceId  対象の打刻ID
+     * @param requestType   申請タイプ（type: 種別の修正 / add: 打刻の追加）
+     * @param beforeTime    対象の打刻日時
+     * @param currentType   対象の打刻種別
+     * @param requestedTime 追加する打刻の推定日時（種別の修正の場合は null）
+     * @param requestedType 修正後の種別・追加する打刻の種別
+     * @param reason        理由
+     * @param anomalyType   異常の種類
+     */
+    public record RepairDraft(Integer userId, Long attendanceId, String requestType, OffsetDateTime beforeTime,
+            String currentType, OffsetDateTime requestedTime, String requestedType, String reason,
+            String anomalyType) {
+    }
+}
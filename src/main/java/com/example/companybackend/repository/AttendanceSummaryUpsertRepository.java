@@ -0,0 +1,107 @@
+package com.example.companybackend.repository;
+
+import com.example.companybackend.entity.AttendanceSummary;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 勤怠集計の一括 UPSERT リポジトリ
+ * 集計バッチの書き込みをユーザー・対象日・集計種別（uq_attendance_summaries_user_date_type）で冪等にする。
+ * 配列パラメータを unnest した INSERT ... ON CONFLICT DO UPDATE の1文でチャンク全体を書き込み、
+ * 値が変わらない行は更新しない
+ */
+@Repository
+public class AttendanceSummaryUpsertRepository {
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO attendance_summaries (user_id, target_date, total_hours, overtime_hours, late_night_hours,
+                                              holiday_hours, summary_type, created_at)
+            SELECT t.user_id, t.target_date, t.total_hours, t.overtime_hours, t.late_night_hours,
+                   t.holiday_hours, t.summary_type, ?
+            FROM unnest(?::integer[], ?::date[], ?::numeric[], ?::numeric[], ?::numeric[], ?::numeric[], ?::varchar[])
+                 AS t(user_id, target_date, total_hours, overtime_hours, late_night_hours, holiday_hours, summary_type)
+            ON CONFLICT (user_id, target_date, summary_type) DO UPDATE
+            SET total_hours = EXCLUDED.total_hours,
+                overtime_hours = EXCLUDED.overtime_hours,
+                late_night_hours = EXCLUDED.late_night_hours,
+                holiday_hours = EXCLUDED.holiday_hours
+            WHERE (attendance_summaries.total_hours, attendance_summaries.overtime_hours,
+                   attendance_summaries.late_night_hours, attendance_summaries.holiday_hours)
+                  IS DISTINCT FROM
+                  (EXCLUDED.total_hours, EXCLUDED.overtime_hours, EXCLUDED.late_night_hours, EXCLUDED.holiday_hours)
+            """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * 勤怠集計を1文で一括 UPSERT
+     * 同じキーの集計が複数ある場合は後のものを使う（同じ行を1文で2回更新できないため）
+     *
+     * @param summaries 勤怠集計
+     * @param createdAt 新規登録時の作成日時（既存行の作成日時は変えない）
+     * @return 書き込んだ集計（キーの重複を除いたもの）
+     */
+    public List<AttendanceSummary> upsertAll(Collection<? extends AttendanceSummary> summaries,
+            OffsetDateTime createdAt) {
+        Map<SummaryKey, AttendanceSummary> distinct = new LinkedHashMap<>();
+        for (AttendanceSummary summary : summaries) {
+            distinct.put(new SummaryKey(summary.getUserId(), summary.getTargetDate(), summary.getSummaryType()),
+                    summary);
+        }
+        List<AttendanceSummary> rows = List.copyOf(distinct.values());
+        if (rows.isEmpty()) {
+            return rows;
+        }
+
+        int size = rows.size();
+        Integer[] userIds = new Integer[size];
+        Date[] targetDates = new Date[size];
+        BigDecimal[] totalHours = new BigDecimal[size];
+        BigDecimal[] overtimeHours = new BigDecimal[size];
+        BigDecimal[] lateNightHours = new BigDecimal[size];
+        BigDecimal[] holidayHours = new BigDecimal[size];
+        String[] summaryTypes = new String[size];
+        for (int i = 0; i < size; i++) {
+            AttendanceSummary summary = rows.get(i);
+            userIds[i] = summary.getUserId();
+            targetDates[i] = Date.valueOf(summary.getTargetDate());
+            totalHours[i] = orZero(summary.getTotalHours());
+            overtimeHours[i] = orZero(summary.getOvertimeHours());
+            lateNightHours[i] = orZero(summary.getLateNightHours());
+            holidayHours[i] = orZero(summary.getHolidayHours());
+            summaryTypes[i] = summary.getSummaryType();
+        }
+
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(UPSERT_SQL);
+            ps.setObject(1, createdAt);
+            ps.setArray(2, connection.createArrayOf("integer", userIds));
+            ps.setArray(3, connection.createArrayOf("date", targetDates));
+            ps.setArray(4, connection.createArrayOf("numeric", totalHours));
+            ps.setArray(5, connection.createArrayOf("numeric", overtimeHours));
+            ps.setArray(6, connection.createArrayOf("numeric", lateNightHours));
+            ps.setArray(7, connection.createArrayOf("numeric", holidayHours));
+            ps.setArray(8, connection.createArrayOf("varchar", summaryTypes));
+            return ps;
+        });
+        return rows;
+    }
+
+    private static BigDecimal orZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+
+    private record SummaryKey(Integer userId, java.time.LocalDate targetDate, String summaryType) {
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.companybackend.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+
+/**
+ * バッチジョブ排他ロックリポジトリ
+ * batch_job_locks のリースで、複数ノードのスケジューラーが同じジョブを同時に起動しないようにする。
+ * 取得・延長・解放はいずれも1文で行い、期限の判定はデータベースの時刻で行う
+ */
+@Repository
+public class BatchJobLockRepository {
+
+    /** 未登録または期限切れの場合のみロックを取得する */
+    private static final String ACQUIRE_SQL = """
+            INSERT INTO batch_job_locks (lock_name, locked_by, locked_at, locked_until)
+            VALUES (?, ?, now(), now() + ? * INTERVAL '1 second')
+            ON CONFLICT (lock_name) DO UPDATE
+            SET locked_by = EXCLUDED.locked_by,
+                locked_at = EXCLUDED.locked_at,
+                locked_until = EXCLUDED.locked_until
+            WHERE batch_job_locks.locked_until <= now()
+            """;
+
+    private static final String RENEW_SQL = """
+            UPDATE batch_job_locks
+            SET locked_until = now() + ? * INTERVAL '1 second'
+            WHERE lock_name = ? AND locked_by = ?
+            """;
+
+    private static final String RELEASE_SQL = """
+            UPDATE batch_job_locks
+            SET locked_until = now()
+            WHERE lock_name = ? AND locked_by = ?
+            """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * ロック取得
+     *
+     * @param lockName ロック名（ジョブ名）
+     * @param owner    ロックを保持するノード
+     * @param lease    リース期間
+     * @return 取得できた場合 true（他のノードが期限内のロックを保持している場合は false）
+     */
+    public boolean tryAcquire(String lockName, String owner, Duration lease) {
+        return jdbcTemplate.update(ACQUIRE_SQL, lockName, owner, lease.toSeconds()) == 1;
+    }
+
+    /**
+     * リース延長
+     *
+     * @return 延長できた場合 true（期限切れで他のノードに取得された場合は false）
+     */
+    public boolean renew(String lockName, String owner, Duration lease) {
+        return jdbcTemplate.update(RENEW_SQL, lease.toSeconds(), lockName, owner) == 1;
+    }
+
+    /**
+     * ロック解放（自ノードが保持している場合のみ）
+     */
+    public void release(String lockName, String owner) {
+        jdbcTemplate.update(RELEASE_SQL, lockName, owner);
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.companybackend.repository;
+
+import com.example.companybackend.entity.EmailOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * メール送信アウトボックスリポジトリ
+ * 
+ * テーブル構造（V1_8 マイグレーション）:
+ * - id (BIGSERIAL PRIMARY KEY)
+ * - user_id (INTEGER REFERENCES users(id))
+ * - to_address / subject / body
+ * - provider (宛先ドメイン)
+ * - status ('pending', 'sending', 'sent', 'failed')
+ * - attempt_count / next_attempt_at / locked_at / last_error
+ * - created_at / sent_at
+ */
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    /**
+     * 送信対象の行をロックして取得
+     * SKIP LOCKED により複数ワーカー・複数ノードが同じ行を重複取得しない
+     * 
+     * @param now   基準日時
+     * @param limit 取得件数
+     * @return 送信対象リスト
+     */
+    @Query(nativeQuery = true, value = """
+            SELECT eo.* FROM email_outbox eo
+            WHERE eo.status = 'pending' AND eo.next_attempt_at <= :now
+            ORDER BY eo.next_attempt_at ASC
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """)
+    List<EmailOutbox> lockNextBatch(@Param("now") OffsetDateTime now, @Param("limit") int limit);
+
+    /**
+     * 送信中のまま一定時間経過した行を送信待ちに戻す（ワーカー停止時の回収）
+     * 
+     * @param staleBefore この日時より前にロックされた行を対象とする
+     * @return 更新件数
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            UPDATE email_outbox SET status = 'pending', locked_at = NULL
+            WHERE status = 'sending' AND locked_at < :staleBefore
+            """)
+    int releaseStaleLocks(@Param("staleBefore") OffsetDateTime staleBefore);
+
+    /**
+     * 送信完了に一括更新
+     * 
+     * @param ids    対象IDリスト
+     * @param sentAt 送信日時
+     * @return 更新件数
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            UPDATE email_outbox
+            SET status = 'sent', sent_at = :sentAt, locked_at = NULL, attempt_count = attempt_count + 1
+            WHERE id IN (:ids)
+            """)
+    int markSent(@Param("ids") List<Long> ids, @Param("sentAt") OffsetDateTime sentAt);
+
+    /**
+     * ステータス別件数取得
+     * 
+     * @param status ステータス
+     * @return 件数
+     */
+    long countByStatus(String status);
+}
@@ -0,0 +1,415 @@
+package com.example.companybackend.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 従業員参照モデルリポジトリ
+ * employee_read_model（部署名・役職名・上長名を非正規化した従業員テーブル）の更新と検索を行う
+ *
+ * 更新は書き込み側のサービスが変更対象（ユーザーID・部署ID・役職ID）を指定して呼び出し、
+ * users / departments / positions から対象行だけを再生成する（INSERT ... ON CONFLICT DO UPDATE の1文）。
+ * 検索は JOIN を行わず参照モデルのみを参照し、一覧は件数も含めて1クエリで取得する。
+ * 再生成のたびに {@link ReadModelChangedEvent} を発行する（検索インデックスの再構築契機）。
+ */
+@Repository
+public class EmployeeReadModelRepository {
+
+    /**
+     * 参照モデルの再生成（%s に対象ユーザーの絞り込み条件を埋め込む）
+     * 対象に含まれるが users に存在しない行は同じ文で削除する
+     */
+    private static final String UPSERT_SQL_TEMPLATE = """
+            WITH removed AS (
+                DELETE FROM employee_read_model r
+                WHERE r.user_id = ANY(CAST(:removeIds AS bigint[]))
+                  AND NOT EXISTS (SELECT 1 FROM users x WHERE x.id = r.user_id)
+            )
+            INSERT INTO employee_read_model (user_id, username, email, employee_id, full_name,
+                                             department_id, department_name, position_id, position_name, position_level,
+                                             manager_id, manager_name, role, role_display_name,
+                                             location_type, location_type_display_name, is_active, hire_date,
+                                             created_at, updated_at, refreshed_at)
+            SELECT u.id, u.username, u.email, u.employee_id, u.full_name,
+                   u.department_id, d.name, u.position_id, p.name, p.level,
+                   u.manager_id, m.full_name, u.role,
+                   CASE u.role WHEN 'admin' THEN 'システム管理者' WHEN 'manager' THEN '管理者'
+                               WHEN 'employee' THEN '一般社員' ELSE COALESCE(u.role, '未設定') END,
+                   u.location_type,
+                   CASE u.location_type WHEN 'office' THEN 'オフィス勤務' WHEN 'client' THEN '客先勤務'
+                                        ELSE COALESCE(u.location_type, '未設定') END,
+                   u.is_active, u.hire_date, u.created_at, u.updated_at, CURRENT_TIMESTAMP
+            FROM users u
+            LEFT JOIN departments d ON d.id = u.department_id
+            LEFT JOIN positions p ON p.id = u.position_id
+            LEFT JOIN users m ON m.id = u.manager_id
+            WHERE %s
+            ON CONFLICT (user_id) DO UPDATE SET
+                username = EXCLUDED.username,
+                email = EXCLUDED.email,
+                employee_id = EXCLUDED.employee_id,
+                full_name = EXCLUDED.full_name,
+                department_id = EXCLUDED.department_id,
+                department_name = EXCLUDED.department_name,
+                position_id = EXCLUDED.position_id,
+                position_name = EXCLUDED.position_name,
+                position_level = EXCLUDED.position_level,
+                manager_id = EXCLUDED.manager_id,
+                manager_name = EXCLUDED.manager_name,
+                role = EXCLUDED.role,
+                role_display_name = EXCLUDED.role_display_name,
+                location_type = EXCLUDED.location_type,
+                location_type_display_name = EXCLUDED.location_type_display_name,
+                is_active = EXCLUDED.is_active,
+                hire_date = EXCLUDED.hire_date,
+                created_at = EXCLUDED.created_at,
+                updated_at = EXCLUDED.updated_at,
+                refreshed_at = EXCLUDED.refreshed_at
+            """;
+
+    // 上長の氏名は部下の行にも非正規化されているため、部下の行も合わせて再生成する
+    private static final String REFRESH_USERS_SQL = UPSERT_SQL_TEMPLATE.formatted(
+            "u.id = ANY(CAST(:ids AS bigint[])) OR u.manager_id = ANY(CAST(:ids AS bigint[]))");
+
+    private static final String REFRESH_USERNAMES_SQL = UPSERT_SQL_TEMPLATE.formatted(
+            "u.username = ANY(CAST(:usernames AS varchar[]))");
+
+    private static final String REFRESH_DEPARTMENT_SQL = UPSERT_SQL_TEMPLATE.formatted(
+            "u.department_id = :departmentId");
+
+    private static final String REFRESH_POSITION_SQL = UPSERT_SQL_TEMPLATE.formatted(
+            "u.position_id = :positionId");
+
+    private static final String REBUILD_SQL = UPSERT_SQL_TEMPLATE.formatted("true");
+
+    private static final String DELETE_ORPHANS_SQL = """
+            DELETE FROM employee_read_model r
+            WHERE NOT EXISTS (SELECT 1 FROM users u WHERE u.id = r.user_id)
+            """;
+
+    private static final String SELECT_COLUMNS = """
+            SELECT r.user_id, r.username, r.email, r.employee_id, r.full_name,
+                   r.department_id, r.department_name, r.position_id, r.position_name, r.position_level,
+                   r.manager_id, r.manager_name, r.role, r.role_display_name,
+                   r.location_type, r.location_type_display_name, r.is_active, r.hire_date,
+                   r.created_at, r.updated_at
+            FROM employee_read_model r
+            """;
+
+    private static final String FILTER_CONDITION = """
+            WHERE (CAST(:filterByIds AS boolean) = false OR r.user_id = ANY(CAST(:userIds AS bigint[])))
+              AND (CAST(:departmentId AS integer) IS NULL OR r.department_id = :departmentId)
+              AND (CAST(:role AS varchar) IS NULL OR r.role = :role)
+              AND (CAST(:locationType AS varchar) IS NULL OR r.location_type = :locationType)
+              AND (CAST(:isActive AS boolean) IS NULL OR r.is_active = :isActive)
+            """;
+
+    /**
+     * ソート可能なプロパティ（User エンティティのプロパティ名 → 参照モデルの列名）
+     */
+    private static final Map<String, String> SORT_COLUMNS = Map.ofEntries(
+            Map.entry("id", "r.user_id"),
+            Map.entry("username", "r.username"),
+            Map.entry("email", "r.email"),
+            Map.entry("employeeId", "r.employee_id"),
+            Map.entry("fullName", "r.full_name"),
+            Map.entry("departmentId", "r.department_id"),
+            Map.entry("departmentName", "r.department_name"),
+            Map.entry("positionId", "r.position_id"),
+            Map.entry("positionName", "r.position_name"),
+            Map.entry("role", "r.role"),
+            Map.entry("locationType", "r.location_type"),
+            Map.entry("isActive", "r.is_active"),
+            Map.entry("hireDate", "r.hire_date"),
+            Map.entry("createdAt", "r.created_at"),
+            Map.entry("updatedAt", "r.updated_at"));
+
+    private static final RowMapper<EmployeeRow> ROW_MAPPER = EmployeeReadModelRepository::mapRow;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /**
+     * 指定ユーザー（およびその部下）の行を再生成
+     *
+     * @param userIds ユーザーID
+     * @return 再生成した行数
+     */
+    public int refreshUsers(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return 0;
+        }
+        Long[] ids = userIds.toArray(Long[]::new);
+        return upsert(REFRESH_USERS_SQL, new MapSqlParameterSource("ids", ids), ids);
+    }
+
+    /**
+     * 指定ユーザー（およびその部下）の行を再生成
+     *
+     * @param userId ユーザーID（未採番の null の場合は何もしない）
+     * @return 再生成した行数
+     */
+    public int refreshUser(Long userId) {
+        return userId != null ? refreshUsers(List.of(userId)) : 0;
+    }
+
+    /**
+     * 指定ユーザー名の行を再生成（ID を保持しない一括登録処理向け）
+     *
+     * @param usernames ユーザー名
+     * @return 再生成した行数
+     */
+    public int refreshUsernames(Collection<String> usernames) {
+        if (usernames.isEmpty()) {
+            return 0;
+        }
+        return upsert(REFRESH_USERNAMES_SQL,
+                new MapSqlParameterSource("usernames", usernames.toArray(String[]::new)), new Long[0]);
+    }
+
+    /**
+     * 部署名の変更を所属ユーザーの行に反映
+     *
+     * @param departmentId 部署ID
+     * @return 再生成した行数
+     */
+    public int refreshDepartment(Integer departmentId) {
+        return upsert(REFRESH_DEPARTMENT_SQL, new MapSqlParameterSource("departmentId", departmentId), new Long[0]);
+    }
+
+    /**
+     * 役職名・レベルの変更を該当ユーザーの行に反映
+     *
+     * @param positionId 役職ID
+     * @return 再生成した行数
+     */
+    public int refreshPosition(Integer positionId) {
+        return upsert(REFRESH_POSITION_SQL, new MapSqlParameterSource("positionId", positionId), new Long[0]);
+    }
+
+    /**
+     * 参照モデル全体を再生成（書き込み側を経由しない更新からの復旧用）
+     *
+     * @return 再生成した行数
+     */
+    public int rebuild() {
+        int refreshed = upsert(REBUILD_SQL, new MapSqlParameterSource(), new Long[0]);
+        namedParameterJdbcTemplate.update(DELETE_ORPHANS_SQL, new MapSqlParameterSource());
+        return refreshed;
+    }
+
+    /**
+     * 全行を取得（検索インデックスの構築用）
+     *
+     * @return 全従業員（ユーザーID順）
+     */
+    public List<EmployeeRow> findAll() {
+        return namedParameterJdbcTemplate.query(SELECT_COLUMNS + "ORDER BY r.user_id", new MapSqlParameterSource(),
+                ROW_MAPPER);
+    }
+
+    /**
+     * 指定ユーザーの行を取得
+     *
+     * @param userIds ユーザーID
+     * @return 該当行（ユーザーID順）
+     */
+    public List<EmployeeRow> findByUserIds(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return List.of();
+        }
+        return namedParameterJdbcTemplate.query(
+                SELECT_COLUMNS + "WHERE r.user_id = ANY(CAST(:userIds AS bigint[])) ORDER BY r.user_id",
+                new MapSqlParameterSource("userIds", userIds.toArray(Long[]::new)), ROW_MAPPER);
+    }
+
+    public Optional<EmployeeRow> findByUserId(Long userId) {
+        List<EmployeeRow> rows = namedParameterJdbcTemplate.query(SELECT_COLUMNS + "WHERE r.user_id = :userId",
+                new MapSqlParameterSource("userId", userId), ROW_MAPPER);
+        return rows.stream().findFirst();
+    }
+
+    public Optional<EmployeeRow> findByEmployeeId(String employeeId) {
+        List<EmployeeRow> rows = namedParameterJdbcTemplate.query(
+                SELECT_COLUMNS + "WHERE r.employee_id = :employeeId ORDER BY r.user_id LIMIT 1",
+                new MapSqlParameterSource("employeeId", employeeId), ROW_MAPPER);
+        return rows.stream().findFirst();
+    }
+
+    /**
+     * 条件検索（ページング）
+     * 総件数はウィンドウ関数で同じクエリから取得する
+     *
+     * @param userIds      対象ユーザーID（検索インデックスの一致結果。null の場合は絞り込まない）
+     * @param departmentId 部署ID（null の場合は絞り込まない）
+     * @param role         ロール（null の場合は絞り込まない）
+     * @param locationType 勤務地タイプ（null の場合は絞り込まない）
+     * @param isActive     有効フラグ（null の場合は絞り込まない）
+     * @param pageable     ページング・ソート（ソートは User エンティティのプロパティ名で指定）
+     * @return 検索結果
+     */
+    public Page<EmployeeRow> findPage(Collection<Long> userIds, Integer departmentId, String role, String locationType,
+            Boolean isActive, Pageable pageable) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("filterByIds", userIds != null, Types.BOOLEAN)
+                .addValue("userIds", userIds != null ? userIds.toArray(Long[]::new) : new Long[0])
+                .addValue("departmentId", departmentId, Types.INTEGER)
+                .addValue("role", role, Types.VARCHAR)
+                .addValue("locationType", locationType, Types.VARCHAR)
+                .addValue("isActive", isActive, Types.BOOLEAN);
+
+        String sql = SELECT_COLUMNS.replace("FROM employee_read_model r",
+                ", COUNT(*) OVER () AS total_count\nFROM employee_read_model r")
+                + FILTER_CONDITION + orderBy(pageable.getSort());
+        if (pageable.isPaged()) {
+            sql += " LIMIT :limit OFFSET :offset";
+            params.addValue("limit", pageable.getPageSize()).addValue("offset", pageable.getOffset());
+        }
+
+        long[] total = { -1 };
+        List<EmployeeRow> rows = namedParameterJdbcTemplate.query(sql, params, (rs, rowNum) -> {
+            total[0] = rs.getLong("total_count");
+            return mapRow(rs, rowNum);
+        });
+
+        if (total[0] < 0) {
+            // 範囲外のページでは行が返らないため、件数のみ別途取得する
+            Long count = namedParameterJdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM employee_read_model r " + FILTER_CONDITION, params, Long.class);
+            total[0] = count != null ? count : 0;
+        }
+        return new PageImpl<>(rows, pageable, total[0]);
+    }
+
+    public List<EmployeeRow> findByRole(String role) {
+        return namedParameterJdbcTemplate.query(SELECT_COLUMNS + "WHERE r.role = :role ORDER BY r.user_id",
+                new MapSqlParameterSource("role", role), ROW_MAPPER);
+    }
+
+    public List<EmployeeRow> findCreatedAfter(OffsetDateTime cutoff) {
+        return namedParameterJdbcTemplate.query(
+                SELECT_COLUMNS + "WHERE r.created_at > :cutoff ORDER BY r.created_at DESC",
+                new MapSqlParameterSource("cutoff", cutoff), ROW_MAPPER);
+    }
+
+    public List<EmployeeRow> findUpdatedAfter(OffsetDateTime cutoff) {
+        return namedParameterJdbcTemplate.query(
+                SELECT_COLUMNS + "WHERE r.updated_at > :cutoff ORDER BY r.updated_at DESC",
+                new MapSqlParameterSource("cutoff", cutoff), ROW_MAPPER);
+    }
+
+    public List<EmployeeRow> findCreatedInMonth(int month) {
+        return namedParameterJdbcTemplate.query(
+                SELECT_COLUMNS + "WHERE EXTRACT(MONTH FROM r.created_at) = :month ORDER BY r.user_id",
+                new MapSqlParameterSource("month", month), ROW_MAPPER);
+    }
+
+    private int upsert(String sql, MapSqlParameterSource params, Long[] removeIds) {
+        // 同一トランザクション内で JPA が保持している未反映の変更を先に書き出す
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            entityManager.flush();
+        }
+        int refreshed = namedParameterJdbcTemplate.update(sql, params.addValue("removeIds", removeIds));
+        eventPublisher.publishEvent(new ReadModelChangedEvent(refreshed));
+        return refreshed;
+    }
+
+    private static String orderBy(Sort sort) {
+        List<String> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            String column = SORT_COLUMNS.get(order.getProperty());
+            if (column == null) {
+                throw new IllegalArgumentException("ソートできない項目です: " + order.getProperty());
+            }
+            orders.add(column + (order.isAscending() ? " ASC" : " DESC"));
+        }
+        orders.add("r.user_id ASC");
+        return " ORDER BY " + String.join(", ", orders);
+    }
+
+    private static EmployeeRow mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return new EmployeeRow(
+                rs.getLong("user_id"),
+                rs.getString("username"),
+                rs.getString("email"),
+                rs.getString("employee_id"),
+                rs.getString("full_name"),
+                rs.getObject("department_id", Integer.class),
+                rs.getString("department_name"),
+                rs.getObject("position_id", Integer.class),
+                rs.getString("position_name"),
+                rs.getObject("position_level", Integer.class),
+                rs.getObject("manager_id", Integer.class),
+                rs.getString("manager_name"),
+                rs.getString("role"),
+                rs.getString("role_display_name"),
+                rs.getString("location_type"),
+                rs.getString("location_type_display_name"),
+                rs.getObject("is_active", Boolean.class),
+                rs.getObject("hire_date", LocalDate.class),
+                rs.getObject("created_at", OffsetDateTime.class),
+                rs.getObject("updated_at", OffsetDateTime.class));
+    }
+
+    /**
+     * 参照モデルの再生成イベント（リスナーはコミット後に処理する）
+     *
+     * @param refreshedRows 再生成した行数
+     */
+    public record ReadModelChangedEvent(int refreshedRows) {
+    }
+
+    /**
+     * 参照モデルの1行
+     */
+    public record EmployeeRow(
+            Long userId,
+            String username,
+            String email,
+            String employeeId,
+            String fullName,
+            Integer departmentId,
+            String departmentName,
+            Integer positionId,
+            String positionName,
+            Integer positionLevel,
+            Integer managerId,
+            String managerName,
+            String role,
+            String roleDisplayName,
+            String locationType,
+            String locationTypeDisplayName,
+            Boolean isActive,
+            LocalDate hireDate,
+            OffsetDateTime createdAt,
+            OffsetDateTime updatedAt) {
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.companybackend.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 休暇カレンダーリポジトリ
+ * 指定期間に休暇を取得するユーザーを、期間の GiST インデックス（idx_leave_requests_period）を使う1クエリで取得する
+ *
+ * 期間の条件は daterange(start_date, end_date, '[]') && daterange(:from, :to, '[]') の形で記述すること
+ * （インデックス定義と同じ式でないとインデックスが使われない）
+ */
+@Repository
+public class LeaveCalendarRepository {
+
+    private static final String FIND_ABSENCES_SQL = """
+            SELECT lr.id, lr.user_id, u.full_name, u.department_id, lr.type, lr.status,
+                   lr.start_date, lr.end_date
+            FROM leave_requests lr
+            JOIN users u ON u.id = lr.user_id
+            WHERE daterange(lr.start_date, lr.end_date, '[]') && daterange(:from, :to, '[]')
+              AND lr.status IN (:statuses)
+              AND u.is_active = true
+              AND (CAST(:departmentId AS integer) IS NULL OR u.department_id = :departmentId)
+              AND (CAST(:filterByUsers AS boolean) = false OR u.id = ANY(CAST(:userIds AS bigint[])))
+            ORDER BY lr.start_date, lr.user_id, lr.id
+            """;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    /**
+     * 指定期間と重なる休暇を取得
+     *
+     * @param from         期間の開始日
+     * @param to           期間の終了日（当日を含む）
+     * @param statuses     対象ステータス（"approved" / "pending"）
+     * @param departmentId 部署ID（null の場合は部署で絞り込まない）
+     * @param userIds      ユーザーID（null の場合はユーザーで絞り込まない。空の場合は該当なし）
+     * @return 休暇（開始日順）
+     */
+    public List<Absence> findAbsences(LocalDate from, LocalDate to, Collection<String> statuses,
+            Integer departmentId, Collection<Long> userIds) {
+        if (userIds != null && userIds.isEmpty()) {
+            return List.of();
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("from", from)
+                .addValue("to", to)
+                .addValue("statuses", statuses)
+                .addValue("departmentId", departmentId, Types.INTEGER)
+                .addValue("filterByUsers", userIds != null)
+                // 件数によらず1つの配列パラメータとして渡し、SQL文を共通にする
+                .addValue("userIds", userIds != null ? userIds.toArray(Long[]::new) : new Long[0]);
+
+        return namedParameterJdbcTemplate.query(FIND_ABSENCES_SQL, params, (rs, rowNum) -> new Absence(
+                rs.getLong("id"),
+                rs.getLong("user_id"),
+                rs.getString("full_name"),
+                rs.getObject("department_id", Integer.class),
+                rs.getString("type"),
+                rs.getString("status"),
+                rs.getObject("start_date", LocalDate.class),
+                rs.getObject("end_date", LocalDate.class)));
+    }
+
+    /**
+     * 休暇（申請1件分）
+     *
+     * @param leaveRequestId 休暇申請ID
+     * @param userId         ユーザーID
+     * @param fullName       氏名
+     * @param departmentId   部署ID
+     * @param type           休暇タイプ
+     * @param status         ステータス
+     * @param startDate      開始日
+     * @param endDate        終了日（当日を含む）
+     */
+    public record Absence(Long leaveRequestId, Long userId, String fullName, Integer departmentId, String type,
+            String status, LocalDate startDate, LocalDate endDate) {
+    }
+}
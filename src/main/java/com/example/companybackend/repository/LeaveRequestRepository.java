@@ -2,6 +2,7 @@ package com.example.companybackend.repository;
 
 import com.example.companybackend.entity.LeaveRequest;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -95,7 +96,10 @@ public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long
      * @param endDate 終了日
      * @return 指定期間内の休暇申請リスト
      */
-    @Query(nativeQuery = true, value = "SELECT lr.* FROM leave_requests lr WHERE lr.start_date <= :endDate AND lr.end_date >= :startDate")
+    @Query(nativeQuery = true, value = """
+        SELECT lr.* FROM leave_requests lr
+        WHERE daterange(lr.start_date, lr.end_date, '[]') && daterange(:startDate, :endDate, '[]')
+        """)
     List<LeaveRequest> findByDateRange(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
 
     /**
@@ -111,7 +115,11 @@ public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long
      * @param endDate 終了日
      * @return 承認済みの申請リスト
      */
-    @Query(nativeQuery = true, value = "SELECT lr.* FROM leave_requests lr WHERE lr.status = 'approved' AND lr.start_date <= :endDate AND lr.end_date >= :startDate")
+    @Query(nativeQuery = true, value = """
+        SELECT lr.* FROM leave_requests lr
+        WHERE lr.status = 'approved'
+        AND daterange(lr.start_date, lr.end_date, '[]') && daterange(:startDate, :endDate, '[]')
+        """)
     List<LeaveRequest> findApprovedRequestsInPeriod(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
 
     /**
@@ -157,6 +165,7 @@ public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long
 
     /**
      * 重複期間の申請チェック
+     * 登録・更新時の重複は排他制約 leave_requests_no_overlap で判定するため、重複相手の表示等の参照用
      * @param userId ユーザーID
      * @param startDate 開始日
      * @param endDate 終了日
@@ -166,8 +175,7 @@ public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long
     @Query(nativeQuery = true, value = """
         SELECT lr.* FROM leave_requests lr 
         WHERE lr.user_id = :userId 
-        AND lr.start_date <= :endDate 
-        AND lr.end_date >= :startDate
+        AND daterange(lr.start_date, lr.end_date, '[]') && daterange(:startDate, :endDate, '[]')
         AND lr.status IN ('pending', 'approved')
         AND (:excludeId IS NULL OR lr.id != :excludeId)
         """)
@@ -262,4 +270,19 @@ public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long
         )
         """)
     List<LeaveRequest> findRequestsWithOrphanedApproverId();
-}
\ No newline at end of file
+
+    /**
+     * 承認待ち申請の一括承認・却下（1文で更新）
+     * 承認待ち以外の申請は更新しない
+     * 
+     * @return 更新件数
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(nativeQuery = true, value = """
+        UPDATE leave_requests
+        SET status = :status, approver_id = :approverId, approved_at = :decidedAt, updated_at = :decidedAt
+        WHERE id = ANY(:ids) AND status = 'pending'
+        """)
+    int decidePendingByIds(@Param("ids") Long[] ids, @Param("status") String status,
+            @Param("approverId") Integer approverId, @Param("decidedAt") OffsetDateTime decidedAt);
+}
@@ -0,0 +1,179 @@
+package com.example.companybackend.repository;
+
+import com.example.companybackend.entity.Notification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * 通知一括登録リポジトリ
+ * 部署・ロール・全有効ユーザー宛ての通知を INSERT ... SELECT の1文で登録する
+ * 宛先ごとに内容の異なる通知（申請の一括承認結果等）は配列パラメータを unnest して1文で登録する
+ *
+ * 重複判定（同一ユーザー・同一タイトル・指定時刻以降）も同じ文の NOT EXISTS で行い、
+ * ユーザーごとの問い合わせ・INSERT を発行しない
+ */
+@Repository
+public class NotificationBulkRepository {
+
+    private static final String INSERT_FOR_TARGETS_SQL = """
+            WITH targets AS (
+                SELECT u.id::integer AS user_id
+                FROM users u
+                WHERE u.is_active = true
+                  AND (CAST(:departmentId AS integer) IS NULL OR u.department_id = :departmentId)
+                  AND (CAST(:role AS varchar) IS NULL OR u.role = :role)
+            ),
+            inserted AS (
+                INSERT INTO notifications (user_id, title, message, type, is_read, related_id, created_at)
+                SELECT t.user_id, :title, :message, :type, false, :relatedId, :createdAt
+                FROM targets t
+                WHERE NOT EXISTS (
+                    SELECT 1 FROM notifications n
+                    WHERE n.user_id = t.user_id
+                      AND n.title = :title
+                      AND n.created_at > :dedupAfter
+                )
+                RETURNING id, user_id
+            )
+            SELECT (SELECT COUNT(*) FROM targets) AS target_count,
+                   COALESCE(array_agg(i.id ORDER BY i.user_id), '{}') AS ids,
+                   COALESCE(array_agg(i.user_id ORDER BY i.user_id), '{}') AS user_ids
+            FROM inserted i
+            """;
+
+    /**
+     * 個別内容の通知の一括登録
+     * ID は nextval で先に採番し、入力順（ordinality）で返す（RETURNING の順序に依存しない）
+     */
+    private static final String INSERT_ALL_SQL = """
+            WITH numbered AS (
+                SELECT nextval('notifications_id_seq') AS id, t.ord, t.user_id, t.title, t.message, t.type,
+                       t.related_id
+                FROM unnest(?::integer[], ?::varchar[], ?::varchar[], ?::varchar[], ?::integer[])
+                     WITH ORDINALITY AS t(user_id, title, message, type, related_id, ord)
+            ),
+            inserted AS (
+                INSERT INTO notifications (id, user_id, title, message, type, is_read, related_id, created_at)
+                SELECT n.id, n.user_id, n.title, n.message, n.type, false, n.related_id, ?
+                FROM numbered n
+            )
+            SELECT id FROM numbered ORDER BY ord
+            """;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    /**
+     * 対象ユーザーへ通知を一括登録
+     *
+     * @param departmentId 対象部署ID（null の場合は部署で絞り込まない）
+     * @param role         対象ロール（null の場合はロールで絞り込まない）
+     * @param title        タイトル
+     * @param message      メッセージ
+     * @param type         通知タイプ
+     * @param relatedId    関連ID
+     * @param createdAt    作成日時
+     * @param dedupAfter   この日時以降に同一タイトルの通知があるユーザーは除外
+     * @return 対象件数と登録された通知のID・ユーザーID
+     */
+    public BulkInsertResult insertForTargets(Integer departmentId, String role, String title, String message,
+            String type, Integer relatedId, OffsetDateTime createdAt, OffsetDateTime dedupAfter) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("departmentId", departmentId, Types.INTEGER)
+                .addValue("role", role, Types.VARCHAR)
+                .addValue("title", title)
+                .addValue("message", message)
+                .addValue("type", type)
+                .addValue("relatedId", relatedId, Types.INTEGER)
+                .addValue("createdAt", createdAt)
+                .addValue("dedupAfter", dedupAfter);
+
+        return namedParameterJdbcTemplate.queryForObject(INSERT_FOR_TARGETS_SQL, params, (rs, rowNum) ->
+                new BulkInsertResult(rs.getInt("target_count"),
+                        toLongArray(rs.getArray("ids")),
+                        toIntArray(rs.getArray("user_ids"))));
+    }
+
+    /**
+     * 宛先・内容の異なる通知を1文で一括登録
+     *
+     * @param notifications 登録する通知（ユーザーID・タイトル・メッセージ・タイプ・関連ID）
+     * @param createdAt     作成日時
+     * @return 登録された通知ID（notifications と同順）
+     */
+    public long[] insertAll(List<Notification> notifications, OffsetDateTime createdAt) {
+        int size = notifications.size();
+        if (size == 0) {
+            return new long[0];
+        }
+        Integer[] userIds = new Integer[size];
+        String[] titles = new String[size];
+        String[] messages = new String[size];
+        String[] types = new String[size];
+        Integer[] relatedIds = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            Notification notification = notifications.get(i);
+            userIds[i] = notification.getUserId();
+            titles[i] = notification.getTitle();
+            messages[i] = notification.getMessage();
+            types[i] = notification.getType();
+            relatedIds[i] = notification.getRelatedId();
+        }
+
+        long[] ids = new long[size];
+        int[] index = { 0 };
+        namedParameterJdbcTemplate.getJdbcOperations().query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(INSERT_ALL_SQL);
+            ps.setArray(1, connection.createArrayOf("integer", userIds));
+            ps.setArray(2, connection.createArrayOf("varchar", titles));
+            ps.setArray(3, connection.createArrayOf("varchar", messages));
+            ps.setArray(4, connection.createArrayOf("varchar", types));
+            ps.setArray(5, connection.createArrayOf("integer", relatedIds));
+            ps.setObject(6, createdAt);
+            return ps;
+        }, (RowCallbackHandler) rs -> ids[index[0]++] = rs.getLong("id"));
+        return ids;
+    }
+
+    private static long[] toLongArray(Array array) throws SQLException {
+        Object[] values = (Object[]) array.getArray();
+        long[] result = new long[values.length];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = ((Number) values[i]).longValue();
+        }
+        return result;
+    }
+
+    private static int[] toIntArray(Array array) throws SQLException {
+        Object[] values = (Object[]) array.getArray();
+        int[] result = new int[values.length];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = ((Number) values[i]).intValue();
+        }
+        return result;
+    }
+
+    /**
+     * 一括登録結果
+     *
+     * @param targetCount 対象ユーザー数
+     * @param ids         登録された通知ID
+     * @param userIds     登録された通知のユーザーID（ids と同順）
+     */
+    public record BulkInsertResult(int targetCount, long[] ids, int[] userIds) {
+
+        public int insertedCount() {
+            return ids.length;
+        }
+    }
+}
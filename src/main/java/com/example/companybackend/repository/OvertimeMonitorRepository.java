@@ -0,0 +1,259 @@
+package com.example.companybackend.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * 残業月内累計リポジトリ
+ * overtime_reports をユーザー・月ごとに1行の月内累計として扱う
+ *
+ * 累計は日次サマリーが登録・更新されたユーザー・月だけを対象に、その月の日次サマリー（最大31行）から
+ * 集計し直して UPSERT する。全ユーザー・全期間のサマリーを走査することはない。
+ * 適用する上限（overtime_thresholds）は同じ文の中でユーザーの部署・職位から解決する。
+ */
+@Repository
+public class OvertimeMonitorRepository {
+
+    /**
+     * 対象ユーザー・月の日次サマリーを集計して累計を登録・更新し、上限と通知先を合わせて返す
+     * 上限は 部署かつ職位 > 部署 > 職位 > 全社共通 の順に最も具体的な1件を適用する
+     */
+    private static final String REFRESH_TOTALS_SQL = """
+            WITH targets AS (
+                SELECT DISTINCT t.user_id, t.target_month
+                FROM unnest(?::integer[], ?::date[]) AS t(user_id, target_month)
+            ),
+            totals AS (
+                SELECT t.user_id, t.target_month,
+                       COALESCE(SUM(s.overtime_hours), 0) AS total_overtime,
+                       COALESCE(SUM(s.late_night_hours), 0) AS total_late_night,
+                       COALESCE(SUM(s.holiday_hours), 0) AS total_holiday,
+                       COUNT(s.target_date) AS working_days,
+                       MAX(s.target_date) AS last_summary_date
+                FROM targets t
+                LEFT JOIN attendance_summaries s
+                  ON s.user_id = t.user_id
+                 AND s.summary_type = 'daily'
+                 AND s.target_date >= t.target_month
+                 AND s.target_date < CAST(t.target_month + INTERVAL '1 month' AS date)
+                GROUP BY t.user_id, t.target_month
+            ),
+            upserted AS (
+                INSERT INTO overtime_reports (user_id, target_month, total_overtime, total_late_night, total_holiday,
+                                              working_days, last_summary_date, status, created_at, updated_at)
+                SELECT user_id, target_month, total_overtime, total_late_night, total_holiday,
+                       working_days, last_summary_date, 'draft', ?, ?
+                FROM totals
+                ON CONFLICT (user_id, target_month) DO UPDATE
+                SET total_overtime = EXCLUDED.total_overtime,
+                    total_late_night = EXCLUDED.total_late_night,
+                    total_holiday = EXCLUDED.total_holiday,
+                    working_days = EXCLUDED.working_days,
+                    last_summary_date = EXCLUDED.last_summary_date,
+                    updated_at = EXCLUDED.updated_at
+                RETURNING id, user_id, target_month, total_overtime, total_late_night, total_holiday,
+                          working_days, last_summary_date, projected_overtime, status, alert_level
+            )
+            SELECT up.*, u.full_name, u.manager_id,
+                   th.overtime_limit, th.late_night_limit, th.holiday_limit
+            FROM upserted up
+            JOIN users u ON u.id = up.user_id
+            LEFT JOIN LATERAL (
+                SELECT ot.overtime_limit, ot.late_night_limit, ot.holiday_limit
+                FROM overtime_thresholds ot
+                WHERE (ot.department_id IS NULL OR ot.department_id = u.department_id)
+                  AND (ot.position_id IS NULL OR ot.position_id = u.position_id)
+                ORDER BY (ot.department_id IS NOT NULL) DESC, (ot.position_id IS NOT NULL) DESC
+                LIMIT 1
+            ) th ON true
+            ORDER BY up.user_id, up.target_month
+            """;
+
+    /**
+     * 通知済みの警告レベルは下げない（同じ月に同じレベルの通知を繰り返さない）
+     */
+    private static final String UPDATE_ASSESSMENT_SQL = """
+            UPDATE overtime_reports
+            SET projected_overtime = ?,
+                status = ?,
+                alert_level = ?,
+                alerted_at = COALESCE(?, alerted_at)
+            WHERE user_id = ? AND target_month = ?
+            """;
+
+    /**
+     * 指定月に日次サマリーがあるユーザーと、既に累計行があるユーザー
+     */
+    private static final String FIND_MONTH_USER_IDS_SQL = """
+            SELECT user_id
+            FROM attendance_summaries
+            WHERE summary_type = 'daily'
+              AND target_date >= :monthStart
+              AND target_date < :nextMonthStart
+            UNION
+            SELECT user_id
+            FROM overtime_reports
+            WHERE target_month = :monthStart
+            ORDER BY user_id
+            """;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    /**
+     * 月内累計を1文で集計・登録・更新
+     *
+     * @param keys      対象のユーザー・月（月は月初日）
+     * @param updatedAt 更新日時
+     * @return 更新後の月内累計（ユーザーID・月順）
+     */
+    public List<MonthlyTotal> refreshTotals(List<UserMonth> keys, OffsetDateTime updatedAt) {
+        int size = keys.size();
+        if (size == 0) {
+            return List.of();
+        }
+        Integer[] userIds = new Integer[size];
+        Date[] targetMonths = new Date[size];
+        for (int i = 0; i < size; i++) {
+            userIds[i] = keys.get(i).userId();
+            targetMonths[i] = Date.valueOf(keys.get(i).targetMonth());
+        }
+
+        return namedParameterJdbcTemplate.getJdbcOperations().query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(REFRESH_TOTALS_SQL);
+            ps.setArray(1, connection.createArrayOf("integer", userIds));
+            ps.setArray(2, connection.createArrayOf("date", targetMonths));
+            ps.setObject(3, updatedAt);
+            ps.setObject(4, updatedAt);
+            return ps;
+        }, (rs, rowNum) -> new MonthlyTotal(
+                rs.getLong("id"),
+                rs.getInt("user_id"),
+                rs.getObject("target_month", LocalDate.class),
+                rs.getBigDecimal("total_overtime"),
+                rs.getBigDecimal("total_late_night"),
+                rs.getBigDecimal("total_holiday"),
+                rs.getInt("working_days"),
+                rs.getObject("last_summary_date", LocalDate.class),
+                rs.getBigDecimal("projected_overtime"),
+                rs.getString("status"),
+                rs.getString("alert_level"),
+                rs.getString("full_name"),
+                rs.getObject("manager_id", Integer.class),
+                rs.getBigDecimal("overtime_limit") == null ? null : new Threshold(
+                        rs.getBigDecimal("overtime_limit"),
+                        rs.getBigDecimal("late_night_limit"),
+                        rs.getBigDecimal("holiday_limit"))));
+    }
+
+    /**
+     * 見込み・ステータス・警告レベルを一括更新
+     *
+     * @param assessments 判定結果
+     * @return 判定結果ごとの更新行数
+     */
+    public int[] updateAssessments(List<Assessment> assessments) {
+        if (assessments.isEmpty()) {
+            return new int[0];
+        }
+        return namedParameterJdbcTemplate.getJdbcOperations().batchUpdate(UPDATE_ASSESSMENT_SQL,
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Assessment assessment = assessments.get(i);
+                        ps.setBigDecimal(1, assessment.projectedOvertime());
+                        ps.setString(2, assessment.status());
+                        ps.setString(3, assessment.alertLevel());
+                        ps.setObject(4, assessment.alertedAt());
+                        ps.setInt(5, assessment.userId());
+                        ps.setObject(6, assessment.targetMonth());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return assessments.size();
+                    }
+                });
+    }
+
+    /**
+     * 指定月の累計の対象ユーザー
+     *
+     * @param monthStart 月初日
+     * @return 月内に日次サマリーがあるか、累計行があるユーザーのID（昇順）
+     */
+    public List<Integer> findMonthUserIds(LocalDate monthStart) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("monthStart", monthStart)
+                .addValue("nextMonthStart", monthStart.plusMonths(1));
+        return namedParameterJdbcTemplate.queryForList(FIND_MONTH_USER_IDS_SQL, params, Integer.class);
+    }
+
+    /**
+     * 累計の対象（ユーザー1人・1か月）
+     *
+     * @param userId      ユーザーID
+     * @param targetMonth 対象月（月初日）
+     */
+    public record UserMonth(Integer userId, LocalDate targetMonth) {
+    }
+
+    /**
+     * 月間の上限時間
+     *
+     * @param overtimeLimit  残業時間の上限
+     * @param lateNightLimit 深夜労働時間の上限
+     * @param holidayLimit   休日労働時間の上限
+     */
+    public record Threshold(BigDecimal overtimeLimit, BigDecimal lateNightLimit, BigDecimal holidayLimit) {
+    }
+
+    /**
+     * 月内累計（ユーザー1人・1か月分）
+     *
+     * @param id                累計行のID
+     * @param userId            ユーザーID
+     * @param targetMonth       対象月（月初日）
+     * @param totalOvertime     残業時間の累計
+     * @param totalLateNight    深夜労働時間の累計
+     * @param totalHoliday      休日労働時間の累計
+     * @param workingDays       日次サマリーがある日数
+     * @param lastSummaryDate   最も新しい日次サマリーの対象日（サマリーがない場合は null）
+     * @param projectedOvertime 更新前の月末見込み
+     * @param status            更新前のステータス
+     * @param alertLevel        通知済みの警告レベル
+     * @param fullName          ユーザー氏名
+     * @param managerId         上長のユーザーID（未設定の場合は null）
+     * @param threshold         適用する上限（設定がない場合は null）
+     */
+    public record MonthlyTotal(Long id, Integer userId, LocalDate targetMonth, BigDecimal totalOvertime,
+            BigDecimal totalLateNight, BigDecimal totalHoliday, int workingDays, LocalDate lastSummaryDate,
+            BigDecimal projectedOvertime, String status, String alertLevel, String fullName, Integer managerId,
+            Threshold threshold) {
+    }
+
+    /**
+     * 月内累計の判定結果
+     *
+     * @param userId            ユーザーID
+     * @param targetMonth       対象月（月初日）
+     * @param projectedOvertime 月末見込みの残業時間
+     * @param status            ステータス（draft/confirmed/approved）
+     * @param alertLevel        警告レベル（none/warning/exceeded）
+     * @param alertedAt         今回通知した場合は通知日時、それ以外は null
+     */
+    public record Assessment(Integer userId, LocalDate targetMonth, BigDecimal projectedOvertime, String status,
+            String alertLevel, OffsetDateTime alertedAt) {
+    }
+}
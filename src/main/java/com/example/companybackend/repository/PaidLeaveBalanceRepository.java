@@ -0,0 +1,364 @@
+package com.example.companybackend.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 有給休暇残高台帳リポジトリ
+ * 付与計算の入力（入社日・年度内の取得日数）は全有効ユーザー分を1クエリで取得し、
+ * 残高は配列パラメータを unnest した INSERT ... ON CONFLICT の1文で一括更新する
+ *
+ * 休暇申請の登録・承認・却下・削除時は、取得日数・承認待ち日数を差分で更新する（applyDeltas）。
+ * 台帳に行がない場合は申請から集計した行を登録する（initializeFromRequests）。
+ * 付与計算は取得日数を集計する前に年度の行をロックし（lockBalances）、差分更新と直列化する。
+ */
+@Repository
+public class PaidLeaveBalanceRepository {
+
+    /**
+     * 取得日数・承認待ち日数は有給申請を年度の期間で切り詰めて合算する（年度をまたぐ申請は年度内の日数のみ）
+     * 期間条件は idx_leave_requests_period と同じ daterange 式で記述する
+     */
+    private static final String FIND_ACCRUAL_SOURCES_SQL = """
+            SELECT u.id AS user_id,
+                   COALESCE(u.hire_date, CAST(u.created_at AS date)) AS hire_date,
+                   COALESCE(used.used_days, 0) AS used_days,
+                   COALESCE(used.pending_days, 0) AS pending_days
+            FROM users u
+            LEFT JOIN (
+                SELECT lr.user_id,
+                       SUM(LEAST(lr.end_date, :periodEnd) - GREATEST(lr.start_date, :periodStart) + 1)
+                           FILTER (WHERE lr.status = 'approved') AS used_days,
+                       SUM(LEAST(lr.end_date, :periodEnd) - GREATEST(lr.start_date, :periodStart) + 1)
+                           FILTER (WHERE lr.status = 'pending') AS pending_days
+                FROM leave_requests lr
+                WHERE lr.type = 'paid'
+                  AND lr.status IN ('approved', 'pending')
+                  AND daterange(lr.start_date, lr.end_date, '[]') && daterange(:periodStart, :periodEnd, '[]')
+                GROUP BY lr.user_id
+            ) used ON used.user_id = u.id
+            WHERE u.is_active = true
+              AND COALESCE(u.hire_date, CAST(u.created_at AS date)) IS NOT NULL
+            ORDER BY u.id
+            """;
+
+    /**
+     * 差分更新（APPLY_DELTA_SQL）と同じ行ロックを取得する。
+     * デッドロックを避けるため、差分更新と同じくユーザーID順にロックする
+     */
+    private static final String LOCK_BALANCES_SQL = """
+            SELECT user_id
+            FROM paid_leave_balances
+            WHERE fiscal_year = ?
+            ORDER BY user_id
+            FOR UPDATE
+            """;
+
+    /**
+     * 内容に変更がない行は更新しない（再実行時に不要な行バージョンを作らない）
+     * 既存行はロック済みの行のみ更新する。ロック後に申請側が登録した行（INITIALIZE_FROM_REQUESTS_SQL）は
+     * その時点の申請から集計済みのため上書きしない
+     */
+    private static final String UPSERT_ALL_SQL = """
+            INSERT INTO paid_leave_balances (user_id, fiscal_year, hire_date, years_of_service, granted_days,
+                                             used_days, pending_days, remaining_days, calculated_at)
+            SELECT t.user_id, ?, t.hire_date, t.years_of_service, t.granted_days, t.used_days, t.pending_days,
+                   t.remaining_days, ?
+            FROM unnest(?::integer[], ?::date[], ?::integer[], ?::integer[], ?::integer[], ?::integer[], ?::integer[])
+                 AS t(user_id, hire_date, years_of_service, granted_days, used_days, pending_days, remaining_days)
+            ON CONFLICT (user_id, fiscal_year) DO UPDATE
+            SET hire_date = EXCLUDED.hire_date,
+                years_of_service = EXCLUDED.years_of_service,
+                granted_days = EXCLUDED.granted_days,
+                used_days = EXCLUDED.used_days,
+                pending_days = EXCLUDED.pending_days,
+                remaining_days = EXCLUDED.remaining_days,
+                calculated_at = EXCLUDED.calculated_at
+            WHERE paid_leave_balances.user_id = ANY(?::integer[])
+              AND (paid_leave_balances.hire_date, paid_leave_balances.years_of_service,
+                   paid_leave_balances.granted_days, paid_leave_balances.used_days, paid_leave_balances.pending_days)
+                  IS DISTINCT FROM
+                  (EXCLUDED.hire_date, EXCLUDED.years_of_service, EXCLUDED.granted_days, EXCLUDED.used_days,
+                   EXCLUDED.pending_days)
+            """;
+
+    private static final String FIND_BALANCE_SQL = """
+            SELECT user_id, hire_date, years_of_service, granted_days, used_days, pending_days, remaining_days
+            FROM paid_leave_balances
+            WHERE user_id = ? AND fiscal_year = ?
+            """;
+
+    /**
+     * 残日数チェック用。ロックは呼び出し側のトランザクション終了まで保持し、
+     * 同じユーザー・年度への同時申請を差分更新（APPLY_DELTA_SQL）の反映後の残高で判定させる
+     */
+    private static final String FIND_BALANCE_FOR_UPDATE_SQL = FIND_BALANCE_SQL + "FOR UPDATE\n";
+
+    private static final String APPLY_DELTA_SQL = """
+            UPDATE paid_leave_balances
+            SET used_days = used_days + ?,
+                pending_days = pending_days + ?,
+                remaining_days = granted_days - (used_days + ?)
+            WHERE user_id = ? AND fiscal_year = ?
+            """;
+
+    /**
+     * 同時に他のトランザクションが同じ行を登録した場合は何もしない（呼び出し側で差分更新をやり直す）
+     */
+    private static final String INITIALIZE_FROM_REQUESTS_SQL = """
+            INSERT INTO paid_leave_balances (user_id, fiscal_year, hire_date, years_of_service, granted_days,
+                                             used_days, pending_days, remaining_days, calculated_at)
+            SELECT :userId, :fiscalYear, :hireDate, :yearsOfService, :grantedDays,
+                   s.used_days, s.pending_days, :grantedDays - s.used_days, :calculatedAt
+            FROM (
+                SELECT COALESCE(SUM(LEAST(lr.end_date, :periodEnd) - GREATEST(lr.start_date, :periodStart) + 1)
+                                FILTER (WHERE lr.status = 'approved'), 0) AS used_days,
+                       COALESCE(SUM(LEAST(lr.end_date, :periodEnd) - GREATEST(lr.start_date, :periodStart) + 1)
+                                FILTER (WHERE lr.status = 'pending'), 0) AS pending_days
+                FROM leave_requests lr
+                WHERE lr.user_id = :userId
+                  AND lr.type = 'paid'
+                  AND lr.status IN ('approved', 'pending')
+                  AND daterange(lr.start_date, lr.end_date, '[]') && daterange(:periodStart, :periodEnd, '[]')
+            ) s
+            ON CONFLICT (user_id, fiscal_year) DO NOTHING
+            """;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    /**
+     * 付与計算の入力を取得
+     *
+     * @param periodStart 年度の開始日
+     * @param periodEnd   年度の終了日（当日を含む）
+     * @return 有効ユーザーごとの入社日と年度内の取得日数・承認待ち日数（ユーザーID順）
+     */
+    public List<AccrualSource> findAccrualSources(LocalDate periodStart, LocalDate periodEnd) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("periodStart", periodStart)
+                .addValue("periodEnd", periodEnd);
+
+        return namedParameterJdbcTemplate.query(FIND_ACCRUAL_SOURCES_SQL, params, (rs, rowNum) -> new AccrualSource(
+                rs.getInt("user_id"),
+                rs.getObject("hire_date", LocalDate.class),
+                rs.getInt("used_days"),
+                rs.getInt("pending_days")));
+    }
+
+    /**
+     * 年度の残高行をロック（呼び出し元トランザクションの終了まで差分更新を待機させる）
+     * READ COMMITTED では、ロック後に実行したクエリはロック待ちの間にコミットされた申請の変更を参照する
+     *
+     * @param fiscalYear 年度
+     * @return ロックした行のユーザーID
+     */
+    public Set<Integer> lockBalances(int fiscalYear) {
+        return new HashSet<>(namedParameterJdbcTemplate.getJdbcOperations().queryForList(LOCK_BALANCES_SQL,
+                Integer.class, fiscalYear));
+    }
+
+    /**
+     * 残高を1文で一括登録・更新
+     *
+     * @param fiscalYear    年度
+     * @param balances      残高
+     * @param lockedUserIds lockBalances でロックしたユーザーID（これ以外の既存行は更新しない）
+     * @param calculatedAt  計算日時
+     * @return 登録・更新された行数（内容に変更がない行・更新しなかった行は含まない）
+     */
+    public int upsertAll(int fiscalYear, List<PaidLeaveBalance> balances, Set<Integer> lockedUserIds,
+            OffsetDateTime calculatedAt) {
+        int size = balances.size();
+        if (size == 0) {
+            return 0;
+        }
+        Integer[] userIds = new Integer[size];
+        Date[] hireDates = new Date[size];
+        Integer[] yearsOfService = new Integer[size];
+        Integer[] grantedDays = new Integer[size];
+        Integer[] usedDays = new Integer[size];
+        Integer[] pendingDays = new Integer[size];
+        Integer[] remainingDays = new Integer[size];
+        List<Integer> updatableUserIds = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            PaidLeaveBalance balance = balances.get(i);
+            userIds[i] = balance.userId();
+            hireDates[i] = Date.valueOf(balance.hireDate());
+            yearsOfService[i] = balance.yearsOfService();
+            grantedDays[i] = balance.grantedDays();
+            usedDays[i] = balance.usedDays();
+            pendingDays[i] = balance.pendingDays();
+            remainingDays[i] = balance.remainingDays();
+            if (lockedUserIds.contains(balance.userId())) {
+                updatableUserIds.add(balance.userId());
+            }
+        }
+
+        return namedParameterJdbcTemplate.getJdbcOperations().update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(UPSERT_ALL_SQL);
+            ps.setInt(1, fiscalYear);
+            ps.setObject(2, calculatedAt);
+            ps.setArray(3, connection.createArrayOf("integer", userIds));
+            ps.setArray(4, connection.createArrayOf("date", hireDates));
+            ps.setArray(5, connection.createArrayOf("integer", yearsOfService));
+            ps.setArray(6, connection.createArrayOf("integer", grantedDays));
+            ps.setArray(7, connection.createArrayOf("integer", usedDays));
+            ps.setArray(8, connection.createArrayOf("integer", pendingDays));
+            ps.setArray(9, connection.createArrayOf("integer", remainingDays));
+            ps.setArray(10, connection.createArrayOf("integer", updatableUserIds.toArray()));
+            return ps;
+        });
+    }
+
+    /**
+     * 残高取得（主キー検索）
+     *
+     * @param userId     ユーザーID
+     * @param fiscalYear 年度
+     * @return 残高（台帳に行がない場合は空）
+     */
+    public Optional<PaidLeaveBalance> findBalance(Integer userId, int fiscalYear) {
+        return findBalance(FIND_BALANCE_SQL, userId, fiscalYear);
+    }
+
+    /**
+     * 残高を行ロック付きで取得（主キー検索）
+     *
+     * @param userId     ユーザーID
+     * @param fiscalYear 年度
+     * @return 残高（台帳に行がない場合は空）
+     */
+    public Optional<PaidLeaveBalance> findBalanceForUpdate(Integer userId, int fiscalYear) {
+        return findBalance(FIND_BALANCE_FOR_UPDATE_SQL, userId, fiscalYear);
+    }
+
+    private Optional<PaidLeaveBalance> findBalance(String sql, Integer userId, int fiscalYear) {
+        List<PaidLeaveBalance> balances = namedParameterJdbcTemplate.getJdbcOperations().query(sql,
+                (rs, rowNum) -> new PaidLeaveBalance(
+                        rs.getInt("user_id"),
+                        rs.getObject("hire_date", LocalDate.class),
+                        rs.getInt("years_of_service"),
+                        rs.getInt("granted_days"),
+                        rs.getInt("used_days"),
+                        rs.getInt("pending_days"),
+                        rs.getInt("remaining_days")),
+                userId, fiscalYear);
+        return balances.stream().findFirst();
+    }
+
+    /**
+     * 取得日数・承認待ち日数の差分を一括反映
+     *
+     * @param deltas 差分（ユーザー・年度ごと）
+     * @return 差分ごとの更新行数（台帳に行がない場合は 0）
+     */
+    public int[] applyDeltas(List<BalanceDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return new int[0];
+        }
+        return namedParameterJdbcTemplate.getJdbcOperations().batchUpdate(APPLY_DELTA_SQL,
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        BalanceDelta delta = deltas.get(i);
+                        ps.setInt(1, delta.usedDays());
+                        ps.setInt(2, delta.pendingDays());
+                        ps.setInt(3, delta.usedDays());
+                        ps.setInt(4, delta.userId());
+                        ps.setInt(5, delta.fiscalYear());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return deltas.size();
+                    }
+                });
+    }
+
+    /**
+     * 台帳に行がないユーザー・年度の残高を申請から集計して登録
+     * 集計には呼び出し元トランザクションで反映済み（flush 済み）の申請が含まれる
+     *
+     * @param userId         ユーザーID
+     * @param fiscalYear     年度
+     * @param periodStart    年度の開始日
+     * @param periodEnd      年度の終了日
+     * @param hireDate       入社日
+     * @param yearsOfService 勤続年数
+     * @param grantedDays    付与日数
+     * @param calculatedAt   計算日時
+     * @return 登録行数（既に行がある場合は 0）
+     */
+    public int initializeFromRequests(Integer userId, int fiscalYear, LocalDate periodStart, LocalDate periodEnd,
+            LocalDate hireDate, int yearsOfService, int grantedDays, OffsetDateTime calculatedAt) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("fiscalYear", fiscalYear)
+                .addValue("periodStart", periodStart)
+                .addValue("periodEnd", periodEnd)
+                .addValue("hireDate", hireDate)
+                .addValue("yearsOfService", yearsOfService)
+                .addValue("grantedDays", grantedDays)
+                .addValue("calculatedAt", calculatedAt);
+        return namedParameterJdbcTemplate.update(INITIALIZE_FROM_REQUESTS_SQL, params);
+    }
+
+    /**
+     * 付与計算の入力（ユーザー1人分）
+     *
+     * @param userId   ユーザーID
+     * @param hireDate 入社日（未設定の場合はユーザー作成日）
+     * @param usedDays 年度内に承認済みの有給休暇日数
+     * @param pendingDays 年度内に承認待ちの有給休暇日数
+     */
+    public record AccrualSource(Integer userId, LocalDate hireDate, int usedDays, int pendingDays) {
+    }
+
+    /**
+     * 有給休暇残高（ユーザー1人・1年度分）
+     *
+     * @param userId         ユーザーID
+     * @param hireDate       計算に使用した入社日
+     * @param yearsOfService 勤続年数（基準日時点）
+     * @param grantedDays    付与日数
+     * @param usedDays       取得日数
+     * @param pendingDays    承認待ち日数
+     * @param remainingDays  残日数（付与日数 - 取得日数）
+     */
+    public record PaidLeaveBalance(Integer userId, LocalDate hireDate, int yearsOfService, int grantedDays,
+            int usedDays, int pendingDays, int remainingDays) {
+
+        /**
+         * 新たに申請できる日数（残日数 - 承認待ち日数）
+         */
+        public int availableDays() {
+            return remainingDays - pendingDays;
+        }
+    }
+
+    /**
+     * 取得日数・承認待ち日数の差分（ユーザー1人・1年度分）
+     *
+     * @param userId      ユーザーID
+     * @param fiscalYear  年度
+     * @param usedDays    取得日数の増減
+     * @param pendingDays 承認待ち日数の増減
+     */
+    public record BalanceDelta(Integer userId, int fiscalYear, int usedDays, int pendingDays) {
+    }
+}
@@ -23,6 +23,7 @@ import java.util.List;
  * - user_agent (TEXT)
  * - details (JSONB)
  * - created_at (TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP)
+ * - search_vector (TSVECTOR 生成列、キーワード検索用。V1_7 マイグレーションで追加、エンティティには非マッピング)
  */
 @Repository
 public interface SystemLogRepository extends JpaRepository<SystemLog, Integer> {
@@ -260,10 +261,24 @@ public interface SystemLogRepository extends JpaRepository<SystemLog, Integer> {
          * @param offset オフセット
          * @param limit  取得件数
          * @return ログリスト
+         * @deprecated OFFSET は読み飛ばし行数に比例して遅くなるため
+         *             {@link #findForBatchProcessingAfterId(Long, int)} を使用すること
          */
+        @Deprecated
         @Query(nativeQuery = true, value = "SELECT sl.* FROM system_logs sl ORDER BY sl.id ASC LIMIT :limit OFFSET :offset")
         List<SystemLog> findForBatchProcessing(@Param("offset") int offset, @Param("limit") int limit);
 
+        /**
+         * バッチ処理用：大量データログ取得（キーセット方式）
+         * 前回取得した最終IDより大きいログを取得するため、深いページでも取得コストが一定
+         * 
+         * @param lastId 前回取得分の最終ID（初回は0）
+         * @param limit  取得件数
+         * @return ログリスト（ID昇順）
+         */
+        @Query(nativeQuery = true, value = "SELECT sl.* FROM system_logs sl WHERE sl.id > :lastId ORDER BY sl.id ASC LIMIT :limit")
+        List<SystemLog> findForBatchProcessingAfterId(@Param("lastId") Long lastId, @Param("limit") int limit);
+
         /**
          * データ整合性チェック：孤立ユーザー参照検索
          * 
@@ -280,12 +295,20 @@ public interface SystemLogRepository extends JpaRepository<SystemLog, Integer> {
 
         /**
          * JSON詳細情報による検索
+         * search_vector（GIN）で検索値を含む行に絞り込んでから JSON パスの値を比較する。
+         * details が JSON オブジェクトでない行は try_cast_jsonb（V1_18）で除外する
          * 
          * @param jsonPath JSONBパス
          * @param value    検索値
          * @return 該当ログリスト
          */
-        @Query(nativeQuery = true, value = "SELECT sl.* FROM system_logs sl WHERE jsonb_extract_path_text(sl.details, :jsonPath) = :value")
+        @Query(nativeQuery = true, value = """
+                        SELECT sl.* FROM system_logs sl
+                        WHERE sl.search_vector @@ plainto_tsquery('simple', :value)
+                        AND sl.details ~ '^[[:space:]]*[{]'
+                        AND jsonb_typeof(try_cast_jsonb(sl.details)) = 'object'
+                        AND jsonb_extract_path_text(try_cast_jsonb(sl.details), :jsonPath) = :value
+                        """)
         List<SystemLog> findByJsonDetails(@Param("jsonPath") String jsonPath, @Param("value") String value);
 
         // 追加メソッド
@@ -314,6 +337,81 @@ public interface SystemLogRepository extends JpaRepository<SystemLog, Integer> {
                         @Param("endDate") OffsetDateTime endDate,
                         Pageable pageable);
 
+        /**
+         * フィルター条件でログを検索（キーセットページング・先頭ページ）
+         * (created_at, id) の降順で取得し、COUNT(*) は実行しない
+         * 
+         * @param action    アクション
+         * @param status    ステータス
+         * @param startDate 開始日時
+         * @param endDate   終了日時
+         * @param limit     取得件数
+         * @return ログリスト
+         */
+        @Query(nativeQuery = true, value = """
+                        SELECT sl.* FROM system_logs sl
+                        WHERE (:action IS NULL OR sl.action = CAST(:action AS TEXT))
+                        AND (:status IS NULL OR sl.status = CAST(:status AS TEXT))
+                        AND (:startDate IS NULL OR sl.created_at >= CAST(:startDate AS TIMESTAMP WITH TIME ZONE))
+                        AND (:endDate IS NULL OR sl.created_at <= CAST(:endDate AS TIMESTAMP WITH TIME ZONE))
+                        ORDER BY sl.created_at DESC, sl.id DESC
+                        LIMIT :limit
+                        """)
+        List<SystemLog> findFirstPageByFilters(@Param("action") String action,
+                        @Param("status") String status,
+                        @Param("startDate") OffsetDateTime startDate,
+                        @Param("endDate") OffsetDateTime endDate,
+                        @Param("limit") int limit);
+
+        /**
+         * フィルター条件でログを検索（キーセットページング・カーソル以降）
+         * 行値比較 (created_at, id) &lt; (カーソル) により idx_system_logs_created_at_id を範囲走査する
+         * 
+         * @param action          アクション
+         * @param status          ステータス
+         * @param startDate       開始日時
+         * @param endDate         終了日時
+         * @param cursorCreatedAt 前ページ最終行の作成日時
+         * @param cursorId        前ページ最終行のID
+         * @param limit           取得件数
+         * @return ログリスト
+         */
+        @Query(nativeQuery = true, value = """
+                        SELECT sl.* FROM system_logs sl
+                        WHERE (:action IS NULL OR sl.action = CAST(:action AS TEXT))
+                        AND (:status IS NULL OR sl.status = CAST(:status AS TEXT))
+                        AND (:startDate IS NULL OR sl.created_at >= CAST(:startDate AS TIMESTAMP WITH TIME ZONE))
+                        AND (:endDate IS NULL OR sl.created_at <= CAST(:endDate AS TIMESTAMP WITH TIME ZONE))
+                        AND (sl.created_at, sl.id) < (CAST(:cursorCreatedAt AS TIMESTAMP WITH TIME ZONE), :cursorId)
+                        ORDER BY sl.created_at DESC, sl.id DESC
+                        LIMIT :limit
+                        """)
+        List<SystemLog> findPageByFiltersAfter(@Param("action") String action,
+                        @Param("status") String status,
+                        @Param("startDate") OffsetDateTime startDate,
+                        @Param("endDate") OffsetDateTime endDate,
+                        @Param("cursorCreatedAt") OffsetDateTime cursorCreatedAt,
+                        @Param("cursorId") Long cursorId,
+                        @Param("limit") int limit);
+
+        /**
+         * 概算ログ件数取得
+         * 統計情報（pg_class.reltuples）から算出するため COUNT(*) を実行しない
+         * パーティション化済みの場合は子パーティションの合計値を返す
+         * 
+         * @return 概算件数
+         */
+        @Query(nativeQuery = true, value = """
+                        SELECT CAST(COALESCE(SUM(GREATEST(c.reltuples, 0)), 0) AS BIGINT)
+                        FROM pg_class c
+                        WHERE c.oid = CAST('system_logs' AS REGCLASS)
+                        OR c.oid IN (
+                            SELECT i.inhrelid FROM pg_inherits i
+                            WHERE i.inhparent = CAST('system_logs' AS REGCLASS)
+                        )
+                        """)
+        long estimateRowCount();
+
         /**
          * エクスポート用にログを検索
          * 
@@ -399,6 +497,8 @@ public interface SystemLogRepository extends JpaRepository<SystemLog, Integer> {
 
         /**
          * キーワードでログを検索（ページング対応）
+         * 単語一致は search_vector（GIN）、IPアドレス・User Agent の部分一致はトライグラム（GIN）で検索する
+         * ユーザーIDの部分一致は従来どおり行う（インデックスは使用しない）
          * 
          * @param keyword  キーワード
          * @param pageable ページング情報
@@ -406,8 +506,7 @@ public interface SystemLogRepository extends JpaRepository<SystemLog, Integer> {
          */
         @Query(nativeQuery = true, value = """
                         SELECT sl.* FROM system_logs sl
-                        WHERE sl.action ILIKE '%' || :keyword || '%'
-                        OR sl.status ILIKE '%' || :keyword || '%'
+                        WHERE sl.search_vector @@ websearch_to_tsquery('simple', :keyword)
                         OR sl.ip_address ILIKE '%' || :keyword || '%'
                         OR sl.user_agent ILIKE '%' || :keyword || '%'
                         OR CAST(sl.user_id AS TEXT) ILIKE '%' || :keyword || '%'
@@ -415,6 +514,70 @@ public interface SystemLogRepository extends JpaRepository<SystemLog, Integer> {
                         """)
         Page<SystemLog> searchByKeyword(@Param("keyword") String keyword, Pageable pageable);
 
+        /**
+         * キーワードでログを検索（キーセットページング・先頭ページ）
+         * 
+         * @param keyword キーワード
+         * @param limit   取得件数
+         * @return ログリスト
+         */
+        @Query(nativeQuery = true, value = """
+                        SELECT sl.* FROM system_logs sl
+                        WHERE (sl.search_vector @@ websearch_to_tsquery('simple', :keyword)
+                        OR sl.ip_address ILIKE '%' || :keyword || '%'
+                        OR sl.user_agent ILIKE '%' || :keyword || '%'
+                        OR CAST(sl.user_id AS TEXT) ILIKE '%' || :keyword || '%')
+                        ORDER BY sl.created_at DESC, sl.id DESC
+                        LIMIT :limit
+                        """)
+        List<SystemLog> searchFirstPageByKeyword(@Param("keyword") String keyword, @Param("limit") int limit);
+
+        /**
+         * キーワードでログを検索（キーセットページング・カーソル以降）
+         * 
+         * @param keyword         キーワード
+         * @param cursorCreatedAt 前ページ最終行の作成日時
+         * @param cursorId        前ページ最終行のID
+         * @param limit           取得件数
+         * @return ログリスト
+         */
+        @Query(nativeQuery = true, value = """
+                        SELECT sl.* FROM system_logs sl
+                        WHERE (sl.search_vector @@ websearch_to_tsquery('simple', :keyword)
+                        OR sl.ip_address ILIKE '%' || :keyword || '%'
+                        OR sl.user_agent ILIKE '%' || :keyword || '%'
+                        OR CAST(sl.user_id AS TEXT) ILIKE '%' || :keyword || '%')
+                        AND (sl.created_at, sl.id) < (CAST(:cursorCreatedAt AS TIMESTAMP WITH TIME ZONE), :cursorId)
+                        ORDER BY sl.created_at DESC, sl.id DESC
+                        LIMIT :limit
+                        """)
+        List<SystemLog> searchPageByKeywordAfter(@Param("keyword") String keyword,
+                        @Param("cursorCreatedAt") OffsetDateTime cursorCreatedAt,
+                        @Param("cursorId") Long cursorId,
+                        @Param("limit") int limit);
+
+        /**
+         * 全文検索（関連度順）
+         * search_vector の GIN インデックスで候補を絞り込み、ts_rank_cd の降順で返す
+         * 対象期間外のパーティションは走査しない
+         * 
+         * @param keyword 検索キーワード（websearch 構文: "語句", OR, -除外 に対応）
+         * @param since   検索対象の開始日時
+         * @param limit   取得件数
+         * @return 関連度順のログリスト
+         */
+        @Query(nativeQuery = true, value = """
+                        SELECT sl.* FROM system_logs sl
+                        WHERE sl.search_vector @@ websearch_to_tsquery('simple', :keyword)
+                        AND sl.created_at >= CAST(:since AS TIMESTAMP WITH TIME ZONE)
+                        ORDER BY ts_rank_cd(sl.search_vector, websearch_to_tsquery('simple', :keyword)) DESC,
+                            sl.created_at DESC, sl.id DESC
+                        LIMIT :limit
+                        """)
+        List<SystemLog> searchRankedByFullText(@Param("keyword") String keyword,
+                        @Param("since") OffsetDateTime since,
+                        @Param("limit") int limit);
+
         // DataCleanupBatchJob用メソッド
 
         /**
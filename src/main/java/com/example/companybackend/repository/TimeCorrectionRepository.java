@@ -2,6 +2,7 @@ package com.example.companybackend.repository;
 
 import com.example.companybackend.entity.TimeCorrection;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -22,6 +23,11 @@ public interface TimeCorrectionRepository extends JpaRepository<TimeCorrection,
      */
     List<TimeCorrection> findByUserId(Integer userId);
 
+    /**
+     * ユーザーIDで打刻修正申請を検索（指定ステータスを除く）
+     */
+    List<TimeCorrection> findByUserIdAndStatusNot(Integer userId, String status);
+
     /**
      * 勤怠記録IDで打刻修正申請を検索
      */
@@ -72,9 +78,10 @@ public interface TimeCorrectionRepository extends JpaRepository<TimeCorrection,
     List<TimeCorrection> findByApprovedAtBetween(OffsetDateTime startDate, OffsetDateTime endDate);
 
     /**
-     * ユーザーIDで最新の打刻修正申請を取得
+     * ユーザーIDで最新の打刻修正申請を取得（データ修復バッチの下書きは含めない）
      */
-    @Query(nativeQuery = true, value = "SELECT tc.* FROM time_corrections tc WHERE tc.user_id = :userId ORDER BY tc.created_at DESC")
+    @Query(nativeQuery = true, value = "SELECT tc.* FROM time_corrections tc WHERE tc.user_id = :userId AND tc.status <> 'draft' " +
+           "ORDER BY tc.created_at DESC")
     List<TimeCorrection> findByUserIdOrderByCreatedAtDesc(@Param("userId") Integer userId);
 
     /**
@@ -83,6 +90,12 @@ public interface TimeCorrectionRepository extends JpaRepository<TimeCorrection,
     @Query(nativeQuery = true, value = "SELECT tc.* FROM time_corrections tc WHERE tc.status = 'pending' ORDER BY tc.created_at ASC")
     List<TimeCorrection> findPendingRequestsOrderByCreatedAt();
 
+    /**
+     * データ修復バッチの下書きを作成日時順で取得
+     */
+    @Query(nativeQuery = true, value = "SELECT tc.* FROM time_corrections tc WHERE tc.status = 'draft' ORDER BY tc.created_at ASC, tc.id ASC")
+    List<TimeCorrection> findDraftsOrderByCreatedAt();
+
     /**
      * 特定期間の承認済み打刻修正申請を取得
      */
@@ -180,4 +193,28 @@ public interface TimeCorrectionRepository extends JpaRepository<TimeCorrection,
      */
     @Query(nativeQuery = true, value = "SELECT COUNT(tc) FROM time_corrections tc WHERE tc.status = :status")
     long countByStatus(@Param("status") String status);
-}
\ No newline at end of file
+    
+    /**
+     * 承認待ち申請の一括承認・拒否（1文で更新）
+     * 承認待ち以外の申請は更新しない
+     * 
+     * @return 更新件数
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(nativeQuery = true, value = "UPDATE time_corrections SET status = :status, approver_id = :approverId, approved_at = :decidedAt " +
+           "WHERE id = ANY(:ids) AND status = 'pending'")
+    int decidePendingByIds(@Param("ids") Long[] ids, @Param("status") String status,
+            @Param("approverId") Integer approverId, @Param("decidedAt") OffsetDateTime decidedAt);
+
+    /**
+     * データ修復バッチの下書きの一括確定・破棄（1文で更新）
+     * 下書き以外の申請は更新しない
+     * 
+     * @param status 更新後のステータス（確定の場合 pending、破棄の場合 discarded）
+     * @return 更新件数
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(nativeQuery = true, value = "UPDATE time_corrections SET status = :status " +
+           "WHERE id = ANY(:ids) AND status = 'draft'")
+    int resolveDraftsByIds(@Param("ids") Long[] ids, @Param("status") String status);
+}
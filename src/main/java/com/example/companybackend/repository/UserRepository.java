@@ -4,11 +4,13 @@ import com.example.companybackend.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,6 +29,55 @@ public interface UserRepository extends JpaRepository<User, Long> {
     
     boolean existsByUsername(String username);
     
+    /**
+     * 全ユーザー名取得（CSV一括登録時の重複判定用、1回のクエリで事前取得）
+     */
+    @Query(nativeQuery = true, value = "SELECT u.username FROM users u")
+    List<String> findAllUsernames();
+    
+    /**
+     * 指定ユーザー名のうち既に使用されているものを取得（一括作成時の重複チェック用）
+     */
+    @Query(nativeQuery = true, value = "SELECT u.username FROM users u WHERE u.username IN (:usernames)")
+    List<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+    
+    /**
+     * 指定メールアドレスのうち既に使用されているものを取得（一括作成時の重複チェック用）
+     */
+    @Query(nativeQuery = true, value = "SELECT u.email FROM users u WHERE u.email IN (:emails)")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+    
+    /**
+     * 指定従業員IDのうち既に使用されているものを取得（一括作成時の重複チェック用）
+     */
+    @Query(nativeQuery = true, value = "SELECT u.employee_id FROM users u WHERE u.employee_id IN (:employeeIds)")
+    List<String> findExistingEmployeeIds(@Param("employeeIds") Collection<String> employeeIds);
+    
+    /**
+     * 指定IDのうち存在するものを取得
+     */
+    @Query(nativeQuery = true, value = "SELECT u.id FROM users u WHERE u.id = ANY(:ids)")
+    List<Long> findExistingIds(@Param("ids") Long[] ids);
+    
+    /**
+     * 一括無効化（1文で更新）
+     * 
+     * @return 更新件数
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(nativeQuery = true, value = "UPDATE users SET is_active = false, updated_at = :updatedAt WHERE id = ANY(:ids)")
+    int deactivateByIds(@Param("ids") Long[] ids, @Param("updatedAt") OffsetDateTime updatedAt);
+    
+    /**
+     * 一括部署変更（1文で更新）
+     * 
+     * @return 更新件数
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(nativeQuery = true, value = "UPDATE users SET department_id = :departmentId, updated_at = :updatedAt WHERE id = ANY(:ids)")
+    int updateDepartmentByIds(@Param("ids") Long[] ids, @Param("departmentId") Integer departmentId,
+            @Param("updatedAt") OffsetDateTime updatedAt);
+    
     Page<User> findByIsActiveTrue(Pageable pageable);
     
     Page<User> findByIsActiveFalse(Pageable pageable);
@@ -0,0 +1,237 @@
+package com.example.companybackend.service;
+
+import com.example.companybackend.repository.AttendanceAnomalyRepository;
+import com.example.companybackend.repository.AttendanceAnomalyRepository.Anomaly;
+import com.example.companybackend.repository.AttendanceAnomalyRepository.RepairDraft;
+import com.example.companybackend.repository.AttendanceAnomalyRepository.UserRange;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 打刻異常検出・修復提案サービス
+ * 打刻をユーザーIDの範囲で分割し、範囲ごとに専用スレッドで1回だけ走査して異常を検出する。
+ * 修復できる異常は打刻修正の下書き（status = 'draft'）としてチャンクごとに一括登録する。
+ *
+ * - missing_clock_out: 出勤に対応する退勤がない → 推定退勤時刻の退勤打刻を追加する提案
+ * - missing_clock_in:  退勤に対応する出勤がない → 推定出勤時刻の出勤打刻を追加する提案
+ * - out_of_order:      勤務日内の出退勤が逆順 → 各打刻の種別を入れ替える提案
+ * - duplicate:         数分以内の同種打刻 → 件数のみ報告（打刻の削除は打刻修正で表せないため）
+ *
+ * 範囲ごとに別トランザクションでコミットする。同じ打刻・同じ異常の下書きは登録済みなら追加しないため、
+ * 途中で失敗した場合も再実行で残りの範囲を処理できる。
+ */
+@Service
+public class AttendanceAnomalyService {
+
+    private static final Logger log = LoggerFactory.getLogger(AttendanceAnomalyService.class);
+
+    static final String DUPLICATE = "duplicate";
+    static final String MISSING_CLOCK_OUT = "missing_clock_out";
+    static final String MISSING_CLOCK_IN = "missing_clock_in";
+    static final String OUT_OF_ORDER = "out_of_order";
+
+    /** 対象期間の開始日を省略した場合の開始日時（全履歴） */
+    private static final OffsetDateTime HISTORY_START = OffsetDateTime.parse("1970-01-01T00:00:00Z");
+
+    private final AttendanceAnomalyRepository attendanceAnomalyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService partitionExecutor;
+    private final int partitions;
+    private final int writeChunkSize;
+    private final Duration duplicateWindow;
+    private final Duration defaultShift;
+    private final ZoneId zone;
+
+    public AttendanceAnomalyService(AttendanceAnomalyRepository attendanceAnomalyRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.data-repair.partitions:0}") int partitions,
+            @Value("${app.data-repair.write-chunk-size:1000}") int writeChunkSize,
+            @Value("${app.data-repair.duplicate-window-minutes:5}") long duplicateWindowMinutes,
+            @Value("${app.data-repair.default-shift-hours:9}") long defaultShiftHours,
+            @Value("${app.data-repair.zone:Asia/Tokyo}") String zone) {
+        this.attendanceAnomalyRepository = attendanceAnomalyRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // 範囲ごとの走査は DB の I/O が中心のため、既定ではコア数分に分割して並列に実行する
+        this.partitions = partitions > 0 ? partitions : Runtime.getRuntime().availableProcessors();
+        this.writeChunkSize = Math.max(1, writeChunkSize);
+        this.duplicateWindow = Duration.ofMinutes(Math.max(0, duplicateWindowMinutes));
+        this.defaultShift = Duration.ofHours(Math.max(1, defaultShiftHours));
+        this.zone = ZoneId.of(zone);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.partitionExecutor = Executors.newFixedThreadPool(this.partitions, runnable -> {
+            Thread thread = new Thread(runnable, "data-repair-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 打刻異常の検出と修復提案の登録
+     *
+     * @param fromDate 対象期間の開始日（null の場合は全履歴）
+     * @param toDate   対象期間の終了日（当日を含む、null の場合は前日まで。当日は勤務中で退勤前の出勤があるため）
+     * @param dryRun   true の場合は検出結果の集計のみ行い、下書きを登録しない
+     * @return 検出・登録結果
+     */
+    public RepairResult detectAndDraft(LocalDate fromDate, LocalDate toDate, boolean dryRun) {
+        long startTime = System.currentTimeMillis();
+        OffsetDateTime from = fromDate != null ? fromDate.atStartOfDay(zone).toOffsetDateTime() : HISTORY_START;
+        OffsetDateTime to = (toDate != null ? toDate.plusDays(1) : LocalDate.now(zone)).atStartOfDay(zone)
+                .toOffsetDateTime();
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("対象期間の開始日が終了日より後です: " + fromDate + " - " + toDate);
+        }
+
+        List<UserRange> ranges = attendanceAnomalyRepository.findUserRanges(partitions);
+        List<Future<PartitionResult>> futures = new ArrayList<>(ranges.size());
+        for (UserRange range : ranges) {
+            futures.add(partitionExecutor.submit(() -> processPartition(range, from, to, dryRun)));
+        }
+
+        Map<String, Integer> anomalyCounts = new TreeMap<>();
+        int draftCount = 0;
+        List<UserRange> failedRanges = new ArrayList<>();
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                PartitionResult result = futures.get(i).get();
+                result.anomalyCounts().forEach((type, count) -> anomalyCounts.merge(type, count, Integer::sum));
+                draftCount += result.draftCount();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("打刻異常の検出が中断されました", e);
+            } catch (ExecutionException e) {
+                log.error("打刻異常の検出エラー: range={}, error={}", ranges.get(i), e.getCause().getMessage(),
+                        e.getCause());
+                failedRanges.add(ranges.get(i));
+            }
+        }
+        if (!failedRanges.isEmpty()) {
+            throw new IllegalStateException("打刻異常の検出に失敗したユーザー範囲があります（再実行してください）: "
+                    + failedRanges);
+        }
+
+        RepairResult result = new RepairResult(fromDate, toDate, dryRun, ranges.size(), anomalyCounts, draftCount);
+        log.info("打刻異常の検出完了: {}, elapsedMs={}", result, System.currentTimeMillis() - startTime);
+        return result;
+    }
+
+    /**
+     * ユーザーIDの範囲1つ分の検出と下書き登録（1トランザクション）
+     */
+    private PartitionResult processPartition(UserRange range, OffsetDateTime from, OffsetDateTime to,
+            boolean dryRun) {
+        return transactionTemplate.execute(status -> {
+            List<Anomaly> anomalies = attendanceAnomalyRepository.detectAnomalies(range, from, to, zone.getId(),
+                    duplicateWindow.toSeconds());
+
+            Map<String, Integer> anomalyCounts = new TreeMap<>();
+            List<RepairDraft> drafts = new ArrayList<>();
+            for (Anomaly anomaly : anomalies) {
+                anomalyCounts.merge(anomaly.anomalyType(), 1, Integer::sum);
+                RepairDraft draft = toDraft(anomaly, defaultShift, zone);
+                if (draft != null) {
+                    drafts.add(draft);
+                }
+            }
+
+            int draftCount = 0;
+            if (!dryRun) {
+                OffsetDateTime createdAt = OffsetDateTime.now();
+                for (int offset = 0; offset < drafts.size(); offset += writeChunkSize) {
+                    draftCount += attendanceAnomalyRepository.insertDrafts(
+                            drafts.subList(offset, Math.min(offset + writeChunkSize, drafts.size())), createdAt);
+                }
+            }
+            log.debug("打刻異常の検出: range={}, anomalies={}, drafts={}", range, anomalies.size(), draftCount);
+            return new PartitionResult(anomalyCounts, draftCount);
+        });
+    }
+
+    /**
+     * 異常から修復提案の下書きを組み立て
+     * 追加する打刻の時刻は標準の勤務時間で推定し、勤務日の範囲に収める
+     *
+     * @param anomaly      異常のある打刻
+     * @param defaultShift 標準の勤務時間（休憩を含む）
+     * @param zone         勤務日を判定するタイムゾーン
+     * @return 下書き（修復を提案しない異常の場合は null）
+     */
+    static RepairDraft toDraft(Anomaly anomaly, Duration defaultShift, ZoneId zone) {
+        ZonedDateTime timestamp = anomaly.timestamp().atZoneSameInstant(zone);
+        return switch (anomaly.anomalyType()) {
+            case MISSING_CLOCK_OUT -> {
+                ZonedDateTime dayEnd = timestamp.toLocalDate().plusDays(1).atStartOfDay(zone).minusMinutes(1);
+                ZonedDateTime estimated = timestamp.plus(defaultShift);
+                yield new RepairDraft(anomaly.userId(), anomaly.attendanceId(), "add", anomaly.timestamp(),
+                        anomaly.type(), (estimated.isAfter(dayEnd) ? dayEnd : estimated).toOffsetDateTime(), "out",
+                        "[自動検出] 出勤に対応する退勤打刻がありません。推定時刻での退勤打刻の追加を提案します",
+                        MISSING_CLOCK_OUT);
+            }
+            case MISSING_CLOCK_IN -> {
+                ZonedDateTime dayStart = timestamp.toLocalDate().atStartOfDay(zone);
+                ZonedDateTime estimated = timestamp.minus(defaultShift);
+                yield new RepairDraft(anomaly.userId(), anomaly.attendanceId(), "add", anomaly.timestamp(),
+                        anomaly.type(), (estimated.isBefore(dayStart) ? dayStart : estimated).toOffsetDateTime(),
+                        "in", "[自動検出] 退勤に対応する出勤打刻がありません。推定時刻での出勤打刻の追加を提案します",
+                        MISSING_CLOCK_IN);
+            }
+            case OUT_OF_ORDER -> new RepairDraft(anomaly.userId(), anomaly.attendanceId(), "type",
+                    anomaly.timestamp(), anomaly.type(), null, "in".equals(anomaly.type()) ? "out" : "in",
+                    "[自動検出] 出勤・退勤の順序が逆になっています。打刻種別の入れ替えを提案します", OUT_OF_ORDER);
+            default -> null;
+        };
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        partitionExecutor.shutdownNow();
+    }
+
+    /**
+     * ユーザーIDの範囲1つ分の結果
+     */
+    private record PartitionResult(Map<String, Integer> anomalyCounts, int draftCount) {
+    }
+
+    /**
+     * 打刻異常の検出・登録結果
+     *
+     * @param fromDate       対象期間の開始日（null は全履歴）
+     * @param toDate         対象期間の終了日（null は前日）
+     * @param dryRun         下書きを登録しなかった場合 true
+     * @param partitionCount 分割したユーザー範囲の数
+     * @param anomalyCounts  異常の種類ごとの件数
+     * @param draftCount     登録した下書きの件数（既に同じ提案がある異常は含まない）
+     */
+    public record RepairResult(LocalDate fromDate, LocalDate toDate, boolean dryRun, int partitionCount,
+            Map<String, Integer> anomalyCounts, int draftCount) {
+
+        /**
+         * 検出した異常の合計件数
+         */
+        public int totalAnomalyCount() {
+            return anomalyCounts.values().stream().mapToInt(Integer::intValue).sum();
+        }
+    }
+}
@@ -7,7 +7,6 @@ import com.example.companybackend.entity.WorkLocation;
 import com.example.companybackend.repository.AttendanceRecordRepository;
 import com.example.companybackend.repository.AttendanceSummaryRepository;
 import com.example.companybackend.repository.UserRepository;
-import com.example.companybackend.repository.WorkLocationRepository;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -45,7 +44,8 @@ public class AttendanceService {
     private final AttendanceRecordRepository attendanceRecordRepository;
     private final AttendanceSummaryRepository attendanceSummaryRepository;
     private final UserRepository userRepository;
-    private final WorkLocationRepository workLocationRepository;
+    private final WorkLocationService workLocationService;
+    private final OvertimeMonitorService overtimeMonitorService;
 
     /**
      * 出勤打刻
@@ -237,7 +237,7 @@ public class AttendanceService {
 
         // オフィス勤務者の場合、オフィス座標との距離検証（100m以内）
         if ("office".equals(user.getLocationType())) {
-            List<WorkLocation> officeLocations = workLocationRepository.findByType("office");
+            List<WorkLocation> officeLocations = workLocationService.getActiveLocationsByType("office");
             boolean valid = officeLocations.stream().anyMatch(location -> calculateDistance(latitude, longitude,
                     location.getLatitude(), location.getLongitude()) <= location.getRadius());
             if (!valid) {
@@ -246,7 +246,7 @@ public class AttendanceService {
         }
         // 客先勤務者の場合、個別設定された緯度経度と照合
         else if ("client".equals(user.getLocationType())) {
-            List<WorkLocation> clientLocations = workLocationRepository.findByType("client");
+            List<WorkLocation> clientLocations = workLocationService.getActiveLocationsByType("client");
             boolean valid = clientLocations.stream().anyMatch(location -> calculateDistance(latitude, longitude,
                     location.getLatitude(), location.getLongitude()) <= location.getRadius());
             if (!valid) {
@@ -415,6 +415,9 @@ public class AttendanceService {
             }
 
             attendanceSummaryRepository.save(summary);
+            // 残業累計は SQL で集計するため、サマリーの更新を先に反映する
+            attendanceSummaryRepository.flush();
+            overtimeMonitorService.onDailySummariesSaved(List.of(summary));
             log.info("日次サマリー更新完了: userId={}, date={}, totalHours={}", userId, date, totalHours);
 
         } catch (Exception e) {
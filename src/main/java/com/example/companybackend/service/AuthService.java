@@ -1,5 +1,6 @@
 package com.example.companybackend.service;
 
+import com.example.companybackend.config.ReferenceDataCacheConfig;
 import com.example.companybackend.dto.auth.AdminPositionsResponse;
 import com.example.companybackend.dto.auth.CsvUserData;
 import com.example.companybackend.entity.Department;
@@ -7,9 +8,11 @@ import com.example.companybackend.entity.Position;
 import com.example.companybackend.entity.User;
 import com.example.companybackend.entity.RefreshToken;
 import com.example.companybackend.repository.DepartmentRepository;
+import com.example.companybackend.repository.EmployeeReadModelRepository;
 import com.example.companybackend.repository.PositionRepository;
 import com.example.companybackend.repository.UserRepository;
 import com.example.companybackend.repository.RefreshTokenRepository;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -19,15 +22,13 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.OffsetDateTime;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 import java.time.temporal.ChronoUnit;
 
 @Service
@@ -40,6 +41,9 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProviderService tokenProvider;
     private final RefreshTokenRepository refreshTokenRepository;
+    private final UserCsvImportService userCsvImportService;
+    private final EmployeeReadModelRepository employeeReadModelRepository;
+    private final OrgTreeIndex orgTreeIndex;
 
     public AuthService(AuthenticationManager authenticationManager,
                        UserRepository userRepository,
@@ -47,7 +51,10 @@ public class AuthService {
                        DepartmentRepository departmentRepository,
                        PasswordEncoder passwordEncoder,
                        JwtTokenProviderService tokenProvider,
-                       RefreshTokenRepository refreshTokenRepository) {
+                       RefreshTokenRepository refreshTokenRepository,
+                       UserCsvImportService userCsvImportService,
+                       EmployeeReadModelRepository employeeReadModelRepository,
+                       OrgTreeIndex orgTreeIndex) {
         this.authenticationManager = authenticationManager;
         this.userRepository = userRepository;
         this.positionRepository = positionRepository;
@@ -55,6 +62,9 @@ public class AuthService {
         this.passwordEncoder = passwordEncoder;
         this.tokenProvider = tokenProvider;
         this.refreshTokenRepository = refreshTokenRepository;
+        this.userCsvImportService = userCsvImportService;
+        this.employeeReadModelRepository = employeeReadModelRepository;
+        this.orgTreeIndex = orgTreeIndex;
     }
 
     /**
@@ -97,7 +107,10 @@ public class AuthService {
         user.setDepartmentId(null);
         user.setPositionId(null);
         
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        employeeReadModelRepository.refreshUser(savedUser.getId());
+        orgTreeIndex.refreshUsers(List.of(savedUser.getId()));
+        return savedUser;
     }
 
     /**
@@ -140,7 +153,10 @@ public class AuthService {
         user.setCreatedAt(now);
         user.setUpdatedAt(now);
         
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        employeeReadModelRepository.refreshUser(savedUser.getId());
+        orgTreeIndex.refreshUsers(List.of(savedUser.getId()));
+        return savedUser;
     }
 
     /**
@@ -183,6 +199,7 @@ public class AuthService {
     /**
      * 部署IDから部署名を取得
      */
+    @Cacheable(cacheNames = ReferenceDataCacheConfig.DEPARTMENT_NAMES)
     public String getDepartmentNameById(Integer departmentId) {
         if (departmentId == null) {
             return null;
@@ -196,6 +213,7 @@ public class AuthService {
     /**
      * 役職IDから役職名を取得
      */
+    @Cacheable(cacheNames = ReferenceDataCacheConfig.POSITION_NAMES)
     public String getPositionNameById(Integer positionId) {
         if (positionId == null) {
             return null;
@@ -207,8 +225,9 @@ public class AuthService {
     }
 
     /**
-     * 管理者役職一覧取得
+     * 管理者役職一覧取得（参照データキャッシュ。役職の作成・更新・削除時に無効化）
      */
+    @Cacheable(cacheNames = ReferenceDataCacheConfig.ADMIN_POSITIONS)
     public List<AdminPositionsResponse.PositionData> getAdminPositions() {
         // level >= 5 の役職を取得
         List<Position> positions = positionRepository.findByLevelGreaterThanEqualOrderByLevelDesc(5);
@@ -218,50 +237,26 @@ public class AuthService {
                         position.getId(),
                         position.getName(),
                         position.getLevel()))
-                .collect(Collectors.toList());
+                .toList();
     }
 
     /**
      * CSVからのユーザー一括登録
+     * 重複判定・パスワードハッシュ化・登録は UserCsvImportService に委譲（チャンク単位でコミット）
      */
-    @Transactional
     public int[] registerUsersFromCsv(List<CsvUserData> csvUsers) {
-        int successCount = 0;
-        int errorCount = 0;
-        
-        for (CsvUserData csvUser : csvUsers) {
-            try {
-                User user = new User();
-                user.setUsername(csvUser.getUsername());
-                user.setPasswordHash(passwordEncoder.encode(csvUser.getPassword()));
-                user.setFullName(csvUser.getFullName());
-                user.setLocationType(csvUser.getLocationType());
-                user.setClientLatitude(csvUser.getClientLatitude());
-                user.setClientLongitude(csvUser.getClientLongitude());
-                user.setDepartmentId(csvUser.getDepartmentId());
-                user.setPositionId(csvUser.getPositionId());
-                user.setManagerId(csvUser.getManagerId());
-                
-                // 作成日時と更新日時を設定
-                OffsetDateTime now = OffsetDateTime.now();
-                user.setCreatedAt(now);
-                user.setUpdatedAt(now);
-                
-                // ユーザー名重複チェック
-                if (userRepository.existsByUsername(user.getUsername())) {
-                    errorCount++;
-                    continue;
-                }
-                
-                userRepository.save(user);
-                successCount++;
-            } catch (Exception e) {
-                errorCount++;
-                // エラーがあっても他のユーザーの登録を続行
-            }
+        UserCsvImportService.ImportResult result = userCsvImportService.importUsers(csvUsers);
+        return new int[]{result.successCount(), result.errorCount()};
+    }
+
+    /**
+     * CSVファイルからのユーザー一括登録（行単位のエラーレポート付き）
+     * ファイルはストリーミングで読み込み、全行をメモリに保持しない
+     */
+    public UserCsvImportService.ImportResult importUsersFromCsv(MultipartFile file) throws IOException {
+        try (InputStream inputStream = file.getInputStream()) {
+            return userCsvImportService.importCsv(inputStream);
         }
-        
-        return new int[]{successCount, errorCount};
     }
 
     /**
@@ -269,32 +264,8 @@ public class AuthService {
      */
     public String registerUsersFromCsv(MultipartFile file) {
         try {
-            List<CsvUserData> csvUsers = new ArrayList<>();
-            
-            try (BufferedReader reader = new BufferedReader(new InputStreamReader(file.getInputStream()))) {
-                String line;
-                boolean isFirstLine = true;
-                
-                while ((line = reader.readLine()) != null) {
-                    if (isFirstLine) {
-                        isFirstLine = false;
-                        continue; // ヘッダー行をスキップ
-                    }
-                    
-                    String[] values = line.split(",");
-                    if (values.length >= 3) {
-                        CsvUserData user = new CsvUserData();
-                        user.setUsername(values[0]);
-                        user.setPassword(values[1]);
-                        user.setFullName(values[2]);
-                        // 他のフィールドも必要に応じて設定
-                        csvUsers.add(user);
-                    }
-                }
-            }
-            
-            int[] result = registerUsersFromCsv(csvUsers);
-            return String.format("登録成功: %d件, 登録失敗: %d件", result[0], result[1]);
+            UserCsvImportService.ImportResult result = importUsersFromCsv(file);
+            return String.format("登録成功: %d件, 登録失敗: %d件", result.successCount(), result.errorCount());
             
         } catch (Exception e) {
             throw new RuntimeException("CSVファイルの処理中にエラーが発生しました: " + e.getMessage());
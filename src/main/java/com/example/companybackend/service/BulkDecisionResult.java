@@ -0,0 +1,26 @@
+package com.example.companybackend.service;
+
+import java.util.List;
+
+/**
+ * 申請の一括承認・却下結果（打刻修正の下書きの一括確定・破棄にも使用する）
+ *
+ * @param status              処理後のステータス（"approved" / "rejected"。下書きの場合は "pending" / "discarded"）
+ * @param processedIds        処理した申請ID
+ * @param notFoundIds         見つからなかった申請ID
+ * @param alreadyProcessedIds 承認待ち（下書きの場合は下書き）ではなかったため処理しなかった申請ID
+ */
+public record BulkDecisionResult(String status, List<Long> processedIds, List<Long> notFoundIds,
+        List<Long> alreadyProcessedIds) {
+
+    /** 一度に処理できる申請数の上限 */
+    public static final int MAX_REQUESTS = 1000;
+
+    public int processedCount() {
+        return processedIds.size();
+    }
+
+    public int skippedCount() {
+        return notFoundIds.size() + alreadyProcessedIds.size();
+    }
+}
@@ -1,8 +1,13 @@
 package com.example.companybackend.service;
 
+import com.example.companybackend.config.ReferenceDataCacheConfig;
 import com.example.companybackend.entity.Department;
+import com.example.companybackend.repository.EmployeeReadModelRepository;
 import com.example.companybackend.repository.DepartmentRepository;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
 import java.util.List;
@@ -12,25 +17,44 @@ import java.util.Optional;
 public class DepartmentService {
 
     private final DepartmentRepository departmentRepository;
+    private final EmployeeReadModelRepository employeeReadModelRepository;
+    private final OrgTreeIndex orgTreeIndex;
 
-    public DepartmentService(DepartmentRepository departmentRepository) {
+    public DepartmentService(DepartmentRepository departmentRepository,
+                             EmployeeReadModelRepository employeeReadModelRepository,
+                             OrgTreeIndex orgTreeIndex) {
         this.departmentRepository = departmentRepository;
+        this.employeeReadModelRepository = employeeReadModelRepository;
+        this.orgTreeIndex = orgTreeIndex;
     }
 
+    /**
+     * 全部署取得（参照データキャッシュ。作成・更新・削除時に無効化）
+     */
+    @Cacheable(cacheNames = ReferenceDataCacheConfig.DEPARTMENTS)
     public List<Department> getAllDepartments() {
-        return departmentRepository.findAll();
+        return List.copyOf(departmentRepository.findAll());
     }
 
     public Optional<Department> getDepartmentById(Integer id) {
         return departmentRepository.findById(id);
     }
 
+    @CacheEvict(cacheNames = { ReferenceDataCacheConfig.DEPARTMENTS,
+            ReferenceDataCacheConfig.DEPARTMENT_NAMES }, allEntries = true)
+    @Transactional
     public Department createDepartment(Department department) {
         department.setCreatedAt(OffsetDateTime.now());
         department.setUpdatedAt(OffsetDateTime.now());
-        return departmentRepository.save(department);
+        Department savedDepartment = departmentRepository.save(department);
+        // 部署長は所属ユーザーの上長（users.manager_id 未設定時）として組織ツリーに反映する
+        orgTreeIndex.refreshDepartment(Math.toIntExact(savedDepartment.getId()));
+        return savedDepartment;
     }
 
+    @CacheEvict(cacheNames = { ReferenceDataCacheConfig.DEPARTMENTS,
+            ReferenceDataCacheConfig.DEPARTMENT_NAMES }, allEntries = true)
+    @Transactional
     public Department updateDepartment(Integer id, Department departmentDetails) {
         Department department = departmentRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Department not found with id: " + id));
@@ -41,14 +65,23 @@ public class DepartmentService {
         // created_atは変更しない
         department.setUpdatedAt(OffsetDateTime.now());
 
-        return departmentRepository.save(department);
+        Department savedDepartment = departmentRepository.save(department);
+        // 所属ユーザーの参照モデルに非正規化している名称を更新
+        employeeReadModelRepository.refreshDepartment(id);
+        orgTreeIndex.refreshDepartment(id);
+        return savedDepartment;
     }
 
+    @CacheEvict(cacheNames = { ReferenceDataCacheConfig.DEPARTMENTS,
+            ReferenceDataCacheConfig.DEPARTMENT_NAMES }, allEntries = true)
+    @Transactional
     public void deleteDepartment(Integer id) {
         Department department = departmentRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Department not found with id: " + id));
         
         departmentRepository.delete(department);
+        employeeReadModelRepository.refreshDepartment(id);
+        orgTreeIndex.refreshDepartment(id);
     }
 
     public boolean existsByName(String name) {
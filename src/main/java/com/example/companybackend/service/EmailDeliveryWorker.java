@@ -0,0 +1,153 @@
+package com.example.companybackend.service;
+
+import com.example.companybackend.entity.EmailOutbox;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * メール送信ワーカー
+ * email_outbox をポーリングし、プロバイダ（宛先ドメイン）単位にまとめて1つのSMTPセッションで送信する
+ * 送信失敗時は EmailOutboxService が指数バックオフで再試行日時を設定する
+ */
+@Component
+@ConditionalOnProperty(name = "app.notification.email.enabled", havingValue = "true")
+public class EmailDeliveryWorker {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailDeliveryWorker.class);
+
+    /** レート制限超過時の再試行待機時間 */
+    private static final Duration RATE_LIMIT_DEFER = Duration.ofSeconds(30);
+
+    private final EmailOutboxService emailOutboxService;
+    private final JavaMailSender mailSender;
+    private final TaskExecutor deliveryExecutor;
+    private final MailProviderRateLimiter rateLimiter;
+    private final int batchSize;
+    private final String fromAddress;
+
+    public EmailDeliveryWorker(EmailOutboxService emailOutboxService,
+            JavaMailSender mailSender,
+            @Qualifier("emailDeliveryExecutor") TaskExecutor deliveryExecutor,
+            MailProviderRateLimiter rateLimiter,
+            @Value("${app.notification.email.outbox.batch-size:50}") int batchSize,
+            @Value("${app.notification.email.from:${spring.mail.username:}}") String fromAddress) {
+        this.emailOutboxService = emailOutboxService;
+        this.mailSender = mailSender;
+        this.deliveryExecutor = deliveryExecutor;
+        this.rateLimiter = rateLimiter;
+        this.batchSize = batchSize;
+        this.fromAddress = fromAddress;
+    }
+
+    /**
+     * 送信対象をポーリングしてワーカープールへ振り分け
+     */
+    @Scheduled(fixedDelayString = "${app.notification.email.outbox.poll-interval-ms:5000}")
+    public void poll() {
+        try {
+            emailOutboxService.releaseStaleLocks();
+
+            List<EmailOutbox> claimed = emailOutboxService.claimBatch(batchSize);
+            if (claimed.isEmpty()) {
+                return;
+            }
+            logger.debug("メール送信対象取得: {} 件", claimed.size());
+
+            Map<String, List<EmailOutbox>> byProvider = new LinkedHashMap<>();
+            for (EmailOutbox outbox : claimed) {
+                byProvider.computeIfAbsent(outbox.getProvider(), key -> new ArrayList<>()).add(outbox);
+            }
+
+            byProvider.forEach((provider, items) -> {
+                int granted = rateLimiter.tryAcquire(provider, items.size());
+                if (granted < items.size()) {
+                    List<EmailOutbox> deferred = new ArrayList<>(items.subList(granted, items.size()));
+                    emailOutboxService.defer(deferred, RATE_LIMIT_DEFER);
+                    logger.info("レート制限により送信を延期: provider={}, deferred={}", provider, deferred.size());
+                }
+                if (granted > 0) {
+                    List<EmailOutbox> sendable = new ArrayList<>(items.subList(0, granted));
+                    deliveryExecutor.execute(() -> deliver(provider, sendable));
+                }
+            });
+        } catch (Exception e) {
+            logger.error("メール送信ポーリング中にエラーが発生しました", e);
+        }
+    }
+
+    /**
+     * 同一プロバイダ宛のメールを1つのSMTPセッションで送信
+     * 
+     * @param provider プロバイダ
+     * @param items    送信対象
+     */
+    void deliver(String provider, List<EmailOutbox> items) {
+        SimpleMailMessage[] messages = new SimpleMailMessage[items.size()];
+        for (int i = 0; i < items.size(); i++) {
+            messages[i] = toMailMessage(items.get(i));
+        }
+
+        Map<Object, Exception> failures = Map.of();
+        try {
+            mailSender.send(messages);
+        } catch (MailSendException e) {
+            failures = e.getFailedMessages();
+            if (failures.isEmpty()) {
+                markAllFailed(items, e);
+                return;
+            }
+        } catch (MailException e) {
+            markAllFailed(items, e);
+            return;
+        }
+
+        List<Long> sentIds = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            Exception failure = failures.get(messages[i]);
+            if (failure == null) {
+                sentIds.add(items.get(i).getId());
+            } else {
+                emailOutboxService.markFailed(items.get(i), failure.getMessage());
+            }
+        }
+        if (!sentIds.isEmpty()) {
+            emailOutboxService.markSent(sentIds);
+        }
+        logger.info("メール送信完了: provider={}, sent={}, failed={}", provider, sentIds.size(), items.size() - sentIds.size());
+    }
+
+    private void markAllFailed(List<EmailOutbox> items, Exception e) {
+        logger.error("メール送信失敗: provider={}, count={}, error={}",
+                items.get(0).getProvider(), items.size(), e.getMessage());
+        for (EmailOutbox outbox : items) {
+            emailOutboxService.markFailed(outbox, e.getMessage());
+        }
+    }
+
+    private SimpleMailMessage toMailMessage(EmailOutbox outbox) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        if (fromAddress != null && !fromAddress.isBlank()) {
+            message.setFrom(fromAddress);
+        }
+        message.setTo(outbox.getToAddress());
+        message.setSubject(outbox.getSubject());
+        message.setText(outbox.getBody());
+        return message;
+    }
+}
@@ -3,8 +3,6 @@ package com.example.companybackend.service;
 import com.example.companybackend.entity.Notification;
 import com.example.companybackend.repository.NotificationRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -16,7 +14,7 @@ public class EmailNotificationService {
     private static final Logger logger = LoggerFactory.getLogger(EmailNotificationService.class);
     
     @Autowired
-    private JavaMailSender mailSender;
+    private EmailOutboxService emailOutboxService;
     
     @Autowired
     private NotificationRepository notificationRepository;
@@ -26,6 +24,8 @@ public class EmailNotificationService {
     
     /**
      * 发送邮件通知
+     * 仅写入 email_outbox，由 EmailDeliveryWorker 异步发送，SMTP 延迟不会阻塞调用方
+     * 写入 email_outbox 失败时抛出异常，调用方的事务一并回滚
      * @param to 收件人邮箱
      * @param subject 邮件主题
      * @param message 邮件内容
@@ -40,22 +40,12 @@ public class EmailNotificationService {
             return;
         }
         
-        // 发送邮件
-        SimpleMailMessage mailMessage = new SimpleMailMessage();
-        mailMessage.setTo(to);
-        mailMessage.setSubject(subject);
-        mailMessage.setText(message);
+        // enqueue 加入调用方事务（业务回滚时邮件也不会发送），失败时即使捕获异常事务也已被标记为仅回滚，
+        // 因此不在此捕获，直接向调用方抛出
+        emailOutboxService.enqueue(to, subject, message, userId != null ? Math.toIntExact(userId) : null);
+        logger.info("邮件通知已加入发送队列: to={}, subject={}", to, subject);
         
-        try {
-            mailSender.send(mailMessage);
-            logger.info("邮件通知发送成功: to={}, subject={}", to, subject);
-        } catch (Exception e) {
-            // 记录错误日志，但不中断主流程
-            logger.error("邮件通知发送失败: to={}, subject={}, error={}", to, subject, e.getMessage(), e);
-            // 注意：这里不抛出异常，以免影响主业务流程
-        }
-        
-        // 保存通知记录（无论邮件是否发送成功）
+        // 保存通知记录
         saveNotificationRecord(userId, subject, message);
     }
     
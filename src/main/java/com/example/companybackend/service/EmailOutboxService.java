@@ -0,0 +1,153 @@
+package com.example.companybackend.service;
+
+import com.example.companybackend.entity.EmailOutbox;
+import com.example.companybackend.repository.EmailOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * メール送信アウトボックスサービス
+ * 送信要求の登録と、ワーカーによる取得・結果反映（指数バックオフ再試行）を行う
+ */
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class EmailOutboxService {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailOutboxService.class);
+
+    /** 最大試行回数（超過時は failed） */
+    static final int MAX_ATTEMPTS = 6;
+
+    /** 再試行間隔の基準値 */
+    static final Duration BASE_BACKOFF = Duration.ofSeconds(30);
+
+    /** 再試行間隔の上限 */
+    static final Duration MAX_BACKOFF = Duration.ofHours(1);
+
+    /** 送信中のまま放置された行を回収するまでの時間 */
+    static final Duration STALE_LOCK_TIMEOUT = Duration.ofMinutes(10);
+
+    private final EmailOutboxRepository emailOutboxRepository;
+
+    /**
+     * 送信要求をアウトボックスに登録
+     * 呼び出し元のトランザクションに参加するため、業務処理がロールバックされた場合はメールも送信されない
+     * 
+     * @param to      宛先
+     * @param subject 件名
+     * @param body    本文
+     * @param userId  ユーザーID（任意）
+     * @return 登録されたアウトボックス行
+     */
+    public EmailOutbox enqueue(String to, String subject, String body, Integer userId) {
+        EmailOutbox outbox = new EmailOutbox();
+        outbox.setToAddress(to);
+        outbox.setSubject(subject);
+        outbox.setBody(body);
+        outbox.setUserId(userId);
+        outbox.setProvider(EmailOutbox.resolveProvider(to));
+
+        EmailOutbox saved = emailOutboxRepository.save(outbox);
+        log.info("メール送信要求登録: outboxId={}, to={}, subject={}", saved.getId(), to, subject);
+        return saved;
+    }
+
+    /**
+     * 送信対象を取得して送信中に更新
+     * 
+     * @param limit 取得件数
+     * @return 送信対象リスト
+     */
+    public List<EmailOutbox> claimBatch(int limit) {
+        OffsetDateTime now = OffsetDateTime.now();
+        List<EmailOutbox> batch = emailOutboxRepository.lockNextBatch(now, limit);
+        for (EmailOutbox outbox : batch) {
+            outbox.setStatus(EmailOutbox.STATUS_SENDING);
+            outbox.setLockedAt(now);
+        }
+        return emailOutboxRepository.saveAll(batch);
+    }
+
+    /**
+     * 送信中のまま停止した行を送信待ちに戻す
+     * 
+     * @return 回収件数
+     */
+    public int releaseStaleLocks() {
+        int released = emailOutboxRepository.releaseStaleLocks(OffsetDateTime.now().minus(STALE_LOCK_TIMEOUT));
+        if (released > 0) {
+            log.warn("送信中のまま停止したメールを回収しました: {} 件", released);
+        }
+        return released;
+    }
+
+    /**
+     * 送信完了に更新
+     * 
+     * @param ids 送信完了IDリスト
+     */
+    public void markSent(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        emailOutboxRepository.markSent(ids, OffsetDateTime.now());
+    }
+
+    /**
+     * 送信失敗を記録し、再試行日時を指数バックオフで設定
+     * 最大試行回数に達した場合は failed とする
+     * 
+     * @param outbox 対象行
+     * @param error  エラー内容
+     */
+    public void markFailed(EmailOutbox outbox, String error) {
+        int attempts = (outbox.getAttemptCount() != null ? outbox.getAttemptCount() : 0) + 1;
+        outbox.setAttemptCount(attempts);
+        outbox.setLockedAt(null);
+        outbox.setLastError(error != null && error.length() > 1000 ? error.substring(0, 1000) : error);
+
+        if (attempts >= MAX_ATTEMPTS) {
+            outbox.setStatus(EmailOutbox.STATUS_FAILED);
+            log.error("メール送信を断念しました: outboxId={}, to={}, attempts={}", outbox.getId(), outbox.getToAddress(), attempts);
+        } else {
+            outbox.setStatus(EmailOutbox.STATUS_PENDING);
+            outbox.setNextAttemptAt(OffsetDateTime.now().plus(backoffFor(attempts)));
+            log.warn("メール送信失敗（再試行予定）: outboxId={}, attempts={}, nextAttemptAt={}",
+                    outbox.getId(), attempts, outbox.getNextAttemptAt());
+        }
+        emailOutboxRepository.save(outbox);
+    }
+
+    /**
+     * レート制限により送信を見送った行を送信待ちに戻す（試行回数は加算しない）
+     * 
+     * @param deferred 対象行
+     * @param delay    再試行までの待機時間
+     */
+    public void defer(List<EmailOutbox> deferred, Duration delay) {
+        OffsetDateTime nextAttemptAt = OffsetDateTime.now().plus(delay);
+        for (EmailOutbox outbox : deferred) {
+            outbox.setStatus(EmailOutbox.STATUS_PENDING);
+            outbox.setLockedAt(null);
+            outbox.setNextAttemptAt(nextAttemptAt);
+        }
+        emailOutboxRepository.saveAll(deferred);
+    }
+
+    /**
+     * 試行回数に応じた再試行間隔（基準値 × 2^(試行回数-1)、上限あり）
+     */
+    static Duration backoffFor(int attempts) {
+        int exponent = Math.max(0, Math.min(attempts - 1, 20));
+        Duration backoff = BASE_BACKOFF.multipliedBy(1L << exponent);
+        return backoff.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : backoff;
+    }
+}
@@ -0,0 +1,372 @@
+package com.example.companybackend.service;
+
+import com.example.companybackend.repository.EmployeeReadModelRepository;
+import com.example.companybackend.repository.EmployeeReadModelRepository.EmployeeRow;
+import com.example.companybackend.util.JapaneseTextNormalizer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+/**
+ * 従業員検索インデックス（インメモリ）
+ * 従業員参照モデルの氏名・ユーザー名・従業員IDを正規化し、2文字単位（bigram）の転置インデックスで保持する。
+ *
+ * - 全角/半角・大文字/小文字・ひらがな/カタカナの違いを吸収し、ローマ字入力はカタカナに変換して照合する
+ * - 先頭一致・完全一致を部分一致より上位に並べる（入力補完向け）
+ * - 検索はデータベースを参照しないため、入力のたびに呼び出しても1ミリ秒前後で応答する
+ *
+ * 参照モデルの更新イベント（コミット後）を受けて別スレッドで再構築し、構築済みのスナップショットと差し替える。
+ * 他ノードでの更新は max-age 経過後の再構築で反映される。
+ */
+@Component
+public class EmployeeSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeSearchIndex.class);
+
+    private static final int KIND_FULL_NAME = 0;
+    private static final int KIND_NAME_PART = 1;
+    private static final int KIND_EMPLOYEE_ID = 2;
+    private static final int KIND_USERNAME = 3;
+
+    private final EmployeeReadModelRepository employeeReadModelRepository;
+    private final long maxAgeMillis;
+    private final int maxResults;
+    private final LongSupplier clock;
+    private final Executor rebuildExecutor;
+    private final ExecutorService ownedExecutor;
+
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+    private volatile Snapshot snapshot;
+
+    @Autowired
+    public EmployeeSearchIndex(EmployeeReadModelRepository employeeReadModelRepository,
+            @Value("${app.employee.search.max-age-seconds:300}") long maxAgeSeconds,
+            @Value("${app.employee.search.max-results:20}") int maxResults) {
+        this(employeeReadModelRepository, Duration.ofSeconds(maxAgeSeconds), maxResults, System::currentTimeMillis,
+                Executors.newSingleThreadExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "employee-search-index");
+                    thread.setDaemon(true);
+                    return thread;
+                }));
+    }
+
+    EmployeeSearchIndex(EmployeeReadModelRepository employeeReadModelRepository, Duration maxAge, int maxResults,
+            LongSupplier clock, Executor rebuildExecutor) {
+        this.employeeReadModelRepository = employeeReadModelRepository;
+        this.maxAgeMillis = maxAge.toMillis();
+        this.maxResults = Math.max(1, maxResults);
+        this.clock = clock;
+        this.rebuildExecutor = rebuildExecutor;
+        this.ownedExecutor = rebuildExecutor instanceof ExecutorService executorService ? executorService : null;
+    }
+
+    /**
+     * 起動完了後にインデックスを構築
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        scheduleRebuild();
+    }
+
+    /**
+     * 参照モデルの更新（コミット後）を受けて再構築を予約
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReadModelChanged(EmployeeReadModelRepository.ReadModelChangedEvent event) {
+        scheduleRebuild();
+    }
+
+    /**
+     * 入力補完用の検索（スコア順）
+     *
+     * @param query      検索文字列（氏名・フリガナ・ローマ字・ユーザー名・従業員ID）
+     * @param limit      最大件数（0以下の場合は既定の件数）
+     * @param activeOnly 有効な従業員のみに絞り込む場合は true
+     * @return 一致した従業員（スコアの高い順）
+     */
+    public List<Match> search(String query, int limit, boolean activeOnly) {
+        int effectiveLimit = limit > 0 ? Math.min(limit, maxResults) : maxResults;
+        return rank(query, activeOnly, effectiveLimit);
+    }
+
+    /**
+     * 一致する全従業員のID（無効な従業員を含む、スコア順）
+     * 一覧検索で部分一致 LIKE の代わりに使用する
+     *
+     * @param query 検索文字列
+     * @return ユーザーID
+     */
+    public List<Long> findUserIds(String query) {
+        return rank(query, false, Integer.MAX_VALUE).stream().map(match -> match.employee().userId()).toList();
+    }
+
+    /**
+     * インデックスの件数
+     */
+    public int size() {
+        Snapshot current = snapshot;
+        return current != null ? current.entries.length : 0;
+    }
+
+    /**
+     * 参照モデルからインデックスを再構築（呼び出し元スレッドで同期実行）
+     */
+    public void rebuild() {
+        long startedAt = System.nanoTime();
+        List<EmployeeRow> rows = employeeReadModelRepository.findAll();
+        snapshot = Snapshot.build(rows, clock.getAsLong());
+        log.debug("従業員検索インデックス再構築: entries={}, elapsedMs={}",
+                rows.size(), (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdownNow();
+        }
+    }
+
+    private List<Match> rank(String query, boolean activeOnly, int limit) {
+        String normalized = JapaneseTextNormalizer.normalize(query);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        Set<String> variants = new LinkedHashSet<>();
+        variants.add(normalized);
+        String katakana = JapaneseTextNormalizer.romajiToKatakana(normalized);
+        if (katakana != null) {
+            variants.add(katakana);
+        }
+
+        Snapshot current = current();
+        Map<Integer, Integer> scores = new HashMap<>();
+        for (String variant : variants) {
+            for (int index : current.candidates(variant)) {
+                Entry entry = current.entries[index];
+                if (activeOnly && !Boolean.TRUE.equals(entry.row.isActive())) {
+                    continue;
+                }
+                int score = entry.score(variant);
+                if (score > 0) {
+                    scores.merge(index, score, Math::max);
+                }
+            }
+        }
+
+        List<Match> matches = new ArrayList<>(scores.size());
+        scores.forEach((index, score) -> matches.add(new Match(current.entries[index].row, score)));
+        matches.sort(Comparator.comparingInt(Match::score).reversed()
+                .thenComparingInt(match -> match.employee().fullName() != null ? match.employee().fullName().length() : Integer.MAX_VALUE)
+                .thenComparing(match -> match.employee().userId()));
+        return matches.size() > limit ? List.copyOf(matches.subList(0, limit)) : matches;
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            // 初回のみ呼び出し元で構築する
+            synchronized (this) {
+                if (snapshot == null) {
+                    rebuild();
+                }
+                return snapshot;
+            }
+        }
+        if (clock.getAsLong() - current.builtAt >= maxAgeMillis) {
+            scheduleRebuild();
+        }
+        return current;
+    }
+
+    private void scheduleRebuild() {
+        if (!rebuildPending.compareAndSet(false, true)) {
+            return;
+        }
+        rebuildExecutor.execute(() -> {
+            // 読み込み中の更新で再度予約できるよう、読み込み前にフラグを戻す
+            rebuildPending.set(false);
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                log.warn("従業員検索インデックス再構築エラー: {}", e.getMessage(), e);
+            }
+        });
+    }
+
+    /**
+     * 検索結果
+     *
+     * @param employee 従業員
+     * @param score    一致度（完全一致 > 先頭一致 > 部分一致）
+     */
+    public record Match(EmployeeRow employee, int score) {
+    }
+
+    /**
+     * 1従業員分の検索キー
+     */
+    private record Entry(EmployeeRow row, String[] keys, int[] kinds) {
+
+        private int score(String query) {
+            int best = 0;
+            for (int i = 0; i < keys.length; i++) {
+                String key = keys[i];
+                int base;
+                if (key.equals(query)) {
+                    base = 100;
+                } else if (key.startsWith(query)) {
+                    base = kinds[i] == KIND_NAME_PART ? 70 : 80;
+                } else if (kinds[i] != KIND_NAME_PART && key.contains(query)) {
+                    base = 40;
+                } else {
+                    continue;
+                }
+                best = Math.max(best, base + fieldWeight(kinds[i]));
+            }
+            return best;
+        }
+
+        private static int fieldWeight(int kind) {
+            return switch (kind) {
+                case KIND_FULL_NAME, KIND_NAME_PART -> 3;
+                case KIND_EMPLOYEE_ID -> 2;
+                default -> 1;
+            };
+        }
+    }
+
+    /**
+     * 構築済みのインデックス（不変）
+     */
+    private static final class Snapshot {
+
+        private final Entry[] entries;
+        private final Map<String, int[]> postings;
+        private final long builtAt;
+
+        private Snapshot(Entry[] entries, Map<String, int[]> postings, long builtAt) {
+            this.entries = entries;
+            this.postings = postings;
+            this.builtAt = builtAt;
+        }
+
+        private static Snapshot build(List<EmployeeRow> rows, long builtAt) {
+            Entry[] entries = new Entry[rows.size()];
+            Map<String, List<Integer>> lists = new HashMap<>();
+            for (int index = 0; index < entries.length; index++) {
+                EmployeeRow row = rows.get(index);
+                List<String> keys = new ArrayList<>();
+                List<Integer> kinds = new ArrayList<>();
+                addKey(keys, kinds, row.fullName(), KIND_FULL_NAME);
+                if (row.fullName() != null) {
+                    String[] parts = row.fullName().trim().split("[\\s　]+");
+                    if (parts.length > 1) {
+                        for (String part : parts) {
+                            addKey(keys, kinds, part, KIND_NAME_PART);
+                        }
+                    }
+                }
+                addKey(keys, kinds, row.employeeId(), KIND_EMPLOYEE_ID);
+                addKey(keys, kinds, row.username(), KIND_USERNAME);
+                entries[index] = new Entry(row, keys.toArray(String[]::new),
+                        kinds.stream().mapToInt(Integer::intValue).toArray());
+
+                // 氏名の各部分は氏名全体の部分文字列のため、bigram は氏名全体から取れば足りる
+                Set<String> bigrams = new LinkedHashSet<>();
+                for (int i = 0; i < keys.size(); i++) {
+                    if (kinds.get(i) != KIND_NAME_PART) {
+                        bigrams.addAll(bigrams(keys.get(i)));
+                    }
+                }
+                for (String bigram : bigrams) {
+                    lists.computeIfAbsent(bigram, key -> new ArrayList<>()).add(index);
+                }
+            }
+
+            Map<String, int[]> postings = new HashMap<>(lists.size() * 2);
+            lists.forEach((bigram, list) -> postings.put(bigram, list.stream().mapToInt(Integer::intValue).toArray()));
+            return new Snapshot(entries, postings, builtAt);
+        }
+
+        private static void addKey(List<String> keys, List<Integer> kinds, String value, int kind) {
+            String normalized = JapaneseTextNormalizer.normalize(value);
+            if (!normalized.isEmpty()) {
+                keys.add(normalized);
+                kinds.add(kind);
+            }
+        }
+
+        /**
+         * 検索文字列の全 bigram を含むエントリ（1文字の場合は全件）
+         */
+        private int[] candidates(String query) {
+            if (query.length() < 2) {
+                int[] all = new int[entries.length];
+                Arrays.setAll(all, i -> i);
+                return all;
+            }
+            List<int[]> lists = new ArrayList<>();
+            for (String bigram : bigrams(query)) {
+                int[] list = postings.get(bigram);
+                if (list == null) {
+                    return new int[0];
+                }
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(list -> list.length));
+            int[] result = lists.get(0);
+            for (int i = 1; i < lists.size() && result.length > 0; i++) {
+                result = intersect(result, lists.get(i));
+            }
+            return result;
+        }
+
+        private static Set<String> bigrams(String text) {
+            Set<String> bigrams = new LinkedHashSet<>();
+            for (int i = 0; i + 2 <= text.length(); i++) {
+                bigrams.add(text.substring(i, i + 2));
+            }
+            return bigrams;
+        }
+
+        private static int[] intersect(int[] a, int[] b) {
+            int[] result = new int[Math.min(a.length, b.length)];
+            int i = 0;
+            int j = 0;
+            int size = 0;
+            while (i < a.length && j < b.length) {
+                if (a[i] == b[j]) {
+                    result[size++] = a[i];
+                    i++;
+                    j++;
+                } else if (a[i] < b[j]) {
+                    i++;
+                } else {
+                    j++;
+                }
+            }
+            return Arrays.copyOf(result, size);
+        }
+    }
+}
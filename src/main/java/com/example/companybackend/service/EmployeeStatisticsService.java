@@ -0,0 +1,166 @@
+package com.example.companybackend.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 従業員統計サービス
+ * 全体の件数（有効・無効・ロール別・勤務地別）と部署別件数を、FILTER 句付き集計と
+ * GROUPING SETS による1回のクエリで取得し、短いTTLでキャッシュする。
+ *
+ * EmployeeCommands・UserService による更新はコミット後に {@link #invalidate()} でキャッシュを破棄する。
+ * それ以外の経路による更新はTTL経過後に反映される。
+ */
+@Service
+public class EmployeeStatisticsService {
+
+    private static final String STATISTICS_SQL = """
+            SELECT GROUPING(u.department_id) AS is_total,
+                   u.department_id,
+                   COUNT(*) AS total_count,
+                   COUNT(*) FILTER (WHERE u.is_active = true) AS active_count,
+                   COUNT(*) FILTER (WHERE u.is_active = false) AS inactive_count,
+                   COUNT(*) FILTER (WHERE u.role = 'admin') AS admin_count,
+                   COUNT(*) FILTER (WHERE u.role = 'manager') AS manager_count,
+                   COUNT(*) FILTER (WHERE u.role = 'employee') AS employee_count,
+                   COUNT(*) FILTER (WHERE u.location_type = 'office') AS office_count,
+                   COUNT(*) FILTER (WHERE u.location_type = 'client') AS client_count
+            FROM users u
+            GROUP BY GROUPING SETS ((), (u.department_id))
+            ORDER BY is_total DESC, u.department_id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+
+    // invalidate() のたびに進め、読み込み中に破棄された結果をキャッシュしないようにする
+    private final AtomicLong generation = new AtomicLong();
+    private volatile CachedStatistics cached;
+
+    @Autowired
+    public EmployeeStatisticsService(JdbcTemplate jdbcTemplate,
+            @Value("${app.employee.statistics.ttl-seconds:30}") long ttlSeconds) {
+        this(jdbcTemplate, Duration.ofSeconds(ttlSeconds), System::currentTimeMillis);
+    }
+
+    EmployeeStatisticsService(JdbcTemplate jdbcTemplate, Duration ttl, LongSupplier clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ttlMillis = ttl.toMillis();
+        this.clock = clock;
+    }
+
+    /**
+     * 統計情報を取得（キャッシュが有効な間はクエリを発行しない）
+     *
+     * @return 全体・部署別の統計
+     */
+    public Statistics getStatistics() {
+        CachedStatistics current = cached;
+        if (current != null && isFresh(current)) {
+            return current.statistics;
+        }
+        synchronized (this) {
+            // 同時に期限切れを検知したスレッドのうち、クエリを発行するのは1つだけ
+            current = cached;
+            if (current != null && isFresh(current)) {
+                return current.statistics;
+            }
+            long loadGeneration = generation.get();
+            Statistics statistics = load();
+            if (generation.get() == loadGeneration) {
+                cached = new CachedStatistics(statistics, clock.getAsLong(), loadGeneration);
+            }
+            return statistics;
+        }
+    }
+
+    /**
+     * キャッシュを破棄（トランザクション中の場合はコミット後に破棄する）
+     */
+    public void invalidate() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict();
+            }
+        });
+    }
+
+    private void evict() {
+        generation.incrementAndGet();
+        cached = null;
+    }
+
+    private boolean isFresh(CachedStatistics current) {
+        return current.generation == generation.get() && clock.getAsLong() - current.loadedAt < ttlMillis;
+    }
+
+    private Statistics load() {
+        Counts[] total = { Counts.EMPTY };
+        List<DepartmentCounts> departments = new ArrayList<>();
+        jdbcTemplate.query(STATISTICS_SQL, (RowCallbackHandler) rs -> {
+            Counts counts = new Counts(
+                    rs.getLong("total_count"),
+                    rs.getLong("active_count"),
+                    rs.getLong("inactive_count"),
+                    rs.getLong("admin_count"),
+                    rs.getLong("manager_count"),
+                    rs.getLong("employee_count"),
+                    rs.getLong("office_count"),
+                    rs.getLong("client_count"));
+            if (rs.getInt("is_total") == 1) {
+                total[0] = counts;
+            } else {
+                Integer departmentId = rs.getObject("department_id", Integer.class);
+                // 部署未所属のグループは部署別統計に含めない
+                if (departmentId != null) {
+                    departments.add(new DepartmentCounts(departmentId, counts));
+                }
+            }
+        });
+        return new Statistics(total[0], List.copyOf(departments));
+    }
+
+    private record CachedStatistics(Statistics statistics, long loadedAt, long generation) {
+    }
+
+    /**
+     * 統計情報
+     *
+     * @param total       全体の件数
+     * @param departments 部署別の件数（部署ID順）
+     */
+    public record Statistics(Counts total, List<DepartmentCounts> departments) {
+    }
+
+    /**
+     * 部署別件数
+     */
+    public record DepartmentCounts(Integer departmentId, Counts counts) {
+    }
+
+    /**
+     * 件数
+     */
+    public record Counts(long total, long active, long inactive, long admin, long manager, long employee,
+            long office, long client) {
+
+        static final Counts EMPTY = new Counts(0, 0, 0, 0, 0, 0, 0, 0);
+    }
+}
@@ -0,0 +1,379 @@
+package com.example.companybackend.service;
+
+import com.example.companybackend.entity.LeaveRequest;
+import com.example.companybackend.entity.User;
+import com.example.companybackend.repository.LeaveRequestRepository;
+import com.example.companybackend.repository.PaidLeaveBalanceRepository;
+import com.example.companybackend.repository.PaidLeaveBalanceRepository.BalanceDelta;
+import com.example.companybackend.repository.PaidLeaveBalanceRepository.PaidLeaveBalance;
+import com.example.companybackend.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * 有給休暇残高サービス
+ * 有給休暇残高台帳（paid_leave_balances）の付与・取得・承認待ち・残日数を、
+ * 申請の登録・更新・削除・承認・却下のたびに差分で更新し、読み取りはメモリキャッシュから返す。
+ *
+ * - 残高表示は台帳の主キー検索（キャッシュヒット時はメモリのみ）で済み、申請の集計を行わない
+ * - 残日数チェックはキャッシュを使わず台帳の行をロックして判定し、同じユーザー・年度への同時申請を直列化する
+ * - 台帳に行がないユーザー・年度は、初回参照時または初回の差分更新時に申請から集計して登録する
+ * - キャッシュは差分更新したトランザクションの完了後（コミット・ロールバックとも）に該当キーを破棄する
+ * - 他ノードでの更新は TTL 経過後に反映される
+ *
+ * 年度をまたぐ申請は年度ごとの日数に分けて反映する。
+ */
+@Service
+@Transactional
+public class LeaveBalanceService {
+
+    private static final Logger log = LoggerFactory.getLogger(LeaveBalanceService.class);
+
+    private static final String PAID = "paid";
+
+    private final PaidLeaveBalanceRepository paidLeaveBalanceRepository;
+    private final LeaveRequestRepository leaveRequestRepository;
+    private final UserRepository userRepository;
+    private final PaidLeaveCalculationService paidLeaveCalculationService;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+
+    private final Map<BalanceKey, CachedBalance> cache = new ConcurrentHashMap<>();
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    @Autowired
+    public LeaveBalanceService(PaidLeaveBalanceRepository paidLeaveBalanceRepository,
+            LeaveRequestRepository leaveRequestRepository, UserRepository userRepository,
+            PaidLeaveCalculationService paidLeaveCalculationService, MeterRegistry meterRegistry,
+            @Value("${app.leave-balance.cache.ttl-seconds:300}") long ttlSeconds) {
+        this(paidLeaveBalanceRepository, leaveRequestRepository, userRepository, paidLeaveCalculationService,
+                meterRegistry, Duration.ofSeconds(ttlSeconds), System::currentTimeMillis);
+    }
+
+    LeaveBalanceService(PaidLeaveBalanceRepository paidLeaveBalanceRepository,
+            LeaveRequestRepository leaveRequestRepository, UserRepository userRepository,
+            PaidLeaveCalculationService paidLeaveCalculationService, MeterRegistry meterRegistry, Duration ttl,
+            LongSupplier clock) {
+        this.paidLeaveBalanceRepository = paidLeaveBalanceRepository;
+        this.leaveRequestRepository = leaveRequestRepository;
+        this.userRepository = userRepository;
+        this.paidLeaveCalculationService = paidLeaveCalculationService;
+        this.ttlMillis = ttl.toMillis();
+        this.clock = clock;
+
+        this.hitCounter = Counter.builder("leave.balance.cache").tag("result", "hit")
+                .description("有給休暇残高キャッシュのヒット数").register(meterRegistry);
+        this.missCounter = Counter.builder("leave.balance.cache").tag("result", "miss")
+                .description("有給休暇残高キャッシュのミス数").register(meterRegistry);
+        Gauge.builder("leave.balance.cache.size", cache, Map::size)
+                .description("有給休暇残高キャッシュのエントリ数").register(meterRegistry);
+    }
+
+    /**
+     * 有給休暇残高取得
+     *
+     * @param userId     ユーザーID
+     * @param fiscalYear 年度
+     * @return 残高
+     * @throws IllegalArgumentException ユーザーが見つからない場合
+     */
+    public PaidLeaveBalance getBalance(Long userId, int fiscalYear) {
+        BalanceKey key = new BalanceKey(userId.intValue(), fiscalYear);
+        long now = clock.getAsLong();
+        CachedBalance cached = cache.get(key);
+        if (cached != null && now - cached.loadedAtMillis() < ttlMillis) {
+            hitCounter.increment();
+            return cached.balance();
+        }
+        missCounter.increment();
+
+        PaidLeaveBalance balance = paidLeaveBalanceRepository.findBalance(key.userId(), fiscalYear)
+                .orElseGet(() -> {
+                    initialize(key);
+                    return paidLeaveBalanceRepository.findBalance(key.userId(), fiscalYear)
+                            .orElseThrow(() -> new IllegalStateException("有給休暇残高を登録できませんでした: " + key));
+                });
+        cache.put(key, new CachedBalance(balance, now));
+        return balance;
+    }
+
+    /**
+     * 有給休暇の残日数チェック（有給以外の休暇タイプは対象外）
+     * 台帳の行ロックは呼び出し側のトランザクション終了まで保持されるため、同一トランザクション内で
+     * 申請の登録・更新と差分の反映（onCreated / onUpdated）まで行うこと
+     *
+     * @param userId    ユーザーID
+     * @param type      休暇タイプ
+     * @param startDate 開始日
+     * @param endDate   終了日
+     * @param replacing 更新時の変更前の申請（新規申請の場合は null）。承認待ちの有給申請であれば、その日数を戻して判定する
+     * @throws IllegalStateException 残日数が不足する場合
+     */
+    public void checkAvailable(Long userId, String type, LocalDate startDate, LocalDate endDate,
+            LeavePeriod replacing) {
+        if (!PAID.equals(type)) {
+            return;
+        }
+        Map<Integer, Integer> released = replacing != null && replacing.isPendingPaid()
+                ? daysByFiscalYear(replacing.startDate(), replacing.endDate())
+                : Map.of();
+
+        for (Map.Entry<Integer, Integer> entry : daysByFiscalYear(startDate, endDate).entrySet()) {
+            int fiscalYear = entry.getKey();
+            BalanceKey key = new BalanceKey(userId.intValue(), fiscalYear);
+            int available = lockBalance(key).availableDays() + released.getOrDefault(fiscalYear, 0);
+            if (entry.getValue() > available) {
+                log.warn("有給休暇残日数不足: userId={}, fiscalYear={}, requested={}, available={}",
+                        userId, fiscalYear, entry.getValue(), available);
+                throw new IllegalStateException("有給休暇の残日数が不足しています（" + fiscalYear + "年度の残り: "
+                        + Math.max(0, available) + "日）");
+            }
+        }
+    }
+
+    /**
+     * 申請登録の反映（承認待ち日数を加算）
+     */
+    public void onCreated(LeaveRequest leaveRequest) {
+        Map<BalanceKey, int[]> deltas = new LinkedHashMap<>();
+        accumulate(deltas, LeavePeriod.of(leaveRequest), 1);
+        apply(deltas);
+    }
+
+    /**
+     * 申請更新の反映（変更前の日数を戻し、変更後の日数を加算）
+     *
+     * @param before 変更前の申請
+     * @param after  変更後の申請
+     */
+    public void onUpdated(LeavePeriod before, LeaveRequest after) {
+        Map<BalanceKey, int[]> deltas = new LinkedHashMap<>();
+        accumulate(deltas, before, -1);
+        accumulate(deltas, LeavePeriod.of(after), 1);
+        apply(deltas);
+    }
+
+    /**
+     * 申請削除の反映（削除した申請の日数を戻す）
+     */
+    public void onDeleted(LeaveRequest leaveRequest) {
+        Map<BalanceKey, int[]> deltas = new LinkedHashMap<>();
+        accumulate(deltas, LeavePeriod.of(leaveRequest), -1);
+        apply(deltas);
+    }
+
+    /**
+     * 承認・却下の反映（承認待ち日数を戻し、承認の場合は取得日数に加算）
+     * 一括承認・却下の場合もユーザー・年度ごとにまとめて1回のバッチ更新で反映する
+     *
+     * @param decided  承認・却下した申請（ステータスは変更前・変更後のどちらでもよい）
+     * @param approved 承認の場合 true
+     */
+    public void onDecided(Collection<LeaveRequest> decided, boolean approved) {
+        Map<BalanceKey, int[]> deltas = new LinkedHashMap<>();
+        for (LeaveRequest leaveRequest : decided) {
+            LeavePeriod period = LeavePeriod.of(leaveRequest);
+            accumulate(deltas, period.withStatus("pending"), -1);
+            if (approved) {
+                accumulate(deltas, period.withStatus("approved"), 1);
+            }
+        }
+        apply(deltas);
+    }
+
+    /**
+     * 全エントリをトランザクション完了後に破棄（有給日数更新バッチによる台帳の全件更新後）
+     */
+    public void evictAllAfterCompletion() {
+        afterCompletion(cache::clear);
+    }
+
+    /**
+     * 期間の日数を年度ごとに分割（終了日を含む）
+     *
+     * @return 年度 → 日数（年度順）
+     */
+    static Map<Integer, Integer> daysByFiscalYear(LocalDate startDate, LocalDate endDate) {
+        Map<Integer, Integer> days = new LinkedHashMap<>();
+        if (startDate == null || endDate == null || endDate.isBefore(startDate)) {
+            return days;
+        }
+        LocalDate from = startDate;
+        while (!from.isAfter(endDate)) {
+            int fiscalYear = PaidLeaveAccrualService.fiscalYearOf(from);
+            LocalDate yearEnd = PaidLeaveAccrualService.fiscalYearStart(fiscalYear + 1).minusDays(1);
+            LocalDate to = yearEnd.isBefore(endDate) ? yearEnd : endDate;
+            days.put(fiscalYear, (int) ChronoUnit.DAYS.between(from, to) + 1);
+            from = to.plusDays(1);
+        }
+        return days;
+    }
+
+    /**
+     * 有給申請の日数を差分に加算（有給以外・承認待ちでも承認済みでもない申請は対象外）
+     *
+     * @param sign 加算の場合 1、減算の場合 -1
+     */
+    private void accumulate(Map<BalanceKey, int[]> deltas, LeavePeriod period, int sign) {
+        if (period == null || !PAID.equals(period.type()) || period.userId() == null) {
+            return;
+        }
+        boolean approved = "approved".equals(period.status());
+        if (!approved && !"pending".equals(period.status())) {
+            return;
+        }
+        daysByFiscalYear(period.startDate(), period.endDate()).forEach((fiscalYear, days) -> {
+            int[] delta = deltas.computeIfAbsent(new BalanceKey(period.userId(), fiscalYear), key -> new int[2]);
+            delta[approved ? 0 : 1] += sign * days;
+        });
+    }
+
+    /**
+     * 差分を台帳へ反映
+     * 台帳に行がない場合は申請から集計して登録する（集計に今回の変更が含まれるため差分は加えない）。
+     * 同時に他のトランザクションが同じ行を登録した場合は、その行に差分を加える。
+     * 行ロックは有給日数更新バッチ（PaidLeaveBalanceRepository.lockBalances）と同じくユーザーID順に取得する。
+     */
+    private void apply(Map<BalanceKey, int[]> deltas) {
+        List<BalanceDelta> changed = new ArrayList<>();
+        deltas.forEach((key, delta) -> {
+            if (delta[0] != 0 || delta[1] != 0) {
+                changed.add(new BalanceDelta(key.userId(), key.fiscalYear(), delta[0], delta[1]));
+            }
+        });
+        if (changed.isEmpty()) {
+            return;
+        }
+        changed.sort(Comparator.comparing(BalanceDelta::userId).thenComparingInt(BalanceDelta::fiscalYear));
+
+        int[] updated = paidLeaveBalanceRepository.applyDeltas(changed);
+        List<BalanceDelta> retry = new ArrayList<>();
+        for (int i = 0; i < changed.size(); i++) {
+            if (updated[i] == 0) {
+                BalanceDelta delta = changed.get(i);
+                if (initialize(new BalanceKey(delta.userId(), delta.fiscalYear())) == 0) {
+                    retry.add(delta);
+                }
+            }
+        }
+        if (!retry.isEmpty()) {
+            paidLeaveBalanceRepository.applyDeltas(retry);
+        }
+
+        List<BalanceKey> keys = changed.stream()
+                .map(delta -> new BalanceKey(delta.userId(), delta.fiscalYear()))
+                .toList();
+        afterCompletion(() -> keys.forEach(cache::remove));
+    }
+
+    /**
+     * 残高を行ロック付きで取得（台帳に行がない場合は申請から集計して登録してからロックする）
+     */
+    private PaidLeaveBalance lockBalance(BalanceKey key) {
+        return paidLeaveBalanceRepository.findBalanceForUpdate(key.userId(), key.fiscalYear())
+                .orElseGet(() -> {
+                    initialize(key);
+                    return paidLeaveBalanceRepository.findBalanceForUpdate(key.userId(), key.fiscalYear())
+                            .orElseThrow(() -> new IllegalStateException("有給休暇残高を登録できませんでした: " + key));
+                });
+    }
+
+    /**
+     * 台帳に行がないユーザー・年度の残高を申請から集計して登録
+     *
+     * @return 登録行数（他のトランザクションが先に登録していた場合は 0）
+     */
+    private int initialize(BalanceKey key) {
+        User user = userRepository.findById(key.userId().longValue())
+                .orElseThrow(() -> new IllegalArgumentException("ユーザーが見つかりません: " + key.userId()));
+        LocalDate hireDate = user.getHireDate() != null
+                ? user.getHireDate()
+                : user.getCreatedAt().toLocalDate();
+        LocalDate periodStart = PaidLeaveAccrualService.fiscalYearStart(key.fiscalYear());
+        LocalDate periodEnd = PaidLeaveAccrualService.fiscalYearStart(key.fiscalYear() + 1).minusDays(1);
+        // 年度途中の初回登録は年度開始日と当日の遅い方を基準日とする（有給日数更新バッチで年度単位に補正される）
+        LocalDate today = LocalDate.now();
+        LocalDate targetDate = today.isAfter(periodStart) && !today.isAfter(periodEnd) ? today : periodStart;
+        int yearsOfService = (int) Math.max(0, paidLeaveCalculationService.yearsOfService(hireDate, targetDate));
+        int grantedDays = paidLeaveCalculationService.calculateGrantDays(hireDate, targetDate);
+
+        // 集計に同一トランザクション内の申請の変更を含めるため、先に反映する
+        leaveRequestRepository.flush();
+        int inserted = paidLeaveBalanceRepository.initializeFromRequests(key.userId(), key.fiscalYear(),
+                periodStart, periodEnd, hireDate, yearsOfService, grantedDays, OffsetDateTime.now());
+        log.debug("有給休暇残高初期化: userId={}, fiscalYear={}, grantedDays={}, inserted={}",
+                key.userId(), key.fiscalYear(), grantedDays, inserted);
+        return inserted;
+    }
+
+    /**
+     * トランザクションの完了後（コミット・ロールバックとも）に処理を実行（トランザクション外の場合は即時実行）
+     */
+    private void afterCompletion(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * 残高への反映に必要な申請の内容（更新前の値を保持するためのスナップショット）
+     *
+     * @param userId    ユーザーID
+     * @param type      休暇タイプ
+     * @param status    ステータス
+     * @param startDate 開始日
+     * @param endDate   終了日
+     */
+    public record LeavePeriod(Integer userId, String type, String status, LocalDate startDate, LocalDate endDate) {
+
+        public static LeavePeriod of(LeaveRequest leaveRequest) {
+            return new LeavePeriod(leaveRequest.getUserId(), leaveRequest.getType(), leaveRequest.getStatus(),
+                    leaveRequest.getStartDate(), leaveRequest.getEndDate());
+        }
+
+        LeavePeriod withStatus(String newStatus) {
+            return new LeavePeriod(userId, type, newStatus, startDate, endDate);
+        }
+
+        boolean isPendingPaid() {
+            return PAID.equals(type) && "pending".equals(status);
+        }
+    }
+
+    private record BalanceKey(Integer userId, int fiscalYear) {
+    }
+
+    private record CachedBalance(PaidLeaveBalance balance, long loadedAtMillis) {
+    }
+}
@@ -3,17 +3,25 @@ package com.example.companybackend.service;
 import com.example.companybackend.entity.LeaveRequest;
 import com.example.companybackend.entity.User;
 import com.example.companybackend.repository.LeaveRequestRepository;
+import com.example.companybackend.repository.PaidLeaveBalanceRepository;
 import com.example.companybackend.repository.UserRepository;
 import com.example.companybackend.service.NotificationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * 休暇申請管理サービス
@@ -26,9 +34,9 @@ import java.util.Optional;
  * 
  * 機能:
  * - 休暇申請作成・更新・削除
- * - 申請承認・却下処理
- * - 重複期間チェック
- * - 休暇残日数管理
+ * - 申請承認・却下処理（一括処理を含む）
+ * - 重複期間チェック（排他制約による原子的な判定）
+ * - 休暇残日数管理（有給休暇残高台帳の差分更新とキャッシュによる残日数チェック）
  * - 申請統計情報
  */
 @Service
@@ -37,9 +45,13 @@ import java.util.Optional;
 @Slf4j
 public class LeaveService {
 
+    /** 同一ユーザーの申請期間の重複を防ぐ排他制約 */
+    private static final String OVERLAP_CONSTRAINT = "leave_requests_no_overlap";
+
     private final LeaveRequestRepository leaveRequestRepository;
     private final UserRepository userRepository;
     private final NotificationService notificationService;
+    private final LeaveBalanceService leaveBalanceService;
 
     /**
      * 休暇申請作成
@@ -50,7 +62,7 @@ public class LeaveService {
      * @param reason 理由
      * @return 作成された休暇申請
      * @throws IllegalArgumentException 不正な申請データの場合
-     * @throws IllegalStateException 重複期間がある場合
+     * @throws IllegalStateException 重複期間がある場合、または有給休暇の残日数が不足する場合
      */
     public LeaveRequest createLeaveRequest(Long userId, String type, LocalDate startDate, LocalDate endDate, String reason) {
         log.info("休暇申請作成開始: userId={}, type={}, startDate={}, endDate={}", userId, type, startDate, endDate);
@@ -61,16 +73,9 @@ public class LeaveService {
 
         // 申請データ妥当性チェック
         validateLeaveRequest(type, startDate, endDate);
+        leaveBalanceService.checkAvailable(userId, type, startDate, endDate, null);
 
-        // 重複期間チェック
-        List<LeaveRequest> overlappingRequests = leaveRequestRepository
-            .findOverlappingRequests(userId.intValue(), startDate, endDate, null);
-        
-        if (!overlappingRequests.isEmpty()) {
-            throw new IllegalStateException("指定期間に既存の申請があります");
-        }
-
-        // 休暇申請作成
+        // 休暇申請作成（重複期間は排他制約で登録と同時に判定）
         LeaveRequest leaveRequest = new LeaveRequest();
         leaveRequest.setUserId(userId.intValue());
         leaveRequest.setType(type);
@@ -81,7 +86,8 @@ public class LeaveService {
         leaveRequest.setCreatedAt(OffsetDateTime.now());
         leaveRequest.setUpdatedAt(OffsetDateTime.now());
 
-        LeaveRequest savedRequest = leaveRequestRepository.save(leaveRequest);
+        LeaveRequest savedRequest = saveWithoutOverlap(leaveRequest, "指定期間に既存の申請があります");
+        leaveBalanceService.onCreated(savedRequest);
         log.info("休暇申請作成完了: leaveRequestId={}, userId={}", savedRequest.getId(), userId);
         
         // 通知処理
@@ -99,7 +105,7 @@ public class LeaveService {
      * @param reason 理由
      * @return 更新された休暇申請
      * @throws IllegalArgumentException 申請が見つからない場合
-     * @throws IllegalStateException 承認済み申請を更新しようとした場合
+     * @throws IllegalStateException 承認済み申請を更新しようとした場合、または有給休暇の残日数が不足する場合
      */
     public LeaveRequest updateLeaveRequest(Long requestId, String type, LocalDate startDate, LocalDate endDate, String reason) {
         log.info("休暇申請更新開始: requestId={}, type={}, startDate={}, endDate={}", requestId, type, startDate, endDate);
@@ -115,22 +121,17 @@ public class LeaveService {
 
         // 申請データ妥当性チェック
         validateLeaveRequest(type, startDate, endDate);
+        LeaveBalanceService.LeavePeriod before = LeaveBalanceService.LeavePeriod.of(existingRequest);
+        leaveBalanceService.checkAvailable(existingRequest.getUserId().longValue(), type, startDate, endDate, before);
 
-        // 重複期間チェック（自身の申請を除外）
-        List<LeaveRequest> overlappingRequests = leaveRequestRepository
-            .findOverlappingRequests(existingRequest.getUserId(), startDate, endDate, requestId.intValue());
-        
-        if (!overlappingRequests.isEmpty()) {
-            throw new IllegalStateException("指定期間に他の申請があります");
-        }
-
-        // 申請更新
+        // 申請更新（重複期間は排他制約で更新と同時に判定）
         existingRequest.setType(type);
         existingRequest.setStartDate(startDate);
         existingRequest.setEndDate(endDate);
         existingRequest.setReason(reason);
 
-        LeaveRequest updatedRequest = leaveRequestRepository.save(existingRequest);
+        LeaveRequest updatedRequest = saveWithoutOverlap(existingRequest, "指定期間に他の申請があります");
+        leaveBalanceService.onUpdated(before, updatedRequest);
         log.info("休暇申請更新完了: requestId={}, leaveDays={}", updatedRequest.getId(), updatedRequest.getLeaveDays());
 
         return updatedRequest;
@@ -155,6 +156,7 @@ public class LeaveService {
         }
 
         leaveRequestRepository.delete(existingRequest);
+        leaveBalanceService.onDeleted(existingRequest);
         log.info("休暇申請削除完了: requestId={}", requestId);
     }
 
@@ -186,6 +188,7 @@ public class LeaveService {
         leaveRequest.approve(approverId);
 
         LeaveRequest approvedRequest = leaveRequestRepository.save(leaveRequest);
+        leaveBalanceService.onDecided(List.of(approvedRequest), true);
         log.info("休暇申請承認完了: requestId={}, approverId={}", approvedRequest.getId(), approverId);
 
         return approvedRequest;
@@ -219,11 +222,77 @@ public class LeaveService {
         leaveRequest.reject(approverId.intValue());
 
         LeaveRequest rejectedRequest = leaveRequestRepository.save(leaveRequest);
+        leaveBalanceService.onDecided(List.of(rejectedRequest), false);
         log.info("休暇申請却下完了: requestId={}, approverId={}", rejectedRequest.getId(), approverId);
 
         return rejectedRequest;
     }
 
+    /**
+     * 休暇申請一括承認・却下
+     * 申請・承認者の読み込み、ステータス更新、通知登録をそれぞれ1回のクエリで行う。
+     * 見つからない申請・承認待ちでない申請は処理せず結果に含める。
+     * @param requestIds 申請IDリスト（最大 {@link BulkDecisionResult#MAX_REQUESTS} 件）
+     * @param approverId 承認者ID
+     * @param approve 承認の場合 true、却下の場合 false
+     * @return 一括処理結果
+     * @throws IllegalArgumentException 申請IDが空・上限超過、または承認者が見つからない場合
+     * @throws IllegalStateException 処理中に他の承認者が同じ申請を処理した場合（全件ロールバック）
+     */
+    public BulkDecisionResult decideLeaveRequests(List<Long> requestIds, Long approverId, boolean approve) {
+        String status = approve ? "approved" : "rejected";
+        log.info("休暇申請一括{}開始: count={}, approverId={}", approve ? "承認" : "却下",
+            requestIds != null ? requestIds.size() : 0, approverId);
+
+        Set<Long> ids = validateBulkRequestIds(requestIds);
+
+        // 承認者存在確認
+        userRepository.findById(approverId)
+            .orElseThrow(() -> new IllegalArgumentException("承認者が見つかりません: " + approverId));
+
+        Map<Long, LeaveRequest> found = leaveRequestRepository.findAllById(ids).stream()
+            .collect(Collectors.toMap(LeaveRequest::getId, Function.identity()));
+
+        List<LeaveRequest> pending = new ArrayList<>();
+        List<Long> notFoundIds = new ArrayList<>();
+        List<Long> alreadyProcessedIds = new ArrayList<>();
+        for (Long id : ids) {
+            LeaveRequest leaveRequest = found.get(id);
+            if (leaveRequest == null) {
+                notFoundIds.add(id);
+            } else if (!leaveRequest.isPending()) {
+                alreadyProcessedIds.add(id);
+            } else {
+                pending.add(leaveRequest);
+            }
+        }
+
+        if (!pending.isEmpty()) {
+            OffsetDateTime decidedAt = OffsetDateTime.now();
+            Long[] pendingIds = pending.stream().map(LeaveRequest::getId).toArray(Long[]::new);
+            int updated = leaveRequestRepository.decidePendingByIds(pendingIds, status, approverId.intValue(), decidedAt);
+            if (updated != pendingIds.length) {
+                throw new IllegalStateException("他の承認者により処理された申請が含まれています。再読み込みしてください");
+            }
+
+            // 一括更新済みのため、エンティティには結果のみ反映する（個別の UPDATE は発行しない）
+            for (LeaveRequest leaveRequest : pending) {
+                leaveRequest.setStatus(status);
+                leaveRequest.setApproverId(approverId.intValue());
+                leaveRequest.setApprovedAt(decidedAt);
+                leaveRequest.setUpdatedAt(decidedAt);
+            }
+            leaveBalanceService.onDecided(pending, approve);
+            notificationService.sendLeaveDecisionNotifications(pending, approve);
+        }
+
+        BulkDecisionResult result = new BulkDecisionResult(status,
+            pending.stream().map(LeaveRequest::getId).toList(), notFoundIds, alreadyProcessedIds);
+        log.info("休暇申請一括{}完了: processed={}, skipped={}, approverId={}", approve ? "承認" : "却下",
+            result.processedCount(), result.skippedCount(), approverId);
+        return result;
+    }
+
     /**
      * ユーザーの休暇申請一覧取得
      * @param userId ユーザーID
@@ -396,6 +465,46 @@ public class LeaveService {
         }
     }
 
+    /**
+     * 休暇申請を即時に反映して保存（重複期間の判定を同時に行う）
+     * 判定は排他制約 leave_requests_no_overlap が行うため、同時に登録された申請同士も重複しない
+     * @param leaveRequest 休暇申請
+     * @param overlapMessage 重複時のメッセージ
+     * @return 保存された休暇申請
+     * @throws IllegalStateException 期間が重複する場合
+     */
+    private LeaveRequest saveWithoutOverlap(LeaveRequest leaveRequest, String overlapMessage) {
+        try {
+            return leaveRequestRepository.saveAndFlush(leaveRequest);
+        } catch (DataIntegrityViolationException e) {
+            String cause = e.getMostSpecificCause().getMessage();
+            if (cause != null && cause.contains(OVERLAP_CONSTRAINT)) {
+                log.warn("休暇申請期間重複: userId={}, startDate={}, endDate={}",
+                    leaveRequest.getUserId(), leaveRequest.getStartDate(), leaveRequest.getEndDate());
+                throw new IllegalStateException(overlapMessage);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 一括処理対象の申請IDチェック（重複は除き、指定順を保つ）
+     * @param requestIds 申請IDリスト
+     * @return 申請IDセット
+     * @throws IllegalArgumentException 空・上限超過の場合
+     */
+    private Set<Long> validateBulkRequestIds(List<Long> requestIds) {
+        if (requestIds == null || requestIds.isEmpty()) {
+            throw new IllegalArgumentException("申請IDを指定してください");
+        }
+        Set<Long> ids = new LinkedHashSet<>(requestIds);
+        ids.remove(null);
+        if (ids.size() > BulkDecisionResult.MAX_REQUESTS) {
+            throw new IllegalArgumentException("一度に処理できる申請は" + BulkDecisionResult.MAX_REQUESTS + "件までです");
+        }
+        return ids;
+    }
+
     /**
      * 申請詳細取得
      * @param requestId 申請ID
@@ -407,18 +516,22 @@ public class LeaveService {
     }
 
     /**
-     * 有給休暇の残日数計算
+     * 有給休暇の残日数計算（当年度の付与日数 - 取得日数）
+     * 有給休暇残高台帳から取得する（台帳に行がない場合は申請から集計して登録するため読み取り専用にしない）
      * @param userId ユーザーID
      * @return 残日数
      */
-    @Transactional(readOnly = true)
     public long calculateRemainingPaidLeaveDays(Long userId) {
-        // 仮の実装: 固定で20日を設定し、使用した日数を差し引く
-        long totalPaidLeaveDays = 20; // 年間の有給休暇日数
-        long usedPaidLeaveDays = getApprovedLeaveDays(userId, 
-            LocalDate.now().withDayOfYear(1), // 年初め
-            LocalDate.now().withDayOfYear(LocalDate.now().lengthOfYear())); // 年末
-        return totalPaidLeaveDays - usedPaidLeaveDays;
+        return getPaidLeaveBalance(userId).remainingDays();
+    }
+
+    /**
+     * 当年度の有給休暇残高取得（付与・取得・承認待ち・残日数）
+     * @param userId ユーザーID
+     * @return 有給休暇残高
+     */
+    public PaidLeaveBalanceRepository.PaidLeaveBalance getPaidLeaveBalance(Long userId) {
+        return leaveBalanceService.getBalance(userId, PaidLeaveAccrualService.fiscalYearOf(LocalDate.now()));
     }
 
     /**
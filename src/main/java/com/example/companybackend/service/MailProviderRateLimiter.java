@@ -0,0 +1,94 @@
+package com.example.companybackend.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * メール送信プロバイダ別レート制限（トークンバケット）
+ * プロバイダ（宛先ドメイン）ごとに1分あたりの送信数を制限する
+ *
+ * 設定例:
+ * app.notification.email.rate-limit.default-per-minute=60
+ * app.notification.email.rate-limit.providers=gmail.com=20,outlook.com=30
+ */
+@Component
+public class MailProviderRateLimiter {
+
+    private static final Logger log = LoggerFactory.getLogger(MailProviderRateLimiter.class);
+
+    private static final double NANOS_PER_MINUTE = 60_000_000_000d;
+
+    private final int defaultPerMinute;
+    private final Map<String, Integer> providerLimits;
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    public MailProviderRateLimiter(
+            @Value("${app.notification.email.rate-limit.default-per-minute:60}") int defaultPerMinute,
+            @Value("${app.notification.email.rate-limit.providers:}") String providerLimits) {
+        this.defaultPerMinute = Math.max(1, defaultPerMinute);
+        this.providerLimits = parseProviderLimits(providerLimits);
+    }
+
+    /**
+     * 送信許可数を取得
+     * 
+     * @param provider  プロバイダ
+     * @param requested 要求数
+     * @return 許可された数（0〜requested）
+     */
+    public int tryAcquire(String provider, int requested) {
+        Bucket bucket = buckets.computeIfAbsent(provider,
+                key -> new Bucket(providerLimits.getOrDefault(key, defaultPerMinute)));
+        return bucket.take(requested);
+    }
+
+    private static Map<String, Integer> parseProviderLimits(String value) {
+        Map<String, Integer> limits = new HashMap<>();
+        if (value == null || value.isBlank()) {
+            return limits;
+        }
+        for (String entry : value.split(",")) {
+            String[] pair = entry.trim().split("=");
+            if (pair.length != 2) {
+                continue;
+            }
+            try {
+                limits.put(pair[0].trim().toLowerCase(), Math.max(1, Integer.parseInt(pair[1].trim())));
+            } catch (NumberFormatException e) {
+                log.warn("プロバイダ別レート制限の設定値が不正です: {}", entry);
+            }
+        }
+        return limits;
+    }
+
+    /**
+     * トークンバケット（1分で容量分まで補充）
+     */
+    private static final class Bucket {
+        private final int capacity;
+        private double tokens;
+        private long lastRefillNanos;
+
+        Bucket(int capacity) {
+            this.capacity = capacity;
+            this.tokens = capacity;
+            this.lastRefillNanos = System.nanoTime();
+        }
+
+        synchronized int take(int requested) {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * capacity / NANOS_PER_MINUTE);
+            lastRefillNanos = now;
+
+            int granted = (int) Math.min(requested, Math.floor(tokens));
+            tokens -= granted;
+            return granted;
+        }
+    }
+}
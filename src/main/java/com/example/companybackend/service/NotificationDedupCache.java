@@ -0,0 +1,176 @@
+package com.example.companybackend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * 通知重複防止キャッシュ
+ * (userId, title) の64bitハッシュをキーに直近の送信時刻を保持する。
+ * 件数上限とTTLの両方で古いエントリを破棄するため、長期間稼働してもメモリ使用量は一定に保たれる。
+ *
+ * エントリは挿入順（＝送信時刻順）に並ぶため、期限切れの除去は先頭からの走査のみで済む。
+ * キャッシュ未ヒット時、起動からTTL以上経過していれば「窓内に送信なし」と判断でき、DB確認を省略できる。
+ * ただし件数上限で破棄したエントリは窓内に送信済みの可能性があるため、最後の破棄から窓が経過するまではDBを確認する。
+ */
+@Component
+public class NotificationDedupCache {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final boolean alwaysCheckDatabase;
+    private final LongSupplier clock;
+    private final long startedAtMillis;
+
+    /** 最後に件数上限でエントリを破棄した時刻（エポックミリ秒、未破棄の場合は null） */
+    private volatile Long lastEvictionMillis;
+
+    /** キー（ハッシュ）→ 送信時刻（エポックミリ秒） */
+    private final LinkedHashMap<Long, Long> entries = new LinkedHashMap<>();
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter evictionCounter;
+    private final Counter expirationCounter;
+
+    @Autowired
+    public NotificationDedupCache(MeterRegistry meterRegistry,
+            @Value("${app.notification.dedup.max-entries:100000}") int maxEntries,
+            @Value("${app.notification.dedup.ttl-minutes:5}") long ttlMinutes,
+            @Value("${app.notification.dedup.always-check-database:false}") boolean alwaysCheckDatabase) {
+        this(meterRegistry, maxEntries, Duration.ofMinutes(ttlMinutes), alwaysCheckDatabase, System::currentTimeMillis);
+    }
+
+    NotificationDedupCache(MeterRegistry meterRegistry, int maxEntries, Duration ttl, boolean alwaysCheckDatabase,
+            LongSupplier clock) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.ttlMillis = ttl.toMillis();
+        this.alwaysCheckDatabase = alwaysCheckDatabase;
+        this.clock = clock;
+        this.startedAtMillis = clock.getAsLong();
+
+        this.hitCounter = Counter.builder("notification.dedup.cache").tag("result", "hit")
+                .description("通知重複防止キャッシュのヒット数").register(meterRegistry);
+        this.missCounter = Counter.builder("notification.dedup.cache").tag("result", "miss")
+                .description("通知重複防止キャッシュのミス数").register(meterRegistry);
+        this.evictionCounter = Counter.builder("notification.dedup.cache.removals").tag("cause", "size")
+                .description("件数上限による破棄数").register(meterRegistry);
+        this.expirationCounter = Counter.builder("notification.dedup.cache.removals").tag("cause", "expired")
+                .description("TTL超過による破棄数").register(meterRegistry);
+        Gauge.builder("notification.dedup.cache.size", this, NotificationDedupCache::size)
+                .description("通知重複防止キャッシュのエントリ数").register(meterRegistry);
+    }
+
+    /**
+     * 指定時間窓内に同一 (userId, title) の通知が送信済みか判定
+     * 
+     * @param userId ユーザーID
+     * @param title  タイトル
+     * @param window 時間窓
+     * @return 窓内に送信済みの場合true
+     */
+    public synchronized boolean isRecent(Integer userId, String title, Duration window) {
+        long now = clock.getAsLong();
+        purgeExpired(now);
+
+        Long sentAt = entries.get(keyOf(userId, title));
+        if (sentAt != null && now - sentAt < window.toMillis()) {
+            hitCounter.increment();
+            return true;
+        }
+        missCounter.increment();
+        return false;
+    }
+
+    /**
+     * 送信を記録
+     * 
+     * @param userId ユーザーID
+     * @param title  タイトル
+     */
+    public synchronized void record(Integer userId, String title) {
+        long now = clock.getAsLong();
+        purgeExpired(now);
+
+        long key = keyOf(userId, title);
+        // 挿入順を送信時刻順に保つため、既存キーは一度削除して末尾に追加する
+        entries.remove(key);
+        entries.put(key, now);
+
+        Iterator<Map.Entry<Long, Long>> iterator = entries.entrySet().iterator();
+        while (entries.size() > maxEntries && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            evictionCounter.increment();
+            lastEvictionMillis = now;
+        }
+    }
+
+    /**
+     * キャッシュ未ヒットを「窓内に送信なし」とみなせるか判定
+     * TTLより長い窓、起動直後（窓分の履歴がない）、窓内に件数上限による破棄があった場合、
+     * または設定で常時DB確認が指定された場合は false
+     * 
+     * @param window 時間窓
+     * @return キャッシュのみで判定可能な場合true
+     */
+    public boolean isAuthoritativeFor(Duration window) {
+        long windowMillis = window.toMillis();
+        long now = clock.getAsLong();
+        Long evictedAt = lastEvictionMillis;
+        return !alwaysCheckDatabase
+                && windowMillis <= ttlMillis
+                && now - startedAtMillis >= windowMillis
+                && (evictedAt == null || now - evictedAt >= windowMillis);
+    }
+
+    /**
+     * 現在のエントリ数
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private void purgeExpired(long now) {
+        Iterator<Map.Entry<Long, Long>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            if (now - iterator.next().getValue() < ttlMillis) {
+                break;
+            }
+            iterator.remove();
+            expirationCounter.increment();
+        }
+    }
+
+    /**
+     * (userId, title) の64bitハッシュ（FNV-1a）
+     */
+    static long keyOf(Integer userId, String title) {
+        long hash = FNV_OFFSET_BASIS;
+        int id = userId != null ? userId : -1;
+        for (int shift = 0; shift < 32; shift += 8) {
+            hash ^= (id >>> shift) & 0xff;
+            hash *= FNV_PRIME;
+        }
+        if (title != null) {
+            for (byte b : title.getBytes(StandardCharsets.UTF_8)) {
+                hash ^= b & 0xff;
+                hash *= FNV_PRIME;
+            }
+        }
+        return hash;
+    }
+}
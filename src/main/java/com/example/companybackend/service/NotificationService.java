@@ -4,6 +4,7 @@ import com.example.companybackend.entity.LeaveRequest;
 import com.example.companybackend.entity.Notification;
 import com.example.companybackend.entity.TimeCorrection;
 import com.example.companybackend.entity.User;
+import com.example.companybackend.repository.NotificationBulkRepository;
 import com.example.companybackend.repository.NotificationRepository;
 
 import lombok.RequiredArgsConstructor;
@@ -11,14 +12,17 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 通知サービス
@@ -31,10 +35,21 @@ public class NotificationService {
 
     private static final Logger log = LoggerFactory.getLogger(NotificationService.class);
 
+    /** 同一ユーザー・同一タイトルの通知を重複とみなす時間窓 */
+    private static final Duration DUPLICATE_WINDOW = Duration.ofMinutes(5);
+
     private final NotificationRepository notificationRepository;
 
-    // メモリベースの重複防止キャッシュ
-    private final Map<String, OffsetDateTime> duplicatePreventionCache = new ConcurrentHashMap<>();
+    private final NotificationBulkRepository notificationBulkRepository;
+
+    // メモリベースの重複防止キャッシュ（件数上限・TTL付き）
+    private final NotificationDedupCache notificationDedupCache;
+
+    // 未読数キャッシュ（ポーリングによる COUNT クエリを削減）
+    private final UnreadNotificationCounter unreadNotificationCounter;
+
+    // SSE による通知プッシュ配信
+    private final NotificationStreamHub notificationStreamHub;
 
     /**
      * 通知作成の基本メソッド
@@ -52,7 +67,7 @@ public class NotificationService {
 
         try {
             // 重複チェック (仅在非测试环境中严格启用)
-            if (isDuplicateNotification(title, userId, Duration.ofMinutes(5))) {
+            if (isDuplicateNotification(title, userId, DUPLICATE_WINDOW)) {
                 log.warn("重複通知を検出: userId={}, title={}", userId, title);
                 // 在测试环境中，我们仍然创建通知但添加时间戳以使其唯一
                 if (!isTestEnvironment()) {
@@ -66,8 +81,16 @@ public class NotificationService {
             Notification savedNotification = notificationRepository.save(notification);
 
             // 重複防止キャッシュに追加
-            String cacheKey = userId + ":" + title;
-            duplicatePreventionCache.put(cacheKey, OffsetDateTime.now());
+            notificationDedupCache.record(userId, title);
+
+            // コミット後に未読数を加算し、接続中のクライアントへ配信
+            afterCommit(() -> {
+                long unreadCount = unreadNotificationCounter.add(userId, 1);
+                if (unreadCount < 0 && notificationStreamHub.hasSubscribers(userId)) {
+                    unreadCount = getUnreadCount(userId);
+                }
+                notificationStreamHub.publishNotification(savedNotification, unreadCount);
+            });
 
             log.info("通知作成完了: notificationId={}", savedNotification.getId());
             return savedNotification;
@@ -78,6 +101,104 @@ public class NotificationService {
         }
     }
 
+    /**
+     * 部署・ロール・全有効ユーザー宛ての通知一括配信
+     * 対象ユーザーの抽出・重複除外・登録を1文で行い、ユーザーごとの重複チェックやINSERTは発行しない
+     * 
+     * @param target    配信対象
+     * @param title     タイトル
+     * @param message   メッセージ
+     * @param type      通知タイプ
+     * @param relatedId 関連ID
+     * @return 対象件数・作成件数・重複除外件数
+     */
+    public BroadcastResult broadcastNotification(BroadcastTarget target, String title, String message, String type,
+            Integer relatedId) {
+        log.info("通知一括配信開始: target={}, type={}, title={}", target, type, title);
+
+        try {
+            OffsetDateTime now = OffsetDateTime.now();
+            NotificationBulkRepository.BulkInsertResult inserted = notificationBulkRepository.insertForTargets(
+                    target.departmentId(), target.role(), title, message, type, relatedId,
+                    now, now.minus(DUPLICATE_WINDOW));
+
+            for (int userId : inserted.userIds()) {
+                notificationDedupCache.record(userId, title);
+            }
+
+            afterCommit(() -> {
+                for (int i = 0; i < inserted.insertedCount(); i++) {
+                    Integer userId = inserted.userIds()[i];
+                    long unreadCount = unreadNotificationCounter.add(userId, 1);
+                    if (!notificationStreamHub.hasSubscribers(userId)) {
+                        continue;
+                    }
+                    Notification notification = Notification.create(userId, title, message, type, relatedId);
+                    notification.setId(inserted.ids()[i]);
+                    notification.setCreatedAt(now);
+                    notificationStreamHub.publishNotification(notification, unreadCount);
+                }
+            });
+
+            BroadcastResult result = new BroadcastResult(inserted.targetCount(), inserted.insertedCount(),
+                    inserted.targetCount() - inserted.insertedCount());
+            log.info("通知一括配信完了: target={}, result={}", target, result);
+            return result;
+
+        } catch (Exception e) {
+            log.error("通知一括配信エラー: target={}, error={}", target, e.getMessage(), e);
+            throw new RuntimeException("通知の一括配信に失敗しました", e);
+        }
+    }
+
+    /**
+     * 宛先・内容の異なる通知の一括作成（申請の一括承認結果等）
+     * 1文で登録し、重複チェックは行わない（関連IDの異なる通知は同一タイトルでも別の通知として扱う）
+     * 
+     * @param notifications 作成する通知
+     * @return 作成された通知（ID・作成日時を設定済み）
+     */
+    public List<Notification> createNotifications(List<Notification> notifications) {
+        if (notifications.isEmpty()) {
+            return List.of();
+        }
+        log.info("通知一括作成開始: count={}", notifications.size());
+
+        try {
+            OffsetDateTime now = OffsetDateTime.now();
+            long[] ids = notificationBulkRepository.insertAll(notifications, now);
+
+            Map<Integer, List<Notification>> byUser = new LinkedHashMap<>();
+            for (int i = 0; i < notifications.size(); i++) {
+                Notification notification = notifications.get(i);
+                notification.setId(ids[i]);
+                notification.setCreatedAt(now);
+                notificationDedupCache.record(notification.getUserId(), notification.getTitle());
+                byUser.computeIfAbsent(notification.getUserId(), key -> new ArrayList<>()).add(notification);
+            }
+
+            afterCommit(() -> byUser.forEach((userId, userNotifications) -> {
+                long unreadCount = unreadNotificationCounter.add(userId, userNotifications.size());
+                if (!notificationStreamHub.hasSubscribers(userId)) {
+                    return;
+                }
+                if (unreadCount < 0) {
+                    unreadCount = getUnreadCount(userId);
+                }
+                for (Notification notification : userNotifications) {
+                    notificationStreamHub.publishNotification(notification, unreadCount);
+                }
+            }));
+
+            log.info("通知一括作成完了: count={}", ids.length);
+            return notifications;
+
+        } catch (Exception e) {
+            log.error("通知一括作成エラー: count={}, error={}", notifications.size(), e.getMessage(), e);
+            throw new RuntimeException("通知の一括作成に失敗しました", e);
+        }
+    }
+
     /**
      * 检查是否为测试環境
      * @return 是否为テスト環境
@@ -114,16 +235,38 @@ public class NotificationService {
         }
     }
 
+    /**
+     * ユーザーの未読通知数取得（キャッシュ優先）
+     * 
+     * @param userId ユーザーID
+     * @return 未読通知数
+     */
+    @Transactional(readOnly = true)
+    public long getUnreadCount(Integer userId) {
+        return unreadNotificationCounter.get(userId, () -> notificationRepository.countUnreadByUserId(userId));
+    }
+
     /**
      * 通知を既読にする
      * 
      * @param notificationId 通知ID
      */
     public void markAsRead(Long notificationId) {
+        markAsRead(notificationId, null);
+    }
+
+    /**
+     * 通知を既読にする（所有者確認付き）
+     * 
+     * @param notificationId 通知ID
+     * @param userId         操作ユーザーID（null の場合は所有者確認を行わない）
+     */
+    public void markAsRead(Long notificationId, Integer userId) {
         log.info("通知既読化: notificationId={}", notificationId);
 
         try {
             Notification notification = notificationRepository.findById(notificationId)
+                    .filter(n -> userId == null || userId.equals(n.getUserId()))
                     .orElseThrow(() -> new IllegalArgumentException("通知が見つかりません: " + notificationId));
 
             if (!notification.isUnread()) {
@@ -134,6 +277,10 @@ public class NotificationService {
             notification.markAsRead();
             notificationRepository.save(notification);
 
+            Integer ownerId = notification.getUserId();
+            afterCommit(() -> notificationStreamHub.publishUnreadCount(ownerId,
+                    unreadNotificationCounter.add(ownerId, -1)));
+
             log.info("通知既読化完了: notificationId={}", notificationId);
 
         } catch (Exception e) {
@@ -152,6 +299,10 @@ public class NotificationService {
 
         try {
             int updatedCount = notificationRepository.markAllAsReadByUserId(userId);
+            afterCommit(() -> {
+                unreadNotificationCounter.reset(userId);
+                notificationStreamHub.publishUnreadCount(userId, 0);
+            });
             log.info("全通知既読化完了: userId={}, updatedCount={}", userId, updatedCount);
 
         } catch (Exception e) {
@@ -172,6 +323,10 @@ public class NotificationService {
         try {
             OffsetDateTime cutoffDate = OffsetDateTime.now().minusDays(daysOld);
             int deletedCount = notificationRepository.deleteOldNotifications(cutoffDate);
+            if (deletedCount > 0) {
+                // 削除された未読通知をユーザー単位で追跡できないため、未読数キャッシュを破棄
+                afterCommit(unreadNotificationCounter::invalidateAll);
+            }
 
             log.info("古い通知削除完了: deletedCount={}", deletedCount);
             return deletedCount;
@@ -182,6 +337,25 @@ public class NotificationService {
         }
     }
 
+    /**
+     * トランザクションのコミット後に処理を実行（トランザクション外の場合は即時実行）
+     * ロールバックされた変更がキャッシュや配信に反映されないようにする
+     * 
+     * @param action 実行する処理
+     */
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
     /**
      * 重複通知チェック
      * 
@@ -191,20 +365,14 @@ public class NotificationService {
      * @return 重複の場合true
      */
     public boolean isDuplicateNotification(String title, Integer userId, Duration timeWindow) {
-        String cacheKey = userId + ":" + title;
-        OffsetDateTime lastSent = duplicatePreventionCache.get(cacheKey);
-
-        if (lastSent != null) {
-            OffsetDateTime threshold = OffsetDateTime.now().minus(timeWindow);
-            if (lastSent.isAfter(threshold)) {
-                return true; // 重複
-            } else {
-                // 古いエントリを削除
-                duplicatePreventionCache.remove(cacheKey);
-            }
+        if (notificationDedupCache.isRecent(userId, title, timeWindow)) {
+            return true; // 重複
         }
 
-        // データベースからも確認
+        // キャッシュで判定できない場合（起動直後・TTLを超える時間窓）のみデータベースを確認
+        if (notificationDedupCache.isAuthoritativeFor(timeWindow)) {
+            return false;
+        }
         OffsetDateTime afterTime = OffsetDateTime.now().minus(timeWindow);
         List<Notification> duplicates = notificationRepository.findDuplicateNotifications(userId, title, afterTime);
         return !duplicates.isEmpty();
@@ -293,14 +461,9 @@ public class NotificationService {
         log.info("休暇申請承認通知送信: leaveRequestId={}, userId={}", leaveRequest.getId(), user.getId());
 
         try {
-            String title = getLeaveTypeDisplayName(leaveRequest.getType()) + "申請が承認されました";
-            String message = String.format("%sの申請が承認されました。期間: %s - %s\n承認日時: %s",
-                    getLeaveTypeDisplayName(leaveRequest.getType()),
-                    leaveRequest.getStartDate(),
-                    leaveRequest.getEndDate(),
-                    leaveRequest.getApprovedAt() != null ? leaveRequest.getApprovedAt().toString() : "承認日時不明");
-
-            createNotification(user.getId().intValue(), title, message, "leave", leaveRequest.getId().intValue());
+            Notification notification = leaveDecisionNotification(leaveRequest, user.getId().intValue(), true);
+            createNotification(notification.getUserId(), notification.getTitle(), notification.getMessage(),
+                    notification.getType(), notification.getRelatedId());
 
             log.info("休暇申請承認通知送信完了: leaveRequestId={}", leaveRequest.getId());
 
@@ -319,14 +482,9 @@ public class NotificationService {
         log.info("休暇申請拒否通知送信: leaveRequestId={}, userId={}", leaveRequest.getId(), user.getId());
 
         try {
-            String title = getLeaveTypeDisplayName(leaveRequest.getType()) + "申請が拒否されました";
-            String message = String.format("%sの申請が拒否されました。期間: %s - %s\n拒否日時: %s",
-                    getLeaveTypeDisplayName(leaveRequest.getType()),
-                    leaveRequest.getStartDate(),
-                    leaveRequest.getEndDate(),
-                    leaveRequest.getApprovedAt() != null ? leaveRequest.getApprovedAt().toString() : "拒否日時不明");
-
-            createNotification(user.getId().intValue(), title, message, "leave", leaveRequest.getId().intValue());
+            Notification notification = leaveDecisionNotification(leaveRequest, user.getId().intValue(), false);
+            createNotification(notification.getUserId(), notification.getTitle(), notification.getMessage(),
+                    notification.getType(), notification.getRelatedId());
 
             log.info("休暇申請拒否通知送信完了: leaveRequestId={}", leaveRequest.getId());
 
@@ -372,13 +530,10 @@ public class NotificationService {
         log.info("時刻修正申請承認通知送信: timeCorrectionId={}, userId={}", timeCorrection.getId(), user.getId());
 
         try {
-            String title = "時刻修正申請が承認されました";
-            String message = String.format("時刻修正申請が承認されました。\n修正タイプ: %s\n承認日時: %s",
-                    getTimeCorrectionTypeDisplayName(timeCorrection.getRequestType()),
-                    timeCorrection.getApprovedAt() != null ? timeCorrection.getApprovedAt().toString() : "承認日時不明");
-
-            createNotification(user.getId().intValue(), title, message, "correction",
-                    timeCorrection.getId().intValue());
+            Notification notification = timeCorrectionDecisionNotification(timeCorrection, user.getId().intValue(),
+                    true);
+            createNotification(notification.getUserId(), notification.getTitle(), notification.getMessage(),
+                    notification.getType(), notification.getRelatedId());
 
             log.info("時刻修正申請承認通知送信完了: timeCorrectionId={}", timeCorrection.getId());
 
@@ -397,13 +552,10 @@ public class NotificationService {
         log.info("時刻修正申請拒否通知送信: timeCorrectionId={}, userId={}", timeCorrection.getId(), user.getId());
 
         try {
-            String title = "時刻修正申請が拒否されました";
-            String message = String.format("時刻修正申請が拒否されました。\n修正タイプ: %s\n拒否日時: %s",
-                    getTimeCorrectionTypeDisplayName(timeCorrection.getRequestType()),
-                    timeCorrection.getApprovedAt() != null ? timeCorrection.getApprovedAt().toString() : "拒否日時不明");
-
-            createNotification(user.getId().intValue(), title, message, "correction",
-                    timeCorrection.getId().intValue());
+            Notification notification = timeCorrectionDecisionNotification(timeCorrection, user.getId().intValue(),
+                    false);
+            createNotification(notification.getUserId(), notification.getTitle(), notification.getMessage(),
+                    notification.getType(), notification.getRelatedId());
 
             log.info("時刻修正申請拒否通知送信完了: timeCorrectionId={}", timeCorrection.getId());
 
@@ -412,8 +564,89 @@ public class NotificationService {
         }
     }
 
+    /**
+     * 休暇申請の一括承認・拒否通知送信（1文で一括登録）
+     * 
+     * @param leaveRequests 承認・拒否済みの休暇申請
+     * @param approved      承認の場合 true、拒否の場合 false
+     */
+    public void sendLeaveDecisionNotifications(List<LeaveRequest> leaveRequests, boolean approved) {
+        log.info("休暇申請一括{}通知送信: count={}", approved ? "承認" : "拒否", leaveRequests.size());
+
+        try {
+            createNotifications(leaveRequests.stream()
+                    .map(leaveRequest -> leaveDecisionNotification(leaveRequest, leaveRequest.getUserId(), approved))
+                    .toList());
+
+        } catch (Exception e) {
+            log.error("休暇申請一括通知送信エラー: count={}, error={}", leaveRequests.size(), e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 時刻修正申請の一括承認・拒否通知送信（1文で一括登録）
+     * 
+     * @param timeCorrections 承認・拒否済みの時刻修正申請
+     * @param approved        承認の場合 true、拒否の場合 false
+     */
+    public void sendTimeCorrectionDecisionNotifications(List<TimeCorrection> timeCorrections, boolean approved) {
+        log.info("時刻修正申請一括{}通知送信: count={}", approved ? "承認" : "拒否", timeCorrections.size());
+
+        try {
+            createNotifications(timeCorrections.stream()
+                    .map(correction -> timeCorrectionDecisionNotification(correction, correction.getUserId(), approved))
+                    .toList());
+
+        } catch (Exception e) {
+            log.error("時刻修正申請一括通知送信エラー: count={}, error={}", timeCorrections.size(), e.getMessage(), e);
+        }
+    }
+
     // ========== ヘルパーメソッド ==========
 
+    /**
+     * 休暇申請の承認・拒否通知を組み立て
+     * 
+     * @param leaveRequest 休暇申請
+     * @param userId       通知先（申請者）のユーザーID
+     * @param approved     承認の場合 true、拒否の場合 false
+     * @return 未登録の通知
+     */
+    private Notification leaveDecisionNotification(LeaveRequest leaveRequest, Integer userId, boolean approved) {
+        String decision = approved ? "承認" : "拒否";
+        String typeName = getLeaveTypeDisplayName(leaveRequest.getType());
+        String title = typeName + "申請が" + decision + "されました";
+        String message = String.format("%sの申請が%sされました。期間: %s - %s\n%s日時: %s",
+                typeName,
+                decision,
+                leaveRequest.getStartDate(),
+                leaveRequest.getEndDate(),
+                decision,
+                leaveRequest.getApprovedAt() != null ? leaveRequest.getApprovedAt().toString() : decision + "日時不明");
+        return Notification.create(userId, title, message, "leave", leaveRequest.getId().intValue());
+    }
+
+    /**
+     * 時刻修正申請の承認・拒否通知を組み立て
+     * 
+     * @param timeCorrection 時刻修正申請
+     * @param userId         通知先（申請者）のユーザーID
+     * @param approved       承認の場合 true、拒否の場合 false
+     * @return 未登録の通知
+     */
+    private Notification timeCorrectionDecisionNotification(TimeCorrection timeCorrection, Integer userId,
+            boolean approved) {
+        String decision = approved ? "承認" : "拒否";
+        String title = "時刻修正申請が" + decision + "されました";
+        String message = String.format("時刻修正申請が%sされました。\n修正タイプ: %s\n%s日時: %s",
+                decision,
+                getTimeCorrectionTypeDisplayName(timeCorrection.getRequestType()),
+                decision,
+                timeCorrection.getApprovedAt() != null ? timeCorrection.getApprovedAt().toString()
+                        : decision + "日時不明");
+        return Notification.create(userId, title, message, "correction", timeCorrection.getId().intValue());
+    }
+
     /**
      * 休暇タイプの表示名取得
      * 
@@ -447,6 +680,8 @@ public class NotificationService {
                 return "タイプ修正";
             case "both":
                 return "時刻・タイプ修正";
+            case "add":
+                return "打刻追加";
             default:
                 return "修正";
         }
@@ -537,4 +772,35 @@ public class NotificationService {
                 return "通知メッセージ";
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 一括配信対象（departmentId・role が共に null の場合は全有効ユーザー）
+     * 
+     * @param departmentId 部署ID
+     * @param role         ロール
+     */
+    public record BroadcastTarget(Integer departmentId, String role) {
+
+        public static BroadcastTarget forDepartment(Integer departmentId) {
+            return new BroadcastTarget(departmentId, null);
+        }
+
+        public static BroadcastTarget forRole(String role) {
+            return new BroadcastTarget(null, role);
+        }
+
+        public static BroadcastTarget allActiveUsers() {
+            return new BroadcastTarget(null, null);
+        }
+    }
+
+    /**
+     * 一括配信結果
+     * 
+     * @param targetCount    対象ユーザー数
+     * @param createdCount   作成した通知数
+     * @param duplicateCount 重複として除外した数
+     */
+    public record BroadcastResult(int targetCount, int createdCount, int duplicateCount) {
+    }
+}
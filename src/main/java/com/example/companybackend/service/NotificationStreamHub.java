@@ -0,0 +1,287 @@
+package com.example.companybackend.service;
+
+import com.example.companybackend.entity.Notification;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 通知ストリーム配信ハブ（Server-Sent Events）
+ * ユーザーIDごとに接続中のストリームを保持し、作成された通知と未読数の変化をプッシュ配信する。
+ *
+ * 送信は接続ごとの有界バッファに積んでから専用スレッドで行うため、
+ * 通知を作成した側のスレッドが低速なクライアントの書き込みで待たされることはない。
+ * バッファが溢れた場合は古いイベントから破棄し、クライアントに "resync" イベントで再取得を促す。
+ */
+@Component
+public class NotificationStreamHub {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationStreamHub.class);
+
+    public static final String EVENT_NOTIFICATION = "notification";
+    public static final String EVENT_UNREAD_COUNT = "unread-count";
+    public static final String EVENT_RESYNC = "resync";
+
+    private final int bufferSize;
+    private final int maxConnectionsPerUser;
+    private final long timeoutMillis;
+
+    private final ConcurrentHashMap<Integer, CopyOnWriteArrayList<Subscription>> subscriptions = new ConcurrentHashMap<>();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private final ThreadPoolTaskScheduler scheduler;
+
+    private final Counter deliveredCounter;
+    private final Counter droppedCounter;
+
+    public NotificationStreamHub(MeterRegistry meterRegistry,
+            @Value("${app.notification.stream.buffer-size:32}") int bufferSize,
+            @Value("${app.notification.stream.max-connections-per-user:5}") int maxConnectionsPerUser,
+            @Value("${app.notification.stream.timeout-minutes:30}") long timeoutMinutes,
+            @Value("${app.notification.stream.heartbeat-seconds:25}") long heartbeatSeconds,
+            @Value("${app.notification.stream.sender-threads:4}") int senderThreads) {
+        this.bufferSize = Math.max(1, bufferSize);
+        this.maxConnectionsPerUser = Math.max(1, maxConnectionsPerUser);
+        this.timeoutMillis = Duration.ofMinutes(timeoutMinutes).toMillis();
+
+        // Bean として公開すると @Scheduled の既定スケジューラを置き換えてしまうため内部で保持する
+        this.scheduler = new ThreadPoolTaskScheduler();
+        this.scheduler.setPoolSize(Math.max(1, senderThreads));
+        this.scheduler.setThreadNamePrefix("notification-stream-");
+        this.scheduler.setDaemon(true);
+        this.scheduler.initialize();
+        this.scheduler.scheduleAtFixedRate(this::sendHeartbeats, Duration.ofSeconds(Math.max(1, heartbeatSeconds)));
+
+        this.deliveredCounter = Counter.builder("notification.stream.events").tag("result", "delivered")
+                .description("通知ストリームへ送信したイベント数").register(meterRegistry);
+        this.droppedCounter = Counter.builder("notification.stream.events").tag("result", "dropped")
+                .description("バッファ溢れにより破棄したイベント数").register(meterRegistry);
+        Gauge.builder("notification.stream.connections", connectionCount, AtomicInteger::get)
+                .description("接続中の通知ストリーム数").register(meterRegistry);
+    }
+
+    /**
+     * ストリーム接続を登録し、現在の未読数を初期イベントとして送信
+     * ユーザーあたりの上限接続数を超える場合は最も古い接続を終了する
+     *
+     * @param userId      ユーザーID
+     * @param unreadCount 現在の未読数
+     * @return SSE エミッター
+     */
+    public SseEmitter subscribe(Integer userId, long unreadCount) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscription subscription = new Subscription(userId, emitter);
+
+        // close() の登録解除と競合しないよう、追加は compute 内で行う
+        CopyOnWriteArrayList<Subscription> userSubscriptions = subscriptions.compute(userId, (key, list) -> {
+            CopyOnWriteArrayList<Subscription> target = list != null ? list : new CopyOnWriteArrayList<>();
+            target.add(subscription);
+            return target;
+        });
+        connectionCount.incrementAndGet();
+        while (userSubscriptions.size() > maxConnectionsPerUser) {
+            Subscription oldest = userSubscriptions.get(0);
+            log.info("通知ストリーム接続数上限のため古い接続を終了: userId={}", userId);
+            oldest.close(true);
+        }
+
+        emitter.onCompletion(() -> subscription.close(false));
+        emitter.onTimeout(() -> subscription.close(true));
+        emitter.onError(e -> subscription.close(false));
+
+        subscription.enqueue(SseEmitter.event().name(EVENT_UNREAD_COUNT)
+                .data(Map.of("unreadCount", unreadCount), MediaType.APPLICATION_JSON));
+        log.debug("通知ストリーム接続: userId={}, connections={}", userId, userSubscriptions.size());
+        return emitter;
+    }
+
+    /**
+     * 作成された通知を配信
+     *
+     * @param notification 通知
+     * @param unreadCount  作成後の未読数（不明な場合は負数）
+     */
+    public void publishNotification(Notification notification, long unreadCount) {
+        List<Subscription> userSubscriptions = subscriptions.get(notification.getUserId());
+        if (userSubscriptions == null || userSubscriptions.isEmpty()) {
+            return;
+        }
+
+        Map<String, Object> data = new HashMap<>();
+        data.put("id", notification.getId());
+        data.put("title", notification.getTitle());
+        data.put("message", notification.getMessage());
+        data.put("type", notification.getType());
+        data.put("relatedId", notification.getRelatedId());
+        data.put("createdAt", notification.getCreatedAt());
+        if (unreadCount >= 0) {
+            data.put("unreadCount", unreadCount);
+        }
+
+        for (Subscription subscription : userSubscriptions) {
+            subscription.enqueue(SseEmitter.event().name(EVENT_NOTIFICATION)
+                    .id(String.valueOf(notification.getId()))
+                    .data(data, MediaType.APPLICATION_JSON));
+        }
+    }
+
+    /**
+     * 未読数の変化を配信
+     *
+     * @param userId      ユーザーID
+     * @param unreadCount 未読数（不明な場合は負数、配信しない）
+     */
+    public void publishUnreadCount(Integer userId, long unreadCount) {
+        List<Subscription> userSubscriptions = subscriptions.get(userId);
+        if (unreadCount < 0 || userSubscriptions == null) {
+            return;
+        }
+        for (Subscription subscription : userSubscriptions) {
+            subscription.enqueue(SseEmitter.event().name(EVENT_UNREAD_COUNT)
+                    .data(Map.of("unreadCount", unreadCount), MediaType.APPLICATION_JSON));
+        }
+    }
+
+    /**
+     * 指定ユーザーの接続があるか判定
+     */
+    public boolean hasSubscribers(Integer userId) {
+        List<Subscription> userSubscriptions = subscriptions.get(userId);
+        return userSubscriptions != null && !userSubscriptions.isEmpty();
+    }
+
+    /**
+     * 接続中のストリーム数
+     */
+    public int getConnectionCount() {
+        return connectionCount.get();
+    }
+
+    /**
+     * プロキシによるアイドル切断を防ぐためコメント行を送信
+     */
+    void sendHeartbeats() {
+        for (List<Subscription> userSubscriptions : subscriptions.values()) {
+            for (Subscription subscription : userSubscriptions) {
+                subscription.enqueue(SseEmitter.event().comment("keepalive"));
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (List<Subscription> userSubscriptions : subscriptions.values()) {
+            for (Subscription subscription : userSubscriptions) {
+                subscription.close(true);
+            }
+        }
+        scheduler.shutdown();
+    }
+
+    /**
+     * 1接続分の送信バッファ
+     * enqueue は呼び出し元スレッドで即時に戻り、送信は drain で1件ずつ直列に行う
+     */
+    private final class Subscription {
+
+        private final Integer userId;
+        private final SseEmitter emitter;
+        private final ArrayDeque<SseEmitter.SseEventBuilder> buffer = new ArrayDeque<>();
+        private boolean draining;
+        private boolean overflowed;
+        private boolean closed;
+
+        private Subscription(Integer userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        private void enqueue(SseEmitter.SseEventBuilder event) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                if (buffer.size() >= bufferSize) {
+                    buffer.pollFirst();
+                    overflowed = true;
+                    droppedCounter.increment();
+                }
+                buffer.addLast(event);
+                if (draining) {
+                    return;
+                }
+                draining = true;
+            }
+            scheduler.execute(this::drain);
+        }
+
+        private void drain() {
+            while (true) {
+                SseEmitter.SseEventBuilder event;
+                boolean resync;
+                synchronized (this) {
+                    event = buffer.pollFirst();
+                    if (event == null || closed) {
+                        draining = false;
+                        return;
+                    }
+                    resync = overflowed;
+                    overflowed = false;
+                }
+                try {
+                    if (resync) {
+                        emitter.send(SseEmitter.event().name(EVENT_RESYNC).data(Map.of(), MediaType.APPLICATION_JSON));
+                    }
+                    emitter.send(event);
+                    deliveredCounter.increment();
+                } catch (IOException | IllegalStateException e) {
+                    log.debug("通知ストリーム送信失敗のため切断: userId={}, error={}", userId, e.getMessage());
+                    close(true);
+                    return;
+                }
+            }
+        }
+
+        /**
+         * 接続を登録解除（complete=true の場合はエミッターも終了させる）
+         */
+        private void close(boolean complete) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                buffer.clear();
+            }
+            subscriptions.computeIfPresent(userId, (key, list) -> {
+                list.remove(this);
+                return list.isEmpty() ? null : list;
+            });
+            connectionCount.decrementAndGet();
+            if (complete) {
+                try {
+                    emitter.complete();
+                } catch (IllegalStateException e) {
+                    // 既に終了済み
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,434 @@
+package com.example.companybackend.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.LongSupplier;
+
+/**
+ * 組織ツリーインデックス（上長チェーン・配下ユーザーの解決）
+ * users.manager_id と departments.manager_id から組織ツリーを構築し、メモリに保持する。
+ *
+ * ユーザーの上長は users.manager_id、未設定の場合は所属部署の部署長（departments.manager_id）とする。
+ * ツリーを先行順（pre-order）に並べ、各ノードの配下を連続した範囲として持つため、
+ * - 配下判定・階層の深さ: O(1)
+ * - 上長チェーン: O(深さ)
+ * - 配下ユーザー一覧: O(配下人数)
+ * で応答する。上長の循環（データ不整合）は循環内の最小IDのユーザーで切断し、警告を出力する。
+ *
+ * 更新は変更のあったユーザー・部署の行だけをコミット後に読み直し、索引（配列）を組み直す。
+ * 書き込み側を経由しない変更（CSV一括登録・他ノードでの更新等）は max-age 経過後の全件再構築で反映される。
+ */
+@Component
+public class OrgTreeIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(OrgTreeIndex.class);
+
+    private static final String USER_COLUMNS = "SELECT id, manager_id, department_id, is_active FROM users";
+    private static final String DEPARTMENT_COLUMNS = "SELECT id, manager_id FROM departments";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long maxAgeMillis;
+    private final LongSupplier clock;
+
+    private volatile Snapshot snapshot;
+
+    @Autowired
+    public OrgTreeIndex(JdbcTemplate jdbcTemplate,
+            @Value("${app.org-tree.max-age-seconds:600}") long maxAgeSeconds) {
+        this(jdbcTemplate, Duration.ofSeconds(maxAgeSeconds), System::currentTimeMillis);
+    }
+
+    OrgTreeIndex(JdbcTemplate jdbcTemplate, Duration maxAge, LongSupplier clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxAgeMillis = maxAge.toMillis();
+        this.clock = clock;
+    }
+
+    /**
+     * 起動完了後に構築
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.warn("組織ツリー構築エラー（初回参照時に再試行）: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * userId が managerId の配下（直属・間接）か判定
+     *
+     * @param userId    ユーザーID
+     * @param managerId 上長候補のユーザーID
+     * @return 配下の場合 true（同一ユーザーの場合は false）
+     */
+    public boolean isSubordinate(Long userId, Long managerId) {
+        Snapshot current = current();
+        int user = current.positionOf(userId);
+        int manager = current.positionOf(managerId);
+        return user >= 0 && manager >= 0 && manager < user && user < current.end[manager];
+    }
+
+    /**
+     * 階層の深さ（最上位 = 0）
+     *
+     * @param userId ユーザーID
+     * @return 深さ（不明なユーザーの場合は -1）
+     */
+    public int depth(Long userId) {
+        Snapshot current = current();
+        int position = current.positionOf(userId);
+        return position >= 0 ? current.depth[position] : -1;
+    }
+
+    /**
+     * 上長チェーン（直属の上長から最上位まで）
+     *
+     * @param userId ユーザーID
+     * @return 上長のユーザーID（不明なユーザー・最上位の場合は空）
+     */
+    public List<Long> chainOfCommand(Long userId) {
+        Snapshot current = current();
+        int position = current.positionOf(userId);
+        if (position < 0) {
+            return List.of();
+        }
+        List<Long> chain = new ArrayList<>(current.depth[position]);
+        for (int parent = current.parent[position]; parent >= 0; parent = current.parent[parent]) {
+            chain.add(current.ids[parent]);
+        }
+        return chain;
+    }
+
+    /**
+     * 直属の上長（承認ルーティング用）
+     *
+     * @param userId ユーザーID
+     * @return 上長のユーザーID（最上位・不明の場合は null）
+     */
+    public Long managerOf(Long userId) {
+        Snapshot current = current();
+        int position = current.positionOf(userId);
+        if (position < 0 || current.parent[position] < 0) {
+            return null;
+        }
+        return current.ids[current.parent[position]];
+    }
+
+    /**
+     * 配下ユーザー（直属・間接、組織ツリーの先行順）
+     *
+     * @param managerId  上長のユーザーID
+     * @param activeOnly 有効なユーザーのみの場合 true
+     * @return 配下のユーザーID
+     */
+    public List<Long> subordinates(Long managerId, boolean activeOnly) {
+        Snapshot current = current();
+        int manager = current.positionOf(managerId);
+        if (manager < 0) {
+            return List.of();
+        }
+        List<Long> result = new ArrayList<>(current.end[manager] - manager - 1);
+        for (int position = manager + 1; position < current.end[manager]; position++) {
+            if (!activeOnly || current.active[position]) {
+                result.add(current.ids[position]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 配下ユーザー数（直属・間接、無効なユーザーを含む）
+     *
+     * @param managerId 上長のユーザーID
+     * @return 配下の人数
+     */
+    public int subordinateCount(Long managerId) {
+        Snapshot current = current();
+        int manager = current.positionOf(managerId);
+        return manager >= 0 ? current.end[manager] - manager - 1 : 0;
+    }
+
+    /**
+     * 指定ユーザーの上長・部署・有効フラグを読み直す（トランザクション中の場合はコミット後）
+     *
+     * @param userIds ユーザーID（削除済みのユーザーはツリーから除く）
+     */
+    public void refreshUsers(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        Long[] ids = userIds.toArray(Long[]::new);
+        afterCommit(() -> applyUsers(ids));
+    }
+
+    /**
+     * 指定部署の部署長を読み直す（トランザクション中の場合はコミット後）
+     *
+     * @param departmentId 部署ID（削除済みの部署はツリーから除く）
+     */
+    public void refreshDepartment(Integer departmentId) {
+        if (departmentId == null) {
+            return;
+        }
+        afterCommit(() -> applyDepartment(departmentId));
+    }
+
+    /**
+     * 全件を読み直して再構築
+     */
+    public synchronized void rebuild() {
+        long startedAt = System.nanoTime();
+        Map<Long, UserNode> users = new HashMap<>();
+        jdbcTemplate.query(USER_COLUMNS, (RowCallbackHandler) rs -> {
+            UserNode node = mapUser(rs);
+            users.put(node.id(), node);
+        });
+        Map<Integer, Long> departmentManagers = new HashMap<>();
+        jdbcTemplate.query(DEPARTMENT_COLUMNS, (RowCallbackHandler) rs -> {
+            Long managerId = nullableLong(rs, "manager_id");
+            if (managerId != null) {
+                departmentManagers.put(rs.getInt("id"), managerId);
+            }
+        });
+        snapshot = Snapshot.build(users, departmentManagers, clock.getAsLong());
+        log.debug("組織ツリー再構築: users={}, departments={}, elapsedMs={}",
+                users.size(), departmentManagers.size(), (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    private synchronized void applyUsers(Long[] ids) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            // 未構築の場合は初回参照時に全件を読み込む
+            return;
+        }
+        Map<Long, UserNode> users = new HashMap<>(current.users);
+        for (Long id : ids) {
+            users.remove(id);
+        }
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(USER_COLUMNS + " WHERE id = ANY(?)");
+            ps.setArray(1, connection.createArrayOf("bigint", ids));
+            return ps;
+        }, (RowCallbackHandler) rs -> {
+            UserNode node = mapUser(rs);
+            users.put(node.id(), node);
+        });
+        snapshot = Snapshot.build(users, current.departmentManagers, current.builtAt);
+    }
+
+    private synchronized void applyDepartment(Integer departmentId) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return;
+        }
+        Map<Integer, Long> departmentManagers = new HashMap<>(current.departmentManagers);
+        departmentManagers.remove(departmentId);
+        jdbcTemplate.query(DEPARTMENT_COLUMNS + " WHERE id = ?", (RowCallbackHandler) rs -> {
+            Long managerId = nullableLong(rs, "manager_id");
+            if (managerId != null) {
+                departmentManagers.put(departmentId, managerId);
+            }
+        }, departmentId);
+        snapshot = Snapshot.build(current.users, departmentManagers, current.builtAt);
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null || clock.getAsLong() - current.builtAt >= maxAgeMillis) {
+            synchronized (this) {
+                // 同時に期限切れを検知したスレッドのうち、読み込むのは1つだけ
+                if (snapshot == current) {
+                    rebuild();
+                }
+                return snapshot;
+            }
+        }
+        return current;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static UserNode mapUser(ResultSet rs) throws SQLException {
+        return new UserNode(
+                rs.getLong("id"),
+                nullableLong(rs, "manager_id"),
+                rs.getObject("department_id", Integer.class),
+                !Boolean.FALSE.equals(rs.getObject("is_active", Boolean.class)));
+    }
+
+    private static Long nullableLong(ResultSet rs, String column) throws SQLException {
+        long value = rs.getLong(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    private record UserNode(Long id, Long managerId, Integer departmentId, boolean active) {
+    }
+
+    /**
+     * 構築済みの組織ツリー（不変）
+     * 位置 p のノードの配下は位置 p+1 〜 end[p]-1 に並ぶ
+     */
+    private static final class Snapshot {
+
+        private final Map<Long, UserNode> users;
+        private final Map<Integer, Long> departmentManagers;
+        private final long builtAt;
+
+        private final Map<Long, Integer> positions;
+        private final long[] ids;
+        private final int[] parent;
+        private final int[] depth;
+        private final int[] end;
+        private final boolean[] active;
+
+        private Snapshot(Map<Long, UserNode> users, Map<Integer, Long> departmentManagers, long builtAt,
+                Map<Long, Integer> positions, long[] ids, int[] parent, int[] depth, int[] end, boolean[] active) {
+            this.users = users;
+            this.departmentManagers = departmentManagers;
+            this.builtAt = builtAt;
+            this.positions = positions;
+            this.ids = ids;
+            this.parent = parent;
+            this.depth = depth;
+            this.end = end;
+            this.active = active;
+        }
+
+        private int positionOf(Long userId) {
+            Integer position = userId != null ? positions.get(userId) : null;
+            return position != null ? position : -1;
+        }
+
+        private static Snapshot build(Map<Long, UserNode> users, Map<Integer, Long> departmentManagers,
+                long builtAt) {
+            // 上長の決定（users.manager_id → 部署長 の順、本人・存在しないユーザーは除く）
+            Map<Long, Long> managers = new HashMap<>();
+            TreeMap<Long, List<Long>> children = new TreeMap<>();
+            for (UserNode user : users.values()) {
+                Long manager = effectiveManager(user, users, departmentManagers);
+                if (manager != null) {
+                    managers.put(user.id(), manager);
+                    children.computeIfAbsent(manager, key -> new ArrayList<>()).add(user.id());
+                }
+            }
+            children.values().forEach(list -> list.sort(null));
+
+            int size = users.size();
+            Map<Long, Integer> positions = new HashMap<>(size * 2);
+            long[] ids = new long[size];
+            int[] parent = new int[size];
+            int[] depth = new int[size];
+            int[] end = new int[size];
+            boolean[] active = new boolean[size];
+
+            long[] sortedIds = users.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+            int next = 0;
+            for (long root : sortedIds) {
+                if (!managers.containsKey(root)) {
+                    next = visit(root, -1, users, children, positions, ids, parent, depth, active, next);
+                }
+            }
+            // 最上位から到達できないノードは上長が循環している
+            int cyclic = 0;
+            for (long id : sortedIds) {
+                if (!positions.containsKey(id)) {
+                    cyclic++;
+                    next = visit(id, -1, users, children, positions, ids, parent, depth, active, next);
+                }
+            }
+            if (cyclic > 0) {
+                log.warn("組織ツリー: 上長が循環しているため {} 箇所で切断しました", cyclic);
+            }
+
+            // 先行順の逆から配下の範囲（end）を確定する
+            int[] subtreeSize = new int[size];
+            Arrays.fill(subtreeSize, 1);
+            for (int position = size - 1; position >= 0; position--) {
+                end[position] = position + subtreeSize[position];
+                if (parent[position] >= 0) {
+                    subtreeSize[parent[position]] += subtreeSize[position];
+                }
+            }
+            return new Snapshot(Map.copyOf(users), Map.copyOf(departmentManagers), builtAt,
+                    positions, ids, parent, depth, end, active);
+        }
+
+        /**
+         * root 以下を先行順に採番（訪問済みのノードは循環として辿らない）
+         */
+        private static int visit(long root, int rootParent, Map<Long, UserNode> users,
+                Map<Long, List<Long>> children, Map<Long, Integer> positions, long[] ids, int[] parent,
+                int[] depth, boolean[] active, int next) {
+            Deque<long[]> stack = new ArrayDeque<>();
+            stack.push(new long[] { root, rootParent });
+            while (!stack.isEmpty()) {
+                long[] entry = stack.pop();
+                long id = entry[0];
+                if (positions.containsKey(id)) {
+                    continue;
+                }
+                int position = next++;
+                int parentPosition = (int) entry[1];
+                positions.put(id, position);
+                ids[position] = id;
+                parent[position] = parentPosition;
+                depth[position] = parentPosition >= 0 ? depth[parentPosition] + 1 : 0;
+                active[position] = users.get(id).active();
+                List<Long> childIds = children.getOrDefault(id, List.of());
+                // ID の小さい順に訪問するため逆順に積む
+                for (int i = childIds.size() - 1; i >= 0; i--) {
+                    stack.push(new long[] { childIds.get(i), position });
+                }
+            }
+            return next;
+        }
+
+        private static Long effectiveManager(UserNode user, Map<Long, UserNode> users,
+                Map<Integer, Long> departmentManagers) {
+            Long manager = user.managerId();
+            if (manager == null && user.departmentId() != null) {
+                manager = departmentManagers.get(user.departmentId());
+            }
+            if (manager == null || manager.equals(user.id()) || !users.containsKey(manager)) {
+                return null;
+            }
+            return manager;
+        }
+    }
+}
@@ -0,0 +1,323 @@
+package com.example.companybackend.service;
+
+import com.example.companybackend.entity.AttendanceSummary;
+import com.example.companybackend.entity.Holiday;
+import com.example.companybackend.entity.Notification;
+import com.example.companybackend.repository.HolidayRepository;
+import com.example.companybackend.repository.OvertimeMonitorRepository;
+import com.example.companybackend.repository.OvertimeMonitorRepository.Assessment;
+import com.example.companybackend.repository.OvertimeMonitorRepository.MonthlyTotal;
+import com.example.companybackend.repository.OvertimeMonitorRepository.Threshold;
+import com.example.companybackend.repository.OvertimeMonitorRepository.UserMonth;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 残業監視サービス
+ * 日次サマリーが登録・更新されるたびに、該当ユーザー・月の残業時間の月内累計（overtime_reports）を更新し、
+ * 部署・職位ごとの上限（overtime_thresholds）と比較して警告を通知する
+ *
+ * 月末見込み = 累計 × 月内の営業日数 / 最新サマリー日までの営業日数（土日・祝日を除く）。
+ * 見込みが上限を超えた時点で「警告」、実績が上限を超えた時点で「超過」を本人と上長に1回ずつ通知する。
+ * 残業監視バッチ（reconcile）は当月分の累計を集計し直し、取りこぼしを補正する。
+ * 通知は累計の更新がコミットされた後に別トランザクションで登録する（通知の失敗で累計の更新を巻き戻さない）。
+ */
+@Service
+public class OvertimeMonitorService {
+
+    private static final Logger log = LoggerFactory.getLogger(OvertimeMonitorService.class);
+
+    /** 1文で集計・更新するユーザー数の上限 */
+    static final int WRITE_CHUNK_SIZE = 1000;
+
+    /** 上限の設定が1件もない場合に適用する上限（従来の固定値） */
+    static final Threshold DEFAULT_THRESHOLD = new Threshold(
+            new BigDecimal("45.00"), new BigDecimal("20.00"), new BigDecimal("15.00"));
+
+    static final String ALERT_NONE = "none";
+    static final String ALERT_WARNING = "warning";
+    static final String ALERT_EXCEEDED = "exceeded";
+
+    /** 警告レベル（低い順） */
+    private static final List<String> ALERT_LEVELS = List.of(ALERT_NONE, ALERT_WARNING, ALERT_EXCEEDED);
+
+    private final OvertimeMonitorRepository overtimeMonitorRepository;
+    private final HolidayRepository holidayRepository;
+    private final NotificationService notificationService;
+    private final TransactionTemplate notificationTransaction;
+
+    public OvertimeMonitorService(OvertimeMonitorRepository overtimeMonitorRepository,
+            HolidayRepository holidayRepository, NotificationService notificationService,
+            PlatformTransactionManager transactionManager) {
+        this.overtimeMonitorRepository = overtimeMonitorRepository;
+        this.holidayRepository = holidayRepository;
+        this.notificationService = notificationService;
+        this.notificationTransaction = new TransactionTemplate(transactionManager);
+        // コミット後の同期処理から呼ばれるため、元のトランザクションに参加させない
+        this.notificationTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * 日次サマリーの登録・更新を月内累計に反映
+     * 日次以外のサマリー（月次）とユーザー未設定のサマリーは対象外
+     *
+     * @param summaries 登録・更新した日次サマリー
+     */
+    @Transactional
+    public void onDailySummariesSaved(Collection<? extends AttendanceSummary> summaries) {
+        List<UserMonth> keys = summaries.stream()
+                .filter(summary -> "daily".equals(summary.getSummaryType()))
+                .filter(summary -> summary.getUserId() != null && summary.getTargetDate() != null)
+                .map(summary -> new UserMonth(summary.getUserId(), summary.getTargetDate().withDayOfMonth(1)))
+                .distinct()
+                .toList();
+        if (keys.isEmpty()) {
+            return;
+        }
+        refresh(keys);
+    }
+
+    /**
+     * 指定月の月内累計を集計し直す（残業監視バッチ）
+     * 月内に日次サマリーがあるユーザーと、既に累計行があるユーザーが対象
+     *
+     * @param month 対象月
+     * @return 集計結果
+     */
+    @Transactional
+    public ReconcileResult reconcile(YearMonth month) {
+        long startTime = System.currentTimeMillis();
+        LocalDate monthStart = month.atDay(1);
+        List<Integer> userIds = overtimeMonitorRepository.findMonthUserIds(monthStart);
+
+        List<Assessment> assessments = new ArrayList<>(userIds.size());
+        for (int from = 0; from < userIds.size(); from += WRITE_CHUNK_SIZE) {
+            List<UserMonth> keys = userIds.subList(from, Math.min(from + WRITE_CHUNK_SIZE, userIds.size())).stream()
+                    .map(userId -> new UserMonth(userId, monthStart))
+                    .toList();
+            assessments.addAll(refresh(keys));
+        }
+
+        Map<String, Long> statusCounts = assessments.stream()
+                .collect(Collectors.groupingBy(Assessment::status, Collectors.counting()));
+        ReconcileResult result = new ReconcileResult(month, assessments.size(),
+                (int) assessments.stream().filter(assessment -> assessment.alertedAt() != null).count(),
+                statusCounts.getOrDefault("confirmed", 0L).intValue(),
+                statusCounts.getOrDefault("draft", 0L).intValue(),
+                statusCounts.getOrDefault("approved", 0L).intValue());
+        log.info("残業月内累計の再集計完了: {}, elapsedMs={}", result, System.currentTimeMillis() - startTime);
+        return result;
+    }
+
+    /**
+     * 累計を更新し、見込み・ステータス・警告レベルを判定して通知する
+     *
+     * @return ユーザー・月ごとの判定結果
+     */
+    private List<Assessment> refresh(List<UserMonth> keys) {
+        OffsetDateTime now = OffsetDateTime.now();
+        List<MonthlyTotal> totals = overtimeMonitorRepository.refreshTotals(keys, now);
+
+        Map<YearMonth, Set<LocalDate>> holidaysByMonth = new HashMap<>();
+        List<Assessment> assessments = new ArrayList<>(totals.size());
+        List<Assessment> changed = new ArrayList<>();
+        List<Notification> notifications = new ArrayList<>();
+        for (MonthlyTotal total : totals) {
+            Set<LocalDate> holidays = holidaysByMonth.computeIfAbsent(YearMonth.from(total.targetMonth()),
+                    this::findHolidays);
+            Assessment assessment = assess(total, holidays, now);
+            if (assessment.alertedAt() != null) {
+                notifications.addAll(alertNotifications(total, assessment));
+            }
+            if (isChanged(total, assessment)) {
+                changed.add(assessment);
+            }
+            assessments.add(assessment);
+        }
+
+        overtimeMonitorRepository.updateAssessments(changed);
+        if (!notifications.isEmpty()) {
+            afterCommit(() -> sendAlerts(notifications));
+        }
+        return assessments;
+    }
+
+    /**
+     * 警告通知の登録（別トランザクション。失敗してもログのみ）
+     */
+    private void sendAlerts(List<Notification> notifications) {
+        log.info("残業警告通知: notifications={}", notifications.size());
+        try {
+            notificationTransaction.executeWithoutResult(status ->
+                    notificationService.createNotifications(notifications));
+        } catch (Exception e) {
+            log.error("残業警告通知エラー: count={}, error={}", notifications.size(), e.getMessage(), e);
+        }
+    }
+
+    /**
+     * トランザクションのコミット後に処理を実行（トランザクション外の場合は即時実行）
+     */
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * 月内累計の判定
+     * 警告レベルは通知済みのレベルより下げない
+     *
+     * @param total    月内累計
+     * @param holidays 対象月の祝日
+     * @param now      判定日時（警告レベルが上がった場合の通知日時）
+     * @return 判定結果
+     */
+    static Assessment assess(MonthlyTotal total, Set<LocalDate> holidays, OffsetDateTime now) {
+        Threshold threshold = total.threshold() != null ? total.threshold() : DEFAULT_THRESHOLD;
+        BigDecimal projectedOvertime = projectedHours(total.totalOvertime(), total.lastSummaryDate(), holidays);
+        BigDecimal projectedLateNight = projectedHours(total.totalLateNight(), total.lastSummaryDate(), holidays);
+
+        String level;
+        if (total.totalOvertime().compareTo(threshold.overtimeLimit()) > 0
+                || total.totalLateNight().compareTo(threshold.lateNightLimit()) > 0
+                || total.totalHoliday().compareTo(threshold.holidayLimit()) > 0) {
+            level = ALERT_EXCEEDED;
+        } else if (projectedOvertime.compareTo(threshold.overtimeLimit()) > 0
+                || projectedLateNight.compareTo(threshold.lateNightLimit()) > 0) {
+            level = ALERT_WARNING;
+        } else {
+            level = ALERT_NONE;
+        }
+
+        String previousLevel = total.alertLevel() != null ? total.alertLevel() : ALERT_NONE;
+        boolean raised = ALERT_LEVELS.indexOf(level) > ALERT_LEVELS.indexOf(previousLevel);
+        String status = ALERT_EXCEEDED.equals(level) ? "confirmed"
+                : total.totalOvertime().signum() > 0 || total.totalLateNight().signum() > 0
+                        || total.totalHoliday().signum() > 0 ? "draft" : "approved";
+
+        return new Assessment(total.userId(), total.targetMonth(), projectedOvertime, status,
+                raised ? level : previousLevel, raised ? now : null);
+    }
+
+    /**
+     * 月末時点の見込み時間
+     * 最新サマリー日までの営業日数で累計を按分する（営業日がまだない場合は累計のまま）
+     *
+     * @param hours           月内累計
+     * @param lastSummaryDate 最新サマリーの対象日（サマリーがない場合は null）
+     * @param holidays        対象月の祝日
+     * @return 月末見込み（小数2桁）
+     */
+    static BigDecimal projectedHours(BigDecimal hours, LocalDate lastSummaryDate, Set<LocalDate> holidays) {
+        if (lastSummaryDate == null || hours.signum() == 0) {
+            return hours.setScale(2, RoundingMode.HALF_UP);
+        }
+        YearMonth month = YearMonth.from(lastSummaryDate);
+        int elapsedDays = businessDays(month.atDay(1), lastSummaryDate, holidays);
+        if (elapsedDays == 0) {
+            return hours.setScale(2, RoundingMode.HALF_UP);
+        }
+        int monthDays = businessDays(month.atDay(1), month.atEndOfMonth(), holidays);
+        return hours.multiply(BigDecimal.valueOf(monthDays))
+                .divide(BigDecimal.valueOf(elapsedDays), 2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * 期間内の営業日数（土日・祝日を除く、両端を含む）
+     */
+    static int businessDays(LocalDate from, LocalDate to, Set<LocalDate> holidays) {
+        int days = 0;
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            DayOfWeek dayOfWeek = date.getDayOfWeek();
+            if (dayOfWeek != DayOfWeek.SATURDAY && dayOfWeek != DayOfWeek.SUNDAY && !holidays.contains(date)) {
+                days++;
+            }
+        }
+        return days;
+    }
+
+    private Set<LocalDate> findHolidays(YearMonth month) {
+        return holidayRepository.findByDateRange(month.atDay(1), month.atEndOfMonth()).stream()
+                .map(Holiday::getDate)
+                .collect(Collectors.toSet());
+    }
+
+    private static boolean isChanged(MonthlyTotal total, Assessment assessment) {
+        return assessment.alertedAt() != null
+                || !assessment.status().equals(total.status())
+                || total.projectedOvertime() == null
+                || assessment.projectedOvertime().compareTo(total.projectedOvertime()) != 0;
+    }
+
+    /**
+     * 本人と上長への警告通知を組み立て
+     */
+    private static List<Notification> alertNotifications(MonthlyTotal total, Assessment assessment) {
+        Threshold threshold = total.threshold() != null ? total.threshold() : DEFAULT_THRESHOLD;
+        boolean exceeded = ALERT_EXCEEDED.equals(assessment.alertLevel());
+        String state = exceeded ? "上限を超えました" : "上限を超える見込みです";
+        String detail = String.format("%d年%d月の累計: 残業%sh（月末見込み%sh）・深夜%sh・休日%sh / 上限: 残業%sh・深夜%sh・休日%sh",
+                total.targetMonth().getYear(),
+                total.targetMonth().getMonthValue(),
+                total.totalOvertime().toPlainString(),
+                assessment.projectedOvertime().toPlainString(),
+                total.totalLateNight().toPlainString(),
+                total.totalHoliday().toPlainString(),
+                threshold.overtimeLimit().toPlainString(),
+                threshold.lateNightLimit().toPlainString(),
+                threshold.holidayLimit().toPlainString());
+        Integer relatedId = total.id().intValue();
+
+        List<Notification> notifications = new ArrayList<>(2);
+        notifications.add(Notification.create(total.userId(), "今月の残業時間が" + state, detail, "system", relatedId));
+        if (total.managerId() != null && !total.managerId().equals(total.userId())) {
+            String name = total.fullName() != null ? total.fullName() : "ユーザーID " + total.userId();
+            notifications.add(Notification.create(total.managerId(), "部下の残業時間が" + state,
+                    name + "さん " + detail, "system", relatedId));
+        }
+        return notifications;
+    }
+
+    /**
+     * 月内累計の再集計結果
+     *
+     * @param month          対象月
+     * @param userCount      集計したユーザー数
+     * @param alertCount     警告を通知したユーザー数
+     * @param confirmedCount 上限を超過したユーザー数（要確認）
+     * @param draftCount     上限以内で残業等があるユーザー数
+     * @param approvedCount  残業等がないユーザー数
+     */
+    public record ReconcileResult(YearMonth month, int userCount, int alertCount, int confirmedCount,
+            int draftCount, int approvedCount) {
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.companybackend.service;
+
+import com.example.companybackend.repository.PaidLeaveBalanceRepository;
+import com.example.companybackend.repository.PaidLeaveBalanceRepository.AccrualSource;
+import com.example.companybackend.repository.PaidLeaveBalanceRepository.PaidLeaveBalance;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 有給休暇付与・残高計算サービス
+ * 全有効ユーザーの入社日と年度内の取得日数を1クエリで取得し、付与日数・残日数をメモリ上で計算して
+ * 有給休暇残高台帳（paid_leave_balances）へ一括 UPSERT する
+ *
+ * 年度は4月始まり（2025年度 = 2025-04-01〜2026-03-31）。同一年度の再実行は台帳を上書きする。
+ * 申請ごとの差分更新（LeaveBalanceService）で生じたずれも、この全件再計算で補正される。
+ * 台帳を更新する場合は取得日数を集計する前に年度の行をロックし、集計から UPSERT までの間に
+ * 反映された差分が上書きで失われないようにする。
+ */
+@Service
+@RequiredArgsConstructor
+public class PaidLeaveAccrualService {
+
+    private static final Logger log = LoggerFactory.getLogger(PaidLeaveAccrualService.class);
+
+    /** 1文で UPSERT する行数の上限 */
+    static final int WRITE_CHUNK_SIZE = 1000;
+
+    /** 年度の開始月 */
+    private static final int FISCAL_YEAR_START_MONTH = 4;
+
+    private final PaidLeaveBalanceRepository paidLeaveBalanceRepository;
+    private final PaidLeaveCalculationService paidLeaveCalculationService;
+    private final LeaveBalanceService leaveBalanceService;
+
+    /**
+     * 指定日が属する年度
+     */
+    public static int fiscalYearOf(LocalDate date) {
+        return date.getMonthValue() >= FISCAL_YEAR_START_MONTH ? date.getYear() : date.getYear() - 1;
+    }
+
+    /**
+     * 年度の開始日
+     */
+    public static LocalDate fiscalYearStart(int fiscalYear) {
+        return LocalDate.of(fiscalYear, FISCAL_YEAR_START_MONTH, 1);
+    }
+
+    /**
+     * 有給休暇の付与・残高計算
+     *
+     * @param fiscalYear 年度（取得日数の集計期間）
+     * @param targetDate 勤続年数の基準日
+     * @param dryRun     true の場合は計算結果の集計のみ行い、台帳を更新しない
+     * @return 計算結果
+     */
+    @Transactional
+    public AccrualResult accrue(int fiscalYear, LocalDate targetDate, boolean dryRun) {
+        long startTime = System.currentTimeMillis();
+        LocalDate periodStart = fiscalYearStart(fiscalYear);
+        LocalDate periodEnd = fiscalYearStart(fiscalYear + 1).minusDays(1);
+
+        // 差分更新はロック解放（コミット）まで待機し、ロック後の集計にはロック待ちの間にコミットされた申請が含まれる
+        Set<Integer> lockedUserIds = dryRun ? Set.of() : paidLeaveBalanceRepository.lockBalances(fiscalYear);
+        List<AccrualSource> sources = paidLeaveBalanceRepository.findAccrualSources(periodStart, periodEnd);
+
+        List<PaidLeaveBalance> balances = new ArrayList<>(sources.size());
+        int grantedUserCount = 0;
+        int overdrawnUserCount = 0;
+        long totalGrantedDays = 0;
+        long totalUsedDays = 0;
+        for (AccrualSource source : sources) {
+            int yearsOfService = (int) Math.max(0,
+                    paidLeaveCalculationService.yearsOfService(source.hireDate(), targetDate));
+            int grantedDays = paidLeaveCalculationService.calculateGrantDays(source.hireDate(), targetDate);
+            int remainingDays = grantedDays - source.usedDays();
+
+            balances.add(new PaidLeaveBalance(source.userId(), source.hireDate(), yearsOfService, grantedDays,
+                    source.usedDays(), source.pendingDays(), remainingDays));
+            if (grantedDays > 0) {
+                grantedUserCount++;
+            }
+            if (remainingDays < 0) {
+                overdrawnUserCount++;
+            }
+            totalGrantedDays += grantedDays;
+            totalUsedDays += source.usedDays();
+        }
+
+        int writtenCount = 0;
+        if (!dryRun) {
+            OffsetDateTime calculatedAt = OffsetDateTime.now();
+            for (int from = 0; from < balances.size(); from += WRITE_CHUNK_SIZE) {
+                List<PaidLeaveBalance> chunk = balances.subList(from,
+                        Math.min(from + WRITE_CHUNK_SIZE, balances.size()));
+                writtenCount += paidLeaveBalanceRepository.upsertAll(fiscalYear, chunk, lockedUserIds, calculatedAt);
+            }
+            leaveBalanceService.evictAllAfterCompletion();
+        }
+
+        AccrualResult result = new AccrualResult(fiscalYear, targetDate, dryRun, sources.size(), grantedUserCount,
+                overdrawnUserCount, totalGrantedDays, totalUsedDays, writtenCount);
+        log.info("有給休暇残高計算完了: fiscalYear={}, targetDate={}, dryRun={}, users={}, granted={}, overdrawn={}, "
+                        + "written={}, elapsedMs={}",
+                fiscalYear, targetDate, dryRun, result.totalUserCount(), grantedUserCount, overdrawnUserCount,
+                writtenCount, System.currentTimeMillis() - startTime);
+        return result;
+    }
+
+    /**
+     * 有給休暇の付与・残高計算結果
+     *
+     * @param fiscalYear         年度
+     * @param targetDate         勤続年数の基準日
+     * @param dryRun             台帳を更新しなかった場合 true
+     * @param totalUserCount     計算対象の有効ユーザー数
+     * @param grantedUserCount   付与日数が1日以上のユーザー数
+     * @param overdrawnUserCount 取得日数が付与日数を超えているユーザー数
+     * @param totalGrantedDays   付与日数の合計
+     * @param totalUsedDays      取得日数の合計
+     * @param writtenCount       台帳に登録・更新した行数（内容に変更がない行は含まない）
+     */
+    public record AccrualResult(int fiscalYear, LocalDate targetDate, boolean dryRun, int totalUserCount,
+            int grantedUserCount, int overdrawnUserCount, long totalGrantedDays, long totalUsedDays,
+            int writtenCount) {
+    }
+}
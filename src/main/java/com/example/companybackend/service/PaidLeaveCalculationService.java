@@ -13,41 +13,59 @@ public class PaidLeaveCalculationService {
 
     /**
      * ユーザーの勤続年数に基づいて有給休暇日数を計算する
+     * 入社日（hire_date）が未設定の場合はユーザーの作成日を入社日とみなす
      * 
      * @param user ユーザー情報
      * @param targetDate 基準日
      * @return 有給休暇日数
      */
     public int calculatePaidLeaveDays(User user, LocalDate targetDate) {
-        log.info("有給休暇日数計算: userId={}, targetDate={}", user.getId(), targetDate);
-        
-        // ユーザーの作成日（入社日と仮定）を基準に勤続年数を計算
-        LocalDate hireDate = user.getCreatedAt().toLocalDate();
-        long yearsOfService = ChronoUnit.YEARS.between(hireDate, targetDate);
-        
-        log.debug("勤続年数計算結果: userId={}, hireDate={}, yearsOfService={}", 
-                  user.getId(), hireDate, yearsOfService);
-        
-        // 勤続年数に基づく有給休暇日数
-        int paidLeaveDays = calculateByYearsOfService(yearsOfService);
-        
-        log.info("有給休暇日数計算完了: userId={}, paidLeaveDays={}", user.getId(), paidLeaveDays);
+        LocalDate hireDate = user.getHireDate() != null
+                ? user.getHireDate()
+                : user.getCreatedAt().toLocalDate();
+        int paidLeaveDays = calculateGrantDays(hireDate, targetDate);
+
+        log.debug("有給休暇日数計算: userId={}, hireDate={}, targetDate={}, paidLeaveDays={}",
+                  user.getId(), hireDate, targetDate, paidLeaveDays);
         return paidLeaveDays;
     }
+
+    /**
+     * 入社日と基準日から有給休暇日数を計算する（バッチでの一括計算用。ログは出力しない）
+     * 
+     * @param hireDate 入社日
+     * @param targetDate 基準日
+     * @return 有給休暇日数
+     */
+    public int calculateGrantDays(LocalDate hireDate, LocalDate targetDate) {
+        return calculateByMonthsOfService(ChronoUnit.MONTHS.between(hireDate, targetDate));
+    }
+
+    /**
+     * 勤続年数（満年数）を計算する
+     * 
+     * @param hireDate 入社日
+     * @param targetDate 基準日
+     * @return 勤続年数（入社日が基準日より後の場合は負数）
+     */
+    public long yearsOfService(LocalDate hireDate, LocalDate targetDate) {
+        return ChronoUnit.YEARS.between(hireDate, targetDate);
+    }
     
     /**
-     * 勤続年数に基づいて有給休暇日数を決定する
+     * 勤続月数に基づいて有給休暇日数を決定する
+     * （1年未満は6か月の判定が必要なため、満年数ではなく満月数で判定する）
      * 
-     * @param yearsOfService 勤続年数
+     * @param monthsOfService 勤続月数
      * @return 有給休暇日数
      */
-    private int calculateByYearsOfService(long yearsOfService) {
+    private int calculateByMonthsOfService(long monthsOfService) {
         // 日本の労働基準法に基づく有給休暇日数
-        if (yearsOfService < 1) {
-            // 6か月以上1年未満の場合、10日
-            return yearsOfService >= 0.5 ? 10 : 0;
+        long yearsOfService = monthsOfService / 12;
+        if (monthsOfService < 6) {
+            return 0;   // 6か月未満の場合、0日
         } else if (yearsOfService < 2) {
-            return 10;  // 1年以上2年未満の場合、10日
+            return 10;  // 6か月以上2年未満の場合、10日
         } else if (yearsOfService < 3) {
             return 11;  // 2年以上3年未満の場合、11日
         } else if (yearsOfService < 4) {
@@ -1,8 +1,13 @@
 package com.example.companybackend.service;
 
+import com.example.companybackend.config.ReferenceDataCacheConfig;
 import com.example.companybackend.entity.Position;
+import com.example.companybackend.repository.EmployeeReadModelRepository;
 import com.example.companybackend.repository.PositionRepository;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
 import java.util.List;
@@ -13,25 +18,38 @@ import java.util.Optional;
 public class PositionService {
 
     private final PositionRepository positionRepository;
+    private final EmployeeReadModelRepository employeeReadModelRepository;
 
-    public PositionService(PositionRepository positionRepository) {
+    public PositionService(PositionRepository positionRepository,
+                           EmployeeReadModelRepository employeeReadModelRepository) {
         this.positionRepository = positionRepository;
+        this.employeeReadModelRepository = employeeReadModelRepository;
     }
 
+    /**
+     * 全役職取得（参照データキャッシュ。作成・更新・削除時に無効化）
+     */
+    @Cacheable(cacheNames = ReferenceDataCacheConfig.POSITIONS)
     public List<Position> getAllPositions() {
-        return positionRepository.findAll();
+        return List.copyOf(positionRepository.findAll());
     }
 
     public Optional<Position> getPositionById(Integer id) {
         return positionRepository.findById(id);
     }
 
+    @CacheEvict(cacheNames = { ReferenceDataCacheConfig.POSITIONS, ReferenceDataCacheConfig.POSITION_NAMES,
+            ReferenceDataCacheConfig.ADMIN_POSITIONS }, allEntries = true)
+    @Transactional
     public Position createPosition(Position position) {
         position.setCreatedAt(OffsetDateTime.now());
         position.setUpdatedAt(OffsetDateTime.now());
         return positionRepository.save(position);
     }
 
+    @CacheEvict(cacheNames = { ReferenceDataCacheConfig.POSITIONS, ReferenceDataCacheConfig.POSITION_NAMES,
+            ReferenceDataCacheConfig.ADMIN_POSITIONS }, allEntries = true)
+    @Transactional
     public Position updatePosition(Integer id, Position positionDetails) {
         Position position = positionRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Position not found with id: " + id));
@@ -41,14 +59,21 @@ public class PositionService {
         // created_atは変更しない
         position.setUpdatedAt(OffsetDateTime.now());
 
-        return positionRepository.save(position);
+        Position savedPosition = positionRepository.save(position);
+        // 該当役職のユーザーの参照モデルに非正規化している名称を更新
+        employeeReadModelRepository.refreshPosition(id);
+        return savedPosition;
     }
 
+    @CacheEvict(cacheNames = { ReferenceDataCacheConfig.POSITIONS, ReferenceDataCacheConfig.POSITION_NAMES,
+            ReferenceDataCacheConfig.ADMIN_POSITIONS }, allEntries = true)
+    @Transactional
     public void deletePosition(Integer id) {
         Position position = positionRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Position not found with id: " + id));
         
         positionRepository.delete(position);
+        employeeReadModelRepository.refreshPosition(id);
     }
 
     public boolean existsByName(String name) {
@@ -0,0 +1,60 @@
+package com.example.companybackend.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * 参照データキャッシュのウォームアップ
+ * 起動完了時に部署・役職・管理者役職・勤務地を読み込み、最初のリクエストでのキャッシュミスを避ける。
+ * 読み込みに失敗しても起動は継続する（初回参照時に改めて読み込まれる）。
+ */
+@Component
+public class ReferenceDataCacheWarmer {
+
+    private static final Logger log = LoggerFactory.getLogger(ReferenceDataCacheWarmer.class);
+
+    private static final String[] WORK_LOCATION_TYPES = { "office", "client" };
+
+    private final DepartmentService departmentService;
+    private final PositionService positionService;
+    private final AuthService authService;
+    private final WorkLocationService workLocationService;
+    private final boolean enabled;
+
+    public ReferenceDataCacheWarmer(DepartmentService departmentService,
+                                    PositionService positionService,
+                                    AuthService authService,
+                                    WorkLocationService workLocationService,
+                                    @Value("${app.reference-cache.warm-up:true}") boolean enabled) {
+        this.departmentService = departmentService;
+        this.positionService = positionService;
+        this.authService = authService;
+        this.workLocationService = workLocationService;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled) {
+            return;
+        }
+        long startedAt = System.nanoTime();
+        try {
+            int departments = departmentService.getAllDepartments().size();
+            int positions = positionService.getAllPositions().size();
+            authService.getAdminPositions();
+            int workLocations = 0;
+            for (String type : WORK_LOCATION_TYPES) {
+                workLocations += workLocationService.getActiveLocationsByType(type).size();
+            }
+            log.info("参照データキャッシュ ウォームアップ完了: departments={}, positions={}, workLocations={}, elapsedMs={}",
+                    departments, positions, workLocations, (System.nanoTime() - startedAt) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.warn("参照データキャッシュ ウォームアップ失敗: {}", e.getMessage(), e);
+        }
+    }
+}
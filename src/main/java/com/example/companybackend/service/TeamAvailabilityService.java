@@ -0,0 +1,103 @@
+package com.example.companybackend.service;
+
+import com.example.companybackend.repository.LeaveCalendarRepository;
+import com.example.companybackend.repository.LeaveCalendarRepository.Absence;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * チーム・部署の休暇カレンダーサービス
+ * 「指定期間に誰が休むか」を期間インデックスを使う1クエリで取得し、日別の休暇人数を集計する。
+ *
+ * 対象は部署（departmentId）または上長配下（managerId、直属・間接）で絞り込む。
+ * 同一ユーザーの承認待ち・承認済み申請は排他制約により期間が重ならないため、
+ * 日別人数は申請ごとの加算（差分配列）で求められる。
+ */
+@Service
+@RequiredArgsConstructor
+public class TeamAvailabilityService {
+
+    private static final Logger log = LoggerFactory.getLogger(TeamAvailabilityService.class);
+
+    /** 一度に取得できる期間の上限（日数） */
+    static final int MAX_DAYS = 93;
+
+    private final LeaveCalendarRepository leaveCalendarRepository;
+    private final OrgTreeIndex orgTreeIndex;
+
+    /**
+     * 休暇カレンダー取得
+     *
+     * @param from           期間の開始日
+     * @param to             期間の終了日（当日を含む）
+     * @param departmentId   部署ID（null の場合は部署で絞り込まない）
+     * @param managerId      上長のユーザーID（null の場合は配下で絞り込まない）
+     * @param includePending 承認待ちの申請も含める場合 true
+     * @return 休暇一覧と日別の休暇人数
+     * @throws IllegalArgumentException 期間が不正な場合
+     */
+    public TeamCalendar getCalendar(LocalDate from, LocalDate to, Integer departmentId, Long managerId,
+            boolean includePending) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("開始日と終了日は必須です");
+        }
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("終了日は開始日以降である必要があります");
+        }
+        int days = (int) ChronoUnit.DAYS.between(from, to) + 1;
+        if (days > MAX_DAYS) {
+            throw new IllegalArgumentException("取得できる期間は最大" + MAX_DAYS + "日までです");
+        }
+
+        Collection<Long> userIds = managerId != null ? orgTreeIndex.subordinates(managerId, true) : null;
+        List<String> statuses = includePending ? List.of("approved", "pending") : List.of("approved");
+        List<Absence> absences = leaveCalendarRepository.findAbsences(from, to, statuses, departmentId, userIds);
+
+        // 日別の休暇人数（期間外の部分は切り捨てて差分配列に加算）
+        int[] delta = new int[days + 1];
+        for (Absence absence : absences) {
+            int start = (int) Math.max(0, ChronoUnit.DAYS.between(from, absence.startDate()));
+            int end = (int) Math.min(days - 1, ChronoUnit.DAYS.between(from, absence.endDate()));
+            delta[start]++;
+            delta[end + 1]--;
+        }
+        List<DailyAbsence> daily = new ArrayList<>(days);
+        int absentCount = 0;
+        for (int i = 0; i < days; i++) {
+            absentCount += delta[i];
+            daily.add(new DailyAbsence(from.plusDays(i), absentCount));
+        }
+
+        log.debug("休暇カレンダー取得: from={}, to={}, departmentId={}, managerId={}, absences={}",
+                from, to, departmentId, managerId, absences.size());
+        return new TeamCalendar(from, to, absences, daily);
+    }
+
+    /**
+     * 休暇カレンダー
+     *
+     * @param from     期間の開始日
+     * @param to       期間の終了日
+     * @param absences 期間と重なる休暇（開始日順）
+     * @param daily    日別の休暇人数
+     */
+    public record TeamCalendar(LocalDate from, LocalDate to, List<Absence> absences, List<DailyAbsence> daily) {
+    }
+
+    /**
+     * 日別の休暇人数
+     *
+     * @param date        日付
+     * @param absentCount 休暇を取得するユーザー数
+     */
+    public record DailyAbsence(LocalDate date, int absentCount) {
+    }
+}
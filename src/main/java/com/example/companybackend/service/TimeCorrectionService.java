@@ -16,8 +16,14 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * 打刻修正申請サービス
@@ -32,6 +38,8 @@ import java.util.Optional;
  * - 申請作成
  * - 申請承認
  * - 申請拒否
+ * - 申請一括承認・拒否
+ * - データ修復バッチの下書きの確定・破棄
  * - 申請一覧取得
  * - 申請詳細取得
  */
@@ -44,6 +52,7 @@ public class TimeCorrectionService {
     private final TimeCorrectionRepository timeCorrectionRepository;
     private final AttendanceRecordRepository attendanceRecordRepository;
     private final UserRepository userRepository;
+    private final NotificationService notificationService;
 
     /**
      * 打刻修正申請作成
@@ -211,11 +220,140 @@ public class TimeCorrectionService {
     }
 
     /**
-     * ユーザーの打刻修正申請一覧取得
+     * 打刻修正申請一括承認・拒否
+     * 申請・承認者の読み込み、ステータス更新、通知登録をそれぞれ1回のクエリで行う。
+     * 見つからない申請・承認待ちでない申請は処理せず結果に含める。
+     * 
+     * @throws IllegalArgumentException 申請IDが空・上限超過、または承認者が見つからない場合
+     * @throws IllegalStateException 処理中に他の承認者が同じ申請を処理した場合（全件ロールバック）
+     */
+    public BulkDecisionResult decideTimeCorrections(List<Long> correctionIds, Long approverId, boolean approve) {
+        String status = approve ? "approved" : "rejected";
+        log.info("打刻修正申請一括{}開始: count={}, approverId={}", approve ? "承認" : "拒否",
+                correctionIds != null ? correctionIds.size() : 0, approverId);
+
+        if (correctionIds == null || correctionIds.isEmpty()) {
+            throw new IllegalArgumentException("申請IDを指定してください");
+        }
+        Set<Long> ids = new LinkedHashSet<>(correctionIds);
+        ids.remove(null);
+        if (ids.size() > BulkDecisionResult.MAX_REQUESTS) {
+            throw new IllegalArgumentException("一度に処理できる申請は" + BulkDecisionResult.MAX_REQUESTS + "件までです");
+        }
+
+        // 承認者存在確認
+        userRepository.findById(approverId)
+                .orElseThrow(() -> new IllegalArgumentException("承認者が見つかりません"));
+
+        Map<Long, TimeCorrection> found = timeCorrectionRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(TimeCorrection::getId, Function.identity()));
+
+        List<TimeCorrection> pending = new ArrayList<>();
+        List<Long> notFoundIds = new ArrayList<>();
+        List<Long> alreadyProcessedIds = new ArrayList<>();
+        for (Long id : ids) {
+            TimeCorrection correction = found.get(id);
+            if (correction == null) {
+                notFoundIds.add(id);
+            } else if (!"pending".equals(correction.getStatus())) {
+                alreadyProcessedIds.add(id);
+            } else {
+                pending.add(correction);
+            }
+        }
+
+        if (!pending.isEmpty()) {
+            OffsetDateTime decidedAt = OffsetDateTime.now();
+            Long[] pendingIds = pending.stream().map(TimeCorrection::getId).toArray(Long[]::new);
+            int updated = timeCorrectionRepository.decidePendingByIds(pendingIds, status, approverId.intValue(),
+                    decidedAt);
+            if (updated != pendingIds.length) {
+                throw new IllegalStateException("他の承認者により処理された申請が含まれています。再読み込みしてください");
+            }
+
+            // 一括更新済みのため、エンティティには結果のみ反映する（個別の UPDATE は発行しない）
+            for (TimeCorrection correction : pending) {
+                correction.setStatus(status);
+                correction.setApproverId(approverId.intValue());
+                correction.setApprovedAt(decidedAt);
+            }
+            notificationService.sendTimeCorrectionDecisionNotifications(pending, approve);
+        }
+
+        BulkDecisionResult result = new BulkDecisionResult(status,
+                pending.stream().map(TimeCorrection::getId).toList(), notFoundIds, alreadyProcessedIds);
+        log.info("打刻修正申請一括{}完了: processed={}, skipped={}, approverId={}", approve ? "承認" : "拒否",
+                result.processedCount(), result.skippedCount(), approverId);
+        return result;
+    }
+
+    /**
+     * データ修復バッチの下書きの一括確定・破棄
+     * 確定した下書きは承認待ちとして通常の承認フローに乗せる。破棄した下書きは削除せず discarded として残す
+     * （同じ打刻・同じ異常の下書きがバッチの再実行で再登録されないようにするため）。
+     * 見つからない申請・下書きでない申請は処理せず結果に含める。
+     * 
+     * @param promote 確定の場合 true、破棄の場合 false
+     * @throws IllegalArgumentException 申請IDが空・上限超過の場合
+     * @throws IllegalStateException 処理中に他の管理者が同じ下書きを処理した場合（全件ロールバック）
+     */
+    public BulkDecisionResult resolveRepairDrafts(List<Long> draftIds, boolean promote) {
+        String status = promote ? "pending" : "discarded";
+        log.info("打刻修正下書き一括{}開始: count={}", promote ? "確定" : "破棄", draftIds != null ? draftIds.size() : 0);
+
+        if (draftIds == null || draftIds.isEmpty()) {
+            throw new IllegalArgumentException("申請IDを指定してください");
+        }
+        Set<Long> ids = new LinkedHashSet<>(draftIds);
+        ids.remove(null);
+        if (ids.size() > BulkDecisionResult.MAX_REQUESTS) {
+            throw new IllegalArgumentException("一度に処理できる申請は" + BulkDecisionResult.MAX_REQUESTS + "件までです");
+        }
+
+        Map<Long, TimeCorrection> found = timeCorrectionRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(TimeCorrection::getId, Function.identity()));
+
+        List<Long> draftIdsToResolve = new ArrayList<>();
+        List<Long> notFoundIds = new ArrayList<>();
+        List<Long> notDraftIds = new ArrayList<>();
+        for (Long id : ids) {
+            TimeCorrection correction = found.get(id);
+            if (correction == null) {
+                notFoundIds.add(id);
+            } else if (!"draft".equals(correction.getStatus())) {
+                notDraftIds.add(id);
+            } else {
+                draftIdsToResolve.add(id);
+            }
+        }
+
+        if (!draftIdsToResolve.isEmpty()) {
+            int updated = timeCorrectionRepository.resolveDraftsByIds(draftIdsToResolve.toArray(Long[]::new), status);
+            if (updated != draftIdsToResolve.size()) {
+                throw new IllegalStateException("他の管理者により処理された下書きが含まれています。再読み込みしてください");
+            }
+        }
+
+        BulkDecisionResult result = new BulkDecisionResult(status, draftIdsToResolve, notFoundIds, notDraftIds);
+        log.info("打刻修正下書き一括{}完了: processed={}, skipped={}", promote ? "確定" : "破棄",
+                result.processedCount(), result.skippedCount());
+        return result;
+    }
+
+    /**
+     * ユーザーの打刻修正申請一覧取得（データ修復バッチの下書きは含めない）
      */
     @Transactional(readOnly = true)
     public List<TimeCorrection> getUserTimeCorrections(Long userId) {
-        return timeCorrectionRepository.findByUserId(userId.intValue());
+        return timeCorrectionRepository.findByUserIdAndStatusNot(userId.intValue(), "draft");
+    }
+
+    /**
+     * データ修復バッチの下書き一覧取得（管理者の確認用）
+     */
+    @Transactional(readOnly = true)
+    public List<TimeCorrection> getRepairDrafts() {
+        return timeCorrectionRepository.findDraftsOrderByCreatedAt();
     }
 
     /**
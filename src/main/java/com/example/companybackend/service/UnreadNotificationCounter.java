@@ -0,0 +1,135 @@
+package com.example.companybackend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * 未読通知数キャッシュ
+ * ユーザーごとの未読数を保持し、通知作成・既読化のたびに増減させる。
+ * 未読数の問い合わせは初回（またはTTL経過後）のみデータベースを参照する。
+ *
+ * 通知の一括削除やパーティション削除など、増減を追跡できない更新に備えて
+ * エントリはTTLで期限切れとし、次回参照時にデータベースの値で補正する。
+ */
+@Component
+public class UnreadNotificationCounter {
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+
+    private final ConcurrentHashMap<Integer, Entry> entries = new ConcurrentHashMap<>();
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    @Autowired
+    public UnreadNotificationCounter(MeterRegistry meterRegistry,
+            @Value("${app.notification.unread-count.max-entries:50000}") int maxEntries,
+            @Value("${app.notification.unread-count.ttl-minutes:10}") long ttlMinutes) {
+        this(meterRegistry, maxEntries, Duration.ofMinutes(ttlMinutes), System::currentTimeMillis);
+    }
+
+    UnreadNotificationCounter(MeterRegistry meterRegistry, int maxEntries, Duration ttl, LongSupplier clock) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.ttlMillis = ttl.toMillis();
+        this.clock = clock;
+
+        this.hitCounter = Counter.builder("notification.unread.cache").tag("result", "hit")
+                .description("未読数キャッシュのヒット数").register(meterRegistry);
+        this.missCounter = Counter.builder("notification.unread.cache").tag("result", "miss")
+                .description("未読数キャッシュのミス数").register(meterRegistry);
+        Gauge.builder("notification.unread.cache.size", entries, ConcurrentHashMap::size)
+                .description("未読数キャッシュのエントリ数").register(meterRegistry);
+    }
+
+    /**
+     * 未読数を取得（未キャッシュ・期限切れの場合のみ loader でデータベースから取得）
+     *
+     * @param userId ユーザーID
+     * @param loader データベースからの未読数取得処理
+     * @return 未読数
+     */
+    public long get(Integer userId, LongSupplier loader) {
+        long now = clock.getAsLong();
+        Entry entry = entries.get(userId);
+        if (entry != null && now - entry.loadedAt < ttlMillis) {
+            hitCounter.increment();
+            return entry.count;
+        }
+
+        missCounter.increment();
+        // 同一ユーザーの読み込みと増減は compute で直列化し、読み込み中の更新が失われないようにする
+        Entry loaded = entries.compute(userId, (key, current) -> {
+            if (current != null && now - current.loadedAt < ttlMillis) {
+                return current;
+            }
+            return new Entry(loader.getAsLong(), now);
+        });
+        evictIfNecessary();
+        return loaded.count;
+    }
+
+    /**
+     * 未読数を加算（キャッシュ済みのユーザーのみ。未キャッシュの場合は次回参照時にデータベースから取得）
+     *
+     * @param userId ユーザーID
+     * @param delta  加算数
+     * @return 加算後の未読数（未キャッシュの場合は -1）
+     */
+    public long add(Integer userId, long delta) {
+        Entry updated = entries.computeIfPresent(userId,
+                (key, current) -> new Entry(Math.max(0, current.count + delta), current.loadedAt));
+        return updated != null ? updated.count : -1;
+    }
+
+    /**
+     * 未読数を0にする（全件既読化時）
+     *
+     * @param userId ユーザーID
+     */
+    public void reset(Integer userId) {
+        entries.put(userId, new Entry(0, clock.getAsLong()));
+        evictIfNecessary();
+    }
+
+    /**
+     * 全ユーザーのキャッシュを破棄（一括削除など増減を追跡できない更新の後に使用）
+     */
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    /**
+     * 現在のキャッシュ件数
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * 件数上限を超えた場合に任意のエントリを破棄（破棄されたユーザーは次回参照時に再取得される）
+     */
+    private void evictIfNecessary() {
+        if (entries.size() <= maxEntries) {
+            return;
+        }
+        Iterator<Integer> iterator = entries.keySet().iterator();
+        while (entries.size() > maxEntries && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private record Entry(long count, long loadedAt) {
+    }
+}
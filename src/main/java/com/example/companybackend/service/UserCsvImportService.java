@@ -0,0 +1,310 @@
+package com.example.companybackend.service;
+
+import com.example.companybackend.dto.auth.CsvRowError;
+import com.example.companybackend.dto.auth.CsvUserData;
+import com.example.companybackend.repository.EmployeeReadModelRepository;
+import com.example.companybackend.repository.UserRepository;
+import com.example.companybackend.util.CsvParsingUtil;
+import com.example.companybackend.util.CsvRecordReader;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Statement;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * CSVユーザー一括インポートサービス
+ *
+ * 処理の流れ:
+ * 1. RFC 4180 準拠のリーダーでCSVを1行ずつ読み込み、チャンク単位で処理（ファイル全体をメモリに保持しない）
+ * 2. 既存ユーザー名は開始時に1回だけ取得し、ファイル内の重複と合わせてメモリ上で判定
+ * 3. BCrypt によるパスワードハッシュ化を専用スレッドプールで並列実行
+ * 4. チャンクごとに JDBC バッチ INSERT し、従業員参照モデルも同じトランザクションで更新してコミット
+ *
+ * 不正な行はスキップして行番号・理由をエラーレポートに記録し、残りの行の登録を続行する
+ */
+@Service
+public class UserCsvImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(UserCsvImportService.class);
+
+    private static final String INSERT_USER_SQL = """
+            INSERT INTO users (username, password_hash, full_name, location_type, client_latitude, client_longitude,
+                               department_id, position_id, manager_id, is_active, skip_location_check,
+                               created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, true, false, ?, ?)
+            ON CONFLICT (username) DO NOTHING
+            """;
+
+    private static final String DEFAULT_LOCATION_TYPE = "office";
+
+    private final UserRepository userRepository;
+    private final EmployeeReadModelRepository employeeReadModelRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService hashExecutor;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+
+    public UserCsvImportService(UserRepository userRepository,
+            EmployeeReadModelRepository employeeReadModelRepository,
+            PasswordEncoder passwordEncoder,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.user-import.chunk-size:500}") int chunkSize,
+            @Value("${app.user-import.hash-threads:0}") int hashThreads,
+            @Value("${app.user-import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.userRepository = userRepository;
+        this.employeeReadModelRepository = employeeReadModelRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.maxReportedErrors = Math.max(0, maxReportedErrors);
+
+        // BCrypt は CPU バウンドのため、既定ではコア数分のスレッドで並列化する
+        int threads = hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.hashExecutor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "user-import-hash-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * CSVストリームからユーザーを一括登録
+     *
+     * @param inputStream CSV（UTF-8、1行目はヘッダー）
+     * @return 登録結果
+     * @throws IOException 読み込みエラー
+     */
+    public ImportResult importCsv(InputStream inputStream) throws IOException {
+        ImportContext context = new ImportContext(new HashSet<>(userRepository.findAllUsernames()));
+        log.info("CSV一括インポート開始: existingUsers={}", context.existingUsernames.size());
+
+        try (CsvRecordReader reader = new CsvRecordReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            List<String> headerRecord = reader.readRecord();
+            if (headerRecord == null) {
+                throw new IllegalArgumentException("CSVファイルが空です");
+            }
+            String[] headers = CsvParsingUtil.normalizeHeaders(headerRecord);
+
+            List<PendingRow> chunk = new ArrayList<>(chunkSize);
+            while (true) {
+                List<String> record;
+                try {
+                    record = reader.readRecord();
+                } catch (CsvRecordReader.CsvFormatException e) {
+                    // 閉じられていないクォート以降は行の区切りを判定できないため、ここで読み込みを終了する
+                    context.addError(e.getLineNumber(), null, e.getMessage());
+                    break;
+                }
+                if (record == null) {
+                    break;
+                }
+                if (CsvRecordReader.isBlank(record)) {
+                    continue;
+                }
+
+                long lineNumber = reader.getRecordLineNumber();
+                try {
+                    accept(context, chunk, lineNumber, CsvParsingUtil.toUserData(headers, record));
+                } catch (IllegalArgumentException e) {
+                    context.addError(lineNumber, null, e.getMessage());
+                }
+                if (chunk.size() >= chunkSize) {
+                    flush(context, chunk);
+                }
+            }
+            flush(context, chunk);
+        }
+
+        log.info("CSV一括インポート完了: successCount={}, errorCount={}", context.successCount, context.errorCount);
+        return context.toResult();
+    }
+
+    /**
+     * 解析済みユーザーデータを一括登録（既存の List 入力との互換用）
+     *
+     * @param csvUsers ユーザーデータ
+     * @return 登録結果（行番号はリストの位置 + 2 = ヘッダー行を含むCSV上の行番号）
+     */
+    public ImportResult importUsers(List<CsvUserData> csvUsers) {
+        ImportContext context = new ImportContext(new HashSet<>(userRepository.findAllUsernames()));
+        List<PendingRow> chunk = new ArrayList<>(chunkSize);
+        for (int i = 0; i < csvUsers.size(); i++) {
+            accept(context, chunk, i + 2L, csvUsers.get(i));
+            if (chunk.size() >= chunkSize) {
+                flush(context, chunk);
+            }
+        }
+        flush(context, chunk);
+        return context.toResult();
+    }
+
+    /**
+     * 重複・必須項目を検証し、問題なければチャンクに追加
+     */
+    private void accept(ImportContext context, List<PendingRow> chunk, long lineNumber, CsvUserData user) {
+        String username = user.getUsername();
+        if (username == null || user.getPassword() == null) {
+            context.addError(lineNumber, username, "username と password は必須です");
+            return;
+        }
+        if (context.existingUsernames.contains(username)) {
+            context.addError(lineNumber, username, "ユーザー名は既に登録されています");
+            return;
+        }
+        if (!context.seenUsernames.add(username)) {
+            context.addError(lineNumber, username, "ファイル内でユーザー名が重複しています");
+            return;
+        }
+        chunk.add(new PendingRow(lineNumber, user));
+    }
+
+    /**
+     * チャンクのパスワードを並列ハッシュ化し、バッチ INSERT してコミット
+     */
+    private void flush(ImportContext context, List<PendingRow> chunk) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        List<CompletableFuture<String>> hashes = new ArrayList<>(chunk.size());
+        for (PendingRow row : chunk) {
+            hashes.add(CompletableFuture.supplyAsync(() -> passwordEncoder.encode(row.user.getPassword()), hashExecutor));
+        }
+        List<Object[]> batchArgs = new ArrayList<>(chunk.size());
+        OffsetDateTime now = OffsetDateTime.now();
+        for (int i = 0; i < chunk.size(); i++) {
+            CsvUserData user = chunk.get(i).user;
+            batchArgs.add(new Object[] {
+                    user.getUsername(),
+                    hashes.get(i).join(),
+                    user.getFullName(),
+                    user.getLocationType() != null ? user.getLocationType() : DEFAULT_LOCATION_TYPE,
+                    user.getClientLatitude(),
+                    user.getClientLongitude(),
+                    user.getDepartmentId(),
+                    user.getPositionId(),
+                    user.getManagerId(),
+                    now,
+                    now
+            });
+        }
+
+        try {
+            List<String> usernames = chunk.stream().map(row -> row.user.getUsername()).toList();
+            int[] counts = transactionTemplate.execute(status -> {
+                int[] result = jdbcTemplate.batchUpdate(INSERT_USER_SQL, batchArgs);
+                employeeReadModelRepository.refreshUsernames(usernames);
+                return result;
+            });
+            for (int i = 0; i < chunk.size(); i++) {
+                recordInsertResult(context, chunk.get(i), counts[i]);
+            }
+        } catch (RuntimeException e) {
+            // バッチ全体が失敗した場合（外部キー違反など）は1件ずつ登録し、失敗行を特定する
+            log.warn("バッチ登録失敗のため1件ずつ再試行します: rows={}, error={}", chunk.size(), e.getMessage());
+            for (int i = 0; i < chunk.size(); i++) {
+                Object[] args = batchArgs.get(i);
+                PendingRow row = chunk.get(i);
+                try {
+                    Integer count = transactionTemplate.execute(status -> {
+                        int result = jdbcTemplate.update(INSERT_USER_SQL, args);
+                        employeeReadModelRepository.refreshUsernames(List.of(row.user.getUsername()));
+                        return result;
+                    });
+                    recordInsertResult(context, row, count != null ? count : 0);
+                } catch (RuntimeException rowError) {
+                    context.addError(row.lineNumber, row.user.getUsername(),
+                            "登録に失敗しました: " + rootMessage(rowError));
+                }
+            }
+        }
+        chunk.clear();
+    }
+
+    private void recordInsertResult(ImportContext context, PendingRow row, int count) {
+        if (count > 0 || count == Statement.SUCCESS_NO_INFO) {
+            context.successCount++;
+        } else {
+            // 事前取得後に他の処理で同名ユーザーが登録された場合（ON CONFLICT DO NOTHING）
+            context.addError(row.lineNumber, row.user.getUsername(), "ユーザー名は既に登録されています");
+        }
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null) {
+            root = root.getCause();
+        }
+        return root.getMessage();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashExecutor.shutdownNow();
+    }
+
+    private record PendingRow(long lineNumber, CsvUserData user) {
+    }
+
+    /**
+     * インポート1回分の状態
+     */
+    private final class ImportContext {
+
+        private final Set<String> existingUsernames;
+        private final Set<String> seenUsernames = new HashSet<>();
+        private final List<CsvRowError> errors = new ArrayList<>();
+        private int successCount;
+        private int errorCount;
+
+        private ImportContext(Set<String> existingUsernames) {
+            this.existingUsernames = existingUsernames;
+        }
+
+        private void addError(long lineNumber, String username, String reason) {
+            errorCount++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new CsvRowError(lineNumber, username, reason));
+            }
+        }
+
+        private ImportResult toResult() {
+            return new ImportResult(successCount, errorCount, errors);
+        }
+    }
+
+    /**
+     * インポート結果
+     *
+     * @param successCount 登録件数
+     * @param errorCount   エラー件数
+     * @param errors       行単位のエラー（先頭から max-reported-errors 件まで）
+     */
+    public record ImportResult(int successCount, int errorCount, List<CsvRowError> errors) {
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.companybackend.service;
 
 import com.example.companybackend.entity.User;
+import com.example.companybackend.repository.EmployeeReadModelRepository;
 import com.example.companybackend.repository.UserRepository;
 import com.example.companybackend.security.HtmlSanitizerService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,6 +10,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
@@ -22,12 +24,24 @@ public class UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final HtmlSanitizerService htmlSanitizerService;
+    private final EmployeeReadModelRepository employeeReadModelRepository;
+    private final EmployeeSearchIndex employeeSearchIndex;
+    private final OrgTreeIndex orgTreeIndex;
+    private final EmployeeStatisticsService employeeStatisticsService;
 
     public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder,
-                       HtmlSanitizerService htmlSanitizerService) {
+                       HtmlSanitizerService htmlSanitizerService,
+                       EmployeeReadModelRepository employeeReadModelRepository,
+                       EmployeeSearchIndex employeeSearchIndex,
+                       OrgTreeIndex orgTreeIndex,
+                       EmployeeStatisticsService employeeStatisticsService) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.htmlSanitizerService = htmlSanitizerService;
+        this.employeeReadModelRepository = employeeReadModelRepository;
+        this.employeeSearchIndex = employeeSearchIndex;
+        this.orgTreeIndex = orgTreeIndex;
+        this.employeeStatisticsService = employeeStatisticsService;
     }
 
     public User findByUsername(String username) {
@@ -38,6 +52,7 @@ public class UserService {
         return userRepository.findById(id).orElse(null);
     }
 
+    @Transactional
     public void updateUserProfile(User user, Map<String, Object> updateRequest) {
         if (updateRequest.containsKey("fullName")) {
             String fullName = (String) updateRequest.get("fullName");
@@ -54,8 +69,10 @@ public class UserService {
         }
         user.setUpdatedAt(OffsetDateTime.now());
         userRepository.save(user);
+        employeeReadModelRepository.refreshUser(user.getId());
     }
 
+    @Transactional
     public boolean changePassword(String username, String oldPassword, String newPassword) {
         User user = userRepository.findByUsername(username).orElse(null);
         if (user == null) {
@@ -71,30 +88,27 @@ public class UserService {
         user.setPasswordHash(passwordEncoder.encode(newPassword));
         user.setUpdatedAt(OffsetDateTime.now());
         userRepository.save(user);
+        // 参照モデルの updated_at も合わせて更新する
+        employeeReadModelRepository.refreshUser(user.getId());
         return true;
     }
 
     public Map<String, Object> getUsers(int page, int size, String search, Integer departmentId, 
                                        String role, String locationType, Boolean isActive) {
         Pageable pageable = PageRequest.of(page, size);
-        Page<User> userPage = userRepository.findEmployeesWithFilter(
-                search, departmentId, role, locationType, isActive, pageable);
+        // 検索語は検索インデックスで一致するユーザーIDに変換する（一致なしの場合は参照モデルを引かない）
+        List<Long> userIds = null;
+        if (search != null && !search.isBlank()) {
+            userIds = employeeSearchIndex.findUserIds(search);
+        }
+        // 部署名・役職名は従業員参照モデルに非正規化済みのため、1クエリで一覧を取得できる
+        Page<EmployeeReadModelRepository.EmployeeRow> userPage = userIds != null && userIds.isEmpty()
+                ? Page.empty(pageable)
+                : employeeReadModelRepository.findPage(userIds, departmentId, role, locationType, isActive, pageable);
 
         List<Map<String, Object>> userList = new ArrayList<>();
-        for (User user : userPage.getContent()) {
-            Map<String, Object> userMap = new HashMap<>();
-            userMap.put("id", user.getId());
-            userMap.put("employeeCode", user.getEmployeeId());
-            userMap.put("name", user.getFullName());
-            userMap.put("email", user.getEmail());
-            userMap.put("role", user.getRole());
-            // 注意：API规范中使用的是department和position字段（字符串），但数据库中存储的是ID
-            // 在实际实现中，应该通过关联查询获取部门和职位名称
-            userMap.put("departmentId", user.getDepartmentId());
-            userMap.put("positionId", user.getPositionId());
-            userMap.put("isActive", user.getIsActive());
-            userMap.put("hireDate", user.getHireDate());
-            userList.add(userMap);
+        for (EmployeeReadModelRepository.EmployeeRow user : userPage.getContent()) {
+            userList.add(toUserSummary(user));
         }
 
         Map<String, Object> result = new HashMap<>();
@@ -106,6 +120,38 @@ public class UserService {
         return result;
     }
 
+    /**
+     * ユーザー名・氏名の入力補完（有効なユーザーのみ、一致度順）
+     *
+     * @param query 入力中の文字列（かな・カナ・ローマ字・ユーザー名・従業員ID）
+     * @param limit 最大件数
+     * @return 候補
+     */
+    public List<Map<String, Object>> suggestUsers(String query, int limit) {
+        List<Map<String, Object>> suggestions = new ArrayList<>();
+        for (EmployeeSearchIndex.Match match : employeeSearchIndex.search(query, limit, true)) {
+            suggestions.add(toUserSummary(match.employee()));
+        }
+        return suggestions;
+    }
+
+    private Map<String, Object> toUserSummary(EmployeeReadModelRepository.EmployeeRow user) {
+        Map<String, Object> userMap = new HashMap<>();
+        userMap.put("id", user.userId());
+        userMap.put("employeeCode", user.employeeId());
+        userMap.put("name", user.fullName());
+        userMap.put("email", user.email());
+        userMap.put("role", user.role());
+        userMap.put("departmentId", user.departmentId());
+        userMap.put("department", user.departmentName());
+        userMap.put("positionId", user.positionId());
+        userMap.put("position", user.positionName());
+        userMap.put("isActive", user.isActive());
+        userMap.put("hireDate", user.hireDate());
+        return userMap;
+    }
+
+    @Transactional
     public User createUser(User user) {
         // 检查用户名是否已存在
         if (userRepository.existsByUsername(user.getUsername())) {
@@ -122,9 +168,14 @@ public class UserService {
             user.setIsActive(true);
         }
         
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        employeeReadModelRepository.refreshUser(savedUser.getId());
+        orgTreeIndex.refreshUsers(List.of(savedUser.getId()));
+        employeeStatisticsService.invalidate();
+        return savedUser;
     }
 
+    @Transactional
     public User updateUser(Long id, User userUpdate) {
         User existingUser = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("ユーザーが見つかりません"));
@@ -169,9 +220,15 @@ public class UserService {
         
         existingUser.setUpdatedAt(OffsetDateTime.now());
         
-        return userRepository.save(existingUser);
+        User savedUser = userRepository.save(existingUser);
+        employeeReadModelRepository.refreshUser(id);
+        orgTreeIndex.refreshUsers(List.of(id));
+        // is_active・ロール・部署・勤務地の変更は統計に影響するため、コミット後にキャッシュを破棄する
+        employeeStatisticsService.invalidate();
+        return savedUser;
     }
 
+    @Transactional
     public void deleteUser(Long id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("ユーザーが見つかりません"));
@@ -180,5 +237,8 @@ public class UserService {
         user.setIsActive(false);
         user.setUpdatedAt(OffsetDateTime.now());
         userRepository.save(user);
+        employeeReadModelRepository.refreshUser(id);
+        orgTreeIndex.refreshUsers(List.of(id));
+        employeeStatisticsService.invalidate();
     }
 }
\ No newline at end of file
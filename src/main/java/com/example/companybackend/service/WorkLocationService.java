@@ -0,0 +1,29 @@
+package com.example.companybackend.service;
+
+import com.example.companybackend.config.ReferenceDataCacheConfig;
+import com.example.companybackend.entity.WorkLocation;
+import com.example.companybackend.repository.WorkLocationRepository;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public class WorkLocationService {
+
+    private final WorkLocationRepository workLocationRepository;
+
+    public WorkLocationService(WorkLocationRepository workLocationRepository) {
+        this.workLocationRepository = workLocationRepository;
+    }
+
+    /**
+     * タイプ別の有効な勤務地取得（打刻のたびに参照されるため参照データキャッシュに保持）
+     * @param type 勤務地タイプ (office, client, other)
+     * @return 該当する勤務地リスト（リクエスト間で共有されるため変更不可）
+     */
+    @Cacheable(cacheNames = ReferenceDataCacheConfig.WORK_LOCATIONS)
+    public List<WorkLocation> getActiveLocationsByType(String type) {
+        return List.copyOf(workLocationRepository.findByType(type));
+    }
+}
@@ -3,7 +3,6 @@ package com.example.companybackend.util;
 import com.example.companybackend.dto.auth.CsvUserData;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
@@ -25,20 +24,19 @@ public class CsvParsingUtil {
     public static List<CsvUserData> parseCsvFile(MultipartFile file) throws IOException {
         List<CsvUserData> users = new ArrayList<>();
         
-        try (BufferedReader reader = new BufferedReader(
+        try (CsvRecordReader reader = new CsvRecordReader(
                 new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))) {
             
-            String line;
-            boolean isFirstLine = true;
+            List<String> record;
             String[] headers = null;
             
-            while ((line = reader.readLine()) != null) {
-                String[] values = line.split(",", -1);
+            // クォート内のカンマ・改行を正しく扱うため RFC 4180 準拠のリーダーで読み込む
+            while ((record = reader.readRecord()) != null) {
+                String[] values = record.toArray(new String[0]);
                 
                 // 最初の行をヘッダーとして処理
-                if (isFirstLine) {
+                if (headers == null) {
                     headers = values;
-                    isFirstLine = false;
                     continue;
                 }
                 
@@ -133,4 +131,85 @@ public class CsvParsingUtil {
         
         return null; // 必須フィールドが不足している場合はnullを返す
     }
-}
\ No newline at end of file
+
+    /**
+     * CSV行データからユーザーデータを変換（一括インポート用の厳密版）
+     * 不正な値や必須項目の不足があれば理由付きで例外を送出する
+     * 
+     * @param headers 正規化済みヘッダー配列（小文字・前後空白除去）
+     * @param values  値リスト
+     * @return ユーザーデータ
+     * @throws IllegalArgumentException 行データが不正な場合（メッセージがエラー理由）
+     */
+    public static CsvUserData toUserData(String[] headers, List<String> values) {
+        if (values.size() != headers.length) {
+            throw new IllegalArgumentException(String.format("列数がヘッダーと一致しません（期待: %d, 実際: %d）",
+                    headers.length, values.size()));
+        }
+
+        CsvUserData user = new CsvUserData();
+        for (int i = 0; i < headers.length; i++) {
+            String value = values.get(i).trim();
+            if (value.isEmpty()) {
+                continue;
+            }
+            switch (headers[i]) {
+                case "username" -> user.setUsername(value);
+                case "password" -> user.setPassword(value);
+                case "fullname" -> user.setFullName(value);
+                case "location_type" -> {
+                    String locationType = value.toLowerCase();
+                    if (!"office".equals(locationType) && !"client".equals(locationType)) {
+                        throw new IllegalArgumentException("location_type は office または client を指定してください: " + value);
+                    }
+                    user.setLocationType(locationType);
+                }
+                case "client_latitude" -> user.setClientLatitude(parseDouble(headers[i], value));
+                case "client_longitude" -> user.setClientLongitude(parseDouble(headers[i], value));
+                case "department_id" -> user.setDepartmentId(parseInteger(headers[i], value));
+                case "position_id" -> user.setPositionId(parseInteger(headers[i], value));
+                case "manager_id" -> user.setManagerId(parseInteger(headers[i], value));
+                default -> {
+                    // 未知の列は無視
+                }
+            }
+        }
+
+        if (user.getUsername() == null) {
+            throw new IllegalArgumentException("username は必須です");
+        }
+        if (user.getPassword() == null) {
+            throw new IllegalArgumentException("password は必須です");
+        }
+        if (user.getFullName() == null) {
+            throw new IllegalArgumentException("fullname は必須です");
+        }
+        return user;
+    }
+
+    /**
+     * ヘッダー行を正規化（小文字化・前後空白除去）
+     * 
+     * @param headerRecord ヘッダー行
+     * @return 正規化済みヘッダー配列
+     */
+    public static String[] normalizeHeaders(List<String> headerRecord) {
+        return headerRecord.stream().map(h -> h.trim().toLowerCase()).toArray(String[]::new);
+    }
+
+    private static Double parseDouble(String column, String value) {
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + " が数値ではありません: " + value);
+        }
+    }
+
+    private static Integer parseInteger(String column, String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + " が整数ではありません: " + value);
+        }
+    }
+}
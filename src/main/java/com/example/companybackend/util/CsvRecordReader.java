@@ -0,0 +1,150 @@
+package com.example.companybackend.util;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * RFC 4180 準拠のストリーミングCSVリーダー
+ * ファイル全体をメモリに読み込まず、1レコードずつ返す
+ *
+ * 対応する書式:
+ * - ダブルクォートで囲まれたフィールド（カンマ・改行を含むことができる）
+ * - クォート内の "" によるダブルクォートのエスケープ
+ * - CRLF / LF 改行、先頭の UTF-8 BOM
+ */
+public class CsvRecordReader implements Closeable {
+
+    private static final int NO_PEEK = -2;
+
+    private final Reader reader;
+    private int peeked = NO_PEEK;
+    private boolean started;
+    private long lineNumber = 1;
+    private long recordLineNumber;
+
+    public CsvRecordReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader ? reader : new BufferedReader(reader);
+    }
+
+    /**
+     * 次のレコードを読み込む
+     *
+     * @return フィールドのリスト（ファイル終端の場合は null）
+     * @throws CsvFormatException クォートが閉じられていない場合
+     * @throws IOException        読み込みエラー
+     */
+    public List<String> readRecord() throws IOException {
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+        recordLineNumber = lineNumber;
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean inQuotes = false;
+        boolean quoted = false;
+
+        while (true) {
+            if (inQuotes) {
+                if (c == -1) {
+                    throw new CsvFormatException("ダブルクォートが閉じられていません", recordLineNumber);
+                }
+                if (c == '"') {
+                    int next = read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        inQuotes = false;
+                        c = next;
+                        continue;
+                    }
+                } else {
+                    if (c == '\n') {
+                        lineNumber++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == -1) {
+                fields.add(field.toString());
+                return fields;
+            } else if (c == '"' && !quoted && field.length() == 0) {
+                inQuotes = true;
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                quoted = false;
+            } else if (c == '\r' || c == '\n') {
+                if (c == '\r') {
+                    int next = read();
+                    if (next != '\n') {
+                        peeked = next;
+                    }
+                }
+                lineNumber++;
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    /**
+     * 直前に読み込んだレコードの開始行番号（1始まり）
+     */
+    public long getRecordLineNumber() {
+        return recordLineNumber;
+    }
+
+    /**
+     * 全フィールドが空のレコード（空行）か判定
+     */
+    public static boolean isBlank(List<String> record) {
+        return record.stream().allMatch(String::isBlank);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private int read() throws IOException {
+        if (peeked != NO_PEEK) {
+            int c = peeked;
+            peeked = NO_PEEK;
+            return c;
+        }
+        int c = reader.read();
+        if (!started) {
+            started = true;
+            if (c == '\uFEFF') {
+                c = reader.read();
+            }
+        }
+        return c;
+    }
+
+    /**
+     * CSV書式エラー
+     */
+    public static class CsvFormatException extends IOException {
+
+        private final long lineNumber;
+
+        public CsvFormatException(String message, long lineNumber) {
+            super(message + " (" + lineNumber + "行目)");
+            this.lineNumber = lineNumber;
+        }
+
+        public long getLineNumber() {
+            return lineNumber;
+        }
+    }
+}
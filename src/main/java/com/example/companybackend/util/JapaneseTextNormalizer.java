@@ -0,0 +1,170 @@
+package com.example.companybackend.util;
+
+import java.text.Normalizer;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 検索用の日本語テキスト正規化ユーティリティ
+ *
+ * - NFKC 正規化（全角英数字・半角カナを統一）と小文字化
+ * - ひらがなをカタカナに統一
+ * - 空白・中黒を除去
+ * - ローマ字入力（ヘボン式・訓令式）のカタカナ変換
+ */
+public final class JapaneseTextNormalizer {
+
+    private static final Map<String, String> ROMAJI = new HashMap<>();
+    private static final int MAX_SYLLABLE_LENGTH = 3;
+
+    static {
+        String[][] table = {
+                { "a", "ア" }, { "i", "イ" }, { "u", "ウ" }, { "e", "エ" }, { "o", "オ" },
+                { "ka", "カ" }, { "ki", "キ" }, { "ku", "ク" }, { "ke", "ケ" }, { "ko", "コ" },
+                { "ga", "ガ" }, { "gi", "ギ" }, { "gu", "グ" }, { "ge", "ゲ" }, { "go", "ゴ" },
+                { "sa", "サ" }, { "si", "シ" }, { "shi", "シ" }, { "su", "ス" }, { "se", "セ" }, { "so", "ソ" },
+                { "za", "ザ" }, { "zi", "ジ" }, { "ji", "ジ" }, { "zu", "ズ" }, { "ze", "ゼ" }, { "zo", "ゾ" },
+                { "ta", "タ" }, { "ti", "チ" }, { "chi", "チ" }, { "tu", "ツ" }, { "tsu", "ツ" }, { "te", "テ" },
+                { "to", "ト" },
+                { "da", "ダ" }, { "di", "ヂ" }, { "du", "ヅ" }, { "de", "デ" }, { "do", "ド" },
+                { "na", "ナ" }, { "ni", "ニ" }, { "nu", "ヌ" }, { "ne", "ネ" }, { "no", "ノ" },
+                { "ha", "ハ" }, { "hi", "ヒ" }, { "hu", "フ" }, { "fu", "フ" }, { "he", "ヘ" }, { "ho", "ホ" },
+                { "ba", "バ" }, { "bi", "ビ" }, { "bu", "ブ" }, { "be", "ベ" }, { "bo", "ボ" },
+                { "pa", "パ" }, { "pi", "ピ" }, { "pu", "プ" }, { "pe", "ペ" }, { "po", "ポ" },
+                { "ma", "マ" }, { "mi", "ミ" }, { "mu", "ム" }, { "me", "メ" }, { "mo", "モ" },
+                { "ya", "ヤ" }, { "yu", "ユ" }, { "yo", "ヨ" },
+                { "ra", "ラ" }, { "ri", "リ" }, { "ru", "ル" }, { "re", "レ" }, { "ro", "ロ" },
+                { "wa", "ワ" }, { "wo", "ヲ" }, { "nn", "ン" }, { "n'", "ン" },
+                { "kya", "キャ" }, { "kyu", "キュ" }, { "kyo", "キョ" },
+                { "gya", "ギャ" }, { "gyu", "ギュ" }, { "gyo", "ギョ" },
+                { "sya", "シャ" }, { "syu", "シュ" }, { "syo", "ショ" },
+                { "sha", "シャ" }, { "shu", "シュ" }, { "sho", "ショ" }, { "she", "シェ" },
+                { "zya", "ジャ" }, { "zyu", "ジュ" }, { "zyo", "ジョ" },
+                { "ja", "ジャ" }, { "ju", "ジュ" }, { "jo", "ジョ" }, { "je", "ジェ" },
+                { "jya", "ジャ" }, { "jyu", "ジュ" }, { "jyo", "ジョ" },
+                { "tya", "チャ" }, { "tyu", "チュ" }, { "tyo", "チョ" },
+                { "cha", "チャ" }, { "chu", "チュ" }, { "cho", "チョ" }, { "che", "チェ" },
+                { "nya", "ニャ" }, { "nyu", "ニュ" }, { "nyo", "ニョ" },
+                { "hya", "ヒャ" }, { "hyu", "ヒュ" }, { "hyo", "ヒョ" },
+                { "bya", "ビャ" }, { "byu", "ビュ" }, { "byo", "ビョ" },
+                { "pya", "ピャ" }, { "pyu", "ピュ" }, { "pyo", "ピョ" },
+                { "mya", "ミャ" }, { "myu", "ミュ" }, { "myo", "ミョ" },
+                { "rya", "リャ" }, { "ryu", "リュ" }, { "ryo", "リョ" },
+                { "fa", "ファ" }, { "fi", "フィ" }, { "fe", "フェ" }, { "fo", "フォ" },
+                { "-", "ー" }
+        };
+        for (String[] entry : table) {
+            ROMAJI.put(entry[0], entry[1]);
+        }
+    }
+
+    private JapaneseTextNormalizer() {
+    }
+
+    /**
+     * 検索キー用に正規化
+     *
+     * @param text 文字列（null 可）
+     * @return 正規化後の文字列（null の場合は空文字）
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        StringBuilder result = new StringBuilder(normalized.length());
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (Character.isWhitespace(c) || c == '・' || c == '･') {
+                continue;
+            }
+            // ひらがな（ぁ〜ゖ）はカタカナに統一する
+            if (c >= 'ぁ' && c <= 'ゖ') {
+                c = (char) (c + 0x60);
+            }
+            result.append(c);
+        }
+        return result.toString();
+    }
+
+    /**
+     * ローマ字をカタカナに変換
+     * 入力途中の末尾（子音のみ）は切り捨てる（例: "yamad" → "ヤマ"）
+     *
+     * @param text 正規化済みの文字列
+     * @return カタカナ（ローマ字として解釈できない場合は null）
+     */
+    public static String romajiToKatakana(String text) {
+        if (text.isEmpty() || !isRomaji(text)) {
+            return null;
+        }
+        StringBuilder result = new StringBuilder();
+        int i = 0;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            // 促音（同じ子音の連続。"tch" も促音として扱う）
+            if (i + 1 < text.length() && isConsonant(c) && c != 'n'
+                    && (text.charAt(i + 1) == c || (c == 't' && text.charAt(i + 1) == 'c'))) {
+                result.append('ッ');
+                i++;
+                continue;
+            }
+            // "nn" の後に母音・y が続く場合は撥音 + な行（例: "konnichi" → "コンニチ"）
+            if (c == 'n' && i + 2 < text.length() && text.charAt(i + 1) == 'n'
+                    && "aiueoy".indexOf(text.charAt(i + 2)) >= 0) {
+                result.append('ン');
+                i++;
+                continue;
+            }
+            String syllable = null;
+            int length = Math.min(MAX_SYLLABLE_LENGTH, text.length() - i);
+            for (; length > 0; length--) {
+                syllable = ROMAJI.get(text.substring(i, i + length));
+                if (syllable != null) {
+                    break;
+                }
+            }
+            if (syllable != null) {
+                result.append(syllable);
+                i += length;
+            } else if (c == 'n' && i + 1 < text.length()) {
+                // 子音の前の "n" は撥音
+                result.append('ン');
+                i++;
+            } else if (isTrailingIncomplete(text, i)) {
+                break;
+            } else {
+                return null;
+            }
+        }
+        return result.length() > 0 ? result.toString() : null;
+    }
+
+    private static boolean isTrailingIncomplete(String text, int index) {
+        // 残りが子音のみ（最大3文字）の場合は入力途中とみなす
+        if (text.length() - index > MAX_SYLLABLE_LENGTH) {
+            return false;
+        }
+        for (int i = index; i < text.length(); i++) {
+            if (!isConsonant(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isRomaji(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (!((c >= 'a' && c <= 'z') || c == '-' || c == '\'')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isConsonant(char c) {
+        return c >= 'a' && c <= 'z' && "aiueo".indexOf(c) < 0;
+    }
+}
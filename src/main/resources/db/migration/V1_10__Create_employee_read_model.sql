@@ -0,0 +1,62 @@
+-- 従業員参照モデル（CQRS の読み取り側）
+-- users に部署名・役職名・上長名・表示名を非正規化して保持し、一覧・詳細は JOIN なしの1クエリで取得する
+-- 行の更新は EmployeeReadModelRepository が書き込み側（EmployeeCommands 等）から対象ユーザー単位で行う
+CREATE TABLE IF NOT EXISTS employee_read_model (
+    user_id BIGINT PRIMARY KEY,
+    username VARCHAR(255) NOT NULL,
+    email VARCHAR(255),
+    employee_id VARCHAR(255),
+    full_name VARCHAR(255),
+    department_id INTEGER,
+    department_name VARCHAR(255),
+    position_id INTEGER,
+    position_name VARCHAR(255),
+    position_level INTEGER,
+    manager_id INTEGER,
+    manager_name VARCHAR(255),
+    role VARCHAR(255),
+    role_display_name VARCHAR(255) NOT NULL,
+    location_type VARCHAR(255),
+    location_type_display_name VARCHAR(255) NOT NULL,
+    is_active BOOLEAN,
+    hire_date DATE,
+    created_at TIMESTAMP WITH TIME ZONE,
+    updated_at TIMESTAMP WITH TIME ZONE,
+    refreshed_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- 一覧の絞り込み条件用
+CREATE INDEX IF NOT EXISTS idx_employee_read_model_department ON employee_read_model (department_id, user_id);
+CREATE INDEX IF NOT EXISTS idx_employee_read_model_position ON employee_read_model (position_id);
+CREATE INDEX IF NOT EXISTS idx_employee_read_model_manager ON employee_read_model (manager_id);
+CREATE INDEX IF NOT EXISTS idx_employee_read_model_role ON employee_read_model (role, user_id);
+CREATE INDEX IF NOT EXISTS idx_employee_read_model_active ON employee_read_model (is_active, user_id);
+CREATE INDEX IF NOT EXISTS idx_employee_read_model_employee_id ON employee_read_model (employee_id);
+CREATE INDEX IF NOT EXISTS idx_employee_read_model_created_at ON employee_read_model (created_at);
+CREATE INDEX IF NOT EXISTS idx_employee_read_model_updated_at ON employee_read_model (updated_at);
+
+-- 既存ユーザーの初期投入（EmployeeReadModelRepository.rebuild と同じ変換）
+INSERT INTO employee_read_model (user_id, username, email, employee_id, full_name,
+                                 department_id, department_name, position_id, position_name, position_level,
+                                 manager_id, manager_name, role, role_display_name,
+                                 location_type, location_type_display_name, is_active, hire_date,
+                                 created_at, updated_at, refreshed_at)
+SELECT u.id, u.username, u.email, u.employee_id, u.full_name,
+       u.department_id, d.name, u.position_id, p.name, p.level,
+       u.manager_id, m.full_name, u.role,
+       CASE u.role WHEN 'admin' THEN 'システム管理者' WHEN 'manager' THEN '管理者'
+                   WHEN 'employee' THEN '一般社員' ELSE COALESCE(u.role, '未設定') END,
+       u.location_type,
+       CASE u.location_type WHEN 'office' THEN 'オフィス勤務' WHEN 'client' THEN '客先勤務'
+                            ELSE COALESCE(u.location_type, '未設定') END,
+       u.is_active, u.hire_date, u.created_at, u.updated_at, CURRENT_TIMESTAMP
+FROM users u
+LEFT JOIN departments d ON d.id = u.department_id
+LEFT JOIN positions p ON p.id = u.position_id
+LEFT JOIN users m ON m.id = u.manager_id
+ON CONFLICT (user_id) DO NOTHING;
+
+COMMENT ON TABLE employee_read_model IS '従業員参照モデル（部署名・役職名・上長名を非正規化した一覧・詳細用テーブル）';
+COMMENT ON COLUMN employee_read_model.refreshed_at IS '参照モデルの最終更新日時';
+
+ANALYZE employee_read_model;
@@ -0,0 +1,37 @@
+-- 休暇申請の期間重複を排他制約で防止し、期間検索を GiST インデックスで処理する
+-- 期間は daterange(start_date, end_date, '[]')（終了日を含む）として扱う
+-- アプリケーション側のクエリも同じ式を使うこと（式が異なるとインデックスが使われない）
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- 既存データに重複がある場合は制約を作成できないため、対象の申請IDを示して中断する
+DO $$
+DECLARE
+    conflicts TEXT;
+BEGIN
+    SELECT string_agg(a.id || '/' || b.id, ', ' ORDER BY a.id, b.id)
+    INTO conflicts
+    FROM leave_requests a
+    JOIN leave_requests b
+      ON a.user_id = b.user_id
+     AND a.id < b.id
+     AND daterange(a.start_date, a.end_date, '[]') && daterange(b.start_date, b.end_date, '[]')
+    WHERE a.status IN ('pending', 'approved')
+      AND b.status IN ('pending', 'approved');
+
+    IF conflicts IS NOT NULL THEN
+        RAISE EXCEPTION '期間が重複する休暇申請があります（申請ID: %）。どちらかを却下してから再実行してください', conflicts;
+    END IF;
+END
+$$;
+
+-- 同一ユーザーの承認待ち・承認済み申請は期間を重複させない（登録・更新時に原子的に判定）
+ALTER TABLE leave_requests
+    ADD CONSTRAINT leave_requests_no_overlap
+    EXCLUDE USING gist (user_id WITH =, daterange(start_date, end_date, '[]') WITH &&)
+    WHERE (status IN ('pending', 'approved'));
+
+-- 期間検索（チームカレンダー・期間別一覧）用
+CREATE INDEX IF NOT EXISTS idx_leave_requests_period
+    ON leave_requests USING gist (daterange(start_date, end_date, '[]'));
+
+ANALYZE leave_requests;
@@ -0,0 +1,26 @@
+-- 有給休暇残高台帳テーブルの作成
+-- 有給日数更新バッチ（paidLeaveUpdateJob）がユーザー・年度ごとに付与日数と取得日数を集計し、
+-- INSERT ... ON CONFLICT で一括更新する（同一年度の再実行は上書きとなる）
+CREATE TABLE IF NOT EXISTS paid_leave_balances (
+    user_id INTEGER NOT NULL REFERENCES users(id),
+    fiscal_year INTEGER NOT NULL,
+    hire_date DATE NOT NULL,
+    years_of_service INTEGER NOT NULL,
+    granted_days INTEGER NOT NULL,
+    used_days INTEGER NOT NULL DEFAULT 0,
+    remaining_days INTEGER NOT NULL,
+    calculated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (user_id, fiscal_year),
+    CONSTRAINT paid_leave_balances_days_check CHECK (granted_days >= 0 AND used_days >= 0)
+);
+
+-- 年度単位の一覧・集計用
+CREATE INDEX IF NOT EXISTS idx_paid_leave_balances_fiscal_year
+ON paid_leave_balances(fiscal_year);
+
+COMMENT ON TABLE paid_leave_balances IS '有給休暇残高台帳';
+COMMENT ON COLUMN paid_leave_balances.fiscal_year IS '年度（4月始まり。2025年度 = 2025-04-01〜2026-03-31）';
+COMMENT ON COLUMN paid_leave_balances.hire_date IS '計算に使用した入社日（未設定の場合はユーザー作成日）';
+COMMENT ON COLUMN paid_leave_balances.granted_days IS '勤続年数に基づく付与日数';
+COMMENT ON COLUMN paid_leave_balances.used_days IS '年度内に承認済みの有給休暇日数';
+COMMENT ON COLUMN paid_leave_balances.remaining_days IS '残日数（付与日数 - 取得日数。超過取得の場合は負数）';
@@ -0,0 +1,34 @@
+-- 有給休暇残高台帳に承認待ち日数を追加し、台帳を休暇申請の登録・承認・却下・削除に合わせて差分更新する
+-- 差分更新は LeaveBalanceService が行い、有給日数更新バッチは全件を再計算して台帳を補正する
+ALTER TABLE paid_leave_balances
+    ADD COLUMN IF NOT EXISTS pending_days INTEGER NOT NULL DEFAULT 0;
+
+-- 既存行の取得日数・承認待ち日数を申請から再計算（年度をまたぐ申請は年度内の日数のみ）
+UPDATE paid_leave_balances b
+SET used_days = s.used_days,
+    pending_days = s.pending_days,
+    remaining_days = b.granted_days - s.used_days
+FROM (
+    SELECT b2.user_id, b2.fiscal_year,
+           COALESCE(SUM(LEAST(lr.end_date, make_date(b2.fiscal_year + 1, 3, 31))
+                        - GREATEST(lr.start_date, make_date(b2.fiscal_year, 4, 1)) + 1)
+                    FILTER (WHERE lr.status = 'approved'), 0) AS used_days,
+           COALESCE(SUM(LEAST(lr.end_date, make_date(b2.fiscal_year + 1, 3, 31))
+                        - GREATEST(lr.start_date, make_date(b2.fiscal_year, 4, 1)) + 1)
+                    FILTER (WHERE lr.status = 'pending'), 0) AS pending_days
+    FROM paid_leave_balances b2
+    LEFT JOIN leave_requests lr
+      ON lr.user_id = b2.user_id
+     AND lr.type = 'paid'
+     AND lr.status IN ('approved', 'pending')
+     AND daterange(lr.start_date, lr.end_date, '[]')
+         && daterange(make_date(b2.fiscal_year, 4, 1), make_date(b2.fiscal_year + 1, 3, 31), '[]')
+    GROUP BY b2.user_id, b2.fiscal_year
+) s
+WHERE b.user_id = s.user_id
+  AND b.fiscal_year = s.fiscal_year;
+
+ALTER TABLE paid_leave_balances
+    ADD CONSTRAINT paid_leave_balances_pending_days_check CHECK (pending_days >= 0);
+
+COMMENT ON COLUMN paid_leave_balances.pending_days IS '年度内に承認待ちの有給休暇日数（申請時の残日数チェックで使用）';
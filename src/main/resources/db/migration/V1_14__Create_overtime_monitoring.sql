@@ -0,0 +1,66 @@
+-- 残業の月内累計を日次サマリーの登録時に更新し、部署・職位ごとの上限と月末見込みで即時に警告する
+-- overtime_reports はユーザー・月ごとに1行の月内累計として扱い、OvertimeMonitorService が更新する
+-- 上限は overtime_thresholds で設定する（部署かつ職位 > 部署 > 職位 > 全社共通 の順に適用）
+
+-- 既存データに同一ユーザー・同一月の重複がある場合は一意インデックスを作成できないため、対象を示して中断する
+DO $$
+DECLARE
+    duplicates TEXT;
+BEGIN
+    SELECT string_agg(user_id || '/' || target_month, ', ' ORDER BY user_id, target_month)
+    INTO duplicates
+    FROM (
+        SELECT user_id, target_month
+        FROM overtime_reports
+        GROUP BY user_id, target_month
+        HAVING COUNT(*) > 1
+    ) d;
+
+    IF duplicates IS NOT NULL THEN
+        RAISE EXCEPTION '同一ユーザー・同一月の残業レポートが重複しています（ユーザーID/対象月: %）。1件に統合してから再実行してください', duplicates;
+    END IF;
+END
+$$;
+
+-- 月内累計の UPSERT（ON CONFLICT (user_id, target_month)）用
+DROP INDEX IF EXISTS idx_overtime_reports_user_month;
+CREATE UNIQUE INDEX IF NOT EXISTS uq_overtime_reports_user_month ON overtime_reports (user_id, target_month);
+
+ALTER TABLE overtime_reports
+    ADD COLUMN IF NOT EXISTS working_days INTEGER NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS last_summary_date DATE,
+    ADD COLUMN IF NOT EXISTS projected_overtime NUMERIC(38,2) NOT NULL DEFAULT 0.00,
+    ADD COLUMN IF NOT EXISTS alert_level VARCHAR(20) NOT NULL DEFAULT 'none',
+    ADD COLUMN IF NOT EXISTS alerted_at TIMESTAMP WITH TIME ZONE;
+
+ALTER TABLE overtime_reports
+    ADD CONSTRAINT overtime_reports_alert_level_check CHECK (alert_level IN ('none', 'warning', 'exceeded'));
+
+COMMENT ON COLUMN overtime_reports.working_days IS '月内に日次サマリーがある日数';
+COMMENT ON COLUMN overtime_reports.last_summary_date IS '月内で最も新しい日次サマリーの対象日（月末見込みの基準日）';
+COMMENT ON COLUMN overtime_reports.projected_overtime IS '月末時点の残業時間の見込み（営業日数で按分）';
+COMMENT ON COLUMN overtime_reports.alert_level IS '通知済みの警告レベル（none/warning:見込み超過/exceeded:実績超過）。月内で下がらない';
+
+CREATE TABLE IF NOT EXISTS overtime_thresholds (
+    id BIGSERIAL PRIMARY KEY,
+    department_id INTEGER REFERENCES departments(id) ON DELETE CASCADE,
+    position_id INTEGER REFERENCES positions(id) ON DELETE CASCADE,
+    overtime_limit NUMERIC(6,2) NOT NULL CHECK (overtime_limit >= 0),
+    late_night_limit NUMERIC(6,2) NOT NULL CHECK (late_night_limit >= 0),
+    holiday_limit NUMERIC(6,2) NOT NULL CHECK (holiday_limit >= 0),
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now()
+);
+
+-- 部署・職位の組み合わせごとに1件（NULL は「指定なし」）
+CREATE UNIQUE INDEX IF NOT EXISTS uq_overtime_thresholds_scope
+    ON overtime_thresholds (COALESCE(department_id, 0), COALESCE(position_id, 0));
+
+COMMENT ON TABLE overtime_thresholds IS '月間の残業・深夜労働・休日労働時間の上限（部署・職位ごと、両方 NULL の行は全社共通）';
+
+-- 全社共通の上限（従来の固定値: 残業45時間・深夜20時間・休日15時間）
+INSERT INTO overtime_thresholds (department_id, position_id, overtime_limit, late_night_limit, holiday_limit)
+VALUES (NULL, NULL, 45.00, 20.00, 15.00)
+ON CONFLICT DO NOTHING;
+
+ANALYZE overtime_reports;
@@ -0,0 +1,23 @@
+-- データ修復バッチが打刻の異常（退勤漏れ・出勤漏れ・出退勤の逆転）から打刻修正の下書きを作成できるようにする
+-- 下書き（status = 'draft'）は承認待ち一覧・件数の対象外。打刻の追加提案は request_type = 'add' で表す
+ALTER TABLE time_corrections DROP CONSTRAINT IF EXISTS time_corrections_status_check;
+ALTER TABLE time_corrections
+    ADD CONSTRAINT time_corrections_status_check CHECK (status IN ('draft', 'pending', 'approved', 'rejected'));
+
+ALTER TABLE time_corrections DROP CONSTRAINT IF EXISTS time_corrections_request_type_check;
+ALTER TABLE time_corrections
+    ADD CONSTRAINT time_corrections_request_type_check CHECK (request_type IN ('time', 'type', 'both', 'add'));
+
+ALTER TABLE time_corrections
+    ADD COLUMN IF NOT EXISTS anomaly_type VARCHAR(30);
+
+ALTER TABLE time_corrections
+    ADD CONSTRAINT time_corrections_anomaly_type_check
+    CHECK (anomaly_type IS NULL OR anomaly_type IN ('missing_clock_out', 'missing_clock_in', 'out_of_order'));
+
+COMMENT ON COLUMN time_corrections.anomaly_type IS 'データ修復バッチが検出した異常の種類（利用者が作成した申請は NULL）';
+
+-- 同じ打刻・同じ異常の下書きは1件のみ（再実行時は ON CONFLICT DO NOTHING で既存の提案を残す）
+CREATE UNIQUE INDEX IF NOT EXISTS uq_time_corrections_anomaly
+    ON time_corrections (attendance_id, anomaly_type)
+    WHERE anomaly_type IS NOT NULL;
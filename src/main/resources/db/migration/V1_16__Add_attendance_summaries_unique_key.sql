@@ -0,0 +1,15 @@
+-- 勤怠集計をユーザー・対象日・集計種別ごとに1行とし、集計バッチの書き込みを UPSERT にする
+-- 同じ業務日付を再実行・再開しても集計が重複しない
+
+-- 既存の重複は打刻から再集計できる派生データのため、最も新しい行（id が最大）だけを残す
+DELETE FROM attendance_summaries s
+USING attendance_summaries newer
+WHERE newer.user_id = s.user_id
+  AND newer.target_date = s.target_date
+  AND newer.summary_type = s.summary_type
+  AND newer.id > s.id;
+
+-- UPSERT（ON CONFLICT (user_id, target_date, summary_type)）用。(user_id, target_date) の検索もこのインデックスで行う
+CREATE UNIQUE INDEX IF NOT EXISTS uq_attendance_summaries_user_date_type
+    ON attendance_summaries (user_id, target_date, summary_type);
+DROP INDEX IF EXISTS idx_attendance_summaries_user_date;
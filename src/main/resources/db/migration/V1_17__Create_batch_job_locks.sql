@@ -0,0 +1,14 @@
+-- バッチスケジューラーの排他ロック
+-- 複数ノードで同じジョブを同時に起動しないよう、ジョブ名ごとに1行のリースを持つ
+-- locked_until を過ぎたロックは取得したノードが停止したものとみなし、他のノードが取得できる
+-- 時刻はノード間の時計のずれの影響を受けないよう、すべてデータベースの now() で判定する
+CREATE TABLE IF NOT EXISTS batch_job_locks (
+    lock_name    VARCHAR(100) PRIMARY KEY,
+    locked_by    VARCHAR(255) NOT NULL,
+    locked_at    TIMESTAMP WITH TIME ZONE NOT NULL,
+    locked_until TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+COMMENT ON TABLE batch_job_locks IS 'バッチスケジューラーのジョブ単位の排他ロック（リース）';
+COMMENT ON COLUMN batch_job_locks.locked_by IS 'ロックを保持するノード（プロセスID@ホスト名:識別子）';
+COMMENT ON COLUMN batch_job_locks.locked_until IS 'リースの期限（実行中は定期的に延長する）';
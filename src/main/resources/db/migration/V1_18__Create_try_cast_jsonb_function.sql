@@ -0,0 +1,17 @@
+-- 文字列を JSONB に変換する（JSON として解析できない場合は NULL）
+-- system_logs.details は文字列列で JSON 以外の値も含むため、CAST(... AS JSONB) を直接使うとクエリ全体がエラーになる
+-- IS JSON 述語は PostgreSQL 16 以降にしかないため、PostgreSQL 13〜15 でも使える例外処理で判定する
+CREATE OR REPLACE FUNCTION try_cast_jsonb(value TEXT)
+RETURNS JSONB
+LANGUAGE plpgsql
+IMMUTABLE
+AS $$
+BEGIN
+    RETURN value::JSONB;
+EXCEPTION
+    WHEN others THEN
+        RETURN NULL;
+END;
+$$;
+
+COMMENT ON FUNCTION try_cast_jsonb(TEXT) IS '文字列を JSONB に変換（解析できない場合は NULL）';
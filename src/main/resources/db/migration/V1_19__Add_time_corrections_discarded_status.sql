@@ -0,0 +1,7 @@
+-- データ修復バッチの下書き（status = 'draft'）を管理者が確定・破棄できるようにする
+-- 確定した下書きは承認待ち（pending）になる。破棄した下書きは削除せず discarded として残し、
+-- 同じ打刻・同じ異常の下書きがバッチの再実行で再登録されないようにする（uq_time_corrections_anomaly）
+ALTER TABLE time_corrections DROP CONSTRAINT IF EXISTS time_corrections_status_check;
+ALTER TABLE time_corrections
+    ADD CONSTRAINT time_corrections_status_check
+    CHECK (status IN ('draft', 'pending', 'approved', 'rejected', 'discarded'));
@@ -0,0 +1,91 @@
+-- system_logs / notifications を created_at による月次レンジパーティションへ移行
+-- 保持期間を超えたデータは dataCleanupJob がパーティション単位で DETACH / DROP する
+-- （行単位の DELETE による WAL 増大・テーブル肥大化を回避）
+--
+-- パーティション命名規則: <テーブル名>_pYYYYMM
+-- 将来月のパーティションは PartitionMaintenanceService が事前作成する
+-- （デフォルトパーティションに行がある月は、デフォルトを切り離して行を移してから作成する）
+
+-- ===== system_logs =====
+ALTER TABLE system_logs RENAME TO system_logs_legacy;
+ALTER TABLE system_logs_legacy RENAME CONSTRAINT system_logs_pkey TO system_logs_legacy_pkey;
+ALTER INDEX IF EXISTS idx_system_logs_action_date RENAME TO idx_system_logs_legacy_action_date;
+
+CREATE TABLE system_logs (
+    id bigint NOT NULL DEFAULT nextval('system_logs_id_seq'::regclass),
+    user_id integer REFERENCES users(id),
+    action character varying(255) NOT NULL,
+    status character varying(255) NOT NULL,
+    ip_address character varying(255),
+    user_agent character varying(255),
+    details character varying(255),
+    created_at timestamp with time zone DEFAULT now() NOT NULL,
+    CONSTRAINT system_logs_partitioned_status_check CHECK (((status)::text = ANY (ARRAY['success'::text, 'error'::text, 'warning'::text]))),
+    -- パーティションキーを主キーに含める必要がある
+    CONSTRAINT system_logs_pkey PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+ALTER SEQUENCE system_logs_id_seq OWNED BY system_logs.id;
+
+CREATE INDEX idx_system_logs_action_date ON system_logs (action, created_at);
+CREATE INDEX idx_system_logs_created_at ON system_logs (created_at);
+
+-- ===== notifications =====
+ALTER TABLE notifications RENAME TO notifications_legacy;
+ALTER TABLE notifications_legacy RENAME CONSTRAINT notifications_pkey TO notifications_legacy_pkey;
+ALTER INDEX IF EXISTS idx_notifications_user_read RENAME TO idx_notifications_legacy_user_read;
+
+CREATE TABLE notifications (
+    id bigint NOT NULL DEFAULT nextval('notifications_id_seq'::regclass),
+    user_id integer NOT NULL REFERENCES users(id),
+    title character varying(255) NOT NULL,
+    message character varying(255) NOT NULL,
+    type character varying(255) NOT NULL,
+    is_read boolean DEFAULT false NOT NULL,
+    related_id integer,
+    created_at timestamp with time zone DEFAULT now() NOT NULL,
+    CONSTRAINT notifications_partitioned_type_check CHECK (((type)::text = ANY (ARRAY['leave'::text, 'correction'::text, 'system'::text]))),
+    CONSTRAINT notifications_pkey PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+ALTER SEQUENCE notifications_id_seq OWNED BY notifications.id;
+
+CREATE INDEX idx_notifications_user_read ON notifications (user_id, is_read);
+CREATE INDEX idx_notifications_created_at ON notifications (created_at);
+
+-- ===== 月次パーティション作成（既存データの最古月〜3ヶ月先） =====
+DO $$
+DECLARE
+    tbl text;
+    month_start date;
+    last_month date := (date_trunc('month', now()) + interval '3 months')::date;
+BEGIN
+    FOREACH tbl IN ARRAY ARRAY['system_logs', 'notifications'] LOOP
+        EXECUTE format('SELECT COALESCE(date_trunc(''month'', MIN(created_at))::date, date_trunc(''month'', now())::date) FROM %I',
+                tbl || '_legacy')
+            INTO month_start;
+
+        WHILE month_start <= last_month LOOP
+            EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                    tbl || '_p' || to_char(month_start, 'YYYYMM'), tbl,
+                    month_start, (month_start + interval '1 month')::date);
+            month_start := (month_start + interval '1 month')::date;
+        END LOOP;
+
+        -- 事前作成漏れに備えたデフォルトパーティション
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF %I DEFAULT', tbl || '_default', tbl);
+    END LOOP;
+END $$;
+
+-- ===== 既存データ移行 =====
+INSERT INTO system_logs (id, user_id, action, status, ip_address, user_agent, details, created_at)
+SELECT id, user_id, action, status, ip_address, user_agent, details, created_at FROM system_logs_legacy;
+
+INSERT INTO notifications (id, user_id, title, message, type, is_read, related_id, created_at)
+SELECT id, user_id, title, message, type, is_read, related_id, created_at FROM notifications_legacy;
+
+DROP TABLE system_logs_legacy;
+DROP TABLE notifications_legacy;
+
+ANALYZE system_logs;
+ANALYZE notifications;
@@ -0,0 +1,9 @@
+-- system_logs キーセットページング用インデックス
+-- 一覧・フィルター・キーワード検索は (created_at, id) の降順で取得するため、
+-- 同順の複合インデックスを逆方向走査することで深いページでも先頭ページと同じコストになる
+CREATE INDEX IF NOT EXISTS idx_system_logs_created_at_id ON system_logs (created_at, id);
+
+-- created_at 単独インデックスは上記複合インデックスで代替可能
+DROP INDEX IF EXISTS idx_system_logs_created_at;
+
+ANALYZE system_logs;
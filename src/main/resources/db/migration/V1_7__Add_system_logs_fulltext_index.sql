@@ -0,0 +1,24 @@
+-- system_logs キーワード検索用インデックス
+-- 前方・後方ワイルドカードの ILIKE による全件走査を避けるため、
+-- 単語検索は tsvector + GIN、IPアドレス・User Agent の部分一致は pg_trgm + GIN で処理する
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- 検索用 tsvector 列（生成列のためアプリケーションからの更新は不要）
+-- 日本語を含むため言語依存の語幹処理を行わない 'simple' 構成を使用
+ALTER TABLE system_logs
+    ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(action, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(status, '')), 'B') ||
+        setweight(to_tsvector('simple', coalesce(details, '')), 'B') ||
+        setweight(to_tsvector('simple', coalesce(user_agent, '')), 'C')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_system_logs_search_vector ON system_logs USING gin (search_vector);
+
+-- 部分一致検索用トライグラムインデックス
+CREATE INDEX IF NOT EXISTS idx_system_logs_ip_address_trgm ON system_logs USING gin (ip_address gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_system_logs_user_agent_trgm ON system_logs USING gin (user_agent gin_trgm_ops);
+
+ANALYZE system_logs;
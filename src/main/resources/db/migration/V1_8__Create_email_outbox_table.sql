@@ -0,0 +1,32 @@
+-- メール送信アウトボックステーブルの作成
+-- 業務トランザクションはこのテーブルへの INSERT のみを行い、
+-- 実際の SMTP 送信は EmailDeliveryWorker が非同期にポーリングして行う
+CREATE TABLE IF NOT EXISTS email_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    user_id INTEGER REFERENCES users(id),
+    to_address VARCHAR(255) NOT NULL,
+    subject VARCHAR(255) NOT NULL,
+    body TEXT NOT NULL,
+    provider VARCHAR(255) NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'pending',
+    attempt_count INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    locked_at TIMESTAMP WITH TIME ZONE,
+    last_error VARCHAR(1000),
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    sent_at TIMESTAMP WITH TIME ZONE,
+    CONSTRAINT email_outbox_status_check CHECK (status IN ('pending', 'sending', 'sent', 'failed'))
+);
+
+-- ポーリング用部分インデックス（送信待ちのみを対象とし、送信済みの蓄積で肥大化しない）
+CREATE INDEX IF NOT EXISTS idx_email_outbox_pending
+ON email_outbox(next_attempt_at) WHERE status = 'pending';
+
+-- 送信中のまま停止した行の回収用
+CREATE INDEX IF NOT EXISTS idx_email_outbox_sending
+ON email_outbox(locked_at) WHERE status = 'sending';
+
+COMMENT ON TABLE email_outbox IS 'メール送信アウトボックス';
+COMMENT ON COLUMN email_outbox.provider IS '送信先プロバイダ（宛先ドメイン）。プロバイダ別レート制限・SMTPセッションのまとめ送信に使用';
+COMMENT ON COLUMN email_outbox.status IS '状態（pending, sending, sent, failed）';
+COMMENT ON COLUMN email_outbox.next_attempt_at IS '次回送信試行日時（指数バックオフで更新）';
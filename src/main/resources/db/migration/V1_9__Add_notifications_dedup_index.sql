@@ -0,0 +1,6 @@
+-- 通知の重複判定用インデックス
+-- (user_id, title, created_at) の検索を一括配信時の NOT EXISTS でも1件あたりインデックス1回の探索で済ませる
+-- パーティション化された notifications では各パーティションに作成される
+CREATE INDEX IF NOT EXISTS idx_notifications_user_title_created ON notifications (user_id, title, created_at);
+
+ANALYZE notifications;
@@ -0,0 +1,104 @@
+package com.example.companybackend.batch.listener;
+
+import com.example.companybackend.batch.util.BatchDiagnosticLogger;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * StepMetricsListener テストクラス
+ * 読み込み・加工・書き込み時間の集計、DB 時間の割合、チャンク所要時間の分布の記録を検証する
+ */
+class StepMetricsListenerTest {
+
+    private StepMetricsListener listener;
+    private SimpleMeterRegistry meterRegistry;
+    private StepExecution stepExecution;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        BatchDiagnosticLogger diagnosticLogger = new BatchDiagnosticLogger();
+        ReflectionTestUtils.setField(diagnosticLogger, "meterRegistry", meterRegistry);
+        listener = new StepMetricsListener();
+        ReflectionTestUtils.setField(listener, "diagnosticLogger", diagnosticLogger);
+
+        JobExecution jobExecution = new JobExecution(new JobInstance(1L, "dailyAttendanceSummaryJob"), 2L,
+                new JobParameters());
+        stepExecution = new StepExecution("attendanceProcessingStep", jobExecution, 3L);
+    }
+
+    @Test
+    void testAfterStep_ShouldRecordPhaseTimesAndChunkDistribution() throws Exception {
+        ChunkContext chunkContext = new ChunkContext(new StepContext(stepExecution));
+        listener.beforeStep(stepExecution);
+
+        listener.beforeChunk(chunkContext);
+        listener.beforeRead();
+        listener.afterRead("record");
+        listener.beforeProcess("record");
+        listener.afterProcess("record", "summary");
+        // データの終端（null を返した読み込み）は afterRead が呼ばれず、書き込み開始時に締める
+        listener.beforeRead();
+        Thread.sleep(5);
+        listener.beforeWrite(Chunk.of("summary"));
+        Thread.sleep(20);
+        listener.afterWrite(Chunk.of("summary"));
+        listener.afterChunk(chunkContext);
+
+        listener.afterStep(stepExecution);
+
+        ExecutionContext context = stepExecution.getExecutionContext();
+        assertTrue(context.getLong(StepMetricsListener.READ_MILLIS_KEY) >= 5);
+        assertTrue(context.getLong(StepMetricsListener.WRITE_MILLIS_KEY) >= 20);
+        assertEquals(context.getLong(StepMetricsListener.READ_MILLIS_KEY)
+                + context.getLong(StepMetricsListener.WRITE_MILLIS_KEY),
+                context.getLong(StepMetricsListener.DB_MILLIS_KEY), 1);
+        assertEquals("DB", context.getString(StepMetricsListener.BOUND_BY_KEY));
+        assertTrue(context.getDouble(StepMetricsListener.DB_PERCENT_KEY) > 50.0);
+        assertEquals(1L, context.getLong(StepMetricsListener.CHUNK_COUNT_KEY));
+        assertTrue(context.getLong(StepMetricsListener.CHUNK_MAX_MILLIS_KEY) >= 25);
+        assertTrue(context.getString(StepMetricsListener.CHUNK_HISTOGRAM_KEY).startsWith("<=10ms:0,"));
+
+        Timer chunkTimer = meterRegistry.get("batch.chunk.duration").tag("step", "attendanceProcessingStep").timer();
+        assertEquals(1L, chunkTimer.count());
+        Timer writeTimer = meterRegistry.get("batch.step.phase").tag("phase", "write").timer();
+        assertTrue(writeTimer.totalTime(TimeUnit.MILLISECONDS) >= 20);
+    }
+
+    @Test
+    void testAfterStep_WithoutBeforeStep_ShouldNotRecord() {
+        listener.afterStep(stepExecution);
+
+        assertFalse(stepExecution.getExecutionContext().containsKey(StepMetricsListener.CHUNK_COUNT_KEY));
+        assertTrue(meterRegistry.getMeters().isEmpty());
+    }
+
+    @Test
+    void testHistogram_ShouldLabelBuckets() {
+        assertEquals("<=10ms:0,<=50ms:2,<=100ms:0,<=500ms:0,<=1000ms:0,<=5000ms:0,>5000ms:1",
+                StepMetricsListener.histogram(new long[] { 0, 2, 0, 0, 0, 0, 1 }));
+    }
+
+    @Test
+    void testBucket_ShouldUseUpperBounds() {
+        assertEquals(0, StepMetricsListener.bucket(10));
+        assertEquals(1, StepMetricsListener.bucket(11));
+        assertEquals(5, StepMetricsListener.bucket(5000));
+        assertEquals(6, StepMetricsListener.bucket(5001));
+    }
+}
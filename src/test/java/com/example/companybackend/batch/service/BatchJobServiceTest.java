@@ -0,0 +1,191 @@
+package com.example.companybackend.batch.service;
+
+import com.example.companybackend.batch.util.BusinessDateParameters;
+import com.example.companybackend.dto.BatchResponseDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * BatchJobService テストクラス
+ * 業務日付パラメータの補完、処理速度・残り時間の算出、進捗の集計、停止要求、失敗・停止したジョブのみの再実行を検証する
+ */
+@ExtendWith(MockitoExtension.class)
+class BatchJobServiceTest {
+
+    @InjectMocks
+    private BatchJobService service;
+
+    @Mock
+    private JobLauncher jobLauncher;
+
+    @Mock
+    private JobExplorer jobExplorer;
+
+    @Mock
+    private JobRepository jobRepository;
+
+    @Mock
+    private Job dailyJob;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "jobLauncher", jobLauncher);
+        ReflectionTestUtils.setField(service, "jobs", List.of(dailyJob));
+        ReflectionTestUtils.setField(service, "timezone", "Asia/Tokyo");
+    }
+
+    @Test
+    void testRunJob_BusinessDateJob_ShouldDefaultTargetDateWithoutTimestamp() throws Exception {
+        when(dailyJob.getJobParametersValidator()).thenReturn(BusinessDateParameters.daily("targetDate", 0));
+        ArgumentCaptor<JobParameters> captor = ArgumentCaptor.forClass(JobParameters.class);
+        when(jobLauncher.run(eq(dailyJob), captor.capture())).thenReturn(execution(10L, BatchStatus.STARTING));
+
+        service.runJob(dailyJob);
+        service.runJob(dailyJob, Map.of("targetDate", "2025-02-08", BatchJobService.RERUN_PARAM, true));
+
+        // 業務日付のみで識別するため、同じ日の起動は同じジョブインスタンスになる
+        JobParameters defaulted = captor.getAllValues().get(0);
+        assertEquals(LocalDate.now(ZoneId.of("Asia/Tokyo")).toString(), defaulted.getString("targetDate"));
+        assertNull(defaulted.getString("timestamp"));
+        // 再集計は識別パラメータを付けて新しいジョブインスタンスにする
+        JobParameters rerun = captor.getAllValues().get(1);
+        assertEquals("2025-02-08", rerun.getString("targetDate"));
+        assertNotNull(rerun.getString(BusinessDateParameters.RERUN_KEY));
+        assertNull(rerun.getString(BatchJobService.RERUN_PARAM));
+    }
+
+    @Test
+    void testRunJob_OtherJob_ShouldAddTimestamp() throws Exception {
+        ArgumentCaptor<JobParameters> captor = ArgumentCaptor.forClass(JobParameters.class);
+        when(jobLauncher.run(eq(dailyJob), captor.capture())).thenReturn(execution(10L, BatchStatus.STARTING));
+
+        service.runJob(dailyJob, Map.of("fiscalYear", 2025L));
+
+        assertEquals(2025L, captor.getValue().getLong("fiscalYear"));
+        assertNotNull(captor.getValue().getString("timestamp"));
+    }
+
+    @Test
+    void testEstimates_ShouldUseMeasuredRate() {
+        assertEquals(200.0, BatchJobService.itemsPerSecond(24000, Duration.ofSeconds(120)));
+        assertEquals(40.0, BatchJobService.progressPercent(24000, 60000));
+        assertEquals(180L, BatchJobService.estimateRemainingSeconds(24000, 60000, Duration.ofSeconds(120)));
+
+        // 1件も読んでいない・経過時間がない場合は推定しない
+        assertNull(BatchJobService.estimateRemainingSeconds(0, 60000, Duration.ofSeconds(10)));
+        assertNull(BatchJobService.itemsPerSecond(10, Duration.ZERO));
+        // 件数が増えて対象件数を超えても 100% で止める
+        assertEquals(100.0, BatchJobService.progressPercent(61000, 60000));
+        assertEquals(0L, BatchJobService.estimateRemainingSeconds(61000, 60000, Duration.ofSeconds(10)));
+    }
+
+    @Test
+    void testGetProgress_ShouldSumStepsAndUseRunningStepRate() {
+        JobExecution execution = execution(10L, BatchStatus.STARTED);
+        execution.getExecutionContext().putString("targetDate", "2025-02-08");
+        StepExecution validation = step(execution, 1L, "dailyAttendancePreValidationStep", BatchStatus.COMPLETED, 0);
+        validation.setEndTime(validation.getStartTime().plusSeconds(1));
+        StepExecution processing = step(execution, 2L, "attendanceProcessingStep", BatchStatus.STARTED, 24000);
+        processing.getExecutionContext().putLong(BatchJobService.TOTAL_COUNT_KEY, 60000);
+        processing.getExecutionContext().putString("batch.taskletType", "internal");
+        when(jobExplorer.getJobExecution(10L)).thenReturn(execution);
+
+        BatchResponseDto.JobProgressResponse progress = service.getProgress(10L);
+
+        assertEquals("STARTED", progress.getStatus());
+        assertEquals("attendanceProcessingStep", progress.getCurrentStep());
+        assertEquals(24000, progress.getReadCount());
+        assertEquals(60000L, progress.getTotalCount());
+        assertEquals(40.0, progress.getProgressPercent());
+        assertNotNull(progress.getEstimatedRemainingSeconds());
+        assertNotNull(progress.getEstimatedEndTime());
+        assertEquals("2025-02-08", progress.getResults().get("targetDate"));
+        assertEquals(2, progress.getSteps().size());
+        // Spring Batch 内部のキーは結果に含めない
+        assertFalse(progress.getSteps().get(1).getContext().containsKey("batch.taskletType"));
+    }
+
+    @Test
+    void testGetProgress_NotFound_ShouldReturnNull() {
+        assertNull(service.getProgress(99L));
+    }
+
+    @Test
+    void testStopJob_ShouldMarkRunningExecutionStopping() {
+        JobExecution running = execution(10L, BatchStatus.STARTED);
+        when(jobExplorer.getJobExecution(10L)).thenReturn(running);
+        when(jobExplorer.getJobExecution(11L)).thenReturn(execution(11L, BatchStatus.COMPLETED));
+
+        assertTrue(service.stopJob(10L));
+        assertEquals(BatchStatus.STOPPING, running.getStatus());
+        verify(jobRepository).update(running);
+
+        assertFalse(service.stopJob(11L));
+        assertFalse(service.stopJob(12L));
+        verifyNoMoreInteractions(jobRepository);
+    }
+
+    @Test
+    void testRestartJob_ShouldRelaunchWithSameParameters() throws Exception {
+        JobExecution failed = execution(10L, BatchStatus.FAILED);
+        JobExecution restarted = execution(20L, BatchStatus.STARTING);
+        when(dailyJob.getName()).thenReturn("dailyAttendanceSummaryJob");
+        when(jobExplorer.getJobExecution(10L)).thenReturn(failed);
+        when(jobLauncher.run(dailyJob, failed.getJobParameters())).thenReturn(restarted);
+
+        assertSame(restarted, service.restartJob(10L));
+    }
+
+    @Test
+    void testRestartJob_CompletedOrMissing_ShouldThrow() throws Exception {
+        when(jobExplorer.getJobExecution(10L)).thenReturn(execution(10L, BatchStatus.COMPLETED));
+
+        assertThrows(IllegalStateException.class, () -> service.restartJob(10L));
+        assertThrows(IllegalArgumentException.class, () -> service.restartJob(99L));
+        verify(jobLauncher, never()).run(any(), any());
+    }
+
+    private static JobExecution execution(long id, BatchStatus status) {
+        JobParameters parameters = new JobParametersBuilder().addString("timestamp", "2025-02-08T22:00").toJobParameters();
+        JobExecution execution = new JobExecution(new JobInstance(1L, "dailyAttendanceSummaryJob"), id, parameters);
+        execution.setStatus(status);
+        execution.setStartTime(LocalDateTime.now().minusMinutes(2));
+        return execution;
+    }
+
+    private static StepExecution step(JobExecution execution, long id, String name, BatchStatus status, long readCount) {
+        StepExecution step = execution.createStepExecution(name);
+        step.setId(id);
+        step.setStatus(status);
+        step.setStartTime(LocalDateTime.now().minusMinutes(2));
+        step.setReadCount(readCount);
+        return step;
+    }
+}
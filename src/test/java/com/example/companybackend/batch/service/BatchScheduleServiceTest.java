@@ -0,0 +1,201 @@
+package com.example.companybackend.batch.service;
+
+import com.example.companybackend.batch.config.DailyAttendanceBatchConfig;
+import com.example.companybackend.repository.BatchJobLockRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * BatchScheduleService テストクラス
+ * ミスファイア判定、本来の起動日による業務日付、先行ジョブ未完了時の待機、複数ノード間の排他、起動からロック解放までを検証する
+ */
+@ExtendWith(MockitoExtension.class)
+class BatchScheduleServiceTest {
+
+    private static final ZoneId TOKYO = ZoneId.of("Asia/Tokyo");
+
+    @InjectMocks
+    private BatchScheduleService service;
+
+    @Mock
+    private BatchJobService batchJobService;
+
+    @Mock
+    private BatchJobLockRepository lockRepository;
+
+    @Mock
+    private JobExplorer jobExplorer;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    @Mock
+    private Job dailyJob;
+
+    private final BatchScheduleService.ScheduledJob daily = new BatchScheduleService.ScheduledJob(
+            "dailyAttendanceSummaryJob", CronExpression.parse("0 0 22 * * *"), List.of());
+
+    private final BatchScheduleService.ScheduledJob monthly = new BatchScheduleService.ScheduledJob(
+            "monthlyAttendanceSummaryJob", CronExpression.parse("0 0 2 1 * *"), List.of("dailyAttendanceSummaryJob"));
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "jobs", List.of(dailyJob));
+        ReflectionTestUtils.setField(service, "taskScheduler", taskScheduler);
+        ReflectionTestUtils.setField(service, "timezone", "Asia/Tokyo");
+        ReflectionTestUtils.setField(service, "lockLease", Duration.ofMinutes(10));
+        ReflectionTestUtils.setField(service, "pollInterval", Duration.ofMillis(1));
+        ReflectionTestUtils.setField(service, "misfirePolicy", "fire-once");
+        ReflectionTestUtils.setField(service, "misfireThreshold", Duration.ofHours(6));
+        ReflectionTestUtils.setField(service, "dependencyRetryInterval", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(service, "dependencyMaxWait", Duration.ofHours(2));
+    }
+
+    @Test
+    void testLastFireTime_ShouldReturnLatestFireWithinThreshold() {
+        CronExpression cron = CronExpression.parse("0 0 22 * * *");
+        ZonedDateTime now = ZonedDateTime.of(2025, 2, 9, 1, 30, 0, 0, TOKYO);
+
+        assertEquals(ZonedDateTime.of(2025, 2, 8, 22, 0, 0, 0, TOKYO),
+                BatchScheduleService.lastFireTime(cron, now, Duration.ofHours(6)));
+        // 閾値より前の回はミスファイアとして扱わない
+        assertNull(BatchScheduleService.lastFireTime(cron, now, Duration.ofHours(3)));
+    }
+
+    @Test
+    void testFire_ShouldLaunchAndReleaseLock() throws Exception {
+        ZonedDateTime scheduledTime = ZonedDateTime.now(TOKYO);
+        JobExecution started = execution(10L, BatchStatus.STARTING);
+        when(dailyJob.getName()).thenReturn("dailyAttendanceSummaryJob");
+        when(lockRepository.tryAcquire(eq("dailyAttendanceSummaryJob"), anyString(), any())).thenReturn(true);
+        when(jobExplorer.findRunningJobExecutions("dailyAttendanceSummaryJob")).thenReturn(Set.of());
+        when(batchJobService.runJob(eq(dailyJob), anyMap())).thenReturn(started);
+        when(jobExplorer.getJobExecution(10L)).thenReturn(execution(10L, BatchStatus.COMPLETED));
+
+        service.fire(daily, scheduledTime);
+
+        verify(batchJobService).runJob(eq(dailyJob), anyMap());
+        verify(lockRepository).renew(eq("dailyAttendanceSummaryJob"), anyString(), any());
+        verify(lockRepository).release(eq("dailyAttendanceSummaryJob"), anyString());
+    }
+
+    @Test
+    void testFire_MissedRunReplayedAfterMidnight_ShouldPassScheduledBusinessDate() throws Exception {
+        // 1/31 22:00 の回を停止明けの 2/1 01:00 に起動
+        ZonedDateTime scheduledTime = ZonedDateTime.of(2025, 1, 31, 22, 0, 0, 0, TOKYO);
+        ReflectionTestUtils.setField(service, "clock",
+                Clock.fixed(ZonedDateTime.of(2025, 2, 1, 1, 0, 0, 0, TOKYO).toInstant(), TOKYO));
+        when(dailyJob.getName()).thenReturn("dailyAttendanceSummaryJob");
+        when(dailyJob.getJobParametersValidator()).thenReturn(DailyAttendanceBatchConfig.DAILY_PARAMETERS);
+        when(lockRepository.tryAcquire(eq("dailyAttendanceSummaryJob"), anyString(), any())).thenReturn(true);
+        when(jobExplorer.findRunningJobExecutions("dailyAttendanceSummaryJob")).thenReturn(Set.of());
+        when(batchJobService.runJob(eq(dailyJob), anyMap())).thenReturn(execution(10L, BatchStatus.COMPLETED));
+
+        service.fire(daily, scheduledTime);
+
+        // 起動した日（2/1）ではなく本来の起動日（1/31）を集計する
+        verify(batchJobService).runJob(dailyJob, Map.of("targetDate", "2025-01-31"));
+    }
+
+    @Test
+    void testBusinessDateParameters_ShouldDeriveFromScheduledDate() {
+        LocalDate scheduledDate = LocalDate.of(2025, 1, 31);
+        Job monthlyJob = mock(Job.class);
+        when(monthlyJob.getJobParametersValidator()).thenReturn(DailyAttendanceBatchConfig.MONTHLY_PARAMETERS);
+        Job overtimeJob = mock(Job.class);
+        when(overtimeJob.getJobParametersValidator()).thenReturn(DailyAttendanceBatchConfig.OVERTIME_PARAMETERS);
+        Job paidLeaveJob = mock(Job.class);
+        when(paidLeaveJob.getName()).thenReturn("paidLeaveUpdateJob");
+        Job cleanupJob = mock(Job.class);
+        when(cleanupJob.getName()).thenReturn("dataCleanupJob");
+
+        assertEquals(Map.of("targetMonth", "2024-12"),
+                BatchScheduleService.businessDateParameters(monthlyJob, scheduledDate));
+        assertEquals(Map.of("targetMonth", "2025-01"),
+                BatchScheduleService.businessDateParameters(overtimeJob, scheduledDate));
+        assertEquals(Map.of("targetDate", "2025-01-31"),
+                BatchScheduleService.businessDateParameters(paidLeaveJob, scheduledDate));
+        assertEquals(Map.of(), BatchScheduleService.businessDateParameters(cleanupJob, scheduledDate));
+    }
+
+    @Test
+    void testFire_LockHeldByOtherNode_ShouldNotLaunch() throws Exception {
+        when(lockRepository.tryAcquire(eq("dailyAttendanceSummaryJob"), anyString(), any())).thenReturn(false);
+
+        service.fire(daily, ZonedDateTime.now(TOKYO));
+
+        verify(batchJobService, never()).runJob(any(), any());
+        verify(lockRepository, never()).release(anyString(), anyString());
+    }
+
+    @Test
+    void testFire_ManualRunInProgress_ShouldNotLaunch() throws Exception {
+        when(lockRepository.tryAcquire(eq("dailyAttendanceSummaryJob"), anyString(), any())).thenReturn(true);
+        when(jobExplorer.findRunningJobExecutions("dailyAttendanceSummaryJob"))
+                .thenReturn(Set.of(execution(9L, BatchStatus.STARTED)));
+
+        service.fire(daily, ZonedDateTime.now(TOKYO));
+
+        verify(batchJobService, never()).runJob(any(), any());
+        verify(lockRepository).release(eq("dailyAttendanceSummaryJob"), anyString());
+    }
+
+    @Test
+    void testFire_UpstreamNotCompleted_ShouldRetryLater() throws Exception {
+        JobInstance dailyInstance = new JobInstance(1L, "dailyAttendanceSummaryJob");
+        when(jobExplorer.findRunningJobExecutions("dailyAttendanceSummaryJob")).thenReturn(Set.of());
+        when(jobExplorer.getLastJobInstance("dailyAttendanceSummaryJob")).thenReturn(dailyInstance);
+        when(jobExplorer.getLastJobExecution(dailyInstance)).thenReturn(execution(9L, BatchStatus.FAILED));
+
+        service.fire(monthly, ZonedDateTime.now(TOKYO));
+
+        verify(taskScheduler).schedule(any(Runnable.class), any(Instant.class));
+        verify(lockRepository, never()).tryAcquire(anyString(), anyString(), any());
+        verify(batchJobService, never()).runJob(any(), any());
+    }
+
+    @Test
+    void testFire_UpstreamNotCompletedBeyondMaxWait_ShouldSkip() throws Exception {
+        when(jobExplorer.findRunningJobExecutions("dailyAttendanceSummaryJob"))
+                .thenReturn(Set.of(execution(9L, BatchStatus.STARTED)));
+
+        service.fire(monthly, ZonedDateTime.now(TOKYO).minusHours(3));
+
+        verifyNoInteractions(taskScheduler);
+        verify(batchJobService, never()).runJob(any(), any());
+    }
+
+    private static JobExecution execution(long id, BatchStatus status) {
+        JobExecution execution = new JobExecution(new JobInstance(1L, "dailyAttendanceSummaryJob"), id,
+                new JobParameters());
+        execution.setStatus(status);
+        return execution;
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.companybackend.batch.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PartitionMaintenanceServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private PartitionMaintenanceService service;
+
+    @Test
+    void testPartitionName_ShouldFollowNamingRule() {
+        assertEquals("system_logs_p202401", PartitionMaintenanceService.partitionName("system_logs", YearMonth.of(2024, 1)));
+    }
+
+    @Test
+    void testParsePartitionMonth_WithDefaultPartition_ShouldReturnNull() {
+        assertEquals(YearMonth.of(2023, 11), PartitionMaintenanceService.parsePartitionMonth("notifications", "notifications_p202311"));
+        assertNull(PartitionMaintenanceService.parsePartitionMonth("notifications", "notifications_default"));
+        assertNull(PartitionMaintenanceService.parsePartitionMonth("system_logs", "notifications_p202311"));
+    }
+
+    @Test
+    void testDropExpiredPartitions_ShouldDropOnlyMonthsBeforeCutoff() {
+        OffsetDateTime cutoff = OffsetDateTime.of(2024, 3, 15, 0, 0, 0, 0, ZoneOffset.ofHours(9));
+        when(jdbcTemplate.queryForObject(contains("pg_partitioned_table"), eq(Boolean.class), eq("system_logs")))
+                .thenReturn(true);
+        when(jdbcTemplate.queryForList(contains("pg_inherits"), eq(String.class), eq("system_logs")))
+                .thenReturn(List.of("system_logs_default", "system_logs_p202401", "system_logs_p202402", "system_logs_p202403"));
+        when(jdbcTemplate.queryForObject(startsWith("SELECT EXISTS (SELECT 1 FROM system_logs_p"), eq(Boolean.class), eq(cutoff)))
+                .thenReturn(false);
+
+        List<String> dropped = service.dropExpiredPartitions("system_logs", cutoff);
+
+        assertEquals(List.of("system_logs_p202401", "system_logs_p202402"), dropped);
+        verify(jdbcTemplate).execute("ALTER TABLE system_logs DETACH PARTITION system_logs_p202401");
+        verify(jdbcTemplate).execute("DROP TABLE system_logs_p202402");
+        verify(jdbcTemplate, never()).execute("DROP TABLE system_logs_p202403");
+    }
+
+    @Test
+    void testEnsureFuturePartitions_WithRowsInDefault_ShouldMoveRowsIntoNewPartition() {
+        YearMonth current = YearMonth.now();
+        String currentPartition = PartitionMaintenanceService.partitionName("system_logs", current);
+        when(jdbcTemplate.queryForObject(contains("pg_partitioned_table"), eq(Boolean.class), eq("system_logs")))
+                .thenReturn(true);
+        // 当月のパーティションがなく、当月の行がデフォルトパーティションに入っている
+        when(jdbcTemplate.queryForList(contains("pg_inherits"), eq(String.class), eq("system_logs")))
+                .thenReturn(List.of("system_logs_default",
+                        PartitionMaintenanceService.partitionName("system_logs", current.plusMonths(1)),
+                        PartitionMaintenanceService.partitionName("system_logs", current.plusMonths(2)),
+                        PartitionMaintenanceService.partitionName("system_logs", current.plusMonths(3))));
+        when(jdbcTemplate.queryForObject(startsWith("SELECT EXISTS (SELECT 1 FROM system_logs_default"), eq(Boolean.class),
+                eq(current.atDay(1)), eq(current.plusMonths(1).atDay(1)))).thenReturn(true);
+        when(jdbcTemplate.update(anyString(), eq(current.atDay(1)), eq(current.plusMonths(1).atDay(1))))
+                .thenReturn(5);
+
+        List<String> created = service.ensureFuturePartitions("system_logs");
+
+        assertEquals(List.of(currentPartition), created);
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).execute("ALTER TABLE system_logs DETACH PARTITION system_logs_default");
+        inOrder.verify(jdbcTemplate).execute(startsWith("CREATE TABLE IF NOT EXISTS " + currentPartition + " PARTITION OF system_logs"));
+        inOrder.verify(jdbcTemplate).update(eq("INSERT INTO " + currentPartition
+                + " SELECT * FROM system_logs_default WHERE created_at >= ? AND created_at < ?"),
+                eq(current.atDay(1)), eq(current.plusMonths(1).atDay(1)));
+        inOrder.verify(jdbcTemplate).update(eq("DELETE FROM system_logs_default WHERE created_at >= ? AND created_at < ?"),
+                eq(current.atDay(1)), eq(current.plusMonths(1).atDay(1)));
+        inOrder.verify(jdbcTemplate).execute("ALTER TABLE system_logs ATTACH PARTITION system_logs_default DEFAULT");
+    }
+
+    @Test
+    void testEnsureFuturePartitions_WithEmptyDefault_ShouldCreateDirectly() {
+        YearMonth current = YearMonth.now();
+        when(jdbcTemplate.queryForObject(contains("pg_partitioned_table"), eq(Boolean.class), eq("notifications")))
+                .thenReturn(true);
+        when(jdbcTemplate.queryForList(contains("pg_inherits"), eq(String.class), eq("notifications")))
+                .thenReturn(List.of("notifications_default"));
+        when(jdbcTemplate.queryForObject(startsWith("SELECT EXISTS (SELECT 1 FROM notifications_default"), eq(Boolean.class),
+                any(), any())).thenReturn(false);
+
+        List<String> created = service.ensureFuturePartitions("notifications");
+
+        assertEquals(4, created.size());
+        assertEquals(PartitionMaintenanceService.partitionName("notifications", current), created.get(0));
+        verify(jdbcTemplate, times(4)).execute(startsWith("CREATE TABLE IF NOT EXISTS notifications_p"));
+        verify(jdbcTemplate, never()).execute(contains("DETACH PARTITION"));
+    }
+
+    @Test
+    void testDropExpiredPartitions_WhenNotPartitioned_ShouldSkip() {
+        when(jdbcTemplate.queryForObject(contains("pg_partitioned_table"), eq(Boolean.class), eq("notifications")))
+                .thenReturn(false);
+
+        List<String> dropped = service.dropExpiredPartitions("notifications", OffsetDateTime.now().minusMonths(12));
+
+        assertTrue(dropped.isEmpty());
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    void testRequireManaged_WithUnknownTable_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> service.isPartitioned("users; DROP TABLE users"));
+    }
+}
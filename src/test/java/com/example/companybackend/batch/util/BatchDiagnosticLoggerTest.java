@@ -0,0 +1,70 @@
+package com.example.companybackend.batch.util;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * BatchDiagnosticLogger テストクラス
+ * ステップ開始・終了時のスナップショットの差分から計測値を求め、Micrometer に記録することを検証する
+ */
+class BatchDiagnosticLoggerTest {
+
+    private BatchDiagnosticLogger diagnosticLogger;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        diagnosticLogger = new BatchDiagnosticLogger();
+        ReflectionTestUtils.setField(diagnosticLogger, "meterRegistry", meterRegistry);
+    }
+
+    @Test
+    void testRecordStepResources_ShouldRecordDeltas() {
+        BatchDiagnosticLogger.ResourceSnapshot start = new BatchDiagnosticLogger.ResourceSnapshot(
+                0L, 100_000_000L, 10L, 200L, 1_000_000_000L, 5_000_000L);
+        BatchDiagnosticLogger.ResourceSnapshot end = new BatchDiagnosticLogger.ResourceSnapshot(
+                TimeUnit.SECONDS.toNanos(4), 80_000_000L, 13L, 260L, 2_000_000_000L, 45_000_000L);
+
+        Map<String, Object> metrics = diagnosticLogger.recordStepResources("dailyAttendanceSummaryJob",
+                "attendanceProcessingStep", start, end, 2000L, "COMPLETED");
+
+        assertEquals(4000L, metrics.get("metrics.durationMillis"));
+        assertEquals(-20_000_000L, metrics.get("metrics.heapDeltaBytes"));
+        assertEquals(3L, metrics.get("metrics.gcCount"));
+        assertEquals(60L, metrics.get("metrics.gcMillis"));
+        assertEquals(1000L, metrics.get("metrics.cpuMillis"));
+        // 実行時間 4 秒のうち CPU 時間 1 秒（残りは DB などの待ち時間）
+        assertEquals(25.0, metrics.get("metrics.cpuPercent"));
+        assertEquals(40_000_000L, metrics.get("metrics.allocatedBytes"));
+        assertEquals(500.0, metrics.get("metrics.itemsPerSecond"));
+
+        assertEquals(4000.0, meterRegistry.get("batch.step.duration").tag("status", "COMPLETED").timer()
+                .totalTime(TimeUnit.MILLISECONDS));
+        assertEquals(2000.0, meterRegistry.get("batch.step.items").counter().count());
+        assertEquals(500.0, meterRegistry.get("batch.step.throughput").summary().max());
+    }
+
+    @Test
+    void testRecordStepResources_CpuTimeUnavailable_ShouldOmitCpu() {
+        BatchDiagnosticLogger.ResourceSnapshot start = new BatchDiagnosticLogger.ResourceSnapshot(
+                0L, 0L, 0L, 0L, -1L, -1L);
+        BatchDiagnosticLogger.ResourceSnapshot end = new BatchDiagnosticLogger.ResourceSnapshot(
+                TimeUnit.SECONDS.toNanos(1), 0L, 0L, 0L, -1L, -1L);
+
+        Map<String, Object> metrics = diagnosticLogger.recordStepResources("dataCleanupJob",
+                "dataCleanupPreValidationStep", start, end, 0L, "COMPLETED");
+
+        assertFalse(metrics.containsKey("metrics.cpuMillis"));
+        assertFalse(metrics.containsKey("metrics.allocatedBytes"));
+        assertFalse(metrics.containsKey("metrics.itemsPerSecond"));
+        assertTrue(meterRegistry.find("batch.step.cpu").timers().isEmpty());
+    }
+}
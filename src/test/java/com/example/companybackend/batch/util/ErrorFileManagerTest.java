@@ -0,0 +1,278 @@
+package com.example.companybackend.batch.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ErrorFileManager テストクラス
+ * ステップ実行ごとのバッファリング、サイズ・時間によるファイル切り替え、gzip 圧縮、JSONL 形式を検証する。
+ * ステップ実行中の書き込みは StepSynchronizationManager に登録したステップ実行で再現する
+ */
+class ErrorFileManagerTest {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path errorDir;
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-02-10T13:00:00Z"));
+
+    @AfterEach
+    void releaseStepContext() {
+        StepSynchronizationManager.release();
+    }
+
+    @Test
+    void testWriteError_ShouldBufferUntilStepCompletes() throws IOException {
+        ErrorFileManager manager = manager(64 * 1024, 50L * 1024 * 1024, Duration.ofHours(1));
+        manager.openSink("dailyAttendanceSummaryJob", "attendanceProcessingStep", 5L);
+        enterStep("dailyAttendanceSummaryJob", "attendanceProcessingStep", 5L);
+
+        String fileName = manager.writeErrorToFile("attendanceProcessingStep", "VALIDATION", "出勤時刻がありません",
+                null, Map.of("userId", 1));
+        manager.writeErrorToFile("attendanceProcessingStep", "VALIDATION", "退勤時刻がありません", null,
+                Map.of("userId", 2));
+
+        // ステップ終了まではバッファに溜まっている
+        assertNotNull(fileName);
+        assertEquals(0L, Files.size(errorDir.resolve(fileName)));
+
+        ErrorFileManager.SinkSummary summary = manager.closeSink(5L);
+
+        assertEquals(2L, summary.errorCount());
+        assertEquals(List.of(fileName + ".gz"), summary.files());
+        assertFalse(Files.exists(errorDir.resolve(fileName)));
+
+        List<JsonNode> records = readRecords(summary.files().get(0));
+        assertEquals(2, records.size());
+        JsonNode first = records.get(0);
+        assertEquals("dailyAttendanceSummaryJob", first.get("jobName").asText());
+        assertEquals("attendanceProcessingStep", first.get("stepName").asText());
+        assertEquals(5L, first.get("stepExecutionId").asLong());
+        assertEquals(1L, first.get("sequence").asLong());
+        assertEquals("出勤時刻がありません", first.get("message").asText());
+        assertEquals(1, first.get("data").get("userId").asInt());
+        assertFalse(first.has("stackTrace"));
+        assertEquals(2L, records.get(1).get("sequence").asLong());
+    }
+
+    @Test
+    void testWriteError_ExceedingMaxFileSize_ShouldRotate() throws IOException {
+        ErrorFileManager manager = manager(256, 1024, Duration.ofHours(1));
+        manager.openSink("dataCleanupJob", "dataCleanupProcessingStep", 7L);
+        enterStep("dataCleanupJob", "dataCleanupProcessingStep", 7L);
+
+        for (int i = 0; i < 30; i++) {
+            manager.writeErrorToFile("dataCleanupProcessingStep", "CLEANUP", "削除に失敗しました: " + i, null,
+                    Map.of("id", i));
+        }
+        ErrorFileManager.SinkSummary summary = manager.closeSink(7L);
+
+        assertTrue(summary.files().size() > 1);
+        int total = 0;
+        for (String file : summary.files()) {
+            assertTrue(file.endsWith(".jsonl.gz"));
+            assertTrue(Files.size(errorDir.resolve(file)) > 0);
+            total += readRecords(file).size();
+        }
+        assertEquals(30, total);
+    }
+
+    @Test
+    void testWriteError_AfterRotateInterval_ShouldRotate() throws IOException {
+        ErrorFileManager manager = manager(64 * 1024, 50L * 1024 * 1024, Duration.ofHours(1));
+        manager.openSink("dailyAttendanceSummaryJob", "attendanceProcessingStep", 5L);
+        enterStep("dailyAttendanceSummaryJob", "attendanceProcessingStep", 5L);
+
+        manager.writeErrorToFile("attendanceProcessingStep", "VALIDATION", "1件目", null, null);
+        clock.advance(Duration.ofMinutes(61));
+        manager.writeErrorToFile("attendanceProcessingStep", "VALIDATION", "2件目", null, null);
+
+        ErrorFileManager.SinkSummary summary = manager.closeSink(5L);
+
+        assertEquals(2, summary.files().size());
+        assertEquals("1件目", readRecords(summary.files().get(0)).get(0).get("message").asText());
+        assertEquals("2件目", readRecords(summary.files().get(1)).get(0).get("message").asText());
+    }
+
+    @Test
+    void testRotateExpiredFiles_NoFurtherWrites_ShouldCloseExpiredFile() throws IOException {
+        ErrorFileManager manager = manager(64 * 1024, 50L * 1024 * 1024, Duration.ofHours(1));
+        manager.openSink("dailyAttendanceSummaryJob", "attendanceProcessingStep", 5L);
+        enterStep("dailyAttendanceSummaryJob", "attendanceProcessingStep", 5L);
+        String fileName = manager.writeErrorToFile("attendanceProcessingStep", "VALIDATION", "1件目", null, null);
+
+        // 切り替え間隔に達していなければ閉じない
+        manager.rotateExpiredFiles();
+        assertTrue(Files.exists(errorDir.resolve(fileName)));
+
+        // 次の書き込みがなくても、切り替え間隔を過ぎたファイルは定期処理で閉じて圧縮する
+        clock.advance(Duration.ofMinutes(61));
+        manager.rotateExpiredFiles();
+
+        assertFalse(Files.exists(errorDir.resolve(fileName)));
+        assertEquals("1件目", readRecords(fileName + ".gz").get(0).get("message").asText());
+
+        ErrorFileManager.SinkSummary summary = manager.closeSink(5L);
+        assertEquals(List.of(fileName + ".gz"), summary.files());
+    }
+
+    @Test
+    void testWriteError_ConcurrentExecutionsOfSameStep_ShouldWriteToOwnExecution() throws Exception {
+        ErrorFileManager manager = manager(64 * 1024, 50L * 1024 * 1024, Duration.ofHours(1));
+        manager.openSink("dailyAttendanceSummaryJob", "attendanceProcessingStep", 5L);
+        manager.openSink("dailyAttendanceSummaryJob", "attendanceProcessingStep", 6L);
+
+        enterStep("dailyAttendanceSummaryJob", "attendanceProcessingStep", 5L);
+        manager.writeErrorToFile("attendanceProcessingStep", "VALIDATION", "実行5", null, null);
+        Thread other = new Thread(() -> {
+            enterStep("dailyAttendanceSummaryJob", "attendanceProcessingStep", 6L);
+            try {
+                manager.writeErrorToFile("attendanceProcessingStep", "VALIDATION", "実行6", null, null);
+            } finally {
+                StepSynchronizationManager.release();
+            }
+        });
+        other.start();
+        other.join();
+
+        ErrorFileManager.SinkSummary first = manager.closeSink(5L);
+        ErrorFileManager.SinkSummary second = manager.closeSink(6L);
+
+        assertEquals(1L, first.errorCount());
+        assertEquals(1L, second.errorCount());
+        JsonNode firstRecord = readRecords(first.files().get(0)).get(0);
+        assertEquals("実行5", firstRecord.get("message").asText());
+        assertEquals(5L, firstRecord.get("stepExecutionId").asLong());
+        JsonNode secondRecord = readRecords(second.files().get(0)).get(0);
+        assertEquals("実行6", secondRecord.get("message").asText());
+        assertEquals(6L, secondRecord.get("stepExecutionId").asLong());
+    }
+
+    @Test
+    void testCloseSink_NoErrors_ShouldNotCreateFile() throws IOException {
+        ErrorFileManager manager = manager(64 * 1024, 50L * 1024 * 1024, Duration.ofHours(1));
+        manager.openSink("dailyAttendanceSummaryJob", "attendanceProcessingStep", 5L);
+
+        ErrorFileManager.SinkSummary summary = manager.closeSink(5L);
+
+        assertEquals(0L, summary.errorCount());
+        assertTrue(summary.files().isEmpty());
+        try (var files = Files.list(errorDir)) {
+            assertEquals(0L, files.count());
+        }
+    }
+
+    @Test
+    void testWriteCsvErrorData_ShouldWriteRowByHeader() throws IOException {
+        ErrorFileManager manager = manager(64 * 1024, 50L * 1024 * 1024, Duration.ofHours(1));
+
+        // ステップ実行の外からの書き込みは呼び出しの終わりに閉じて圧縮する
+        manager.writeCsvErrorData("importStep", new String[] { "userId", "date" }, new Object[] { 3, null });
+
+        List<Path> files;
+        try (var stream = Files.list(errorDir)) {
+            files = stream.toList();
+        }
+        assertEquals(1, files.size());
+        assertTrue(files.get(0).getFileName().toString().endsWith(".jsonl.gz"));
+        assertEquals(0, manager.getErrorFileStatistics().get("openSinks"));
+
+        JsonNode record = readRecords(files.get(0).getFileName().toString()).get(0);
+        assertEquals("CSV_DATA", record.get("errorType").asText());
+        assertEquals("3", record.get("data").get("userId").asText());
+        assertEquals("", record.get("data").get("date").asText());
+    }
+
+    @Test
+    void testCleanupOldErrorFiles_ShouldDeleteOnlyExpiredPrefixedFiles() throws IOException {
+        ErrorFileManager manager = manager(64 * 1024, 50L * 1024 * 1024, Duration.ofHours(1));
+        Path expired = Files.writeString(errorDir.resolve("BATCH_ERR__old.jsonl.gz"), "x");
+        Path other = Files.writeString(errorDir.resolve("other.log"), "x");
+        Path recent = Files.writeString(errorDir.resolve("BATCH_ERR__new.jsonl.gz"), "x");
+        Files.setLastModifiedTime(expired, java.nio.file.attribute.FileTime.from(
+                Instant.now().minus(Duration.ofDays(40))));
+        Files.setLastModifiedTime(other, java.nio.file.attribute.FileTime.from(
+                Instant.now().minus(Duration.ofDays(40))));
+
+        manager.cleanupOldErrorFiles(30);
+
+        assertFalse(Files.exists(expired));
+        assertTrue(Files.exists(other));
+        assertTrue(Files.exists(recent));
+    }
+
+    private ErrorFileManager manager(int bufferSize, long maxFileSize, Duration rotateInterval) {
+        return new ErrorFileManager(errorDir.toString(), "BATCH_ERR_", bufferSize, maxFileSize, rotateInterval,
+                clock);
+    }
+
+    private void enterStep(String jobName, String stepName, long stepExecutionId) {
+        JobExecution jobExecution = new JobExecution(new JobInstance(1L, jobName), new JobParameters());
+        StepSynchronizationManager.register(new StepExecution(stepName, jobExecution, stepExecutionId));
+    }
+
+    private List<JsonNode> readRecords(String fileName) throws IOException {
+        List<JsonNode> records = new ArrayList<>();
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(errorDir.resolve(fileName)))) {
+            for (String line : new String(in.readAllBytes(), StandardCharsets.UTF_8).split("\n")) {
+                if (!line.isEmpty()) {
+                    records.add(objectMapper.readTree(line));
+                }
+            }
+        }
+        return records;
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.systemDefault();
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.companybackend.command;
+
+import com.example.companybackend.entity.User;
+import com.example.companybackend.repository.EmployeeReadModelRepository;
+import com.example.companybackend.repository.UserRepository;
+import com.example.companybackend.service.EmployeeStatisticsService;
+import com.example.companybackend.service.OrgTreeIndex;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * EmployeeCommands 一括操作テストクラス
+ * 一括処理がユーザー単位の検索・保存を行わず、集合単位のクエリで完結することを検証する。
+ * あわせて上長変更の循環チェックと組織ツリーへの反映を検証する
+ */
+@ExtendWith(MockitoExtension.class)
+class EmployeeCommandsTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private EmployeeReadModelRepository employeeReadModelRepository;
+
+    @Mock
+    private EmployeeStatisticsService employeeStatisticsService;
+
+    @Mock
+    private OrgTreeIndex orgTreeIndex;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private EmployeeCommands employeeCommands;
+
+    private EmployeeCommands.CreateEmployeeCommand command(String username, String email, String employeeId) {
+        EmployeeCommands.CreateEmployeeCommand command = new EmployeeCommands.CreateEmployeeCommand();
+        command.setUsername(username);
+        command.setEmail(email);
+        command.setEmployeeId(employeeId);
+        command.setPasswordHash("hash");
+        command.setFullName(username);
+        command.setDepartmentId(1);
+        command.setRole("employee");
+        command.setLocationType("office");
+        return command;
+    }
+
+    @Test
+    void testCreateEmployeesBatch_ShouldValidateWithInQueriesAndInsertOnce() throws Exception {
+        when(userRepository.findExistingUsernames(anyCollection())).thenReturn(List.of());
+        when(userRepository.findExistingEmails(anyCollection())).thenReturn(List.of());
+        when(userRepository.findExistingEmployeeIds(anyCollection())).thenReturn(List.of());
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getString("username")).thenReturn("u1", "u2");
+            when(rs.getLong("id")).thenReturn(10L, 11L);
+            handler.processRow(rs);
+            handler.processRow(rs);
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        List<User> created = employeeCommands.createEmployeesBatch(List.of(
+                command("u1", "u1@example.com", "E001"),
+                command("u2", "u2@example.com", "E002")));
+
+        assertEquals(2, created.size());
+        assertEquals(10L, created.get(0).getId());
+        assertEquals(11L, created.get(1).getId());
+        assertTrue(created.get(0).getIsActive());
+        assertNotNull(created.get(0).getCreatedAt());
+        verify(userRepository, times(1)).findExistingUsernames(anyCollection());
+        verify(userRepository, times(1)).findExistingEmails(anyCollection());
+        verify(userRepository, times(1)).findExistingEmployeeIds(anyCollection());
+        verify(jdbcTemplate, times(1)).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+        verify(userRepository, never()).findByUsername(anyString());
+        verify(userRepository, never()).save(any(User.class));
+        verify(employeeReadModelRepository, times(1)).refreshUsers(anyCollection());
+
+        // 一括登録でも skip_location_check を false で登録する（NULL にしない）
+        ArgumentCaptor<PreparedStatementCreator> creator = ArgumentCaptor.forClass(PreparedStatementCreator.class);
+        verify(jdbcTemplate).query(creator.capture(), any(RowCallbackHandler.class));
+        Connection connection = mock(Connection.class);
+        when(connection.prepareStatement(anyString())).thenReturn(mock(PreparedStatement.class));
+        when(connection.createArrayOf(anyString(), any())).thenReturn(mock(Array.class));
+        creator.getValue().createPreparedStatement(connection);
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(connection).prepareStatement(sql.capture());
+        assertTrue(sql.getValue().matches("(?s).*location_type, is_active, skip_location_check, created_at.*"));
+        assertTrue(sql.getValue().matches("(?s).*t\\.location_type, true, false, \\?, \\?.*"));
+        assertFalse(created.get(0).getSkipLocationCheck());
+    }
+
+    @Test
+    void testCreateEmployeesBatch_DuplicateWithinBatch_ShouldThrowBeforeQuerying() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                employeeCommands.createEmployeesBatch(List.of(
+                        command("u1", "a@example.com", "E001"),
+                        command("u1", "b@example.com", "E002"))));
+
+        assertTrue(exception.getMessage().contains("u1"));
+        verifyNoInteractions(jdbcTemplate);
+        verify(userRepository, never()).findExistingUsernames(anyCollection());
+    }
+
+    @Test
+    void testCreateEmployeesBatch_ExistingEmail_ShouldThrow() {
+        when(userRepository.findExistingUsernames(anyCollection())).thenReturn(List.of());
+        when(userRepository.findExistingEmails(anyCollection())).thenReturn(List.of("taken@example.com"));
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                employeeCommands.createEmployeesBatch(List.of(command("u1", "taken@example.com", "E001"))));
+
+        assertTrue(exception.getMessage().contains("taken@example.com"));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void testChangeDepartmentBatch_ShouldIssueSingleUpdate() {
+        when(userRepository.updateDepartmentByIds(any(Long[].class), eq(5), any(OffsetDateTime.class))).thenReturn(3);
+
+        employeeCommands.changeDepartmentBatch(List.of(1L, 2L, 3L, 3L), 5);
+
+        verify(userRepository, times(1)).updateDepartmentByIds(
+                eq(new Long[] { 1L, 2L, 3L }), eq(5), any(OffsetDateTime.class));
+        verify(userRepository, never()).findById(anyLong());
+        verify(userRepository, never()).findExistingIds(any());
+        verify(employeeReadModelRepository, times(1)).refreshUsers(List.of(1L, 2L, 3L));
+        verify(orgTreeIndex, times(1)).refreshUsers(List.of(1L, 2L, 3L));
+        verify(employeeStatisticsService, times(1)).invalidate();
+    }
+
+    @Test
+    void testChangeManager_ShouldSaveAndRefreshOrgTree() {
+        User employee = new User();
+        employee.setId(5L);
+        when(userRepository.findById(5L)).thenReturn(Optional.of(employee));
+        when(userRepository.existsById(3L)).thenReturn(true);
+        when(orgTreeIndex.isSubordinate(3L, 5L)).thenReturn(false);
+
+        employeeCommands.changeManager(5L, 3L);
+
+        assertEquals(3, employee.getManagerId());
+        verify(userRepository).save(employee);
+        verify(employeeReadModelRepository).refreshUsers(List.of(5L));
+        verify(orgTreeIndex).refreshUsers(List.of(5L));
+    }
+
+    @Test
+    void testChangeManager_ToOwnSubordinate_ShouldThrow() {
+        User employee = new User();
+        employee.setId(3L);
+        when(userRepository.findById(3L)).thenReturn(Optional.of(employee));
+        when(userRepository.existsById(5L)).thenReturn(true);
+        when(orgTreeIndex.isSubordinate(5L, 3L)).thenReturn(true);
+
+        assertThrows(IllegalArgumentException.class, () -> employeeCommands.changeManager(3L, 5L));
+
+        verify(userRepository, never()).save(any(User.class));
+        verify(orgTreeIndex, never()).refreshUsers(any());
+    }
+
+    @Test
+    void testDeactivateEmployeesBatch_MissingId_ShouldThrowWithMissingIds() {
+        when(userRepository.deactivateByIds(any(Long[].class), any(OffsetDateTime.class))).thenReturn(1);
+        when(userRepository.findExistingIds(any(Long[].class))).thenReturn(List.of(1L));
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                employeeCommands.deactivateEmployeesBatch(List.of(1L, 99L)));
+
+        assertTrue(exception.getMessage().contains("99"));
+        verifyNoInteractions(employeeReadModelRepository, employeeStatisticsService);
+    }
+}
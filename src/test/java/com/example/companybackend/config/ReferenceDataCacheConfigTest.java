@@ -0,0 +1,80 @@
+package com.example.companybackend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ReferenceDataCacheConfig テストクラス
+ * ヒット・ミス数とエントリ数の記録、コミット後の無効化を検証する
+ */
+class ReferenceDataCacheConfigTest {
+
+    private MeterRegistry meterRegistry;
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cacheManager = new ReferenceDataCacheConfig().cacheManager(meterRegistry);
+    }
+
+    private double gets(String cache, String result) {
+        return meterRegistry.get("cache.gets").tag("cache", cache).tag("result", result).counter().count();
+    }
+
+    @Test
+    void testGet_ShouldRecordHitAndMiss() {
+        Cache cache = cacheManager.getCache(ReferenceDataCacheConfig.DEPARTMENTS);
+
+        assertNull(cache.get("all"));
+        cache.put("all", List.of("開発部"));
+        assertEquals(List.of("開発部"), cache.get("all").get());
+
+        assertEquals(1.0, gets(ReferenceDataCacheConfig.DEPARTMENTS, "miss"));
+        assertEquals(1.0, gets(ReferenceDataCacheConfig.DEPARTMENTS, "hit"));
+        assertEquals(1.0, meterRegistry.get("cache.size").tag("cache", ReferenceDataCacheConfig.DEPARTMENTS)
+                .gauge().value());
+    }
+
+    @Test
+    void testGet_NullValue_ShouldCountAsHit() {
+        Cache cache = cacheManager.getCache(ReferenceDataCacheConfig.DEPARTMENT_NAMES);
+
+        cache.put(99, null);
+
+        assertNotNull(cache.get(99));
+        assertNull(cache.get(99).get());
+        assertEquals(1.0, gets(ReferenceDataCacheConfig.DEPARTMENT_NAMES, "hit"));
+    }
+
+    @Test
+    void testClear_InTransaction_ShouldBeDeferredUntilCommit() {
+        Cache cache = cacheManager.getCache(ReferenceDataCacheConfig.POSITIONS);
+        cache.put("all", List.of("主任"));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.clear();
+            assertNotNull(cache.get("all"));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.afterCommit());
+            assertNull(cache.get("all"));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testGetCache_UnknownName_ShouldReturnNull() {
+        assertNull(cacheManager.getCache("unknown"));
+    }
+}
@@ -3,6 +3,7 @@ package com.example.companybackend.controller;
 import com.example.companybackend.dto.auth.*;
 import com.example.companybackend.entity.User;
 import com.example.companybackend.service.AuthService;
+import com.example.companybackend.service.UserCsvImportService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -436,12 +437,13 @@ public class AuthControllerTest {
      * 1. HTTPステータスコードが201(Created)であること
      * 2. レスポンスのsuccessフィールドがtrueであること
      * 3. 成功件数と失敗件数が正しく返されること
-     * 4. AuthService.registerUsersFromCsvが1回呼び出されていること
+     * 4. AuthService.importUsersFromCsvが1回呼び出されていること
      */
     @Test
     void testRegisterUsersFromCsv_Success() throws Exception {
         // モックの設定
-        when(authService.registerUsersFromCsv(anyList())).thenReturn(new int[]{5, 0}); // 5件成功, 0件失敗
+        when(authService.importUsersFromCsv(any()))
+                .thenReturn(new UserCsvImportService.ImportResult(5, 0, List.of())); // 5件成功, 0件失敗
 
         // CSVファイルの作成
         String csvContent = "username,password,fullname,location_type,client_latitude,client_longitude,department_id,position_id,manager_id\n" +
@@ -466,7 +468,29 @@ public class AuthControllerTest {
                 .andExpect(jsonPath("$.data.errorCount").value(0));
 
         // メソッド呼び出しの検証
-        verify(authService, times(1)).registerUsersFromCsv(anyList());
+        verify(authService, times(1)).importUsersFromCsv(any());
+    }
+
+    /**
+     * CSV一括登録のテスト（行単位エラーあり）
+     * 行番号・ユーザー名・理由がレスポンスに含まれることを検証する
+     */
+    @Test
+    void testRegisterUsersFromCsv_WithRowErrors() throws Exception {
+        when(authService.importUsersFromCsv(any())).thenReturn(new UserCsvImportService.ImportResult(1, 1,
+                List.of(new CsvRowError(3, "user2@example.com", "ユーザー名は既に登録されています"))));
+
+        MockMultipartFile csvFile = new MockMultipartFile("file", "users.csv", "text/csv",
+                "username,password,fullname\n".getBytes());
+
+        mockMvc.perform(multipart("/api/auth/csvregister")
+                .file(csvFile)
+                .contentType(MediaType.MULTIPART_FORM_DATA))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.data.errorCount").value(1))
+                .andExpect(jsonPath("$.data.errors[0].lineNumber").value(3))
+                .andExpect(jsonPath("$.data.errors[0].username").value("user2@example.com"))
+                .andExpect(jsonPath("$.data.errors[0].reason").value("ユーザー名は既に登録されています"));
     }
 
     /**
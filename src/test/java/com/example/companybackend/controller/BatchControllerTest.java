@@ -1,6 +1,7 @@
 package com.example.companybackend.controller;
 
 import com.example.companybackend.batch.service.BatchJobService;
+import com.example.companybackend.dto.BatchResponseDto;
 import com.example.companybackend.service.BatchStatusService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -9,8 +10,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.core.BatchStatus;
 import org.springframework.batch.core.Job;
-import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersInvalidException;
+import org.springframework.batch.core.repository.JobInstanceAlreadyCompleteException;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.MediaType;
 import org.springframework.test.util.ReflectionTestUtils;
@@ -22,6 +28,7 @@ import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -47,9 +54,6 @@ public class BatchControllerTest {
     @Mock
     private BatchStatusService batchStatusService;
     
-    @Mock
-    private JobLauncher jobLauncher;
-    
     @Mock
     @Qualifier("dailyAttendanceSummaryJob")
     private Job dailyAttendanceSummaryJob;
@@ -81,7 +85,6 @@ public class BatchControllerTest {
         ReflectionTestUtils.setField(batchController, "paidLeaveUpdateJob", paidLeaveUpdateJob);
         ReflectionTestUtils.setField(batchController, "dataCleanupJob", dataCleanupJob);
         ReflectionTestUtils.setField(batchController, "dataRepairJob", dataRepairJob);
-        ReflectionTestUtils.setField(batchController, "jobLauncher", jobLauncher);
         
         mockMvc = MockMvcBuilders.standaloneSetup(batchController).build();
         objectMapper = new ObjectMapper();
@@ -100,9 +103,9 @@ public class BatchControllerTest {
         mockMvc.perform(post("/api/batch/monthly-summary")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(parameters)))
-                .andExpect(status().isOk())
+                .andExpect(status().isAccepted())
                 .andExpect(jsonPath("$.success").value(true))
-                .andExpect(jsonPath("$.message").value("月次勤怠集計バッチを実行しました"));
+                .andExpect(jsonPath("$.message").value("月次勤怠集計バッチを開始しました"));
     }
 
     /**
@@ -139,9 +142,9 @@ public class BatchControllerTest {
         mockMvc.perform(post("/api/batch/update-paid-leave")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(parameters)))
-                .andExpect(status().isOk())
+                .andExpect(status().isAccepted())
                 .andExpect(jsonPath("$.success").value(true))
-                .andExpect(jsonPath("$.message").value("有給日数更新バッチを実行しました"));
+                .andExpect(jsonPath("$.message").value("有給日数更新バッチを開始しました"));
     }
 
     /**
@@ -157,9 +160,9 @@ public class BatchControllerTest {
         mockMvc.perform(post("/api/batch/cleanup-data")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(parameters)))
-                .andExpect(status().isOk())
+                .andExpect(status().isAccepted())
                 .andExpect(jsonPath("$.success").value(true))
-                .andExpect(jsonPath("$.message").value("データクリーンアップバッチを実行しました"));
+                .andExpect(jsonPath("$.message").value("データクリーンアップバッチを開始しました"));
     }
 
     /**
@@ -170,9 +173,9 @@ public class BatchControllerTest {
         // Given & When & Then
         mockMvc.perform(post("/api/batch/repair-data")
                 .contentType(MediaType.APPLICATION_JSON))
-                .andExpect(status().isOk())
+                .andExpect(status().isAccepted())
                 .andExpect(jsonPath("$.success").value(true))
-                .andExpect(jsonPath("$.message").value("データ修復バッチを実行しました"));
+                .andExpect(jsonPath("$.message").value("データ修復バッチを開始しました"));
     }
 
     /**
@@ -201,7 +204,7 @@ public class BatchControllerTest {
         mockMvc.perform(post("/api/batch/monthly-summary")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(parameters)))
-                .andExpect(status().isOk())
+                .andExpect(status().isAccepted())
                 .andExpect(jsonPath("$.success").value(true));
     }
 
@@ -215,4 +218,116 @@ public class BatchControllerTest {
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk());
     }
-}
\ No newline at end of file
+
+    /**
+     * 起動したジョブ実行IDを返すテスト
+     */
+    @Test
+    void testExecuteDailySummaryBatch_ShouldReturnExecutionId() throws Exception {
+        JobExecution execution = new JobExecution(new JobInstance(1L, "dailyAttendanceSummaryJob"), 42L,
+                new JobParameters());
+        when(batchJobService.runJob(any(), any())).thenReturn(execution);
+
+        mockMvc.perform(post("/api/batch/daily-summary")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.executionId").value(42))
+                .andExpect(jsonPath("$.jobName").value("dailyAttendanceSummaryJob"))
+                .andExpect(jsonPath("$.status").value("STARTING"));
+    }
+
+    /**
+     * 実行スレッドが埋まっていて起動できなかった場合のテスト
+     */
+    @Test
+    void testExecuteDailySummaryBatch_Rejected() throws Exception {
+        JobExecution execution = new JobExecution(new JobInstance(1L, "dailyAttendanceSummaryJob"), 43L,
+                new JobParameters());
+        execution.setStatus(BatchStatus.FAILED);
+        when(batchJobService.runJob(any(), any())).thenReturn(execution);
+
+        mockMvc.perform(post("/api/batch/daily-summary")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.success").value(false));
+    }
+
+    /**
+     * 同じ業務日付が完了済み・業務日付が不正な場合のテスト
+     */
+    @Test
+    void testExecuteDailySummaryBatch_CompletedOrInvalidBusinessDate() throws Exception {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("targetDate", "2025-02-08");
+        when(batchJobService.runJob(any(), any()))
+                .thenThrow(new JobInstanceAlreadyCompleteException("already complete"))
+                .thenThrow(new JobParametersInvalidException("業務日付パラメータの形式が不正です"));
+
+        mockMvc.perform(post("/api/batch/daily-summary")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(parameters)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.success").value(false));
+
+        mockMvc.perform(post("/api/batch/daily-summary")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(parameters)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false));
+    }
+
+    /**
+     * ジョブ実行の進捗取得テスト
+     */
+    @Test
+    void testGetJobProgress() throws Exception {
+        BatchResponseDto.JobProgressResponse progress = new BatchResponseDto.JobProgressResponse();
+        progress.setExecutionId(42L);
+        progress.setStatus("STARTED");
+        progress.setReadCount(500);
+        progress.setEstimatedRemainingSeconds(30L);
+        when(batchJobService.getProgress(42L)).thenReturn(progress);
+
+        mockMvc.perform(get("/api/batch/executions/42"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("STARTED"))
+                .andExpect(jsonPath("$.readCount").value(500))
+                .andExpect(jsonPath("$.estimatedRemainingSeconds").value(30));
+
+        mockMvc.perform(get("/api/batch/executions/99"))
+                .andExpect(status().isNotFound());
+    }
+
+    /**
+     * ジョブ停止テスト（実行中でない場合は 409）
+     */
+    @Test
+    void testStopJob() throws Exception {
+        when(batchJobService.stopJob(42L)).thenReturn(true);
+
+        mockMvc.perform(post("/api/batch/executions/42/stop"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("STOPPING"));
+
+        mockMvc.perform(post("/api/batch/executions/99/stop"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.success").value(false));
+    }
+
+    /**
+     * ジョブ再実行テスト（完了済み・実行中の場合は 409）
+     */
+    @Test
+    void testRestartJob() throws Exception {
+        JobExecution execution = new JobExecution(new JobInstance(1L, "dataRepairJob"), 44L, new JobParameters());
+        when(batchJobService.restartJob(42L)).thenReturn(execution);
+        when(batchJobService.restartJob(43L)).thenThrow(new IllegalStateException("再実行できるのは失敗・停止したジョブのみです"));
+
+        mockMvc.perform(post("/api/batch/executions/42/restart"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.executionId").value(44));
+
+        mockMvc.perform(post("/api/batch/executions/43/restart"))
+                .andExpect(status().isConflict());
+    }
+}
@@ -1,7 +1,10 @@
 package com.example.companybackend.controller;
 
 import com.example.companybackend.entity.LeaveRequest;
+import com.example.companybackend.service.BulkDecisionResult;
+import com.example.companybackend.repository.LeaveCalendarRepository;
 import com.example.companybackend.service.LeaveService;
+import com.example.companybackend.service.TeamAvailabilityService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -24,6 +27,8 @@ import java.util.Arrays;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -54,6 +59,9 @@ public class LeaveRequestControllerTest {
     @MockBean
     private LeaveService leaveService;
 
+    @MockBean
+    private TeamAvailabilityService teamAvailabilityService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -301,6 +309,73 @@ public class LeaveRequestControllerTest {
                 .andExpect(jsonPath("$.data.approvalStatus").value("REJECTED"));
     }
 
+    /**
+     * 测试用例：批量批准休假请求
+     * 
+     * 测试目标方法：
+     * - LeaveRequestController.bulkApproveLeaveRequests()
+     * 
+     * 测试场景：
+     * - 部长在月末一次性批准多个休假请求
+     * - 服务层返回已处理、不存在和已处理过的请求ID
+     * 
+     * 预期结果：
+     * - HTTP状态码：200 OK
+     * - 响应消息包含处理件数
+     * - 响应数据包含各分类的请求ID
+     * 
+     * 模拟的依赖方法：
+     * - LeaveService.decideLeaveRequests()
+     */
+    @Test
+    @WithMockUser(roles = "MANAGER")
+    void testBulkApproveLeaveRequests_Success() throws Exception {
+        // Given
+        LeaveRequestController.LeaveBulkApprovalRequest request = new LeaveRequestController.LeaveBulkApprovalRequest();
+        request.setIds(List.of(1L, 2L, 3L));
+        request.setAction("approve");
+
+        when(leaveService.decideLeaveRequests(eq(List.of(1L, 2L, 3L)), eq(5L), eq(true)))
+                .thenReturn(new BulkDecisionResult("approved", List.of(1L, 2L), List.of(3L), List.of()));
+
+        // When & Then
+        mockMvc.perform(post("/api/leave/bulk-approve")
+                .header("X-User-Id", 5L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.message").value("2件の休暇申請を承認しました"))
+                .andExpect(jsonPath("$.data.approvalStatus").value("APPROVED"))
+                .andExpect(jsonPath("$.data.processedIds.length()").value(2))
+                .andExpect(jsonPath("$.data.notFoundIds[0]").value(3));
+    }
+
+    /**
+     * 测试用例：批量处理时指定无效操作
+     * 
+     * 预期结果：
+     * - HTTP状态码：400 Bad Request
+     * - 服务层不被调用
+     */
+    @Test
+    @WithMockUser(roles = "MANAGER")
+    void testBulkApproveLeaveRequests_InvalidAction() throws Exception {
+        // Given
+        LeaveRequestController.LeaveBulkApprovalRequest request = new LeaveRequestController.LeaveBulkApprovalRequest();
+        request.setIds(List.of(1L));
+        request.setAction("cancel");
+
+        // When & Then
+        mockMvc.perform(post("/api/leave/bulk-approve")
+                .header("X-User-Id", 5L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false));
+        verify(leaveService, never()).decideLeaveRequests(any(), any(), anyBoolean());
+    }
+
     /**
      * 测试用例：成功获取休假余额
      * 
@@ -370,4 +445,47 @@ public class LeaveRequestControllerTest {
                 .andExpect(jsonPath("$.data.events[0].id").value(1))
                 .andExpect(jsonPath("$.data.events[0].type").value("paid"));
     }
-}
\ No newline at end of file
+
+    /**
+     * 测试用例：获取部门休假日历
+     * 
+     * 测试目标方法：
+     * - LeaveRequestController.getTeamCalendar()
+     * 
+     * 测试场景：
+     * - 部长查询部门在指定期间内的休假人员
+     * 
+     * 预期结果：
+     * - HTTP状态码：200 OK
+     * - 响应数据包含休假人员列表和每日休假人数
+     * 
+     * 模拟的依赖方法：
+     * - TeamAvailabilityService.getCalendar()
+     */
+    @Test
+    @WithMockUser(roles = "MANAGER")
+    void testGetTeamCalendar_Success() throws Exception {
+        // Given
+        LocalDate from = LocalDate.of(2025, 8, 11);
+        LocalDate to = LocalDate.of(2025, 8, 12);
+        LeaveCalendarRepository.Absence absence = new LeaveCalendarRepository.Absence(
+                1L, 2L, "山田太郎", 10, "paid", "approved", from, from);
+        when(teamAvailabilityService.getCalendar(from, to, 10, null, false))
+                .thenReturn(new TeamAvailabilityService.TeamCalendar(from, to, List.of(absence), List.of(
+                        new TeamAvailabilityService.DailyAbsence(from, 1),
+                        new TeamAvailabilityService.DailyAbsence(to, 0))));
+
+        // When & Then
+        mockMvc.perform(get("/api/leave/team-calendar")
+                .param("startDate", "2025-08-11")
+                .param("endDate", "2025-08-12")
+                .param("departmentId", "10")
+                .header("X-User-Id", 5L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.absences[0].fullName").value("山田太郎"))
+                .andExpect(jsonPath("$.data.absences[0].status").value("APPROVED"))
+                .andExpect(jsonPath("$.data.daily[0].absentCount").value(1))
+                .andExpect(jsonPath("$.data.daily[1].absentCount").value(0));
+    }
+}
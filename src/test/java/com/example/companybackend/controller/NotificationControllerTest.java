@@ -0,0 +1,168 @@
+package com.example.companybackend.controller;
+
+import com.example.companybackend.entity.Notification;
+import com.example.companybackend.service.NotificationService;
+import com.example.companybackend.service.NotificationStreamHub;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * 通知コントローラーテストクラス
+ * ストリーム接続・未読数取得・既読化APIを検証する
+ */
+@WebMvcTest(NotificationController.class)
+@ContextConfiguration(classes = {NotificationController.class, NotificationControllerTest.TestSecurityConfig.class})
+public class NotificationControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private NotificationService notificationService;
+
+    @MockBean
+    private NotificationStreamHub notificationStreamHub;
+
+    @Configuration
+    @EnableWebSecurity
+    static class TestSecurityConfig {
+        @Bean
+        public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+            http.csrf(csrf -> csrf.disable())
+                .authorizeHttpRequests(auth -> auth
+                    .requestMatchers("/api/notifications/**").authenticated()
+                    .anyRequest().permitAll());
+            return http.build();
+        }
+    }
+
+    @Test
+    @WithMockUser
+    void testStream_ShouldSubscribeWithCachedUnreadCount() throws Exception {
+        when(notificationService.getUnreadCount(1)).thenReturn(4L);
+        when(notificationStreamHub.subscribe(eq(1), anyLong())).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/api/notifications/stream").header("X-User-Id", "1"))
+                .andExpect(request().asyncStarted());
+
+        verify(notificationStreamHub).subscribe(1, 4L);
+    }
+
+    @Test
+    @WithMockUser
+    void testGetUnreadCount_ShouldUseServiceCache() throws Exception {
+        when(notificationService.getUnreadCount(1)).thenReturn(3L);
+
+        mockMvc.perform(get("/api/notifications/unread-count").header("X-User-Id", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.unreadCount").value(3));
+
+        verify(notificationService).getUnreadCount(1);
+    }
+
+    @Test
+    @WithMockUser
+    void testGetNotifications_ShouldReturnListAndUnreadCount() throws Exception {
+        Notification notification = Notification.create(1, "タイトル", "メッセージ", "system", null);
+        when(notificationService.getUserNotifications(1, true)).thenReturn(List.of(notification));
+        when(notificationService.getUnreadCount(1)).thenReturn(1L);
+
+        mockMvc.perform(get("/api/notifications").param("unreadOnly", "true").header("X-User-Id", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.notifications[0].title").value("タイトル"))
+                .andExpect(jsonPath("$.data.unreadCount").value(1));
+    }
+
+    @Test
+    @WithMockUser
+    void testMarkAsRead_ShouldPassOwner() throws Exception {
+        mockMvc.perform(put("/api/notifications/10/read").header("X-User-Id", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true));
+
+        verify(notificationService).markAsRead(10L, 1);
+    }
+
+    @Test
+    @WithMockUser
+    void testMarkAsRead_OtherUsersNotification_ShouldReturnNotFound() throws Exception {
+        doThrow(new RuntimeException("通知の既読化に失敗しました",
+                new IllegalArgumentException("通知が見つかりません: 10")))
+                .when(notificationService).markAsRead(10L, 2);
+
+        mockMvc.perform(put("/api/notifications/10/read").header("X-User-Id", "2"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.success").value(false));
+    }
+
+    @Test
+    @WithMockUser
+    void testMarkAllAsRead_ShouldCallService() throws Exception {
+        mockMvc.perform(put("/api/notifications/read-all").header("X-User-Id", "1"))
+                .andExpect(status().isOk());
+
+        verify(notificationService).markAllAsRead(1);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void testBroadcast_Department_ShouldReturnCounts() throws Exception {
+        when(notificationService.broadcastNotification(any(), anyString(), anyString(), anyString(), any()))
+                .thenReturn(new NotificationService.BroadcastResult(5000, 4990, 10));
+
+        String body = """
+                {"targetType": "department", "departmentId": 3, "title": "全社連絡", "message": "本日17時より設備点検"}
+                """;
+
+        mockMvc.perform(post("/api/notifications/broadcast").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.targetCount").value(5000))
+                .andExpect(jsonPath("$.data.createdCount").value(4990))
+                .andExpect(jsonPath("$.data.duplicateCount").value(10));
+
+        verify(notificationService).broadcastNotification(
+                NotificationService.BroadcastTarget.forDepartment(3), "全社連絡", "本日17時より設備点検", "system", null);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void testBroadcast_DepartmentWithoutId_ShouldReturnBadRequest() throws Exception {
+        String body = """
+                {"targetType": "department", "title": "全社連絡", "message": "本文"}
+                """;
+
+        mockMvc.perform(post("/api/notifications/broadcast").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false));
+
+        verify(notificationService, never()).broadcastNotification(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void testStream_Unauthenticated_ShouldBeRejected() throws Exception {
+        mockMvc.perform(get("/api/notifications/stream").header("X-User-Id", "1"))
+                .andExpect(status().is4xxClientError());
+
+        verify(notificationStreamHub, never()).subscribe(any(), anyLong());
+    }
+}
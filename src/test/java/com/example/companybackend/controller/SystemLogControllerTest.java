@@ -535,4 +535,120 @@ public class SystemLogControllerTest {
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isForbidden());
     }
-}
\ No newline at end of file
+
+    /**
+     * 测试用例：键集分页获取系统日志列表（存在下一页）
+     * 
+     * 测试目标方法：
+     * - SystemLogController.scrollSystemLogs()
+     * 
+     * 预期结果：
+     * - HTTP状态码：200 OK
+     * - 返回size条数据，hasNext=true，并返回nextCursor
+     * - 不调用带COUNT的分页查询
+     * 
+     * 模拟的依赖方法：
+     * - SystemLogRepository.findFirstPageByFilters()
+     */
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void testScrollSystemLogs_FirstPage_ShouldReturnNextCursor() throws Exception {
+        // Given
+        SystemLog olderLog = new SystemLog();
+        olderLog.setId(2L);
+        olderLog.setAction("LOGOUT");
+        olderLog.setStatus("success");
+        olderLog.setCreatedAt(testSystemLog.getCreatedAt().minusMinutes(1));
+        when(systemLogRepository.findFirstPageByFilters(isNull(), isNull(), isNull(), isNull(), eq(2)))
+                .thenReturn(Arrays.asList(testSystemLog, olderLog));
+
+        // When & Then
+        mockMvc.perform(get("/api/system-logs/scroll")
+                .param("size", "1")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.length()").value(1))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.nextCursor").value(SystemLogController.encodeCursor(testSystemLog)));
+
+        verify(systemLogRepository, never()).findAll(any(Pageable.class));
+    }
+
+    /**
+     * 测试用例：使用游标获取后续页
+     * 
+     * 测试目标方法：
+     * - SystemLogController.scrollSystemLogs()
+     * 
+     * 预期结果：
+     * - 游标解码后的(created_at, id)传递给仓库层
+     * - 最后一页hasNext=false
+     */
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void testScrollSystemLogs_WithCursor_ShouldQueryAfterCursor() throws Exception {
+        // Given
+        String cursor = SystemLogController.encodeCursor(testSystemLog);
+        when(systemLogRepository.findPageByFiltersAfter(eq("LOGIN"), isNull(), isNull(), isNull(),
+                eq(testSystemLog.getCreatedAt()), eq(1L), eq(21)))
+                .thenReturn(Collections.emptyList());
+
+        // When & Then
+        mockMvc.perform(get("/api/system-logs/scroll")
+                .param("cursor", cursor)
+                .param("action", "LOGIN")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andExpect(jsonPath("$.data.length()").value(0));
+    }
+
+    /**
+     * 测试用例：无效游标
+     * 
+     * 预期结果：
+     * - HTTP状态码：400 BAD REQUEST
+     */
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void testScrollSystemLogs_WithInvalidCursor_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/system-logs/scroll")
+                .param("cursor", "invalid-cursor")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false));
+    }
+
+    /**
+     * 测试用例：全文检索（按相关度排序）
+     * 
+     * 测试目标方法：
+     * - SystemLogController.searchSystemLogsRanked()
+     * 
+     * 预期结果：
+     * - HTTP状态码：200 OK
+     * - 未指定since时使用默认检索期间调用仓库层
+     * 
+     * 模拟的依赖方法：
+     * - SystemLogRepository.searchRankedByFullText()
+     */
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void testSearchSystemLogsRanked_Success() throws Exception {
+        // Given
+        when(systemLogRepository.searchRankedByFullText(eq("login failed"), any(OffsetDateTime.class), eq(20)))
+                .thenReturn(Arrays.asList(testSystemLog));
+
+        // When & Then
+        mockMvc.perform(get("/api/system-logs/search/ranked")
+                .param("keyword", "login failed")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.length()").value(1))
+                .andExpect(jsonPath("$.keyword").value("login failed"));
+
+        verify(systemLogRepository, times(1)).searchRankedByFullText(eq("login failed"), any(OffsetDateTime.class), eq(20));
+    }
+}
@@ -5,6 +5,7 @@ import com.example.companybackend.dto.response.CreateTimeCorrectionResponse;
 import com.example.companybackend.dto.response.ApproveTimeCorrectionResponse;
 import com.example.companybackend.dto.response.RejectTimeCorrectionResponse;
 import com.example.companybackend.entity.TimeCorrection;
+import com.example.companybackend.service.BulkDecisionResult;
 import com.example.companybackend.service.TimeCorrectionService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -18,6 +19,7 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.time.OffsetDateTime;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.*;
@@ -549,4 +551,124 @@ public class TimeCorrectionControllerTest {
         // Verify that the service method was called
         verify(timeCorrectionService, times(1)).getAllPendingCount();
     }
-}
\ No newline at end of file
+
+    /**
+     * テストケース：打刻修正申請一括承認の成功
+     * 
+     * テスト対象メソッド：
+     * - TimeCorrectionController.bulkApproveTimeCorrections()
+     * 
+     * テストシナリオ：
+     * - 管理者が複数の打刻修正申請を一括承認
+     * - サービスが処理済み・存在しない・処理済みだった申請IDを返す
+     * 
+     * 期待結果：
+     * - HTTPステータスコード：200 OK
+     * - レスポンスメッセージに処理件数が含まれる
+     * - レスポンスデータに分類ごとの申請IDが含まれる
+     * 
+     * モック対象メソッド：
+     * - TimeCorrectionService.decideTimeCorrections()
+     */
+    @Test
+    void testBulkApproveTimeCorrections_Success() throws Exception {
+        // Given
+        Long approverId = 2L;
+        when(timeCorrectionService.decideTimeCorrections(eq(List.of(1L, 2L, 3L, 4L)), eq(approverId), eq(true)))
+            .thenReturn(new BulkDecisionResult("approved", List.of(1L, 2L), List.of(3L), List.of(4L)));
+
+        // When & Then
+        mockMvc.perform(put("/api/v1/time-corrections/bulk-approve")
+                .header("X-User-Id", approverId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\":[1,2,3,4]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.message").value("2件の打刻修正申請が承認されました"))
+                .andExpect(jsonPath("$.data.status").value("approved"))
+                .andExpect(jsonPath("$.data.processedIds.length()").value(2))
+                .andExpect(jsonPath("$.data.notFoundIds[0]").value(3))
+                .andExpect(jsonPath("$.data.alreadyProcessedIds[0]").value(4));
+
+        // Verify that the service method was called
+        verify(timeCorrectionService, times(1)).decideTimeCorrections(eq(List.of(1L, 2L, 3L, 4L)), eq(approverId), eq(true));
+    }
+
+    /**
+     * テストケース：打刻修正申請一括拒否の成功
+     * 
+     * テスト対象メソッド：
+     * - TimeCorrectionController.bulkRejectTimeCorrections()
+     * 
+     * 期待結果：
+     * - HTTPステータスコード：200 OK
+     * - サービスが拒否（approve=false）で呼び出される
+     * 
+     * モック対象メソッド：
+     * - TimeCorrectionService.decideTimeCorrections()
+     */
+    @Test
+    void testBulkRejectTimeCorrections_Success() throws Exception {
+        // Given
+        Long approverId = 2L;
+        when(timeCorrectionService.decideTimeCorrections(eq(List.of(5L, 6L)), eq(approverId), eq(false)))
+            .thenReturn(new BulkDecisionResult("rejected", List.of(5L, 6L), List.of(), List.of()));
+
+        // When & Then
+        mockMvc.perform(put("/api/v1/time-corrections/bulk-reject")
+                .header("X-User-Id", approverId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\":[5,6]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.message").value("2件の打刻修正申請が拒否されました"))
+                .andExpect(jsonPath("$.data.status").value("rejected"))
+                .andExpect(jsonPath("$.data.processedIds.length()").value(2));
+
+        // Verify that the service method was called
+        verify(timeCorrectionService, times(1)).decideTimeCorrections(eq(List.of(5L, 6L)), eq(approverId), eq(false));
+    }
+
+    /**
+     * テストケース：打刻修正申請一括拒否の失敗（他の承認者が同時に処理）
+     * 
+     * 期待結果：
+     * - HTTPステータスコード：400 Bad Request
+     * - レスポンスにサービスのエラーメッセージが含まれる
+     */
+    @Test
+    void testBulkRejectTimeCorrections_ConcurrentDecision() throws Exception {
+        // Given
+        Long approverId = 2L;
+        when(timeCorrectionService.decideTimeCorrections(eq(List.of(5L)), eq(approverId), eq(false)))
+            .thenThrow(new IllegalStateException("他の承認者により処理された申請が含まれています。再読み込みしてください"));
+
+        // When & Then
+        mockMvc.perform(put("/api/v1/time-corrections/bulk-reject")
+                .header("X-User-Id", approverId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\":[5]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.message").value("他の承認者により処理された申請が含まれています。再読み込みしてください"));
+    }
+
+    /**
+     * テストケース：打刻修正申請一括承認で申請IDが空
+     * 
+     * 期待結果：
+     * - HTTPステータスコード：400 Bad Request
+     * - サービスは呼び出されない
+     */
+    @Test
+    void testBulkApproveTimeCorrections_EmptyIds() throws Exception {
+        // When & Then
+        mockMvc.perform(put("/api/v1/time-corrections/bulk-approve")
+                .header("X-User-Id", 2L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\":[]}"))
+                .andExpect(status().isBadRequest());
+
+        verify(timeCorrectionService, never()).decideTimeCorrections(any(), any(), anyBoolean());
+    }
+}
@@ -103,6 +103,31 @@ public class UserControllerTest {
         verify(userService, times(1)).getUsers(0, 10, null, null, null, null, null);
     }
 
+    /**
+     * ユーザー入力補完のテスト
+     * 検索文字列と件数がサービスにそのまま渡され、候補が返却されることを検証する
+     */
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void testSearchUsers_Success() throws Exception {
+        Map<String, Object> suggestion = new HashMap<>();
+        suggestion.put("id", 2L);
+        suggestion.put("name", "山田 花子");
+
+        when(userService.suggestUsers("yamada", 5)).thenReturn(List.of(suggestion));
+
+        mockMvc.perform(get("/api/users/search")
+                        .param("q", "yamada")
+                        .param("limit", "5")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.length()").value(1))
+                .andExpect(jsonPath("$.data[0].name").value("山田 花子"));
+
+        verify(userService, times(1)).suggestUsers("yamada", 5);
+    }
+
     /**
      * ユーザーIDによるユーザー情報取得のテスト
      * 管理者権限を持つユーザーが特定のユーザー情報を取得できることを検証する
@@ -0,0 +1,158 @@
+package com.example.companybackend.query;
+
+import com.example.companybackend.repository.EmployeeReadModelRepository;
+import com.example.companybackend.repository.EmployeeReadModelRepository.EmployeeRow;
+import com.example.companybackend.service.EmployeeSearchIndex;
+import com.example.companybackend.service.EmployeeStatisticsService;
+import com.example.companybackend.service.OrgTreeIndex;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * EmployeeQueries テストクラス
+ * 一覧・詳細が従業員参照モデルのみから部署名・役職名を含めて組み立てられること、
+ * 統計が統計サービスの集計結果から組み立てられることを検証する
+ */
+@ExtendWith(MockitoExtension.class)
+class EmployeeQueriesTest {
+
+    @Mock
+    private EmployeeReadModelRepository employeeReadModelRepository;
+
+    @Mock
+    private EmployeeStatisticsService employeeStatisticsService;
+
+    @Mock
+    private EmployeeSearchIndex employeeSearchIndex;
+
+    @Mock
+    private OrgTreeIndex orgTreeIndex;
+
+    @InjectMocks
+    private EmployeeQueries employeeQueries;
+
+    private EmployeeRow row(Long id, String fullName) {
+        OffsetDateTime now = OffsetDateTime.now();
+        return new EmployeeRow(id, "user" + id, "user" + id + "@example.com", "E00" + id, fullName,
+                10, "開発部", 3, "主任", 3, 1, "上長 太郎", "employee", "一般社員",
+                "office", "オフィス勤務", true, LocalDate.of(2020, 4, 1), now, now);
+    }
+
+    @Test
+    void testSearchEmployeesWithFilter_ShouldUseSingleReadModelQuery() {
+        Pageable pageable = PageRequest.of(0, 20);
+        when(employeeSearchIndex.findUserIds("山田")).thenReturn(List.of(2L, 3L));
+        when(employeeReadModelRepository.findPage(List.of(2L, 3L), 10, null, null, true, pageable))
+                .thenReturn(new PageImpl<>(List.of(row(2L, "山田 花子"), row(3L, "山田 次郎")), pageable, 2));
+
+        EmployeeQueries.EmployeeSearchFilter filter = new EmployeeQueries.EmployeeSearchFilter();
+        filter.setKeyword("山田");
+        filter.setDepartmentId(10);
+        filter.setIsActive(true);
+        Page<EmployeeQueries.EmployeeListView> result = employeeQueries.searchEmployeesWithFilter(filter, pageable);
+
+        assertEquals(2, result.getTotalElements());
+        EmployeeQueries.EmployeeListView first = result.getContent().get(0);
+        assertEquals("山田 花子", first.getFullName());
+        assertEquals("開発部", first.getDepartmentName());
+        assertEquals("主任", first.getPositionName());
+        assertEquals("一般社員", first.getRoleDisplayName());
+        verify(employeeReadModelRepository, times(1))
+                .findPage(anyList(), anyInt(), any(), any(), any(), any(Pageable.class));
+    }
+
+    @Test
+    void testSearchEmployees_NoIndexMatch_ShouldNotQueryReadModel() {
+        Pageable pageable = PageRequest.of(0, 20);
+        when(employeeSearchIndex.findUserIds("存在しない")).thenReturn(List.of());
+
+        Page<EmployeeQueries.EmployeeListView> result = employeeQueries.searchEmployees("存在しない", pageable);
+
+        assertEquals(0, result.getTotalElements());
+        verifyNoInteractions(employeeReadModelRepository);
+    }
+
+    @Test
+    void testSuggestEmployees_ShouldKeepIndexRanking() {
+        when(employeeSearchIndex.search("yamada", 5, true)).thenReturn(List.of(
+                new EmployeeSearchIndex.Match(row(3L, "ヤマダ 次郎"), 83),
+                new EmployeeSearchIndex.Match(row(2L, "山田ヤマダ"), 43)));
+
+        List<EmployeeQueries.EmployeeListView> result = employeeQueries.suggestEmployees("yamada", 5);
+
+        assertEquals(List.of(3L, 2L), result.stream().map(EmployeeQueries.EmployeeListView::getId).toList());
+    }
+
+    @Test
+    void testGetEmployeeDetail_ShouldIncludeDenormalizedNames() {
+        when(employeeReadModelRepository.findByUserId(2L)).thenReturn(Optional.of(row(2L, "山田 花子")));
+
+        Optional<EmployeeQueries.EmployeeDetailView> detail = employeeQueries.getEmployeeDetail(2L);
+
+        assertTrue(detail.isPresent());
+        assertEquals("開発部", detail.get().getDepartmentName());
+        assertEquals("主任", detail.get().getPositionName());
+        assertEquals("上長 太郎", detail.get().getManagerName());
+        assertEquals(LocalDate.of(2020, 4, 1), detail.get().getHireDate());
+    }
+
+    @Test
+    void testGetActiveEmployees_ShouldFilterByActiveFlag() {
+        Pageable pageable = PageRequest.of(1, 10);
+        when(employeeReadModelRepository.findPage(null, null, null, null, true, pageable))
+                .thenReturn(new PageImpl<>(List.of(), pageable, 0));
+
+        Page<EmployeeQueries.EmployeeListView> result = employeeQueries.getActiveEmployees(pageable);
+
+        assertTrue(result.getContent().isEmpty());
+        verify(employeeReadModelRepository).findPage(null, null, null, null, true, pageable);
+    }
+
+    @Test
+    void testGetChainOfCommand_ShouldKeepIndexOrder() {
+        when(orgTreeIndex.chainOfCommand(5L)).thenReturn(List.of(3L, 1L));
+        when(employeeReadModelRepository.findByUserIds(List.of(3L, 1L)))
+                .thenReturn(List.of(row(1L, "社長 一郎"), row(3L, "部長 三郎")));
+
+        List<EmployeeQueries.EmployeeListView> chain = employeeQueries.getChainOfCommand(5L);
+
+        assertEquals(List.of(3L, 1L), chain.stream().map(EmployeeQueries.EmployeeListView::getId).toList());
+    }
+
+    @Test
+    void testGetEmployeeStatistics_ShouldMapAggregatedCounts() {
+        EmployeeStatisticsService.Counts total = new EmployeeStatisticsService.Counts(10, 8, 2, 1, 3, 6, 7, 3);
+        EmployeeStatisticsService.Counts department = new EmployeeStatisticsService.Counts(4, 3, 1, 0, 1, 3, 4, 0);
+        when(employeeStatisticsService.getStatistics()).thenReturn(new EmployeeStatisticsService.Statistics(
+                total, List.of(new EmployeeStatisticsService.DepartmentCounts(10, department))));
+
+        EmployeeQueries.EmployeeStatistics stats = employeeQueries.getEmployeeStatistics();
+        List<EmployeeQueries.DepartmentStatistics> departments = employeeQueries.getDepartmentStatistics();
+
+        assertEquals(10L, stats.getTotalEmployees());
+        assertEquals(8L, stats.getActiveEmployees());
+        assertEquals(2L, stats.getInactiveEmployees());
+        assertEquals(3L, stats.getManagerCount());
+        assertEquals(3L, stats.getClientEmployees());
+        assertEquals(1, departments.size());
+        assertEquals(10, departments.get(0).getDepartmentId());
+        assertEquals(4L, departments.get(0).getEmployeeCount());
+        assertEquals(1L, departments.get(0).getInactiveCount());
+    }
+}
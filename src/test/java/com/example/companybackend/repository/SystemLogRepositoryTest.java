@@ -376,6 +376,24 @@ class SystemLogRepositoryTest {
                 (log.getUserAgent() != null && log.getUserAgent().contains("LOGIN"))));
     }
 
+    @Test
+    void testSearchByKeyword_WithUserId_ShouldMatchUserIdSubstring() {
+        // Given - ユーザーIDのみがキーワードに一致するログ（最新順の先頭になるよう将来日時で作成）
+        SystemLog userIdOnlyLog = systemLogRepository.saveAndFlush(createSystemLog(null, TEST_USER_ID_2,
+                "USER_ID_SEARCH_TEST", TEST_STATUS_SUCCESS, "10.0.0.1", "curl/8.0", null, baseTime.plusYears(5)));
+        String keyword = String.valueOf(TEST_USER_ID_2);
+
+        // When
+        Page<SystemLog> page = systemLogRepository.searchByKeyword(keyword, PageRequest.of(0, 10));
+        List<SystemLog> firstPage = systemLogRepository.searchFirstPageByKeyword(keyword, 10);
+
+        // Then
+        assertTrue(page.getContent().stream().anyMatch(log -> log.getId().equals(userIdOnlyLog.getId())),
+                "ユーザーIDで検索できること");
+        assertTrue(firstPage.stream().anyMatch(log -> log.getId().equals(userIdOnlyLog.getId())),
+                "キーセットページングでもユーザーIDで検索できること");
+    }
+
     // ========== 集計統計テスト ==========
 
     @Test
@@ -444,6 +462,27 @@ class SystemLogRepositoryTest {
         });
     }
 
+    @Test
+    void testFindByJsonDetails_WithNonJsonDetails_ShouldMatchOnlyJsonObjects() {
+        // Given: JSON オブジェクト、JSON 配列、JSON でない文字列（いずれも検索値を含む）
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.ofHours(9));
+        SystemLog jsonLog = systemLogRepository.saveAndFlush(createSystemLog(null, TEST_USER_ID_1, "JSON_ACTION",
+                TEST_STATUS_SUCCESS, TEST_IP_ADDRESS, TEST_USER_AGENT, "{\"method\": \"passkey\"}", now));
+        SystemLog arrayLog = systemLogRepository.saveAndFlush(createSystemLog(null, TEST_USER_ID_1, "ARRAY_ACTION",
+                TEST_STATUS_SUCCESS, TEST_IP_ADDRESS, TEST_USER_AGENT, "[\"passkey\"]", now));
+        SystemLog textLog = systemLogRepository.saveAndFlush(createSystemLog(null, TEST_USER_ID_1, "TEXT_ACTION",
+                TEST_STATUS_SUCCESS, TEST_IP_ADDRESS, TEST_USER_AGENT, "{method: passkey", now));
+
+        // When
+        List<SystemLog> result = systemLogRepository.findByJsonDetails("method", "passkey");
+
+        // Then: JSON でない行があってもエラーにならず、JSON オブジェクトの行だけが一致する
+        List<Long> ids = result.stream().map(SystemLog::getId).toList();
+        assertTrue(ids.contains(jsonLog.getId()));
+        assertFalse(ids.contains(arrayLog.getId()));
+        assertFalse(ids.contains(textLog.getId()));
+    }
+
     // ========== データ整合性テスト ==========
 
     @Test
@@ -541,18 +580,23 @@ class SystemLogRepositoryTest {
     }
 
     @Test
-    void testFindForBatchProcessing_WithOffsetAndLimit_ShouldReturnLimitedResults() {
+    void testFindForBatchProcessingAfterId_WithLastIdAndLimit_ShouldReturnNextPage() {
         // When
-        List<SystemLog> result = systemLogRepository.findForBatchProcessing(0, 5);
+        List<SystemLog> firstPage = systemLogRepository.findForBatchProcessingAfterId(0L, 2);
 
         // Then
-        assertNotNull(result);
-        assertTrue(result.size() <= 5);
+        assertNotNull(firstPage);
+        assertTrue(firstPage.size() <= 2);
         // ID順にソートされていることを確認
-        if (result.size() > 1) {
-            for (int i = 0; i < result.size() - 1; i++) {
-                assertTrue(result.get(i).getId() <= result.get(i + 1).getId());
-            }
+        for (int i = 0; i < firstPage.size() - 1; i++) {
+            assertTrue(firstPage.get(i).getId() < firstPage.get(i + 1).getId());
+        }
+
+        // 前ページの最終IDより後のログだけが返ることを確認
+        if (!firstPage.isEmpty()) {
+            Long lastId = firstPage.get(firstPage.size() - 1).getId();
+            List<SystemLog> nextPage = systemLogRepository.findForBatchProcessingAfterId(lastId, 2);
+            nextPage.forEach(log -> assertTrue(log.getId() > lastId));
         }
     }
 
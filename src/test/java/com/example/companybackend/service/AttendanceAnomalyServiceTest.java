@@ -0,0 +1,174 @@
+package com.example.companybackend.service;
+
+import com.example.companybackend.repository.AttendanceAnomalyRepository;
+import com.example.companybackend.repository.AttendanceAnomalyRepository.Anomaly;
+import com.example.companybackend.repository.AttendanceAnomalyRepository.RepairDraft;
+import com.example.companybackend.repository.AttendanceAnomalyRepository.UserRange;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * AttendanceAnomalyService テストクラス
+ * 異常ごとの修復提案（推定時刻の勤務日内への丸め）・ユーザー範囲ごとの集計・チャンク登録・失敗時の扱いを検証する
+ */
+@ExtendWith(MockitoExtension.class)
+class AttendanceAnomalyServiceTest {
+
+    private static final ZoneId TOKYO = ZoneId.of("Asia/Tokyo");
+    private static final Duration SHIFT = Duration.ofHours(9);
+    private static final UserRange FIRST = new UserRange(1, 50);
+    private static final UserRange SECOND = new UserRange(51, 100);
+
+    @Mock
+    private AttendanceAnomalyRepository attendanceAnomalyRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AttendanceAnomalyService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new AttendanceAnomalyService(attendanceAnomalyRepository, transactionManager, 2, 2, 5, 9,
+                "Asia/Tokyo");
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void testToDraft_MissingClockOut_ShouldProposeOutWithinWorkDay() {
+        RepairDraft morning = AttendanceAnomalyService.toDraft(
+                anomaly(1L, "in", "2025-02-03T09:00:00+09:00", "missing_clock_out"), SHIFT, TOKYO);
+        assertEquals("add", morning.requestType());
+        assertEquals("out", morning.requestedType());
+        assertEquals(OffsetDateTime.parse("2025-02-03T18:00:00+09:00"), morning.requestedTime());
+        assertTrue(morning.reason().startsWith("[自動検出]"));
+
+        // 推定時刻が翌日になる場合は勤務日の 23:59 に丸める
+        RepairDraft evening = AttendanceAnomalyService.toDraft(
+                anomaly(2L, "in", "2025-02-03T20:00:00+09:00", "missing_clock_out"), SHIFT, TOKYO);
+        assertEquals(OffsetDateTime.parse("2025-02-03T23:59:00+09:00").toInstant(),
+                evening.requestedTime().toInstant());
+    }
+
+    @Test
+    void testToDraft_MissingClockIn_ShouldProposeInNotBeforeDayStart() {
+        RepairDraft draft = AttendanceAnomalyService.toDraft(
+                anomaly(3L, "out", "2025-02-03T07:00:00+09:00", "missing_clock_in"), SHIFT, TOKYO);
+
+        assertEquals("add", draft.requestType());
+        assertEquals("in", draft.requestedType());
+        assertEquals(OffsetDateTime.parse("2025-02-03T00:00:00+09:00").toInstant(),
+                draft.requestedTime().toInstant());
+    }
+
+    @Test
+    void testToDraft_OutOfOrderAndDuplicate() {
+        RepairDraft swap = AttendanceAnomalyService.toDraft(
+                anomaly(4L, "out", "2025-02-03T09:00:00+09:00", "out_of_order"), SHIFT, TOKYO);
+        assertEquals("type", swap.requestType());
+        assertEquals("in", swap.requestedType());
+        assertNull(swap.requestedTime());
+
+        // 重複は件数のみ報告し、下書きは作らない
+        assertNull(AttendanceAnomalyService.toDraft(
+                anomaly(5L, "in", "2025-02-03T09:01:00+09:00", "duplicate"), SHIFT, TOKYO));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testDetectAndDraft_ShouldAggregatePartitionsAndInsertInChunks() {
+        when(attendanceAnomalyRepository.findUserRanges(2)).thenReturn(List.of(FIRST, SECOND));
+        when(attendanceAnomalyRepository.detectAnomalies(eq(FIRST), any(), any(), eq("Asia/Tokyo"), eq(300L)))
+                .thenReturn(List.of(
+                        anomaly(1L, "in", "2025-02-03T09:00:00+09:00", "missing_clock_out"),
+                        anomaly(2L, "in", "2025-02-04T09:00:00+09:00", "missing_clock_out"),
+                        anomaly(3L, "in", "2025-02-04T09:02:00+09:00", "duplicate")));
+        when(attendanceAnomalyRepository.detectAnomalies(eq(SECOND), any(), any(), anyString(), anyLong()))
+                .thenReturn(List.of(anomaly(4L, "out", "2025-02-05T09:00:00+09:00", "out_of_order")));
+        when(attendanceAnomalyRepository.insertDrafts(anyList(), any()))
+                .thenAnswer(invocation -> ((List<RepairDraft>) invocation.getArgument(0)).size());
+
+        AttendanceAnomalyService.RepairResult result = service.detectAndDraft(
+                LocalDate.of(2025, 2, 1), LocalDate.of(2025, 2, 28), false);
+
+        assertEquals(Map.of("duplicate", 1, "missing_clock_out", 2, "out_of_order", 1), result.anomalyCounts());
+        assertEquals(4, result.totalAnomalyCount());
+        assertEquals(3, result.draftCount());
+        assertEquals(2, result.partitionCount());
+
+        // 1範囲目は2件の下書き、2範囲目は1件（チャンクサイズ2）
+        ArgumentCaptor<List<RepairDraft>> chunks = ArgumentCaptor.forClass(List.class);
+        verify(attendanceAnomalyRepository, times(2)).insertDrafts(chunks.capture(), any());
+        assertEquals(3, chunks.getAllValues().stream().mapToInt(List::size).sum());
+
+        // 対象期間は開始日の 0:00 から終了日の翌日 0:00 まで（日本時間）
+        ArgumentCaptor<OffsetDateTime> from = ArgumentCaptor.forClass(OffsetDateTime.class);
+        ArgumentCaptor<OffsetDateTime> to = ArgumentCaptor.forClass(OffsetDateTime.class);
+        verify(attendanceAnomalyRepository).detectAnomalies(eq(FIRST), from.capture(), to.capture(), anyString(),
+                anyLong());
+        assertEquals(OffsetDateTime.parse("2025-02-01T00:00:00+09:00"), from.getValue());
+        assertEquals(OffsetDateTime.parse("2025-03-01T00:00:00+09:00"), to.getValue());
+    }
+
+    @Test
+    void testDetectAndDraft_DryRun_ShouldNotInsert() {
+        when(attendanceAnomalyRepository.findUserRanges(2)).thenReturn(List.of(FIRST));
+        when(attendanceAnomalyRepository.detectAnomalies(eq(FIRST), any(), any(), anyString(), anyLong()))
+                .thenReturn(List.of(anomaly(1L, "in", "2025-02-03T09:00:00+09:00", "missing_clock_out")));
+
+        AttendanceAnomalyService.RepairResult result = service.detectAndDraft(null, null, true);
+
+        assertEquals(1, result.totalAnomalyCount());
+        assertEquals(0, result.draftCount());
+        verify(attendanceAnomalyRepository, never()).insertDrafts(anyList(), any());
+    }
+
+    @Test
+    void testDetectAndDraft_PartitionFailure_ShouldFailAfterOtherPartitions() {
+        when(attendanceAnomalyRepository.findUserRanges(2)).thenReturn(List.of(FIRST, SECOND));
+        when(attendanceAnomalyRepository.detectAnomalies(eq(FIRST), any(), any(), anyString(), anyLong()))
+                .thenThrow(new QueryTimeoutException("timeout"));
+        when(attendanceAnomalyRepository.detectAnomalies(eq(SECOND), any(), any(), anyString(), anyLong()))
+                .thenReturn(List.of(anomaly(4L, "out", "2025-02-05T09:00:00+09:00", "out_of_order")));
+        when(attendanceAnomalyRepository.insertDrafts(anyList(), any())).thenReturn(1);
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> service.detectAndDraft(LocalDate.of(2025, 2, 1), LocalDate.of(2025, 2, 28), false));
+
+        assertTrue(exception.getMessage().contains(FIRST.toString()));
+        verify(attendanceAnomalyRepository).insertDrafts(anyList(), any());
+    }
+
+    @Test
+    void testDetectAndDraft_InvertedRange_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class,
+                () -> service.detectAndDraft(LocalDate.of(2025, 3, 1), LocalDate.of(2025, 2, 1), false));
+        verifyNoInteractions(attendanceAnomalyRepository);
+    }
+
+    private static Anomaly anomaly(long attendanceId, String type, String timestamp, String anomalyType) {
+        return new Anomaly(attendanceId, 1, type, OffsetDateTime.parse(timestamp), anomalyType);
+    }
+}
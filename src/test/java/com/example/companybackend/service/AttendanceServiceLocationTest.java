@@ -5,7 +5,6 @@ import com.example.companybackend.entity.User;
 import com.example.companybackend.entity.WorkLocation;
 import com.example.companybackend.repository.AttendanceRecordRepository;
 import com.example.companybackend.repository.UserRepository;
-import com.example.companybackend.repository.WorkLocationRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -34,7 +33,7 @@ public class AttendanceServiceLocationTest {
     private AttendanceRecordRepository attendanceRecordRepository;
 
     @MockBean
-    private WorkLocationRepository workLocationRepository;
+    private WorkLocationService workLocationService;
 
     @Autowired
     private AttendanceService attendanceService;
@@ -60,7 +59,7 @@ public class AttendanceServiceLocationTest {
         officeLocation.setRadius(100);
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(workLocationRepository.findByType("office")).thenReturn(Arrays.asList(officeLocation));
+        when(workLocationService.getActiveLocationsByType("office")).thenReturn(Arrays.asList(officeLocation));
         when(attendanceRecordRepository.findTodayRecordsByUserId(1)).thenReturn(Arrays.asList());
         when(attendanceRecordRepository.findRecentRecordsByUserIdAndType(eq(1), eq("in"), any())).thenReturn(Arrays.asList());
         
@@ -93,7 +92,7 @@ public class AttendanceServiceLocationTest {
         officeLocation.setRadius(100); // 100m以内
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(workLocationRepository.findByType("office")).thenReturn(Arrays.asList(officeLocation));
+        when(workLocationService.getActiveLocationsByType("office")).thenReturn(Arrays.asList(officeLocation));
         when(attendanceRecordRepository.findTodayRecordsByUserId(1)).thenReturn(Arrays.asList());
         when(attendanceRecordRepository.findRecentRecordsByUserIdAndType(eq(1), eq("in"), any())).thenReturn(Arrays.asList());
         
@@ -126,7 +125,7 @@ public class AttendanceServiceLocationTest {
         clientLocation.setRadius(500); // 500m以内
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(workLocationRepository.findByType("client")).thenReturn(Arrays.asList(clientLocation));
+        when(workLocationService.getActiveLocationsByType("client")).thenReturn(Arrays.asList(clientLocation));
         when(attendanceRecordRepository.findTodayRecordsByUserId(1)).thenReturn(Arrays.asList());
         when(attendanceRecordRepository.findRecentRecordsByUserIdAndType(eq(1), eq("in"), any())).thenReturn(Arrays.asList());
         
@@ -157,7 +156,7 @@ public class AttendanceServiceLocationTest {
         clientLocation.setRadius(500); // 500m以内
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(workLocationRepository.findByType("client")).thenReturn(Arrays.asList(clientLocation));
+        when(workLocationService.getActiveLocationsByType("client")).thenReturn(Arrays.asList(clientLocation));
         when(attendanceRecordRepository.findTodayRecordsByUserId(1)).thenReturn(Arrays.asList());
         when(attendanceRecordRepository.findRecentRecordsByUserIdAndType(eq(1), eq("in"), any())).thenReturn(Arrays.asList());
         
@@ -221,7 +220,7 @@ public class AttendanceServiceLocationTest {
         officeLocation.setLongitude(139.7671);
         officeLocation.setRadius(100);
 
-        when(workLocationRepository.findByType("office")).thenReturn(Arrays.asList(officeLocation));
+        when(workLocationService.getActiveLocationsByType("office")).thenReturn(Arrays.asList(officeLocation));
 
         // テスト実行と検証
         Exception exception = assertThrows(IllegalStateException.class, () -> {
@@ -261,7 +260,7 @@ public class AttendanceServiceLocationTest {
         officeLocation.setLongitude(139.7671);
         officeLocation.setRadius(100);
 
-        when(workLocationRepository.findByType("office")).thenReturn(Arrays.asList(officeLocation));
+        when(workLocationService.getActiveLocationsByType("office")).thenReturn(Arrays.asList(officeLocation));
 
         // テスト実行と検証
         Exception exception = assertThrows(IllegalStateException.class, () -> {
@@ -46,6 +46,9 @@ class AttendanceServiceTest {
     @Mock
     private WorkLocationRepository workLocationRepository;
 
+    @Mock
+    private OvertimeMonitorService overtimeMonitorService;
+
     private AttendanceService attendanceService;
 
     // テスト用定数
@@ -62,7 +65,8 @@ class AttendanceServiceTest {
                 attendanceRecordRepository,
                 attendanceSummaryRepository,
                 userRepository,
-                workLocationRepository);
+                new WorkLocationService(workLocationRepository),
+                overtimeMonitorService);
     }
 
     // ========== 出勤打刻テスト ==========
@@ -275,6 +279,7 @@ class AttendanceServiceTest {
 
         verify(attendanceRecordRepository).save(any(AttendanceRecord.class));
         verify(attendanceSummaryRepository).save(any(AttendanceSummary.class)); // サマリー更新の確認
+        verify(overtimeMonitorService).onDailySummariesSaved(anyList()); // 残業累計の更新
     }
 
     @Test
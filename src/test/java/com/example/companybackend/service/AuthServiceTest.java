@@ -1,11 +1,13 @@
 package com.example.companybackend.service;
 
 import com.example.companybackend.dto.auth.AdminPositionsResponse;
+import com.example.companybackend.dto.auth.CsvRowError;
 import com.example.companybackend.dto.auth.CsvUserData;
 import com.example.companybackend.entity.Department;
 import com.example.companybackend.entity.Position;
 import com.example.companybackend.entity.User;
 import com.example.companybackend.repository.DepartmentRepository;
+import com.example.companybackend.repository.EmployeeReadModelRepository;
 import com.example.companybackend.repository.PositionRepository;
 import com.example.companybackend.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -106,6 +108,27 @@ public class AuthServiceTest {
     @Mock
     private JwtTokenProviderService tokenProvider;
 
+    /**
+     * UserCsvImportService的模拟对象
+     * 模拟CSV批量导入处理（解析、哈希、批量插入）
+     */
+    @Mock
+    private UserCsvImportService userCsvImportService;
+
+    /**
+     * EmployeeReadModelRepository的模拟对象
+     * 模拟员工读取模型（employee_read_model）的刷新处理
+     */
+    @Mock
+    private EmployeeReadModelRepository employeeReadModelRepository;
+
+    /**
+     * OrgTreeIndex的模拟对象
+     * 模拟组织树索引（上级链・下属）的刷新处理
+     */
+    @Mock
+    private OrgTreeIndex orgTreeIndex;
+
     /**
      * 测试数据
      */
@@ -881,15 +904,13 @@ public class AuthServiceTest {
      * 
      * 测试场景：
      * - 使用有效的CSV用户数据批量注册
-     * - 所有用户成功注册
+     * - 导入处理委托给UserCsvImportService
      * 
      * 预期结果：
      * - 返回成功和失败计数数组
      * 
      * 模拟的依赖方法：
-     * - PasswordEncoder.encode()
-     * - UserRepository.existsByUsername()
-     * - UserRepository.save()
+     * - UserCsvImportService.importUsers()
      */
     @Test
     void testRegisterUsersFromCsvList_Success() {
@@ -902,33 +923,17 @@ public class AuthServiceTest {
         user1.setLocationType("office");
         csvUsers.add(user1);
 
-        CsvUserData user2 = new CsvUserData();
-        user2.setUsername("user2");
-        user2.setPassword("password2");
-        user2.setFullName("User Two");
-        user2.setLocationType("office");
-        csvUsers.add(user2);
-
-        when(passwordEncoder.encode(anyString())).thenAnswer(invocation -> 
-            "encoded_" + invocation.getArgument(0));
-        when(userRepository.existsByUsername(anyString())).thenReturn(false);
-        when(userRepository.save(any(User.class))).thenAnswer(invocation -> {
-            User user = invocation.getArgument(0);
-            if (user.getId() == null) {
-                user.setId(1L);
-            }
-            return user;
-        });
+        when(userCsvImportService.importUsers(csvUsers))
+                .thenReturn(new UserCsvImportService.ImportResult(1, 0, List.of()));
 
         // When
         int[] result = authService.registerUsersFromCsv(csvUsers);
 
         // Then
-        assertEquals(2, result[0]); // 成功数
+        assertEquals(1, result[0]); // 成功数
         assertEquals(0, result[1]); // 失败数
-        verify(passwordEncoder, times(2)).encode(anyString());
-        verify(userRepository, times(2)).existsByUsername(anyString());
-        verify(userRepository, times(2)).save(any(User.class));
+        verify(userCsvImportService, times(1)).importUsers(csvUsers);
+        verify(userRepository, never()).save(any(User.class));
     }
 
     /**
@@ -938,46 +943,20 @@ public class AuthServiceTest {
      * - AuthService.registerUsersFromCsv(List<CsvUserData>)
      * 
      * 测试场景：
-     * - 使用包含重复用户名的CSV用户数据批量注册
-     * - 仅部分用户成功注册
+     * - 导入结果包含行级错误（重复用户名）
      * 
      * 预期结果：
-     * - 返回成功和失败计数数组
+     * - 失败数包含错误行数
      * 
      * 模拟的依赖方法：
-     * - PasswordEncoder.encode()
-     * - UserRepository.existsByUsername()
-     * - UserRepository.save()
+     * - UserCsvImportService.importUsers()
      */
     @Test
     void testRegisterUsersFromCsvList_WithDuplicates() {
         // Given
         List<CsvUserData> csvUsers = new ArrayList<>();
-        CsvUserData user1 = new CsvUserData();
-        user1.setUsername("user1");
-        user1.setPassword("password1");
-        user1.setFullName("User One");
-        user1.setLocationType("office");
-        csvUsers.add(user1);
-
-        CsvUserData user2 = new CsvUserData();
-        user2.setUsername("user2");
-        user2.setPassword("password2");
-        user2.setFullName("User Two");
-        user2.setLocationType("office");
-        csvUsers.add(user2);
-
-        when(passwordEncoder.encode("password1")).thenReturn("encoded_password1");
-        when(passwordEncoder.encode("password2")).thenReturn("encoded_password2");
-        when(userRepository.existsByUsername("user1")).thenReturn(false);
-        when(userRepository.existsByUsername("user2")).thenReturn(true); // 重复用户
-        when(userRepository.save(any(User.class))).thenAnswer(invocation -> {
-            User user = invocation.getArgument(0);
-            if (user.getId() == null) {
-                user.setId(1L);
-            }
-            return user;
-        });
+        when(userCsvImportService.importUsers(csvUsers)).thenReturn(new UserCsvImportService.ImportResult(1, 1,
+                List.of(new CsvRowError(3, "user2", "ユーザー名は既に登録されています"))));
 
         // When
         int[] result = authService.registerUsersFromCsv(csvUsers);
@@ -985,10 +964,6 @@ public class AuthServiceTest {
         // Then
         assertEquals(1, result[0]); // 成功数
         assertEquals(1, result[1]); // 失败数
-        verify(passwordEncoder, times(1)).encode("password1");
-        verify(passwordEncoder, times(1)).encode("password2");
-        verify(userRepository, times(2)).existsByUsername(anyString());
-        verify(userRepository, times(1)).save(any(User.class));
     }
 
     /**
@@ -998,17 +973,14 @@ public class AuthServiceTest {
      * - AuthService.registerUsersFromCsv(MultipartFile)
      * 
      * 测试场景：
-     * - 使用有效的CSV文件批量注册用户
-     * - 文件成功读取并处理
+     * - 文件输入流直接交给UserCsvImportService流式处理
      * 
      * 预期结果：
      * - 返回处理结果消息
      * 
      * 模拟的依赖方法：
      * - MultipartFile.getInputStream()
-     * - PasswordEncoder.encode()
-     * - UserRepository.existsByUsername()
-     * - UserRepository.save()
+     * - UserCsvImportService.importCsv()
      */
     @Test
     void testRegisterUsersFromCsvFile_Success() throws IOException {
@@ -1018,16 +990,8 @@ public class AuthServiceTest {
         MultipartFile multipartFile = mock(MultipartFile.class);
 
         when(multipartFile.getInputStream()).thenReturn(inputStream);
-        when(passwordEncoder.encode(anyString())).thenAnswer(invocation ->
-            "encoded_" + invocation.getArgument(0));
-        when(userRepository.existsByUsername(anyString())).thenReturn(false);
-        when(userRepository.save(any(User.class))).thenAnswer(invocation -> {
-            User user = invocation.getArgument(0);
-            if (user.getId() == null) {
-                user.setId(1L);
-            }
-            return user;
-        });
+        when(userCsvImportService.importCsv(inputStream))
+                .thenReturn(new UserCsvImportService.ImportResult(2, 0, List.of()));
 
         // When
         String result = authService.registerUsersFromCsv(multipartFile);
@@ -1036,9 +1000,7 @@ public class AuthServiceTest {
         assertTrue(result.contains("登録成功: 2件"));
         assertTrue(result.contains("登録失敗: 0件"));
         verify(multipartFile, times(1)).getInputStream();
-        verify(passwordEncoder, times(2)).encode(anyString());
-        verify(userRepository, times(2)).existsByUsername(anyString());
-        verify(userRepository, times(2)).save(any(User.class));
+        verify(userCsvImportService, times(1)).importCsv(inputStream);
     }
 
     /**
@@ -1070,8 +1032,6 @@ public class AuthServiceTest {
 
         assertTrue(exception.getMessage().contains("CSVファイルの処理中にエラーが発生しました"));
         verify(multipartFile, times(1)).getInputStream();
-        verify(passwordEncoder, never()).encode(anyString());
-        verify(userRepository, never()).existsByUsername(anyString());
-        verify(userRepository, never()).save(any(User.class));
+        verify(userCsvImportService, never()).importCsv(any());
     }
-}
\ No newline at end of file
+}
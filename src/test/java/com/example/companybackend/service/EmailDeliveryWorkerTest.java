@@ -0,0 +1,127 @@
+package com.example.companybackend.service;
+
+import com.example.companybackend.entity.EmailOutbox;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * EmailDeliveryWorker テストクラス
+ * プロセス内の FakeSmtpServer に対して実際にSMTP送信を行い、
+ * プロバイダ単位のセッションまとめ送信・レート制限・失敗時の再試行登録を検証する
+ */
+@ExtendWith(MockitoExtension.class)
+class EmailDeliveryWorkerTest {
+
+    @Mock
+    private EmailOutboxService emailOutboxService;
+
+    private FakeSmtpServer smtpServer;
+    private JavaMailSenderImpl mailSender;
+
+    @BeforeEach
+    void setUp() {
+        smtpServer = new FakeSmtpServer();
+        mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("127.0.0.1");
+        mailSender.setPort(smtpServer.getPort());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        smtpServer.close();
+    }
+
+    @Test
+    void testPoll_ShouldSendOneSmtpSessionPerProvider() {
+        // Given
+        List<EmailOutbox> claimed = List.of(
+                outbox(1L, "a@example.com"),
+                outbox(2L, "b@example.com"),
+                outbox(3L, "c@other.example.org"));
+        when(emailOutboxService.claimBatch(50)).thenReturn(claimed);
+        EmailDeliveryWorker worker = worker(new MailProviderRateLimiter(60, ""));
+
+        // When
+        worker.poll();
+
+        // Then
+        assertEquals(3, smtpServer.getReceivedMessages().size());
+        assertEquals(2, smtpServer.getSessionCount());
+        verify(emailOutboxService).markSent(List.of(1L, 2L));
+        verify(emailOutboxService).markSent(List.of(3L));
+        verify(emailOutboxService, never()).markFailed(any(), any());
+    }
+
+    @Test
+    void testPoll_WithProviderRateLimit_ShouldDeferExcess() {
+        // Given
+        List<EmailOutbox> claimed = List.of(
+                outbox(1L, "a@example.com"),
+                outbox(2L, "b@example.com"),
+                outbox(3L, "c@example.com"));
+        when(emailOutboxService.claimBatch(50)).thenReturn(claimed);
+        EmailDeliveryWorker worker = worker(new MailProviderRateLimiter(60, "example.com=1"));
+
+        // When
+        worker.poll();
+
+        // Then
+        assertEquals(1, smtpServer.getReceivedMessages().size());
+        verify(emailOutboxService).markSent(List.of(1L));
+        verify(emailOutboxService).defer(eq(List.of(claimed.get(1), claimed.get(2))), any(Duration.class));
+    }
+
+    @Test
+    void testPoll_WhenSmtpUnavailable_ShouldMarkFailedForRetry() throws Exception {
+        // Given
+        smtpServer.close();
+        List<EmailOutbox> claimed = List.of(outbox(1L, "a@example.com"));
+        when(emailOutboxService.claimBatch(50)).thenReturn(claimed);
+        EmailDeliveryWorker worker = worker(new MailProviderRateLimiter(60, ""));
+
+        // When
+        worker.poll();
+
+        // Then
+        verify(emailOutboxService).markFailed(eq(claimed.get(0)), anyString());
+        verify(emailOutboxService, never()).markSent(anyList());
+    }
+
+    @Test
+    void testBackoff_ShouldGrowExponentiallyUpToCap() {
+        assertEquals(Duration.ofSeconds(30), EmailOutboxService.backoffFor(1));
+        assertEquals(Duration.ofSeconds(60), EmailOutboxService.backoffFor(2));
+        assertEquals(Duration.ofSeconds(240), EmailOutboxService.backoffFor(4));
+        assertEquals(Duration.ofHours(1), EmailOutboxService.backoffFor(20));
+    }
+
+    private EmailDeliveryWorker worker(MailProviderRateLimiter rateLimiter) {
+        return new EmailDeliveryWorker(emailOutboxService, mailSender, new SyncTaskExecutor(), rateLimiter, 50,
+                "noreply@company.example");
+    }
+
+    private EmailOutbox outbox(Long id, String to) {
+        EmailOutbox outbox = new EmailOutbox();
+        outbox.setId(id);
+        outbox.setToAddress(to);
+        outbox.setProvider(EmailOutbox.resolveProvider(to));
+        outbox.setSubject("休暇申請が承認されました");
+        outbox.setBody("有給休暇の申請が承認されました。");
+        outbox.setStatus(EmailOutbox.STATUS_SENDING);
+        outbox.setAttemptCount(0);
+        return outbox;
+    }
+}
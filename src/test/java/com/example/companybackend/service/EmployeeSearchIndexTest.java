@@ -0,0 +1,119 @@
+package com.example.companybackend.service;
+
+import com.example.companybackend.repository.EmployeeReadModelRepository;
+import com.example.companybackend.repository.EmployeeReadModelRepository.EmployeeRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * EmployeeSearchIndex テストクラス
+ * 正規化・ローマ字変換を含む照合、一致度順の並び、有効ユーザーの絞り込み、再構築の契機を検証する
+ */
+class EmployeeSearchIndexTest {
+
+    private static final Duration MAX_AGE = Duration.ofMinutes(5);
+
+    private EmployeeReadModelRepository repository;
+    private AtomicLong now;
+    private EmployeeSearchIndex index;
+    private List<EmployeeRow> rows;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(EmployeeReadModelRepository.class);
+        now = new AtomicLong(1_000_000L);
+        rows = new ArrayList<>(List.of(
+                row(1L, "yamada.taro", "E001", "山田 太郎", true),
+                row(2L, "hanako", "E002", "ヤマダ ハナコ", true),
+                row(3L, "sato", "E003", "佐藤 一郎", false),
+                row(4L, "oyamada", "E004", "小山田 次郎", true)));
+        when(repository.findAll()).thenAnswer(invocation -> List.copyOf(rows));
+        // 再構築は呼び出し元スレッドで実行する
+        index = new EmployeeSearchIndex(repository, MAX_AGE, 20, now::get, Runnable::run);
+    }
+
+    private EmployeeRow row(Long id, String username, String employeeId, String fullName, boolean active) {
+        OffsetDateTime createdAt = OffsetDateTime.now();
+        return new EmployeeRow(id, username, username + "@example.com", employeeId, fullName,
+                10, "開発部", 3, "主任", 3, null, null, "employee", "一般社員",
+                "office", "オフィス勤務", active, LocalDate.of(2020, 4, 1), createdAt, createdAt);
+    }
+
+    private List<Long> ids(List<EmployeeSearchIndex.Match> matches) {
+        return matches.stream().map(match -> match.employee().userId()).toList();
+    }
+
+    @Test
+    void testSearch_Kanji_ShouldRankExactFamilyNameAboveContains() {
+        assertEquals(List.of(1L, 4L), ids(index.search("山田", 10, true)));
+    }
+
+    @Test
+    void testSearch_Hiragana_ShouldMatchKatakanaName() {
+        assertEquals(List.of(2L), ids(index.search("やまだ", 10, true)));
+    }
+
+    @Test
+    void testSearch_Romaji_ShouldMatchKatakanaAndUsername() {
+        // カタカナの姓の完全一致 > ユーザー名の前方一致 > ユーザー名の部分一致
+        assertEquals(List.of(2L, 1L, 4L), ids(index.search("yamada", 10, true)));
+    }
+
+    @Test
+    void testSearch_ActiveOnly_ShouldExcludeInactiveUsers() {
+        assertTrue(index.search("sato", 10, true).isEmpty());
+        assertEquals(List.of(3L), ids(index.search("sato", 10, false)));
+        assertEquals(List.of(3L), index.findUserIds("佐藤"));
+    }
+
+    @Test
+    void testSearch_EmployeeIdPrefix_ShouldApplyLimitAndTieBreak() {
+        // 同点の場合は氏名の短い順
+        assertEquals(List.of(1L, 4L), ids(index.search("e00", 2, true)));
+    }
+
+    @Test
+    void testSearch_SingleCharacter_ShouldScanAllEntries() {
+        assertEquals(List.of(1L, 4L), ids(index.search("田", 10, true)));
+    }
+
+    @Test
+    void testSearch_Blank_ShouldReturnEmptyWithoutLoading() {
+        assertTrue(index.search("  ", 10, true).isEmpty());
+        verify(repository, never()).findAll();
+    }
+
+    @Test
+    void testOnReadModelChanged_ShouldRebuildIndex() {
+        assertTrue(index.search("鈴木", 10, true).isEmpty());
+
+        rows.add(row(5L, "suzuki", "E005", "鈴木 花子", true));
+        index.onReadModelChanged(new EmployeeReadModelRepository.ReadModelChangedEvent(1));
+
+        assertEquals(List.of(5L), ids(index.search("鈴木", 10, true)));
+        assertEquals(5, index.size());
+        verify(repository, times(2)).findAll();
+    }
+
+    @Test
+    void testSearch_AfterMaxAge_ShouldScheduleRebuild() {
+        index.search("山田", 10, true);
+        now.addAndGet(MAX_AGE.toMillis() - 1);
+        index.search("山田", 10, true);
+        verify(repository, times(1)).findAll();
+
+        now.addAndGet(1);
+        index.search("山田", 10, true);
+        verify(repository, times(2)).findAll();
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.companybackend.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * EmployeeStatisticsService テストクラス
+ * 集計結果の組み立て・クエリ発行回数・TTL・キャッシュ破棄を検証する
+ */
+class EmployeeStatisticsServiceTest {
+
+    private static final Duration TTL = Duration.ofSeconds(30);
+
+    private JdbcTemplate jdbcTemplate;
+    private AtomicLong now;
+    private EmployeeStatisticsService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        now = new AtomicLong(1_000_000L);
+        service = new EmployeeStatisticsService(jdbcTemplate, TTL, now::get);
+
+        // 1行目: 全体（GROUPING = 1）、2行目: 部署10、3行目: 部署未所属
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(row(1, null, 10, 8, 2, 1, 3, 6, 7, 3));
+            handler.processRow(row(0, 10, 6, 5, 1, 0, 2, 4, 6, 0));
+            handler.processRow(row(0, null, 4, 3, 1, 1, 1, 2, 1, 3));
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+    }
+
+    private ResultSet row(int isTotal, Integer departmentId, long total, long active, long inactive,
+            long admin, long manager, long employee, long office, long client) throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getInt("is_total")).thenReturn(isTotal);
+        lenient().when(rs.getObject("department_id", Integer.class)).thenReturn(departmentId);
+        when(rs.getLong("total_count")).thenReturn(total);
+        when(rs.getLong("active_count")).thenReturn(active);
+        when(rs.getLong("inactive_count")).thenReturn(inactive);
+        when(rs.getLong("admin_count")).thenReturn(admin);
+        when(rs.getLong("manager_count")).thenReturn(manager);
+        when(rs.getLong("employee_count")).thenReturn(employee);
+        when(rs.getLong("office_count")).thenReturn(office);
+        when(rs.getLong("client_count")).thenReturn(client);
+        return rs;
+    }
+
+    @Test
+    void testGetStatistics_ShouldBuildTotalAndDepartmentsFromSingleQuery() {
+        EmployeeStatisticsService.Statistics statistics = service.getStatistics();
+
+        assertEquals(10, statistics.total().total());
+        assertEquals(8, statistics.total().active());
+        assertEquals(3, statistics.total().client());
+        assertEquals(1, statistics.departments().size());
+        assertEquals(10, statistics.departments().get(0).departmentId());
+        assertEquals(6, statistics.departments().get(0).counts().total());
+        verify(jdbcTemplate, times(1)).query(anyString(), any(RowCallbackHandler.class));
+    }
+
+    @Test
+    void testGetStatistics_WithinTtl_ShouldNotQueryAgain() {
+        service.getStatistics();
+        now.addAndGet(TTL.toMillis() - 1);
+        service.getStatistics();
+
+        verify(jdbcTemplate, times(1)).query(anyString(), any(RowCallbackHandler.class));
+    }
+
+    @Test
+    void testGetStatistics_AfterTtl_ShouldQueryAgain() {
+        service.getStatistics();
+        now.addAndGet(TTL.toMillis());
+        service.getStatistics();
+
+        verify(jdbcTemplate, times(2)).query(anyString(), any(RowCallbackHandler.class));
+    }
+
+    @Test
+    void testInvalidate_WithoutTransaction_ShouldEvictImmediately() {
+        service.getStatistics();
+        service.invalidate();
+        service.getStatistics();
+
+        verify(jdbcTemplate, times(2)).query(anyString(), any(RowCallbackHandler.class));
+    }
+}
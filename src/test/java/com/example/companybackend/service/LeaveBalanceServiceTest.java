@@ -0,0 +1,250 @@
+package com.example.companybackend.service;
+
+import com.example.companybackend.entity.LeaveRequest;
+import com.example.companybackend.entity.User;
+import com.example.companybackend.repository.LeaveRequestRepository;
+import com.example.companybackend.repository.PaidLeaveBalanceRepository;
+import com.example.companybackend.repository.PaidLeaveBalanceRepository.BalanceDelta;
+import com.example.companybackend.repository.PaidLeaveBalanceRepository.PaidLeaveBalance;
+import com.example.companybackend.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * LeaveBalanceService テストクラス
+ * 年度ごとの日数分割・キャッシュ・残日数チェック・差分更新（台帳に行がない場合の初期化を含む）を検証する
+ */
+@ExtendWith(MockitoExtension.class)
+class LeaveBalanceServiceTest {
+
+    private static final Duration TTL = Duration.ofMinutes(5);
+
+    @Mock
+    private PaidLeaveBalanceRepository paidLeaveBalanceRepository;
+
+    @Mock
+    private LeaveRequestRepository leaveRequestRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicLong now;
+    private LeaveBalanceService service;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        now = new AtomicLong(1_000_000L);
+        service = new LeaveBalanceService(paidLeaveBalanceRepository, leaveRequestRepository, userRepository,
+                new PaidLeaveCalculationService(), meterRegistry, TTL, now::get);
+    }
+
+    @Test
+    void testDaysByFiscalYear_ShouldSplitAtApril() {
+        assertEquals(Map.of(2024, 2, 2025, 3),
+                LeaveBalanceService.daysByFiscalYear(LocalDate.of(2025, 3, 30), LocalDate.of(2025, 4, 3)));
+        assertEquals(Map.of(2025, 1),
+                LeaveBalanceService.daysByFiscalYear(LocalDate.of(2025, 8, 1), LocalDate.of(2025, 8, 1)));
+    }
+
+    @Test
+    void testGetBalance_ShouldServeFromCacheUntilTtl() {
+        when(paidLeaveBalanceRepository.findBalance(1, 2025)).thenReturn(Optional.of(balance(12, 4, 2)));
+
+        assertEquals(8, service.getBalance(1L, 2025).remainingDays());
+        assertEquals(6, service.getBalance(1L, 2025).availableDays());
+        verify(paidLeaveBalanceRepository, times(1)).findBalance(1, 2025);
+
+        now.addAndGet(TTL.toMillis());
+        service.getBalance(1L, 2025);
+
+        verify(paidLeaveBalanceRepository, times(2)).findBalance(1, 2025);
+        assertEquals(1.0, meterRegistry.counter("leave.balance.cache", "result", "hit").count());
+        assertEquals(2.0, meterRegistry.counter("leave.balance.cache", "result", "miss").count());
+    }
+
+    @Test
+    void testCheckAvailable_ShouldRejectWhenPendingAndUsedExceedGrant() {
+        when(paidLeaveBalanceRepository.findBalanceForUpdate(1, 2025)).thenReturn(Optional.of(balance(12, 4, 6)));
+
+        // 残り 12 - 4 - 6 = 2日
+        service.checkAvailable(1L, "paid", LocalDate.of(2025, 8, 1), LocalDate.of(2025, 8, 2), null);
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () ->
+                service.checkAvailable(1L, "paid", LocalDate.of(2025, 8, 1), LocalDate.of(2025, 8, 3), null));
+        assertTrue(exception.getMessage().contains("残り: 2日"));
+
+        // 更新時は変更前の承認待ち日数を戻して判定する
+        LeaveBalanceService.LeavePeriod before = new LeaveBalanceService.LeavePeriod(1, "paid", "pending",
+                LocalDate.of(2025, 9, 1), LocalDate.of(2025, 9, 3));
+        service.checkAvailable(1L, "paid", LocalDate.of(2025, 8, 1), LocalDate.of(2025, 8, 5), before);
+    }
+
+    @Test
+    void testCheckAvailable_ShouldIgnoreCachedBalance() {
+        when(paidLeaveBalanceRepository.findBalance(1, 2025)).thenReturn(Optional.of(balance(12, 4, 0)));
+        service.getBalance(1L, 2025);
+        // キャッシュ後に他の申請で承認待ちが増えた台帳の行
+        when(paidLeaveBalanceRepository.findBalanceForUpdate(1, 2025)).thenReturn(Optional.of(balance(12, 4, 7)));
+
+        assertThrows(IllegalStateException.class, () ->
+                service.checkAvailable(1L, "paid", LocalDate.of(2025, 8, 1), LocalDate.of(2025, 8, 2), null));
+    }
+
+    @Test
+    void testCheckAvailable_UserUnderOneYear_ShouldGrantTenDays() {
+        LocalDate today = LocalDate.now();
+        int fiscalYear = PaidLeaveAccrualService.fiscalYearOf(today);
+        LocalDate hireDate = today.minusMonths(7);
+        User user = new User();
+        user.setId(3L);
+        user.setHireDate(hireDate);
+        when(userRepository.findById(3L)).thenReturn(Optional.of(user));
+        when(paidLeaveBalanceRepository.findBalanceForUpdate(3, fiscalYear)).thenReturn(Optional.empty(),
+                Optional.of(new PaidLeaveBalance(3, hireDate, 0, 10, 0, 0, 10)));
+        when(paidLeaveBalanceRepository.initializeFromRequests(eq(3), eq(fiscalYear), any(), any(), eq(hireDate),
+                eq(0), eq(10), any())).thenReturn(1);
+
+        // 入社7か月（満年数は0年）でも6か月以上のため10日付与され、申請できる
+        service.checkAvailable(3L, "paid", today, today, null);
+
+        verify(paidLeaveBalanceRepository).initializeFromRequests(eq(3), eq(fiscalYear), any(), any(), eq(hireDate),
+                eq(0), eq(10), any());
+    }
+
+    @Test
+    void testCheckAvailable_ConcurrentRequests_ShouldNotOverdraw() throws Exception {
+        // 台帳の行（残り 12 - 9 = 3日）と行ロックを模擬する。ロックはコミットまで保持する
+        ReentrantLock rowLock = new ReentrantLock();
+        AtomicInteger pendingDays = new AtomicInteger();
+        when(paidLeaveBalanceRepository.findBalanceForUpdate(1, 2025)).thenAnswer(invocation -> {
+            rowLock.lock();
+            return Optional.of(balance(12, 9, pendingDays.get()));
+        });
+        when(paidLeaveBalanceRepository.applyDeltas(anyList())).thenAnswer(invocation -> {
+            List<BalanceDelta> deltas = invocation.getArgument(0);
+            deltas.forEach(delta -> pendingDays.addAndGet(delta.pendingDays()));
+            return new int[] { 1 };
+        });
+
+        // 2日ずつの申請を同時に2件（残り3日のため1件のみ受け付ける）
+        Callable<Boolean> createRequest = () -> {
+            try {
+                service.checkAvailable(1L, "paid", LocalDate.of(2025, 8, 1), LocalDate.of(2025, 8, 2), null);
+                service.onCreated(request(1, "paid", LocalDate.of(2025, 8, 1), LocalDate.of(2025, 8, 2)));
+                return true;
+            } catch (IllegalStateException e) {
+                return false;
+            } finally {
+                // コミット（行ロックの解放）
+                if (rowLock.isHeldByCurrentThread()) {
+                    rowLock.unlock();
+                }
+            }
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<Boolean>> results = executor.invokeAll(List.of(createRequest, createRequest));
+            int accepted = 0;
+            for (Future<Boolean> result : results) {
+                accepted += result.get() ? 1 : 0;
+            }
+            assertEquals(1, accepted);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(2, pendingDays.get());
+    }
+
+    @Test
+    void testCheckAvailable_NonPaidLeave_ShouldNotLookUpBalance() {
+        service.checkAvailable(1L, "sick", LocalDate.of(2025, 8, 1), LocalDate.of(2025, 8, 30), null);
+
+        verifyNoInteractions(paidLeaveBalanceRepository);
+    }
+
+    @Test
+    void testOnDecided_ShouldAggregateDeltasPerUserAndEvictCache() {
+        when(paidLeaveBalanceRepository.findBalance(1, 2025)).thenReturn(Optional.of(balance(12, 0, 5)));
+        service.getBalance(1L, 2025);
+        when(paidLeaveBalanceRepository.applyDeltas(anyList())).thenReturn(new int[] { 1 });
+
+        service.onDecided(List.of(
+                request(1, "paid", LocalDate.of(2025, 8, 1), LocalDate.of(2025, 8, 3)),
+                request(1, "paid", LocalDate.of(2025, 9, 1), LocalDate.of(2025, 9, 2)),
+                request(1, "sick", LocalDate.of(2025, 10, 1), LocalDate.of(2025, 10, 1))), true);
+
+        verify(paidLeaveBalanceRepository).applyDeltas(List.of(new BalanceDelta(1, 2025, 5, -5)));
+        service.getBalance(1L, 2025);
+        verify(paidLeaveBalanceRepository, times(2)).findBalance(1, 2025);
+    }
+
+    @Test
+    void testOnCreated_WithoutLedgerRow_ShouldInitializeFromRequests() {
+        User user = new User();
+        user.setId(2L);
+        user.setHireDate(LocalDate.of(2020, 4, 1));
+        when(paidLeaveBalanceRepository.applyDeltas(anyList())).thenReturn(new int[] { 0 });
+        when(userRepository.findById(2L)).thenReturn(Optional.of(user));
+        when(paidLeaveBalanceRepository.initializeFromRequests(eq(2), eq(2025), eq(LocalDate.of(2025, 4, 1)),
+                eq(LocalDate.of(2026, 3, 31)), eq(LocalDate.of(2020, 4, 1)), anyInt(), anyInt(), any()))
+                .thenReturn(1);
+
+        service.onCreated(request(2, "paid", LocalDate.of(2025, 8, 1), LocalDate.of(2025, 8, 2)));
+
+        // 集計に登録した申請が含まれるため、差分は加えない
+        verify(leaveRequestRepository).flush();
+        verify(paidLeaveBalanceRepository, times(1)).applyDeltas(anyList());
+    }
+
+    @Test
+    void testOnCreated_ConcurrentlyInitialized_ShouldRetryDelta() {
+        User user = new User();
+        user.setId(2L);
+        user.setHireDate(LocalDate.of(2020, 4, 1));
+        List<BalanceDelta> expected = List.of(new BalanceDelta(2, 2025, 0, 2));
+        when(paidLeaveBalanceRepository.applyDeltas(expected)).thenReturn(new int[] { 0 }, new int[] { 1 });
+        when(userRepository.findById(2L)).thenReturn(Optional.of(user));
+        when(paidLeaveBalanceRepository.initializeFromRequests(anyInt(), anyInt(), any(), any(), any(), anyInt(),
+                anyInt(), any())).thenReturn(0);
+
+        service.onCreated(request(2, "paid", LocalDate.of(2025, 8, 1), LocalDate.of(2025, 8, 2)));
+
+        verify(paidLeaveBalanceRepository, times(2)).applyDeltas(expected);
+    }
+
+    private static PaidLeaveBalance balance(int granted, int used, int pending) {
+        return new PaidLeaveBalance(1, LocalDate.of(2022, 4, 1), 3, granted, used, pending, granted - used);
+    }
+
+    private static LeaveRequest request(int userId, String type, LocalDate startDate, LocalDate endDate) {
+        LeaveRequest leaveRequest = new LeaveRequest();
+        leaveRequest.setUserId(userId);
+        leaveRequest.setType(type);
+        leaveRequest.setStatus("pending");
+        leaveRequest.setStartDate(startDate);
+        leaveRequest.setEndDate(endDate);
+        return leaveRequest;
+    }
+}
@@ -10,7 +10,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 
+import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.util.*;
@@ -29,6 +31,7 @@ import static org.mockito.Mockito.*;
  *   - LeaveRequestRepository（休暇申請リポジトリ）
  *   - UserRepository（ユーザーリポジトリ）
  *   - NotificationService（通知サービス）
+ *   - LeaveBalanceService（有給休暇残高サービス）
  * 
  * テスト規約とテクニック：
  * 1. @ExtendWith(MockitoExtension.class)を使用してモック機能を有効化
@@ -69,6 +72,13 @@ public class LeaveServiceTest {
     @Mock
     private NotificationService notificationService;
 
+    /**
+     * LeaveBalanceServiceのモックオブジェクト
+     * 有給休暇残高の残日数チェック・差分更新をモック化
+     */
+    @Mock
+    private LeaveBalanceService leaveBalanceService;
+
     /**
      * テストデータ
      */
@@ -123,9 +133,7 @@ public class LeaveServiceTest {
         String reason = "旅行のため";
 
         when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
-        when(leaveRequestRepository.findOverlappingRequests(anyInt(), any(), any(), isNull()))
-                .thenReturn(Collections.emptyList());
-        when(leaveRequestRepository.save(any(LeaveRequest.class))).thenAnswer(invocation -> {
+        when(leaveRequestRepository.saveAndFlush(any(LeaveRequest.class))).thenAnswer(invocation -> {
             LeaveRequest request = invocation.getArgument(0);
             request.setId(1L);
             return request;
@@ -146,10 +154,44 @@ public class LeaveServiceTest {
         assertNotNull(result.getUpdatedAt());
 
         verify(userRepository, times(1)).findById(userId);
-        verify(leaveRequestRepository, times(1))
-                .findOverlappingRequests(userId.intValue(), startDate, endDate, null);
-        verify(leaveRequestRepository, times(1)).save(any(LeaveRequest.class));
+        verify(leaveRequestRepository, times(1)).saveAndFlush(any(LeaveRequest.class));
         verify(notificationService, times(1)).sendLeaveRequestNotification(any(LeaveRequest.class), any(User.class));
+        verify(leaveBalanceService).checkAvailable(userId, type, startDate, endDate, null);
+        verify(leaveBalanceService).onCreated(result);
+    }
+
+    /**
+     * テストケース：休暇申請作成時の有給休暇残日数不足
+     * 
+     * テスト対象メソッド：
+     * - LeaveService.createLeaveRequest()
+     * 
+     * テストシナリオ：
+     * - 有給休暇残高サービスが残日数不足と判定する
+     * 
+     * 期待結果：
+     * - IllegalStateExceptionがスローされ、申請は保存されない
+     */
+    @Test
+    void testCreateLeaveRequest_InsufficientBalance() {
+        // Given
+        Long userId = 1L;
+        LocalDate startDate = LocalDate.now().plusDays(1);
+        LocalDate endDate = LocalDate.now().plusDays(3);
+
+        when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
+        doThrow(new IllegalStateException("有給休暇の残日数が不足しています（2025年度の残り: 1日）"))
+                .when(leaveBalanceService).checkAvailable(userId, "paid", startDate, endDate, null);
+
+        // When & Then
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> {
+            leaveService.createLeaveRequest(userId, "paid", startDate, endDate, "旅行のため");
+        });
+
+        assertTrue(exception.getMessage().contains("残日数が不足しています"));
+        verify(leaveRequestRepository, never()).saveAndFlush(any(LeaveRequest.class));
+        verify(leaveBalanceService, never()).onCreated(any());
+        verify(notificationService, never()).sendLeaveRequestNotification(any(LeaveRequest.class), any(User.class));
     }
 
     /**
@@ -196,7 +238,7 @@ public class LeaveServiceTest {
      * 
      * テストシナリオ：
      * - 既存の申請と重複する期間で休暇申請を作成
-     * - 重複チェックで既存の申請が見つかる
+     * - 排他制約 leave_requests_no_overlap 違反で登録が失敗する
      * 
      * 期待結果：
      * - IllegalStateExceptionがスローされる
@@ -210,12 +252,11 @@ public class LeaveServiceTest {
         LocalDate endDate = LocalDate.now().plusDays(3);
         String reason = "旅行のため";
 
-        List<LeaveRequest> overlappingRequests = new ArrayList<>();
-        overlappingRequests.add(new LeaveRequest());
-
         when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
-        when(leaveRequestRepository.findOverlappingRequests(anyInt(), any(), any(), isNull()))
-                .thenReturn(overlappingRequests);
+        when(leaveRequestRepository.saveAndFlush(any(LeaveRequest.class)))
+                .thenThrow(new DataIntegrityViolationException("could not execute statement",
+                        new SQLException("ERROR: conflicting key value violates exclusion constraint "
+                                + "\"leave_requests_no_overlap\"", "23P01")));
 
         // When & Then
         IllegalStateException exception = assertThrows(IllegalStateException.class, () -> {
@@ -224,9 +265,7 @@ public class LeaveServiceTest {
 
         assertEquals("指定期間に既存の申請があります", exception.getMessage());
         verify(userRepository, times(1)).findById(userId);
-        verify(leaveRequestRepository, times(1))
-                .findOverlappingRequests(userId.intValue(), startDate, endDate, null);
-        verify(leaveRequestRepository, never()).save(any(LeaveRequest.class));
+        verify(leaveRequestRepository, never()).findOverlappingRequests(anyInt(), any(), any(), any());
         verify(notificationService, never()).sendLeaveRequestNotification(any(LeaveRequest.class), any(User.class));
     }
 
@@ -298,9 +337,7 @@ public class LeaveServiceTest {
         existingRequest.setReason("旅行のため");
 
         when(leaveRequestRepository.findById(requestId)).thenReturn(Optional.of(existingRequest));
-        when(leaveRequestRepository.findOverlappingRequests(anyInt(), any(), any(), anyInt()))
-                .thenReturn(Collections.emptyList());
-        when(leaveRequestRepository.save(any(LeaveRequest.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(leaveRequestRepository.saveAndFlush(any(LeaveRequest.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // When
         LeaveRequest result = leaveService.updateLeaveRequest(requestId, type, startDate, endDate, reason);
@@ -313,9 +350,7 @@ public class LeaveServiceTest {
         assertEquals(reason, result.getReason());
 
         verify(leaveRequestRepository, times(1)).findById(requestId);
-        verify(leaveRequestRepository, times(1))
-                .findOverlappingRequests(existingRequest.getUserId(), startDate, endDate, requestId.intValue());
-        verify(leaveRequestRepository, times(1)).save(existingRequest);
+        verify(leaveRequestRepository, times(1)).saveAndFlush(existingRequest);
     }
 
     /**
@@ -839,4 +874,93 @@ public class LeaveServiceTest {
         assertFalse(result.isPresent());
         verify(leaveRequestRepository, times(1)).findById(requestId);
     }
-}
\ No newline at end of file
+
+    /**
+     * テストケース：休暇申請一括承認（一部スキップ）
+     * 
+     * テスト対象メソッド：
+     * - LeaveService.decideLeaveRequests()
+     * 
+     * テストシナリオ：
+     * - 承認待ち2件・承認済み1件・存在しない1件を一括承認
+     * - 申請は findAllById で1回だけ読み込む
+     * 
+     * 期待結果：
+     * - 承認待ちの2件のみ1文で更新され、通知が一括送信される
+     * - 承認済み・存在しない申請は結果に含まれる
+     * - 個別の save は呼ばれない
+     */
+    @Test
+    void testDecideLeaveRequests_Approve_ShouldUpdatePendingInOneStatement() {
+        // Given
+        LeaveRequest second = new LeaveRequest();
+        second.setId(2L);
+        second.setUserId(2);
+        second.setType("sick");
+        second.setStatus("pending");
+        LeaveRequest approved = new LeaveRequest();
+        approved.setId(3L);
+        approved.setUserId(1);
+        approved.setStatus("approved");
+
+        when(userRepository.findById(10L)).thenReturn(Optional.of(testUser));
+        when(leaveRequestRepository.findAllById(any()))
+                .thenReturn(List.of(testLeaveRequest, second, approved));
+        when(leaveRequestRepository.decidePendingByIds(any(Long[].class), eq("approved"), eq(10), any()))
+                .thenReturn(2);
+
+        // When
+        BulkDecisionResult result = leaveService.decideLeaveRequests(List.of(1L, 2L, 3L, 99L, 1L), 10L, true);
+
+        // Then
+        assertEquals("approved", result.status());
+        assertEquals(List.of(1L, 2L), result.processedIds());
+        assertEquals(List.of(99L), result.notFoundIds());
+        assertEquals(List.of(3L), result.alreadyProcessedIds());
+        assertEquals("approved", testLeaveRequest.getStatus());
+        assertEquals(10, second.getApproverId());
+        verify(leaveRequestRepository).decidePendingByIds(eq(new Long[] { 1L, 2L }), eq("approved"), eq(10), any());
+        verify(notificationService).sendLeaveDecisionNotifications(List.of(testLeaveRequest, second), true);
+        verify(leaveBalanceService).onDecided(List.of(testLeaveRequest, second), true);
+        verify(leaveRequestRepository, never()).save(any());
+    }
+
+    /**
+     * テストケース：休暇申請一括却下（他の承認者と競合）
+     * 
+     * テスト対象メソッド：
+     * - LeaveService.decideLeaveRequests()
+     * 
+     * テストシナリオ：
+     * - 読み込み後に他の承認者が処理し、更新件数が承認待ち件数と一致しない
+     * 
+     * 期待結果：
+     * - IllegalStateExceptionがスローされ、通知は送信されない
+     */
+    @Test
+    void testDecideLeaveRequests_ConcurrentlyProcessed_ShouldThrow() {
+        // Given
+        when(userRepository.findById(10L)).thenReturn(Optional.of(testUser));
+        when(leaveRequestRepository.findAllById(any())).thenReturn(List.of(testLeaveRequest));
+        when(leaveRequestRepository.decidePendingByIds(any(Long[].class), eq("rejected"), eq(10), any()))
+                .thenReturn(0);
+
+        // When & Then
+        assertThrows(IllegalStateException.class,
+                () -> leaveService.decideLeaveRequests(List.of(1L), 10L, false));
+        verify(notificationService, never()).sendLeaveDecisionNotifications(any(), anyBoolean());
+    }
+
+    /**
+     * テストケース：休暇申請一括承認（申請ID未指定）
+     * 
+     * 期待結果：
+     * - IllegalArgumentExceptionがスローされ、リポジトリは呼ばれない
+     */
+    @Test
+    void testDecideLeaveRequests_EmptyIds_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class,
+                () -> leaveService.decideLeaveRequests(List.of(), 10L, true));
+        verifyNoInteractions(leaveRequestRepository);
+    }
+}
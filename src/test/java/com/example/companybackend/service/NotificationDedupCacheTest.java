@@ -0,0 +1,112 @@
+package com.example.companybackend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * NotificationDedupCache テストクラス
+ * 時刻を差し替えて TTL・件数上限・メトリクスを検証する
+ */
+class NotificationDedupCacheTest {
+
+    private static final Duration WINDOW = Duration.ofMinutes(5);
+
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicLong now;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        now = new AtomicLong(1_000_000L);
+    }
+
+    private NotificationDedupCache cache(int maxEntries) {
+        return new NotificationDedupCache(meterRegistry, maxEntries, WINDOW, false, now::get);
+    }
+
+    @Test
+    void testIsRecent_WithinWindow_ShouldHit() {
+        NotificationDedupCache cache = cache(100);
+        cache.record(1, "休暇申請を提出しました");
+
+        now.addAndGet(Duration.ofMinutes(4).toMillis());
+
+        assertTrue(cache.isRecent(1, "休暇申請を提出しました", WINDOW));
+        assertFalse(cache.isRecent(2, "休暇申請を提出しました", WINDOW));
+        assertEquals(1.0, meterRegistry.counter("notification.dedup.cache", "result", "hit").count());
+        assertEquals(1.0, meterRegistry.counter("notification.dedup.cache", "result", "miss").count());
+    }
+
+    @Test
+    void testIsRecent_AfterTtl_ShouldExpireEntry() {
+        NotificationDedupCache cache = cache(100);
+        cache.record(1, "title");
+
+        now.addAndGet(WINDOW.toMillis());
+
+        assertFalse(cache.isRecent(1, "title", WINDOW));
+        assertEquals(0, cache.size());
+        assertEquals(1.0, meterRegistry.counter("notification.dedup.cache.removals", "cause", "expired").count());
+    }
+
+    @Test
+    void testRecord_OverMaxEntries_ShouldEvictOldest() {
+        NotificationDedupCache cache = cache(2);
+        cache.record(1, "a");
+        cache.record(1, "b");
+        cache.record(1, "c");
+
+        assertEquals(2, cache.size());
+        assertFalse(cache.isRecent(1, "a", WINDOW));
+        assertTrue(cache.isRecent(1, "c", WINDOW));
+        assertEquals(1.0, meterRegistry.counter("notification.dedup.cache.removals", "cause", "size").count());
+    }
+
+    @Test
+    void testIsAuthoritativeFor_ShouldRequireWarmUpAndWindowWithinTtl() {
+        NotificationDedupCache cache = cache(100);
+
+        assertFalse(cache.isAuthoritativeFor(WINDOW));
+
+        now.addAndGet(WINDOW.toMillis());
+
+        assertTrue(cache.isAuthoritativeFor(WINDOW));
+        assertFalse(cache.isAuthoritativeFor(WINDOW.plusMinutes(1)));
+    }
+
+    @Test
+    void testIsAuthoritativeFor_AfterSizeEviction_ShouldFallBackToDatabaseWithinWindow() {
+        NotificationDedupCache cache = cache(2);
+        now.addAndGet(WINDOW.toMillis());
+        assertTrue(cache.isAuthoritativeFor(WINDOW));
+
+        // 件数上限を超えて "a" が窓内に破棄される
+        cache.record(1, "a");
+        cache.record(1, "b");
+        cache.record(1, "c");
+
+        // 破棄された "a" はキャッシュ未ヒットだが、窓内の破棄があるためDB確認が必要
+        assertFalse(cache.isRecent(1, "a", WINDOW));
+        assertFalse(cache.isAuthoritativeFor(WINDOW));
+
+        now.addAndGet(WINDOW.toMillis() - 1);
+        assertFalse(cache.isAuthoritativeFor(WINDOW));
+
+        // 最後の破棄から窓が経過すればキャッシュのみで判定できる
+        now.incrementAndGet();
+        assertTrue(cache.isAuthoritativeFor(WINDOW));
+    }
+
+    @Test
+    void testKeyOf_ShouldDistinguishUserAndTitle() {
+        assertNotEquals(NotificationDedupCache.keyOf(1, "通知"), NotificationDedupCache.keyOf(2, "通知"));
+        assertNotEquals(NotificationDedupCache.keyOf(1, "通知A"), NotificationDedupCache.keyOf(1, "通知B"));
+        assertEquals(NotificationDedupCache.keyOf(1, "通知"), NotificationDedupCache.keyOf(1, "通知"));
+    }
+}
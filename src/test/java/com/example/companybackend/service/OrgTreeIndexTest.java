@@ -0,0 +1,208 @@
+package com.example.companybackend.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * OrgTreeIndex テストクラス
+ * 配下判定・深さ・上長チェーン・部署長による補完・循環の切断・差分更新を検証する
+ *
+ * 組織:
+ * 1（部署10の部署長）
+ * └ 2（部署20の部署長）
+ *   ├ 3
+ *   │ └ 5（無効）
+ *   └ 4（上長未設定 → 部署20の部署長）
+ * 6 ⇄ 7（上長が循環）
+ */
+class OrgTreeIndexTest {
+
+    private static final Duration MAX_AGE = Duration.ofMinutes(10);
+
+    private JdbcTemplate jdbcTemplate;
+    private AtomicLong now;
+    private OrgTreeIndex index;
+
+    private List<Map<String, Object>> users;
+    private List<Map<String, Object>> departments;
+    private List<Map<String, Object>> changedUsers;
+    private Map<String, Object> changedDepartment;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        now = new AtomicLong(1_000_000L);
+        index = new OrgTreeIndex(jdbcTemplate, MAX_AGE, now::get);
+
+        users = new ArrayList<>(List.of(
+                user(1L, null, 10, true),
+                user(2L, 1L, 20, true),
+                user(3L, 2L, 20, true),
+                user(4L, null, 20, true),
+                user(5L, 3L, 20, false),
+                user(6L, 7L, null, true),
+                user(7L, 6L, null, true)));
+        departments = new ArrayList<>(List.of(department(10, 1L), department(20, 2L)));
+        changedUsers = new ArrayList<>();
+
+        doAnswer(invocation -> {
+            String sql = invocation.getArgument(0);
+            feed(invocation.getArgument(1), sql.contains("FROM users") ? users : departments);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+        doAnswer(invocation -> {
+            feed(invocation.getArgument(1), changedUsers);
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+        doAnswer(invocation -> {
+            feed(invocation.getArgument(1), changedDepartment != null ? List.of(changedDepartment) : List.of());
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), eq(20));
+    }
+
+    private Map<String, Object> user(Long id, Long managerId, Integer departmentId, boolean active) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", id);
+        row.put("manager_id", managerId);
+        row.put("department_id", departmentId);
+        row.put("is_active", active);
+        return row;
+    }
+
+    private Map<String, Object> department(Integer id, Long managerId) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", id);
+        row.put("manager_id", managerId);
+        return row;
+    }
+
+    private void feed(RowCallbackHandler handler, List<Map<String, Object>> rows) throws SQLException {
+        for (Map<String, Object> row : rows) {
+            handler.processRow(resultSet(row));
+        }
+    }
+
+    private ResultSet resultSet(Map<String, Object> values) throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        boolean[] lastNull = { false };
+        when(rs.getLong(anyString())).thenAnswer(invocation -> {
+            Object value = values.get(invocation.<String>getArgument(0));
+            lastNull[0] = value == null;
+            return value != null ? ((Number) value).longValue() : 0L;
+        });
+        when(rs.getInt(anyString())).thenAnswer(invocation -> {
+            Object value = values.get(invocation.<String>getArgument(0));
+            lastNull[0] = value == null;
+            return value != null ? ((Number) value).intValue() : 0;
+        });
+        when(rs.wasNull()).thenAnswer(invocation -> lastNull[0]);
+        when(rs.getObject(anyString(), any(Class.class)))
+                .thenAnswer(invocation -> values.get(invocation.<String>getArgument(0)));
+        return rs;
+    }
+
+    @Test
+    void testIsSubordinate_ShouldCoverDirectAndIndirectReports() {
+        assertTrue(index.isSubordinate(5L, 1L));
+        assertTrue(index.isSubordinate(5L, 2L));
+        assertTrue(index.isSubordinate(4L, 2L));
+        assertFalse(index.isSubordinate(4L, 3L));
+        assertFalse(index.isSubordinate(2L, 5L));
+        assertFalse(index.isSubordinate(1L, 1L));
+        assertFalse(index.isSubordinate(99L, 1L));
+    }
+
+    @Test
+    void testDepthAndChainOfCommand() {
+        assertEquals(0, index.depth(1L));
+        assertEquals(3, index.depth(5L));
+        assertEquals(-1, index.depth(99L));
+        assertEquals(List.of(3L, 2L, 1L), index.chainOfCommand(5L));
+        assertEquals(List.of(), index.chainOfCommand(1L));
+    }
+
+    @Test
+    void testManagerOf_WithoutManagerId_ShouldFallBackToDepartmentManager() {
+        assertEquals(2L, index.managerOf(4L));
+        // 部署長本人は自部署の部署長を上長としない
+        assertNull(index.managerOf(1L));
+    }
+
+    @Test
+    void testSubordinates_ShouldReturnSubtreeInTreeOrder() {
+        assertEquals(List.of(3L, 5L, 4L), index.subordinates(2L, false));
+        assertEquals(List.of(3L, 4L), index.subordinates(2L, true));
+        assertEquals(3, index.subordinateCount(2L));
+        assertEquals(List.of(), index.subordinates(5L, false));
+    }
+
+    @Test
+    void testCycle_ShouldBeCutAtLowestId() {
+        assertEquals(0, index.depth(6L));
+        assertEquals(List.of(6L), index.chainOfCommand(7L));
+        assertTrue(index.isSubordinate(7L, 6L));
+        assertFalse(index.isSubordinate(6L, 7L));
+    }
+
+    @Test
+    void testRefreshUsers_ShouldApplyOnlyChangedRows() {
+        index.depth(1L);
+        changedUsers.add(user(4L, 3L, 20, true));
+
+        index.refreshUsers(List.of(4L));
+
+        assertEquals(List.of(3L, 2L, 1L), index.chainOfCommand(4L));
+        assertEquals(List.of(4L, 5L), index.subordinates(3L, false));
+        // 全件読み込み（ユーザー・部署）は初回の2回のみ
+        verify(jdbcTemplate, times(2)).query(anyString(), any(RowCallbackHandler.class));
+        verify(jdbcTemplate, times(1)).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+
+    @Test
+    void testRefreshUsers_DeletedUser_ShouldBeRemoved() {
+        index.depth(1L);
+
+        index.refreshUsers(List.of(5L));
+
+        assertEquals(-1, index.depth(5L));
+        assertEquals(List.of(3L, 4L), index.subordinates(2L, false));
+    }
+
+    @Test
+    void testRefreshDepartment_ShouldReassignUsersWithoutManagerId() {
+        index.depth(1L);
+        changedDepartment = department(20, 3L);
+
+        index.refreshDepartment(20);
+
+        assertEquals(3L, index.managerOf(4L));
+        // users.manager_id が設定されたユーザーは影響を受けない
+        assertEquals(1L, index.managerOf(2L));
+    }
+
+    @Test
+    void testMaxAge_ShouldReloadAll() {
+        index.depth(1L);
+        now.addAndGet(MAX_AGE.toMillis());
+
+        index.depth(1L);
+
+        verify(jdbcTemplate, times(4)).query(anyString(), any(RowCallbackHandler.class));
+    }
+}
@@ -0,0 +1,225 @@
+package com.example.companybackend.service;
+
+import com.example.companybackend.entity.AttendanceSummary;
+import com.example.companybackend.entity.Holiday;
+import com.example.companybackend.entity.Notification;
+import com.example.companybackend.repository.HolidayRepository;
+import com.example.companybackend.repository.OvertimeMonitorRepository;
+import com.example.companybackend.repository.OvertimeMonitorRepository.Assessment;
+import com.example.companybackend.repository.OvertimeMonitorRepository.MonthlyTotal;
+import com.example.companybackend.repository.OvertimeMonitorRepository.Threshold;
+import com.example.companybackend.repository.OvertimeMonitorRepository.UserMonth;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * OvertimeMonitorService テストクラス
+ * 営業日による月末見込み・警告レベルの判定（下げない）・上限の適用・通知・再集計の分割を検証する
+ */
+@ExtendWith(MockitoExtension.class)
+class OvertimeMonitorServiceTest {
+
+    @InjectMocks
+    private OvertimeMonitorService service;
+
+    @Mock
+    private OvertimeMonitorRepository overtimeMonitorRepository;
+
+    @Mock
+    private HolidayRepository holidayRepository;
+
+    @Mock
+    private NotificationService notificationService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private static final LocalDate AUGUST = LocalDate.of(2025, 8, 1);
+    /** 2025-08-11（月）山の日 */
+    private static final Set<LocalDate> AUGUST_HOLIDAYS = Set.of(LocalDate.of(2025, 8, 11));
+    private static final OffsetDateTime NOW = OffsetDateTime.parse("2025-08-15T20:00:00+09:00");
+
+    @Test
+    void testProjectedHours_ShouldScaleByBusinessDays() {
+        // 8月の営業日は20日（平日21日 - 山の日）、8/15時点で10日経過
+        assertEquals(20, OvertimeMonitorService.businessDays(AUGUST, LocalDate.of(2025, 8, 31), AUGUST_HOLIDAYS));
+        assertEquals(new BigDecimal("40.00"), OvertimeMonitorService.projectedHours(
+                new BigDecimal("20.00"), LocalDate.of(2025, 8, 15), AUGUST_HOLIDAYS));
+        // 営業日がまだない場合（月初の土日のみ）は累計のまま
+        assertEquals(new BigDecimal("3.00"), OvertimeMonitorService.projectedHours(
+                new BigDecimal("3"), LocalDate.of(2025, 11, 2), Set.of(LocalDate.of(2025, 11, 3))));
+    }
+
+    @Test
+    void testAssess_ProjectedOverLimit_ShouldRaiseWarning() {
+        Assessment assessment = OvertimeMonitorService.assess(
+                total("25.00", "0", "0", LocalDate.of(2025, 8, 15), "none", null), AUGUST_HOLIDAYS, NOW);
+
+        assertEquals(new BigDecimal("50.00"), assessment.projectedOvertime());
+        assertEquals("warning", assessment.alertLevel());
+        assertEquals("draft", assessment.status());
+        assertEquals(NOW, assessment.alertedAt());
+    }
+
+    @Test
+    void testAssess_ShouldNotRepeatOrLowerNotifiedLevel() {
+        Assessment repeated = OvertimeMonitorService.assess(
+                total("25.00", "0", "0", LocalDate.of(2025, 8, 15), "warning", null), AUGUST_HOLIDAYS, NOW);
+        assertEquals("warning", repeated.alertLevel());
+        assertNull(repeated.alertedAt());
+
+        // 修正で実績が減っても通知済みのレベルは下げない
+        Assessment corrected = OvertimeMonitorService.assess(
+                total("5.00", "0", "0", LocalDate.of(2025, 8, 29), "exceeded", null), AUGUST_HOLIDAYS, NOW);
+        assertEquals("exceeded", corrected.alertLevel());
+        assertEquals("draft", corrected.status());
+        assertNull(corrected.alertedAt());
+    }
+
+    @Test
+    void testAssess_ShouldApplyDepartmentThreshold() {
+        Threshold strict = new Threshold(new BigDecimal("30.00"), new BigDecimal("10.00"), new BigDecimal("8.00"));
+
+        Assessment byDefault = OvertimeMonitorService.assess(
+                total("31.00", "0", "0", LocalDate.of(2025, 8, 29), "none", null), AUGUST_HOLIDAYS, NOW);
+        Assessment byDepartment = OvertimeMonitorService.assess(
+                total("31.00", "0", "0", LocalDate.of(2025, 8, 29), "none", strict), AUGUST_HOLIDAYS, NOW);
+
+        assertEquals("draft", byDefault.status());
+        assertEquals("exceeded", byDepartment.alertLevel());
+        assertEquals("confirmed", byDepartment.status());
+    }
+
+    @Test
+    void testAssess_NoHours_ShouldBeApproved() {
+        Assessment assessment = OvertimeMonitorService.assess(
+                total("0", "0", "0", null, "none", null), AUGUST_HOLIDAYS, NOW);
+
+        assertEquals("approved", assessment.status());
+        assertEquals("none", assessment.alertLevel());
+        assertNull(assessment.alertedAt());
+    }
+
+    @Test
+    void testOnDailySummariesSaved_ShouldRefreshDistinctUserMonthsAndNotifyUserAndManager() {
+        when(overtimeMonitorRepository.refreshTotals(eq(List.of(new UserMonth(1, AUGUST))), any()))
+                .thenReturn(List.of(total("46.00", "0", "0", LocalDate.of(2025, 8, 20), "warning", null)));
+        when(holidayRepository.findByDateRange(AUGUST, LocalDate.of(2025, 8, 31)))
+                .thenReturn(List.of(holiday(LocalDate.of(2025, 8, 11))));
+
+        service.onDailySummariesSaved(List.of(
+                summary(1, LocalDate.of(2025, 8, 19), "daily"),
+                summary(1, LocalDate.of(2025, 8, 20), "daily"),
+                summary(1, AUGUST, "monthly")));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Assessment>> assessments = ArgumentCaptor.forClass(List.class);
+        verify(overtimeMonitorRepository).updateAssessments(assessments.capture());
+        assertEquals("exceeded", assessments.getValue().get(0).alertLevel());
+        assertEquals("confirmed", assessments.getValue().get(0).status());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Notification>> notifications = ArgumentCaptor.forClass(List.class);
+        verify(notificationService).createNotifications(notifications.capture());
+        assertEquals(List.of(1, 9), notifications.getValue().stream().map(Notification::getUserId).toList());
+        assertTrue(notifications.getValue().get(1).getMessage().startsWith("山田太郎さん"));
+    }
+
+    @Test
+    void testOnDailySummariesSaved_NotificationFails_ShouldKeepTotalsAndNotifyAfterCommit() {
+        when(overtimeMonitorRepository.refreshTotals(eq(List.of(new UserMonth(1, AUGUST))), any()))
+                .thenReturn(List.of(total("46.00", "0", "0", LocalDate.of(2025, 8, 20), "warning", null)));
+        when(holidayRepository.findByDateRange(AUGUST, LocalDate.of(2025, 8, 31))).thenReturn(List.of());
+        when(notificationService.createNotifications(anyList())).thenThrow(new RuntimeException("通知登録エラー"));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.onDailySummariesSaved(List.of(summary(1, LocalDate.of(2025, 8, 20), "daily")));
+
+            // コミット前は累計の更新のみ行い、通知は登録しない
+            verify(overtimeMonitorRepository).updateAssessments(anyList());
+            verifyNoInteractions(notificationService);
+
+            // コミット後に別トランザクションで通知し、失敗しても例外を伝播しない
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            assertEquals(1, synchronizations.size());
+            assertDoesNotThrow(() -> synchronizations.forEach(TransactionSynchronization::afterCommit));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(notificationService).createNotifications(anyList());
+        verify(transactionManager).getTransaction(argThat(definition ->
+                definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    void testOnDailySummariesSaved_WithoutDailySummaries_ShouldDoNothing() {
+        service.onDailySummariesSaved(List.of(summary(1, AUGUST, "monthly"), summary(null, AUGUST, "daily")));
+
+        verifyNoInteractions(overtimeMonitorRepository, notificationService);
+    }
+
+    @Test
+    void testReconcile_ShouldRefreshInChunksAndCountStatuses() {
+        List<Integer> userIds = java.util.stream.IntStream
+                .rangeClosed(1, OvertimeMonitorService.WRITE_CHUNK_SIZE + 1).boxed().toList();
+        when(overtimeMonitorRepository.findMonthUserIds(AUGUST)).thenReturn(userIds);
+        when(overtimeMonitorRepository.refreshTotals(anyList(), any())).thenAnswer(invocation -> {
+            List<UserMonth> keys = invocation.getArgument(0);
+            return keys.stream().map(key -> new MonthlyTotal((long) key.userId(), key.userId(), AUGUST,
+                    key.userId() == 1 ? new BigDecimal("50.00") : BigDecimal.ZERO, BigDecimal.ZERO,
+                    BigDecimal.ZERO, 1, LocalDate.of(2025, 8, 1), BigDecimal.ZERO, "approved", "none",
+                    "ユーザー" + key.userId(), null, null)).toList();
+        });
+
+        OvertimeMonitorService.ReconcileResult result = service.reconcile(YearMonth.of(2025, 8));
+
+        verify(overtimeMonitorRepository, times(2)).refreshTotals(anyList(), any());
+        assertEquals(userIds.size(), result.userCount());
+        assertEquals(1, result.alertCount());
+        assertEquals(1, result.confirmedCount());
+        assertEquals(userIds.size() - 1, result.approvedCount());
+    }
+
+    private static MonthlyTotal total(String overtime, String lateNight, String holiday, LocalDate lastSummaryDate,
+            String alertLevel, Threshold threshold) {
+        return new MonthlyTotal(10L, 1, AUGUST, new BigDecimal(overtime), new BigDecimal(lateNight),
+                new BigDecimal(holiday), lastSummaryDate != null ? 10 : 0, lastSummaryDate, BigDecimal.ZERO,
+                "draft", alertLevel, "山田太郎", 9, threshold);
+    }
+
+    private static AttendanceSummary summary(Integer userId, LocalDate targetDate, String summaryType) {
+        AttendanceSummary summary = new AttendanceSummary();
+        summary.setUserId(userId);
+        summary.setTargetDate(targetDate);
+        summary.setSummaryType(summaryType);
+        return summary;
+    }
+
+    private static Holiday holiday(LocalDate date) {
+        Holiday holiday = new Holiday();
+        holiday.setDate(date);
+        return holiday;
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.companybackend.service;
+
+import com.example.companybackend.repository.PaidLeaveBalanceRepository;
+import com.example.companybackend.repository.PaidLeaveBalanceRepository.AccrualSource;
+import com.example.companybackend.repository.PaidLeaveBalanceRepository.PaidLeaveBalance;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * PaidLeaveAccrualService テストクラス
+ * 年度の期間・付与日数と残日数の計算・一括更新の分割・集計前のロック・ドライランを検証する
+ */
+@ExtendWith(MockitoExtension.class)
+class PaidLeaveAccrualServiceTest {
+
+    @InjectMocks
+    private PaidLeaveAccrualService service;
+
+    @Mock
+    private PaidLeaveBalanceRepository paidLeaveBalanceRepository;
+
+    @Spy
+    private PaidLeaveCalculationService paidLeaveCalculationService;
+
+    @Mock
+    private LeaveBalanceService leaveBalanceService;
+
+    private static final LocalDate FY2025_START = LocalDate.of(2025, 4, 1);
+    private static final LocalDate FY2025_END = LocalDate.of(2026, 3, 31);
+
+    @Test
+    void testFiscalYearOf_ShouldStartInApril() {
+        assertEquals(2024, PaidLeaveAccrualService.fiscalYearOf(LocalDate.of(2025, 3, 31)));
+        assertEquals(2025, PaidLeaveAccrualService.fiscalYearOf(LocalDate.of(2025, 4, 1)));
+    }
+
+    @Test
+    void testAccrue_ShouldUseHireDateAndSubtractUsedDays() {
+        when(paidLeaveBalanceRepository.findAccrualSources(FY2025_START, FY2025_END)).thenReturn(List.of(
+                new AccrualSource(1, LocalDate.of(2022, 4, 1), 4, 2), // 3年 → 12日
+                new AccrualSource(2, LocalDate.of(2025, 1, 10), 0, 0), // 1年未満 → 0日
+                new AccrualSource(3, LocalDate.of(2015, 10, 1), 16, 0))); // 9年 → 15日（超過取得）
+        when(paidLeaveBalanceRepository.lockBalances(2025)).thenReturn(Set.of(1, 3));
+        when(paidLeaveBalanceRepository.upsertAll(eq(2025), anyList(), eq(Set.of(1, 3)), any())).thenReturn(3);
+
+        PaidLeaveAccrualService.AccrualResult result = service.accrue(2025, FY2025_START, false);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<PaidLeaveBalance>> captor = ArgumentCaptor.forClass(List.class);
+        verify(paidLeaveBalanceRepository).upsertAll(eq(2025), captor.capture(), eq(Set.of(1, 3)), any());
+        assertEquals(List.of(
+                new PaidLeaveBalance(1, LocalDate.of(2022, 4, 1), 3, 12, 4, 2, 8),
+                new PaidLeaveBalance(2, LocalDate.of(2025, 1, 10), 0, 0, 0, 0, 0),
+                new PaidLeaveBalance(3, LocalDate.of(2015, 10, 1), 9, 15, 16, 0, -1)), captor.getValue());
+
+        assertEquals(3, result.totalUserCount());
+        assertEquals(2, result.grantedUserCount());
+        assertEquals(1, result.overdrawnUserCount());
+        assertEquals(27, result.totalGrantedDays());
+        assertEquals(20, result.totalUsedDays());
+        assertEquals(3, result.writtenCount());
+        verify(leaveBalanceService).evictAllAfterCompletion();
+    }
+
+    @Test
+    void testAccrue_ShouldUpsertInChunks() {
+        List<AccrualSource> sources = new ArrayList<>();
+        for (int i = 1; i <= PaidLeaveAccrualService.WRITE_CHUNK_SIZE * 2 + 1; i++) {
+            sources.add(new AccrualSource(i, LocalDate.of(2020, 4, 1), 0, 0));
+        }
+        when(paidLeaveBalanceRepository.findAccrualSources(FY2025_START, FY2025_END)).thenReturn(sources);
+        when(paidLeaveBalanceRepository.upsertAll(eq(2025), anyList(), anySet(), any()))
+                .thenAnswer(invocation -> ((List<?>) invocation.getArgument(1)).size());
+
+        PaidLeaveAccrualService.AccrualResult result = service.accrue(2025, FY2025_START, false);
+
+        verify(paidLeaveBalanceRepository, times(3)).upsertAll(eq(2025), anyList(), anySet(), any());
+        assertEquals(sources.size(), result.writtenCount());
+    }
+
+    @Test
+    void testAccrue_ShouldLockBalancesBeforeReadingUsedDays() {
+        when(paidLeaveBalanceRepository.lockBalances(2025)).thenReturn(Set.of(1));
+        when(paidLeaveBalanceRepository.findAccrualSources(FY2025_START, FY2025_END)).thenReturn(List.of(
+                new AccrualSource(1, LocalDate.of(2022, 4, 1), 4, 0)));
+
+        service.accrue(2025, FY2025_START, false);
+
+        // ロック後に集計しないと、集計から UPSERT までの間の差分更新が上書きされる
+        InOrder inOrder = inOrder(paidLeaveBalanceRepository);
+        inOrder.verify(paidLeaveBalanceRepository).lockBalances(2025);
+        inOrder.verify(paidLeaveBalanceRepository).findAccrualSources(FY2025_START, FY2025_END);
+        inOrder.verify(paidLeaveBalanceRepository).upsertAll(eq(2025), anyList(), eq(Set.of(1)), any());
+    }
+
+    @Test
+    void testAccrue_DryRun_ShouldNotWrite() {
+        when(paidLeaveBalanceRepository.findAccrualSources(FY2025_START, FY2025_END)).thenReturn(List.of(
+                new AccrualSource(1, LocalDate.of(2022, 4, 1), 4, 0)));
+
+        PaidLeaveAccrualService.AccrualResult result = service.accrue(2025, FY2025_START, true);
+
+        verify(paidLeaveBalanceRepository, never()).lockBalances(anyInt());
+        verify(paidLeaveBalanceRepository, never()).upsertAll(anyInt(), anyList(), anySet(), any());
+        verifyNoInteractions(leaveBalanceService);
+        assertTrue(result.dryRun());
+        assertEquals(1, result.totalUserCount());
+        assertEquals(12, result.totalGrantedDays());
+        assertEquals(0, result.writtenCount());
+    }
+}
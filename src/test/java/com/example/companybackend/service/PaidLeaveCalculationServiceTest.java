@@ -95,6 +95,45 @@ class PaidLeaveCalculationServiceTest {
         assertEquals(0, result, "入社6ヶ月未満の場合、有給は0日");
     }
 
+    @Test
+    void testCalculatePaidLeaveDays_FiveMonthsEmployee_ShouldReturn0Days() {
+        // Given - 入社5ヶ月のユーザー
+        OffsetDateTime hireDate = baseDate.minusMonths(5).atStartOfDay().atOffset(ZoneOffset.ofHours(9));
+        User testUser = createTestUser(1021L, "test_5months", "5months@company.com", hireDate);
+
+        // When
+        int result = paidLeaveCalculationService.calculatePaidLeaveDays(testUser, baseDate);
+
+        // Then
+        assertEquals(0, result, "入社6ヶ月未満の場合、有給は0日");
+    }
+
+    @Test
+    void testCalculatePaidLeaveDays_SixMonthsEmployee_ShouldReturn10Days() {
+        // Given - 入社ちょうど6ヶ月のユーザー（ChronoUnit.YEARSは0年を返す）
+        OffsetDateTime hireDate = baseDate.minusMonths(6).atStartOfDay().atOffset(ZoneOffset.ofHours(9));
+        User testUser = createTestUser(1022L, "test_6months", "6months@company.com", hireDate);
+
+        // When
+        int result = paidLeaveCalculationService.calculatePaidLeaveDays(testUser, baseDate);
+
+        // Then
+        assertEquals(10, result, "入社6ヶ月以上1年未満の場合、有給は10日");
+    }
+
+    @Test
+    void testCalculatePaidLeaveDays_ElevenMonthsEmployee_ShouldReturn10Days() {
+        // Given - 入社11ヶ月のユーザー（hire_date 未設定のため作成日を入社日とみなす）
+        OffsetDateTime hireDate = baseDate.minusMonths(11).atStartOfDay().atOffset(ZoneOffset.ofHours(9));
+        User testUser = createTestUser(1023L, "test_11months", "11months@company.com", hireDate);
+
+        // When
+        int result = paidLeaveCalculationService.calculatePaidLeaveDays(testUser, baseDate);
+
+        // Then
+        assertEquals(10, result, "入社6ヶ月以上1年未満の場合、有給は10日");
+    }
+
     @Test
     void testCalculatePaidLeaveDays_OneYearEmployee_ShouldReturn10Days() {
         // Given - 入社1年のユーザー
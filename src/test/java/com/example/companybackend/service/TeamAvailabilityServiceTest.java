@@ -0,0 +1,77 @@
+package com.example.companybackend.service;
+
+import com.example.companybackend.repository.LeaveCalendarRepository;
+import com.example.companybackend.repository.LeaveCalendarRepository.Absence;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * TeamAvailabilityService テストクラス
+ * 絞り込み条件の組み立て・日別人数の集計・期間チェックを検証する
+ */
+@ExtendWith(MockitoExtension.class)
+class TeamAvailabilityServiceTest {
+
+    @InjectMocks
+    private TeamAvailabilityService service;
+
+    @Mock
+    private LeaveCalendarRepository leaveCalendarRepository;
+
+    @Mock
+    private OrgTreeIndex orgTreeIndex;
+
+    private static final LocalDate FROM = LocalDate.of(2025, 8, 11);
+    private static final LocalDate TO = LocalDate.of(2025, 8, 15);
+
+    @Test
+    void testGetCalendar_ShouldCountAbsencesPerDayWithinRange() {
+        // 期間の前から始まる休暇・期間内の休暇・期間の後まで続く休暇
+        when(leaveCalendarRepository.findAbsences(FROM, TO, List.of("approved"), 10, null)).thenReturn(List.of(
+                absence(1L, 2L, FROM.minusDays(3), FROM.plusDays(1)),
+                absence(2L, 3L, FROM.plusDays(1), FROM.plusDays(2)),
+                absence(3L, 4L, TO, TO.plusDays(5))));
+
+        TeamAvailabilityService.TeamCalendar calendar = service.getCalendar(FROM, TO, 10, null, false);
+
+        assertEquals(3, calendar.absences().size());
+        assertEquals(List.of(1, 2, 1, 0, 1),
+                calendar.daily().stream().map(TeamAvailabilityService.DailyAbsence::absentCount).toList());
+        assertEquals(FROM, calendar.daily().get(0).date());
+        verifyNoInteractions(orgTreeIndex);
+    }
+
+    @Test
+    void testGetCalendar_WithManager_ShouldFilterBySubordinatesAndIncludePending() {
+        when(orgTreeIndex.subordinates(5L, true)).thenReturn(List.of(6L, 7L));
+        when(leaveCalendarRepository.findAbsences(FROM, TO, List.of("approved", "pending"), null, List.of(6L, 7L)))
+                .thenReturn(List.of());
+
+        TeamAvailabilityService.TeamCalendar calendar = service.getCalendar(FROM, TO, null, 5L, true);
+
+        assertTrue(calendar.absences().isEmpty());
+        assertEquals(5, calendar.daily().size());
+    }
+
+    @Test
+    void testGetCalendar_InvalidRange_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> service.getCalendar(TO, FROM, null, null, false));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.getCalendar(FROM, FROM.plusDays(TeamAvailabilityService.MAX_DAYS), null, null, false));
+        verifyNoInteractions(leaveCalendarRepository);
+    }
+
+    private Absence absence(Long id, Long userId, LocalDate start, LocalDate end) {
+        return new Absence(id, userId, "user" + userId, 10, "paid", "approved", start, end);
+    }
+}
@@ -436,6 +436,170 @@ class TimeCorrectionServiceTest {
                 assertTrue(response.getMessage().contains("申請が見つかりません"), "適切なエラーメッセージが返されること");
         }
 
+        // ========== 一括承認・拒否テスト群 ==========
+
+        @Test
+        void testDecideTimeCorrections_MixedIds_ShouldProcessOnlyPending() {
+                // Given - 承認待ち2件・処理済み1件・存在しないID・重複ID
+                Long pendingId1 = timeCorrectionService.createTimeCorrection(createTimeRequest(
+                                "time", "in", baseTime.minusMinutes(30), null, "一括承認テスト用申請1"),
+                                testUser.getId()).getTimeCorrection().getId();
+                Long pendingId2 = timeCorrectionService.createTimeCorrection(createTimeRequest(
+                                "type", "in", null, "out", "一括承認テスト用申請2"),
+                                testUser.getId()).getTimeCorrection().getId();
+                Long decidedId = timeCorrectionService.createTimeCorrection(createTimeRequest(
+                                "time", "in", baseTime.minusMinutes(15), null, "処理済みの申請"),
+                                testUser.getId()).getTimeCorrection().getId();
+                timeCorrectionService.rejectTimeCorrection(decidedId, approverUser.getId());
+                Long nonExistentId = 99999L;
+
+                // When
+                BulkDecisionResult result = timeCorrectionService.decideTimeCorrections(
+                                List.of(pendingId1, decidedId, nonExistentId, pendingId2, pendingId1),
+                                approverUser.getId(), true);
+
+                // Then
+                assertEquals("approved", result.status());
+                assertEquals(List.of(pendingId1, pendingId2), result.processedIds(), "承認待ちの申請のみ処理されること");
+                assertEquals(List.of(nonExistentId), result.notFoundIds(), "存在しない申請IDが返されること");
+                assertEquals(List.of(decidedId), result.alreadyProcessedIds(), "処理済みの申請IDが返されること");
+                assertEquals(2, result.processedCount());
+                assertEquals(2, result.skippedCount());
+
+                // 処理済みの申請は上書きされないこと
+                assertEquals("rejected", timeCorrectionRepository.findById(decidedId).orElseThrow().getStatus());
+        }
+
+        @Test
+        void testDecideTimeCorrections_Approve_ShouldWriteStatusAndApprover() {
+                // Given
+                Long correctionId1 = timeCorrectionService.createTimeCorrection(createTimeRequest(
+                                "time", "in", baseTime.minusMinutes(30), null, "一括承認テスト用申請1"),
+                                testUser.getId()).getTimeCorrection().getId();
+                Long correctionId2 = timeCorrectionService.createTimeCorrection(createTimeRequest(
+                                "type", "in", null, "out", "一括承認テスト用申請2"),
+                                testUser.getId()).getTimeCorrection().getId();
+
+                // When
+                timeCorrectionService.decideTimeCorrections(List.of(correctionId1, correctionId2),
+                                approverUser.getId(), true);
+
+                // Then - 一括更新の結果がデータベースに書き込まれていること
+                for (Long id : List.of(correctionId1, correctionId2)) {
+                        TimeCorrection saved = timeCorrectionRepository.findById(id).orElseThrow();
+                        assertEquals("approved", saved.getStatus(), "ステータスがapprovedに変更されること");
+                        assertEquals(approverUser.getId().intValue(), saved.getApproverId(), "承認者IDが設定されること");
+                        assertNotNull(saved.getApprovedAt(), "承認日時が設定されること");
+                }
+        }
+
+        @Test
+        void testDecideTimeCorrections_Reject_ShouldWriteStatusAndApprover() {
+                // Given
+                Long correctionId = timeCorrectionService.createTimeCorrection(createTimeRequest(
+                                "time", "in", baseTime.minusMinutes(30), null, "一括拒否テスト用申請"),
+                                testUser.getId()).getTimeCorrection().getId();
+
+                // When
+                BulkDecisionResult result = timeCorrectionService.decideTimeCorrections(List.of(correctionId),
+                                approverUser.getId(), false);
+
+                // Then
+                assertEquals("rejected", result.status());
+                assertEquals(List.of(correctionId), result.processedIds());
+                TimeCorrection saved = timeCorrectionRepository.findById(correctionId).orElseThrow();
+                assertEquals("rejected", saved.getStatus(), "ステータスがrejectedに変更されること");
+                assertEquals(approverUser.getId().intValue(), saved.getApproverId(), "承認者IDが設定されること");
+                assertNotNull(saved.getApprovedAt(), "処理日時が設定されること");
+        }
+
+        @Test
+        void testDecideTimeCorrections_EmptyIds_ShouldThrow() {
+                assertThrows(IllegalArgumentException.class,
+                                () -> timeCorrectionService.decideTimeCorrections(List.of(), approverUser.getId(), true));
+        }
+
+        // ========== データ修復下書きテスト群 ==========
+
+        /**
+         * データ修復バッチの下書きを作成するヘルパーメソッド
+         */
+        private Long createRepairDraft(String reason) {
+                TimeCorrection correction = timeCorrectionService.createTimeCorrection(createTimeRequest(
+                                "time", "in", baseTime.minusMinutes(45), null, reason),
+                                testUser.getId()).getTimeCorrection();
+                correction.setStatus("draft");
+                return timeCorrectionRepository.saveAndFlush(correction).getId();
+        }
+
+        @Test
+        void testRepairDrafts_ShouldBeHiddenFromUserAndApproverLists() {
+                // Given
+                Long draftId = createRepairDraft("データ修復下書き");
+                Long pendingId = timeCorrectionService.createTimeCorrection(createTimeRequest(
+                                "type", "in", null, "out", "利用者の申請"),
+                                testUser.getId()).getTimeCorrection().getId();
+
+                // When
+                List<TimeCorrection> userCorrections = timeCorrectionService.getUserTimeCorrections(testUser.getId());
+                List<TimeCorrection> pendingCorrections = timeCorrectionService.getPendingTimeCorrections();
+                List<TimeCorrection> drafts = timeCorrectionService.getRepairDrafts();
+
+                // Then
+                assertTrue(userCorrections.stream().noneMatch(tc -> tc.getId().equals(draftId)),
+                                "下書きは利用者の申請一覧に含まれないこと");
+                assertTrue(userCorrections.stream().anyMatch(tc -> tc.getId().equals(pendingId)));
+                assertTrue(pendingCorrections.stream().noneMatch(tc -> tc.getId().equals(draftId)),
+                                "下書きは承認待ち一覧に含まれないこと");
+                assertTrue(drafts.stream().anyMatch(tc -> tc.getId().equals(draftId)), "下書き一覧に含まれること");
+                assertTrue(drafts.stream().allMatch(tc -> "draft".equals(tc.getStatus())));
+        }
+
+        @Test
+        void testResolveRepairDrafts_Promote_ShouldMoveDraftsToPending() {
+                // Given - 下書き1件・承認待ち1件・存在しないID
+                Long draftId = createRepairDraft("確定する下書き");
+                Long pendingId = timeCorrectionService.createTimeCorrection(createTimeRequest(
+                                "type", "in", null, "out", "利用者の申請"),
+                                testUser.getId()).getTimeCorrection().getId();
+                Long nonExistentId = 99999L;
+
+                // When
+                BulkDecisionResult result = timeCorrectionService.resolveRepairDrafts(
+                                List.of(draftId, pendingId, nonExistentId), true);
+
+                // Then
+                assertEquals("pending", result.status());
+                assertEquals(List.of(draftId), result.processedIds());
+                assertEquals(List.of(nonExistentId), result.notFoundIds());
+                assertEquals(List.of(pendingId), result.alreadyProcessedIds(), "下書きでない申請は処理されないこと");
+                assertEquals("pending", timeCorrectionRepository.findById(draftId).orElseThrow().getStatus());
+                assertTrue(timeCorrectionService.getPendingTimeCorrections().stream()
+                                .anyMatch(tc -> tc.getId().equals(draftId)), "確定した下書きは承認待ち一覧に含まれること");
+        }
+
+        @Test
+        void testResolveRepairDrafts_Discard_ShouldKeepRowAsDiscarded() {
+                // Given
+                Long draftId = createRepairDraft("破棄する下書き");
+
+                // When
+                BulkDecisionResult result = timeCorrectionService.resolveRepairDrafts(List.of(draftId), false);
+
+                // Then
+                assertEquals("discarded", result.status());
+                assertEquals(List.of(draftId), result.processedIds());
+                assertEquals("discarded", timeCorrectionRepository.findById(draftId).orElseThrow().getStatus(),
+                                "破棄した下書きは削除せず残すこと");
+                assertTrue(timeCorrectionService.getRepairDrafts().stream().noneMatch(tc -> tc.getId().equals(draftId)));
+        }
+
+        @Test
+        void testResolveRepairDrafts_EmptyIds_ShouldThrow() {
+                assertThrows(IllegalArgumentException.class,
+                                () -> timeCorrectionService.resolveRepairDrafts(List.of(), true));
+        }
+
         // ========== 一覧取得テスト群 ==========
 
         @Test
@@ -0,0 +1,107 @@
+package com.example.companybackend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * UnreadNotificationCounter テストクラス
+ * データベース読み込み回数と増減・TTL・件数上限を検証する
+ */
+class UnreadNotificationCounterTest {
+
+    private static final Duration TTL = Duration.ofMinutes(10);
+
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicLong now;
+    private AtomicInteger loadCount;
+    private UnreadNotificationCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        now = new AtomicLong(1_000_000L);
+        loadCount = new AtomicInteger();
+        counter = new UnreadNotificationCounter(meterRegistry, 2, TTL, now::get);
+    }
+
+    private long load(long value) {
+        loadCount.incrementAndGet();
+        return value;
+    }
+
+    @Test
+    void testGet_ShouldLoadOnceAndServeFromCache() {
+        assertEquals(3, counter.get(1, () -> load(3)));
+        assertEquals(3, counter.get(1, () -> load(99)));
+
+        assertEquals(1, loadCount.get());
+        assertEquals(1.0, meterRegistry.counter("notification.unread.cache", "result", "hit").count());
+        assertEquals(1.0, meterRegistry.counter("notification.unread.cache", "result", "miss").count());
+    }
+
+    @Test
+    void testAdd_CachedUser_ShouldAdjustWithoutLoading() {
+        counter.get(1, () -> load(3));
+
+        assertEquals(4, counter.add(1, 1));
+        assertEquals(3, counter.add(1, -1));
+        assertEquals(3, counter.get(1, () -> load(99)));
+        assertEquals(1, loadCount.get());
+    }
+
+    @Test
+    void testAdd_ShouldNotGoBelowZero() {
+        counter.get(1, () -> load(0));
+
+        assertEquals(0, counter.add(1, -1));
+    }
+
+    @Test
+    void testAdd_UncachedUser_ShouldReturnUnknown() {
+        assertEquals(-1, counter.add(1, 1));
+        assertEquals(0, counter.size());
+    }
+
+    @Test
+    void testReset_ShouldSetZeroWithoutLoading() {
+        counter.get(1, () -> load(5));
+        counter.reset(1);
+
+        assertEquals(0, counter.get(1, () -> load(99)));
+        assertEquals(1, loadCount.get());
+    }
+
+    @Test
+    void testGet_AfterTtl_ShouldReloadFromDatabase() {
+        counter.get(1, () -> load(3));
+        now.addAndGet(TTL.toMillis());
+
+        assertEquals(7, counter.get(1, () -> load(7)));
+        assertEquals(2, loadCount.get());
+    }
+
+    @Test
+    void testInvalidateAll_ShouldForceReload() {
+        counter.get(1, () -> load(3));
+        counter.invalidateAll();
+
+        assertEquals(1, counter.get(1, () -> load(1)));
+        assertEquals(2, loadCount.get());
+    }
+
+    @Test
+    void testGet_OverMaxEntries_ShouldEvict() {
+        counter.get(1, () -> load(1));
+        counter.get(2, () -> load(2));
+        counter.get(3, () -> load(3));
+
+        assertEquals(2, counter.size());
+    }
+}
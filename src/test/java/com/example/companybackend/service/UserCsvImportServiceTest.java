@@ -0,0 +1,172 @@
+package com.example.companybackend.service;
+
+import com.example.companybackend.dto.auth.CsvRowError;
+import com.example.companybackend.repository.EmployeeReadModelRepository;
+import com.example.companybackend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * UserCsvImportService テストクラス
+ * 既存ユーザー名の一括取得・行単位エラー・チャンク単位のバッチ登録を検証する
+ */
+@ExtendWith(MockitoExtension.class)
+class UserCsvImportServiceTest {
+
+    private static final String HEADER = "username,password,fullname,location_type,department_id\n";
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private EmployeeReadModelRepository employeeReadModelRepository;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private UserCsvImportService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new UserCsvImportService(userRepository, employeeReadModelRepository, passwordEncoder, jdbcTemplate, transactionManager, 2, 2, 100);
+        lenient().when(passwordEncoder.encode(anyString())).thenAnswer(invocation -> "hash:" + invocation.getArgument(0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    private ByteArrayInputStream csv(String body) {
+        return new ByteArrayInputStream((HEADER + body).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testImportCsv_ShouldPrefetchOnceAndInsertInChunks() throws IOException {
+        when(userRepository.findAllUsernames()).thenReturn(List.of());
+        // 全行登録成功として 1 を返す
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            int size = ((List<Object[]>) invocation.getArgument(1)).size();
+            int[] counts = new int[size];
+            Arrays.fill(counts, 1);
+            return counts;
+        });
+
+        UserCsvImportService.ImportResult result = service.importCsv(csv(
+                "u1,p1,\"山田, 太郎\",office,1\n" +
+                "u2,p2,User Two,client,2\n" +
+                "u3,p3,User Three,,\n"));
+
+        assertEquals(3, result.successCount());
+        assertEquals(0, result.errorCount());
+        verify(userRepository, times(1)).findAllUsernames();
+        verify(userRepository, never()).existsByUsername(anyString());
+
+        ArgumentCaptor<List<Object[]>> batches = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), batches.capture());
+        assertEquals(2, batches.getAllValues().get(0).size());
+        assertEquals(1, batches.getAllValues().get(1).size());
+
+        Object[] first = batches.getAllValues().get(0).get(0);
+        assertEquals("u1", first[0]);
+        assertEquals("hash:p1", first[1]);
+        assertEquals("山田, 太郎", first[2]);
+        // location_type 未指定は office
+        assertEquals("office", batches.getAllValues().get(1).get(0)[3]);
+    }
+
+    @Test
+    void testImportCsv_ShouldReportRowErrors() throws IOException {
+        when(userRepository.findAllUsernames()).thenReturn(List.of("existing"));
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[] { 1 });
+
+        UserCsvImportService.ImportResult result = service.importCsv(csv(
+                "existing,p,Existing,office,1\n" +
+                "u1,p1,User One,office,1\n" +
+                "u1,p1,User One Again,office,1\n" +
+                "u2,,No Password,office,1\n" +
+                "u3,p3,Bad Dept,office,abc\n" +
+                "u4,p4,Bad Location,home,1\n" +
+                "u5,p5\n"));
+
+        assertEquals(1, result.successCount());
+        assertEquals(6, result.errorCount());
+        List<CsvRowError> errors = result.errors();
+        assertEquals(2, errors.get(0).getLineNumber());
+        assertEquals("existing", errors.get(0).getUsername());
+        assertEquals("ユーザー名は既に登録されています", errors.get(0).getReason());
+        assertEquals("ファイル内でユーザー名が重複しています", errors.get(1).getReason());
+        assertEquals("password は必須です", errors.get(2).getReason());
+        assertTrue(errors.get(3).getReason().contains("department_id"));
+        assertTrue(errors.get(4).getReason().contains("location_type"));
+        assertTrue(errors.get(5).getReason().contains("列数"));
+        verify(passwordEncoder, times(1)).encode(anyString());
+    }
+
+    @Test
+    void testImportCsv_ConflictInsertedConcurrently_ShouldReportDuplicate() throws IOException {
+        when(userRepository.findAllUsernames()).thenReturn(List.of());
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[] { 1, 0 });
+
+        UserCsvImportService.ImportResult result = service.importCsv(csv(
+                "u1,p1,User One,office,1\n" +
+                "u2,p2,User Two,office,1\n"));
+
+        assertEquals(1, result.successCount());
+        assertEquals(1, result.errorCount());
+        assertEquals("u2", result.errors().get(0).getUsername());
+    }
+
+    @Test
+    void testImportCsv_BatchFailure_ShouldRetryRowByRow() throws IOException {
+        when(userRepository.findAllUsernames()).thenReturn(List.of());
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new DataIntegrityViolationException("fk violation"));
+        when(jdbcTemplate.update(anyString(), any(Object[].class)))
+                .thenReturn(1)
+                .thenThrow(new DataIntegrityViolationException("users_department_id_fkey"));
+
+        UserCsvImportService.ImportResult result = service.importCsv(csv(
+                "u1,p1,User One,office,1\n" +
+                "u2,p2,User Two,office,999\n"));
+
+        assertEquals(1, result.successCount());
+        assertEquals(1, result.errorCount());
+        assertEquals(3, result.errors().get(0).getLineNumber());
+        assertTrue(result.errors().get(0).getReason().contains("users_department_id_fkey"));
+    }
+
+    @Test
+    void testImportCsv_EmptyFile_ShouldThrow() {
+        when(userRepository.findAllUsernames()).thenReturn(List.of());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> service.importCsv(new ByteArrayInputStream(new byte[0])));
+    }
+}
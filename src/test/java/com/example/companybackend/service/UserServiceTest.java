@@ -1,6 +1,8 @@
 package com.example.companybackend.service;
 
 import com.example.companybackend.entity.User;
+import com.example.companybackend.repository.EmployeeReadModelRepository;
+import com.example.companybackend.repository.EmployeeReadModelRepository.EmployeeRow;
 import com.example.companybackend.repository.UserRepository;
 import com.example.companybackend.security.HtmlSanitizerService;
 
@@ -41,6 +43,18 @@ class UserServiceTest {
     @Mock
     private HtmlSanitizerService htmlSanitizerService;
 
+    @Mock
+    private EmployeeReadModelRepository employeeReadModelRepository;
+
+    @Mock
+    private EmployeeSearchIndex employeeSearchIndex;
+
+    @Mock
+    private OrgTreeIndex orgTreeIndex;
+
+    @Mock
+    private EmployeeStatisticsService employeeStatisticsService;
+
     @InjectMocks
     private UserService userService;
 
@@ -253,6 +267,7 @@ class UserServiceTest {
         verify(passwordEncoder).matches(oldPassword, TEST_ENCODED_PASSWORD);
         verify(passwordEncoder).encode(newPassword);
         verify(userRepository).save(testUser);
+        verify(employeeReadModelRepository).refreshUser(testUser.getId());
     }
 
     @Test
@@ -307,9 +322,9 @@ class UserServiceTest {
                 createTestUser(2L, "director@company.com", "Director"),
                 createTestUser(3L, "admin@company.com", "Admin"));
         Pageable pageable = PageRequest.of(0, 10);
-        Page<User> userPage = new PageImpl<>(users, pageable, users.size());
+        Page<EmployeeRow> userPage = new PageImpl<>(toRows(users), pageable, users.size());
 
-        when(userRepository.findEmployeesWithFilter(null, null, null, null, null, pageable))
+        when(employeeReadModelRepository.findPage(null, null, null, null, null, pageable))
                 .thenReturn(userPage);
 
         // When
@@ -327,8 +342,11 @@ class UserServiceTest {
         assertEquals(1L, userList.get(0).get("id"));
         assertEquals("EMP001", userList.get(0).get("employeeCode"));
         assertEquals("CEO", userList.get(0).get("name"));
+        assertEquals("開発部", userList.get(0).get("department"));
+        assertEquals("主任", userList.get(0).get("position"));
 
-        verify(userRepository).findEmployeesWithFilter(null, null, null, null, null, pageable);
+        verify(employeeReadModelRepository).findPage(null, null, null, null, null, pageable);
+        verifyNoInteractions(employeeSearchIndex);
     }
 
     @Test
@@ -337,9 +355,10 @@ class UserServiceTest {
         List<User> filteredUsers = Arrays.asList(
                 createTestUser(1L, "manager1", "マネージャー1"));
         Pageable pageable = PageRequest.of(0, 10);
-        Page<User> userPage = new PageImpl<>(filteredUsers, pageable, filteredUsers.size());
+        Page<EmployeeRow> userPage = new PageImpl<>(toRows(filteredUsers), pageable, filteredUsers.size());
 
-        when(userRepository.findEmployeesWithFilter("manager", 1, "manager", "office", true, pageable))
+        when(employeeSearchIndex.findUserIds("manager")).thenReturn(List.of(1L));
+        when(employeeReadModelRepository.findPage(List.of(1L), 1, "manager", "office", true, pageable))
                 .thenReturn(userPage);
 
         // When
@@ -354,7 +373,41 @@ class UserServiceTest {
         assertEquals(1, userList.size());
         assertEquals("マネージャー1", userList.get(0).get("name"));
 
-        verify(userRepository).findEmployeesWithFilter("manager", 1, "manager", "office", true, pageable);
+        verify(employeeReadModelRepository).findPage(List.of(1L), 1, "manager", "office", true, pageable);
+    }
+
+    @Test
+    void testGetUsers_WithSearchWithoutIndexMatch_ShouldReturnEmptyPage() {
+        // Given
+        when(employeeSearchIndex.findUserIds("zzz")).thenReturn(List.of());
+
+        // When
+        Map<String, Object> result = userService.getUsers(0, 10, "zzz", null, null, null, null);
+
+        // Then
+        assertEquals(0L, result.get("totalCount"));
+        verify(employeeReadModelRepository, never())
+                .findPage(any(), any(), any(), any(), any(), any(Pageable.class));
+    }
+
+    @Test
+    void testSuggestUsers_ShouldReturnIndexMatchesInOrder() {
+        // Given
+        List<EmployeeRow> rows = toRows(Arrays.asList(
+                createTestUser(2L, "yamada", "山田 花子"),
+                createTestUser(3L, "yamamoto", "山本 一郎")));
+        when(employeeSearchIndex.search("yama", 5, true)).thenReturn(List.of(
+                new EmployeeSearchIndex.Match(rows.get(0), 84),
+                new EmployeeSearchIndex.Match(rows.get(1), 81)));
+
+        // When
+        List<Map<String, Object>> result = userService.suggestUsers("yama", 5);
+
+        // Then
+        assertEquals(2, result.size());
+        assertEquals(2L, result.get(0).get("id"));
+        assertEquals("山本 一郎", result.get(1).get("name"));
+        assertEquals("開発部", result.get(0).get("department"));
     }
 
     @Test
@@ -364,9 +417,9 @@ class UserServiceTest {
                 createTestUser(6L, "user6", "ユーザー6"),
                 createTestUser(7L, "user7", "ユーザー7"));
         Pageable pageable = PageRequest.of(1, 5); // 2ページ目、5件ずつ
-        Page<User> userPage = new PageImpl<>(users, pageable, 12); // 全12件
+        Page<EmployeeRow> userPage = new PageImpl<>(toRows(users), pageable, 12); // 全12件
 
-        when(userRepository.findEmployeesWithFilter(null, null, null, null, null, pageable))
+        when(employeeReadModelRepository.findPage(null, null, null, null, null, pageable))
                 .thenReturn(userPage);
 
         // When
@@ -419,6 +472,7 @@ class UserServiceTest {
         verify(userRepository).existsByUsername("newuser");
         verify(passwordEncoder).encode("plainPassword");
         verify(userRepository).save(any(User.class));
+        verify(employeeStatisticsService).invalidate();
     }
 
     @Test
@@ -489,6 +543,7 @@ class UserServiceTest {
 
         verify(userRepository).findById(TEST_USER_ID);
         verify(userRepository).save(testUser);
+        verify(employeeStatisticsService).invalidate();
     }
 
     @Test
@@ -532,6 +587,7 @@ class UserServiceTest {
 
         verify(userRepository).findById(999L);
         verify(userRepository, never()).save(any(User.class));
+        verify(employeeStatisticsService, never()).invalidate();
     }
 
     @Test
@@ -573,6 +629,7 @@ class UserServiceTest {
 
         verify(userRepository).findById(TEST_USER_ID);
         verify(userRepository).save(testUser);
+        verify(employeeStatisticsService).invalidate();
     }
 
     @Test
@@ -589,6 +646,7 @@ class UserServiceTest {
 
         verify(userRepository).findById(999L);
         verify(userRepository, never()).save(any(User.class));
+        verify(employeeStatisticsService, never()).invalidate();
     }
 
     // ========== エッジケース・境界値テスト ==========
@@ -597,9 +655,9 @@ class UserServiceTest {
     void testGetUsers_WithMinimumSize_ShouldHandleCorrectly() {
         // Given
         Pageable pageable = PageRequest.of(0, 1);
-        Page<User> emptyPage = new PageImpl<>(Arrays.asList(), pageable, 0);
+        Page<EmployeeRow> emptyPage = new PageImpl<>(List.of(), pageable, 0);
 
-        when(userRepository.findEmployeesWithFilter(null, null, null, null, null, pageable))
+        when(employeeReadModelRepository.findPage(null, null, null, null, null, pageable))
                 .thenReturn(emptyPage);
 
         // When
@@ -681,4 +739,14 @@ class UserServiceTest {
         user.setUpdatedAt(OffsetDateTime.now(ZoneOffset.ofHours(9)));
         return user;
     }
-}
\ No newline at end of file
+
+    private List<EmployeeRow> toRows(List<User> users) {
+        return users.stream()
+                .map(user -> new EmployeeRow(user.getId(), user.getUsername(), user.getEmail(), user.getEmployeeId(),
+                        user.getFullName(), user.getDepartmentId(), "開発部", user.getPositionId(), "主任", 3,
+                        user.getManagerId(), null, user.getRole(), user.getRoleDisplayName(),
+                        user.getLocationType(), user.getLocationTypeDisplayName(), user.getIsActive(),
+                        user.getHireDate(), user.getCreatedAt(), user.getUpdatedAt()))
+                .toList();
+    }
+}
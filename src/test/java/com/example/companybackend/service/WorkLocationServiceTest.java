@@ -0,0 +1,34 @@
+package com.example.companybackend.service;
+
+import com.example.companybackend.entity.WorkLocation;
+import com.example.companybackend.repository.WorkLocationRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * WorkLocationService テストクラス
+ * キャッシュに保持される勤務地リストが変更不可のコピーであることを検証する
+ */
+class WorkLocationServiceTest {
+
+    @Test
+    void testGetActiveLocationsByType_ShouldReturnImmutableCopy() {
+        WorkLocationRepository repository = mock(WorkLocationRepository.class);
+        WorkLocation office = new WorkLocation();
+        office.setName("本社");
+        List<WorkLocation> loaded = new ArrayList<>(List.of(office));
+        when(repository.findByType("office")).thenReturn(loaded);
+
+        List<WorkLocation> result = new WorkLocationService(repository).getActiveLocationsByType("office");
+
+        assertEquals(List.of(office), result);
+        assertThrows(UnsupportedOperationException.class, () -> result.add(new WorkLocation()));
+        loaded.clear();
+        assertEquals(1, result.size());
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.companybackend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * CsvRecordReader テストクラス
+ * RFC 4180 のクォート・エスケープ・改行の扱いを検証する
+ */
+class CsvRecordReaderTest {
+
+    private CsvRecordReader reader(String content) {
+        return new CsvRecordReader(new StringReader(content));
+    }
+
+    @Test
+    void testReadRecord_SimpleFields() throws IOException {
+        CsvRecordReader reader = reader("a,b,c\n1,2,3\n");
+
+        assertEquals(List.of("a", "b", "c"), reader.readRecord());
+        assertEquals(List.of("1", "2", "3"), reader.readRecord());
+        assertNull(reader.readRecord());
+    }
+
+    @Test
+    void testReadRecord_QuotedFieldWithCommaAndEscapedQuote() throws IOException {
+        CsvRecordReader reader = reader("user1,\"山田, 太郎\",\"say \"\"hi\"\"\"\n");
+
+        assertEquals(List.of("user1", "山田, 太郎", "say \"hi\""), reader.readRecord());
+    }
+
+    @Test
+    void testReadRecord_QuotedFieldWithNewline_ShouldTrackLineNumbers() throws IOException {
+        CsvRecordReader reader = reader("h1,h2\r\n\"line1\r\nline2\",x\r\nnext,y");
+
+        reader.readRecord();
+        assertEquals(List.of("line1\r\nline2", "x"), reader.readRecord());
+        assertEquals(2, reader.getRecordLineNumber());
+        assertEquals(List.of("next", "y"), reader.readRecord());
+        assertEquals(4, reader.getRecordLineNumber());
+        assertNull(reader.readRecord());
+    }
+
+    @Test
+    void testReadRecord_EmptyFieldsAndBom() throws IOException {
+        CsvRecordReader reader = reader("\uFEFFusername,,\n");
+
+        assertEquals(List.of("username", "", ""), reader.readRecord());
+    }
+
+    @Test
+    void testReadRecord_BlankLine() throws IOException {
+        CsvRecordReader reader = reader("a\n\nb\n");
+
+        assertEquals(List.of("a"), reader.readRecord());
+        assertTrue(CsvRecordReader.isBlank(reader.readRecord()));
+        assertEquals(List.of("b"), reader.readRecord());
+    }
+
+    @Test
+    void testReadRecord_UnclosedQuote_ShouldThrowWithLineNumber() throws IOException {
+        CsvRecordReader reader = reader("a,b\n\"unclosed,c\n");
+
+        reader.readRecord();
+        CsvRecordReader.CsvFormatException exception =
+                assertThrows(CsvRecordReader.CsvFormatException.class, reader::readRecord);
+        assertEquals(2, exception.getLineNumber());
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.companybackend.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JapaneseTextNormalizer テストクラス
+ * 全角/半角・ひらがな/カタカナの統一とローマ字のカタカナ変換を検証する
+ */
+class JapaneseTextNormalizerTest {
+
+    @Test
+    void testNormalize_ShouldUnifyWidthCaseAndKana() {
+        assertEquals("ヤマダタロウ", JapaneseTextNormalizer.normalize("やまだ　たろう"));
+        assertEquals("ガク", JapaneseTextNormalizer.normalize("ｶﾞｸ"));
+        assertEquals("abc12", JapaneseTextNormalizer.normalize("ＡＢＣ１２"));
+        assertEquals("ジョンスミス", JapaneseTextNormalizer.normalize("ジョン・スミス"));
+        assertEquals("山田太郎", JapaneseTextNormalizer.normalize("山田 太郎"));
+    }
+
+    @Test
+    void testNormalize_Null_ShouldReturnEmpty() {
+        assertEquals("", JapaneseTextNormalizer.normalize(null));
+    }
+
+    @Test
+    void testRomajiToKatakana_ShouldConvertHepburnAndKunrei() {
+        assertEquals("ヤマダ", JapaneseTextNormalizer.romajiToKatakana("yamada"));
+        assertEquals("シンノスケ", JapaneseTextNormalizer.romajiToKatakana("shinnosuke"));
+        assertEquals("シンノスケ", JapaneseTextNormalizer.romajiToKatakana("sinnosuke"));
+        assertEquals("コンドウ", JapaneseTextNormalizer.romajiToKatakana("kondou"));
+        assertEquals("ハットリ", JapaneseTextNormalizer.romajiToKatakana("hattori"));
+        assertEquals("キョウコ", JapaneseTextNormalizer.romajiToKatakana("kyouko"));
+    }
+
+    @Test
+    void testRomajiToKatakana_IncompleteTail_ShouldBeDropped() {
+        assertEquals("ヤマ", JapaneseTextNormalizer.romajiToKatakana("yamad"));
+        assertEquals("サト", JapaneseTextNormalizer.romajiToKatakana("satos"));
+    }
+
+    @Test
+    void testRomajiToKatakana_NotRomaji_ShouldReturnNull() {
+        assertNull(JapaneseTextNormalizer.romajiToKatakana("e001"));
+        assertNull(JapaneseTextNormalizer.romajiToKatakana("山田"));
+        assertNull(JapaneseTextNormalizer.romajiToKatakana(""));
+    }
+}